@@ -0,0 +1,170 @@
+package com.voting.system.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files
+ *
+ * Benchmarks are matched on name, mode, thread count and parameters. A change
+ * is only reported as a regression or improvement when it exceeds the
+ * threshold and the two runs' error intervals do not overlap, so ordinary
+ * run-to-run noise is shown as unchanged.
+ */
+public class BaselineComparison {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String PACKAGE_PREFIX = "com.voting.system.";
+
+    private final List<Row> rows = new ArrayList<>();
+    private final double thresholdPercent;
+    private String baselineJvm;
+    private String currentJvm;
+
+    private BaselineComparison(double thresholdPercent) {
+        this.thresholdPercent = thresholdPercent;
+    }
+
+    public static BaselineComparison compare(Path baseline, Path current, double thresholdPercent) throws IOException {
+        BaselineComparison comparison = new BaselineComparison(thresholdPercent);
+        JsonNode baselineResults = objectMapper.readTree(baseline.toFile());
+        JsonNode currentResults = objectMapper.readTree(current.toFile());
+        comparison.baselineJvm = jvm(baselineResults);
+        comparison.currentJvm = jvm(currentResults);
+
+        Map<String, JsonNode> baselineByKey = index(baselineResults);
+        for (Map.Entry<String, JsonNode> entry : index(currentResults).entrySet()) {
+            Row row = new Row();
+            row.key = entry.getKey();
+            row.mode = entry.getValue().path("mode").asText();
+            row.current = entry.getValue().path("primaryMetric");
+            row.baseline = baselineByKey.remove(entry.getKey());
+            if (row.baseline != null) {
+                row.baseline = row.baseline.path("primaryMetric");
+            }
+            comparison.rows.add(row);
+        }
+        // Benchmarks that were removed or not selected in this run
+        for (Map.Entry<String, JsonNode> entry : baselineByKey.entrySet()) {
+            Row row = new Row();
+            row.key = entry.getKey();
+            row.mode = entry.getValue().path("mode").asText();
+            row.baseline = entry.getValue().path("primaryMetric");
+            comparison.rows.add(row);
+        }
+        return comparison;
+    }
+
+    public boolean hasRegressions() {
+        return rows.stream().anyMatch(row -> "REGRESSION".equals(verdict(row)));
+    }
+
+    public void print(PrintStream out) {
+        out.println();
+        out.printf("Baseline JVM: %s%n", baselineJvm);
+        out.printf("Current JVM:  %s%n", currentJvm);
+        if (!baselineJvm.equals(currentJvm)) {
+            out.println("WARNING: results come from different JVMs and may not be comparable");
+        }
+        out.println();
+        out.printf("%-80s %26s %26s %9s  %s%n", "Benchmark", "Baseline", "Current", "Change", "Verdict");
+        for (Row row : rows) {
+            out.printf("%-80s %26s %26s %9s  %s%n", row.key, score(row.baseline), score(row.current),
+                    row.baseline != null && row.current != null ? String.format("%+.1f%%", change(row)) : "",
+                    verdict(row));
+        }
+        out.println();
+    }
+
+    private String verdict(Row row) {
+        if (row.baseline == null) {
+            return "NEW";
+        }
+        if (row.current == null) {
+            return "MISSING";
+        }
+        double change = change(row);
+        if (Math.abs(change) < thresholdPercent || intervalsOverlap(row)) {
+            return "~";
+        }
+        // Throughput should go up; time per operation should go down
+        boolean higherIsBetter = "thrpt".equals(row.mode);
+        return (change > 0) == higherIsBetter ? "IMPROVEMENT" : "REGRESSION";
+    }
+
+    private static double change(Row row) {
+        double before = row.baseline.path("score").asDouble();
+        double after = row.current.path("score").asDouble();
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+
+    private static boolean intervalsOverlap(Row row) {
+        double before = row.baseline.path("score").asDouble();
+        double beforeError = error(row.baseline);
+        double after = row.current.path("score").asDouble();
+        double afterError = error(row.current);
+        return before - beforeError <= after + afterError && after - afterError <= before + beforeError;
+    }
+
+    private static double error(JsonNode metric) {
+        // JMH writes "NaN" when there are too few samples for an error estimate
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String score(JsonNode metric) {
+        if (metric == null) {
+            return "-";
+        }
+        return String.format("%.3f +- %.3f %s", metric.path("score").asDouble(), error(metric),
+                metric.path("scoreUnit").asText());
+    }
+
+    private static String jvm(JsonNode results) {
+        if (!results.isArray() || results.isEmpty()) {
+            return "unknown";
+        }
+        JsonNode first = results.get(0);
+        return first.path("vmName").asText() + " " + first.path("vmVersion").asText();
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            String benchmark = result.path("benchmark").asText();
+            if (benchmark.startsWith(PACKAGE_PREFIX)) {
+                benchmark = benchmark.substring(PACKAGE_PREFIX.length());
+            }
+            StringBuilder key = new StringBuilder(benchmark)
+                    .append(" [").append(result.path("mode").asText())
+                    .append(", threads=").append(result.path("threads").asInt());
+            // Sorted so parameter order in the file does not matter
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                params.put(field.getKey(), field.getValue().asText());
+            }
+            params.forEach((name, value) -> key.append(", ").append(name).append('=').append(value));
+            byKey.put(key.append(']').toString(), result);
+        }
+        return byKey;
+    }
+
+    private static class Row {
+        private String key;
+        private String mode;
+        private JsonNode baseline;
+        private JsonNode current;
+    }
+}
@@ -0,0 +1,118 @@
+package com.voting.system.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entry point of benchmarks.jar
+ *
+ * Accepts every JMH option and always writes JSON results (to
+ * results/jmh-&lt;timestamp&gt;.json unless -rff is given), so each run can be
+ * kept and compared later. Extra options:
+ *
+ *   --save-baseline &lt;file&gt;      copy this run's results to file
+ *   --baseline &lt;file&gt;           compare this run against a stored baseline
+ *   --compare &lt;base&gt; &lt;current&gt;  compare two stored result files without running
+ *   --threshold &lt;percent&gt;       change treated as significant (default 5)
+ *   --fail-on-regression        exit with status 2 when a benchmark regressed
+ */
+public class BenchmarkRunner {
+
+    private static final Set<String> JMH_INFO_OPTIONS = Set.of("-h", "-l", "-lp", "-lprof", "-lrf");
+
+    public static void main(String[] args) throws Exception {
+        Path saveBaseline = null;
+        Path baseline = null;
+        Path compareBase = null;
+        Path compareCurrent = null;
+        double threshold = 5.0;
+        boolean failOnRegression = false;
+
+        List<String> jmhArgs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--save-baseline" -> saveBaseline = Paths.get(requireValue(args, ++i, "--save-baseline"));
+                case "--baseline" -> baseline = Paths.get(requireValue(args, ++i, "--baseline"));
+                case "--compare" -> {
+                    compareBase = Paths.get(requireValue(args, ++i, "--compare"));
+                    compareCurrent = Paths.get(requireValue(args, ++i, "--compare"));
+                }
+                case "--threshold" -> threshold = Double.parseDouble(requireValue(args, ++i, "--threshold"));
+                case "--fail-on-regression" -> failOnRegression = true;
+                default -> jmhArgs.add(args[i]);
+            }
+        }
+
+        if (compareBase != null) {
+            report(compareBase, compareCurrent, threshold, failOnRegression);
+            return;
+        }
+
+        if (jmhArgs.stream().anyMatch(JMH_INFO_OPTIONS::contains)) {
+            Main.main(jmhArgs.toArray(new String[0]));
+            return;
+        }
+
+        CommandLineOptions commandLine = new CommandLineOptions(jmhArgs.toArray(new String[0]));
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        builder.resultFormat(ResultFormatType.JSON);
+
+        Path result;
+        if (commandLine.getResult().hasValue()) {
+            result = Paths.get(commandLine.getResult().get());
+        } else {
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            result = Paths.get("results", "jmh-" + timestamp + ".json");
+            builder.result(result.toString());
+        }
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+
+        Options options = builder.build();
+        new Runner(options).run();
+        System.out.println("Results written to " + result.toAbsolutePath());
+
+        if (saveBaseline != null) {
+            if (saveBaseline.getParent() != null) {
+                Files.createDirectories(saveBaseline.getParent());
+            }
+            Files.copy(result, saveBaseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline saved to " + saveBaseline.toAbsolutePath());
+        }
+        if (baseline != null) {
+            report(baseline, result, threshold, failOnRegression);
+        }
+    }
+
+    private static void report(Path baseline, Path current, double threshold, boolean failOnRegression)
+            throws Exception {
+        BaselineComparison comparison = BaselineComparison.compare(baseline, current, threshold);
+        comparison.print(System.out);
+        if (failOnRegression && comparison.hasRegressions()) {
+            System.exit(2);
+        }
+    }
+
+    private static String requireValue(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(option + " requires a value");
+        }
+        return args[index];
+    }
+}
@@ -0,0 +1,183 @@
+package com.voting.system.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.voting.system.model.ApiResponse;
+import com.voting.system.model.Candidate;
+import com.voting.system.model.Constituency;
+import com.voting.system.model.Party;
+import com.voting.system.model.Vote;
+import com.voting.system.model.VoteConfirmation;
+import com.voting.system.model.VoteReceipt;
+import com.voting.system.service.VotingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies of /cast-vote, /receipt, /statistics and /constituencies
+ * written through the HTTP message converter, the way Spring MVC does
+ *
+ * maps    - HashMap payloads with Spring's default converter (the controllers
+ *           before typed responses)
+ * records - response records with Blackbird and JacksonConfig's converter
+ *
+ * Statistics was already a typed class and constituencies are still flat
+ * entities (copying them into records per request allocated more than it
+ * saved), so for those two only the converter differs. Add -prof gc for
+ * allocation per operation (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ResponseWriterBenchmark {
+
+    @Param({ "maps", "records" })
+    private String payload;
+
+    private boolean typed;
+    private MappingJackson2HttpMessageConverter converter;
+    private BufferOutputMessage output;
+    private Vote vote;
+    private VotingService.VotingStatistics statistics;
+    private List<Constituency> constituencies;
+
+    @Setup
+    public void setUp() {
+        typed = "records".equals(payload);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        if (typed) {
+            objectMapper.registerModule(new BlackbirdModule());
+            converter = new JacksonConfig.PrebuiltWriterMessageConverter(objectMapper);
+        } else {
+            converter = new MappingJackson2HttpMessageConverter(objectMapper);
+        }
+        output = new BufferOutputMessage();
+
+        // Fixed ids and timestamps so runs are comparable
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+        constituencies = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Constituency constituency = new Constituency("Constituency " + i, "State " + (i % 30),
+                    "Parliamentary constituency " + i);
+            constituency.setId((long) i + 1);
+            constituency.setCreatedAt(createdAt);
+            constituency.setUpdatedAt(createdAt);
+            constituencies.add(constituency);
+        }
+
+        Party party = new Party("Party 3", "Lotus", null);
+        party.setId(3L);
+        Candidate candidate = new Candidate("Candidate 7", party, constituencies.get(7));
+        candidate.setId(7L);
+        vote = new Vote();
+        vote.setId(1_234_567L);
+        vote.setConstituency(constituencies.get(7));
+        vote.setCandidate(candidate);
+        vote.setVotedAt(LocalDateTime.of(2024, 4, 19, 7, 0));
+        vote.setSessionId("8f14e45f-ceea-467f-a0e6-c1e1d3c1a8b2");
+
+        statistics = new VotingService.VotingStatistics(812_345L, 812_001L, 543L, 12L, 61.4, 40_112L);
+    }
+
+    @Benchmark
+    public int castVote() throws Exception {
+        Object data;
+        if (typed) {
+            data = VoteConfirmation.from(vote);
+        } else {
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("voteId", vote.getId());
+            responseData.put("constituency", vote.getConstituencyName());
+            responseData.put("candidate", vote.getCandidateFullInfo());
+            responseData.put("votedAt", vote.getVotedAt());
+            responseData.put("sessionId", vote.getSessionId());
+            responseData.put("transactionId", vote.getSessionId());
+            data = responseData;
+        }
+        return write(new ApiResponse(true, "Vote cast successfully", data));
+    }
+
+    @Benchmark
+    public int receipt() throws Exception {
+        Object data;
+        if (typed) {
+            data = VoteReceipt.from(42L, vote);
+        } else {
+            Map<String, Object> receipt = new HashMap<>();
+            receipt.put("transactionId", vote.getSessionId());
+            receipt.put("voterId", 42L);
+            receipt.put("constituencyName", vote.getConstituency().getName());
+            receipt.put("partyName", vote.getCandidate().getParty().getName());
+            receipt.put("candidateName", vote.getCandidate().getName());
+            receipt.put("timestamp", vote.getVotedAt());
+            receipt.put("status", "CAST");
+            data = receipt;
+        }
+        return write(new ApiResponse(true, "Receipt retrieved", data));
+    }
+
+    @Benchmark
+    public int statistics() throws Exception {
+        return write(new ApiResponse(true, "Statistics retrieved successfully", statistics));
+    }
+
+    @Benchmark
+    public int constituencies() throws Exception {
+        return write(new ApiResponse(true, "Constituencies retrieved successfully", constituencies));
+    }
+
+    private int write(ApiResponse response) throws Exception {
+        output.reset();
+        converter.write(response, ApiResponse.class, MediaType.APPLICATION_JSON, output);
+        return output.body.size();
+    }
+
+    /**
+     * Reusable in-memory response, so only the converter's own work is measured
+     */
+    private static class BufferOutputMessage implements HttpOutputMessage {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(16 * 1024);
+        private HttpHeaders headers = new HttpHeaders();
+
+        void reset() {
+            body.reset();
+            headers = new HttpHeaders();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.voting.system.service;
+
+import com.voting.system.VotingSystemApplication;
+import com.voting.system.model.Party;
+import com.voting.system.model.User;
+import com.voting.system.model.UserSummary;
+import com.voting.system.repository.PartyRepository;
+import com.voting.system.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Several application contexts ("nodes") in one JVM against one in-memory H2
+ * database, checking how long other nodes keep serving cached data after an
+ * admin change on one of them
+ *
+ * Usage: java -cp target/benchmarks.jar com.voting.system.service.CacheCoherenceHarness
+ *            [nodes] [rounds] [--property=value ...]
+ *
+ * Each round a different node renames a party and toggles a voter's active
+ * flag through the admin service methods, after every node has cached both.
+ * The other nodes are read every 5 ms until they return the new value. The
+ * first round also unlocks a locked voter. Passes if every node caught up
+ * within the bound of two poll intervals (plus 250 ms for scheduling); extra
+ * arguments go to every node, e.g. --voting.cache-coherence.enabled=false to
+ * see the reference cache TTL instead.
+ */
+public class CacheCoherenceHarness {
+
+    private static final long READ_INTERVAL_MILLIS = 5;
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private long boundMillis;
+    private long worstMillis;
+    private boolean passed = true;
+
+    public static void main(String[] args) throws Exception {
+        int nodeCount = args.length > 0 && !args[0].startsWith("--") ? Integer.parseInt(args[0]) : 3;
+        int rounds = args.length > 1 && !args[1].startsWith("--") ? Integer.parseInt(args[1]) : 5;
+        String[] extra = Arrays.stream(args).filter(a -> a.startsWith("--")).toArray(String[]::new);
+
+        CacheCoherenceHarness harness = new CacheCoherenceHarness();
+        try {
+            harness.start(nodeCount, extra);
+            harness.run(rounds);
+        } finally {
+            harness.stop();
+        }
+        System.exit(harness.passed ? 0 : 1);
+    }
+
+    private void start(int nodeCount, String[] extra) {
+        for (int i = 0; i < nodeCount; i++) {
+            // Command-line arguments, so they win over application.yml
+            List<String> nodeArgs = new ArrayList<>(List.of(
+                    "--spring.profiles.active=h2-bench",
+                    "--spring.main.web-application-type=none",
+                    "--spring.main.banner-mode=off",
+                    "--spring.datasource.url=jdbc:h2:mem:coherence;MODE=Oracle;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.hikari.pool-name=node-" + i,
+                    // The first node creates the schema, the others share it
+                    "--spring.jpa.hibernate.ddl-auto=" + (i == 0 ? "create" : "none"),
+                    "--spring.sql.init.mode=never",
+                    "--voting.datagen.enabled=false",
+                    "--voting.warmup.enabled=false",
+                    "--voting.registration.filter.enabled=false",
+                    "--voting.security.bcrypt.calibrate=false",
+                    "--voting.security.bcrypt.strength=4",
+                    "--logging.level.root=WARN",
+                    "--logging.file.name="));
+            nodeArgs.addAll(Arrays.asList(extra));
+            nodes.add(new SpringApplicationBuilder(VotingSystemApplication.class)
+                    .run(nodeArgs.toArray(String[]::new)));
+        }
+        long pollInterval = nodes.get(0).getEnvironment()
+                .getProperty("voting.cache-coherence.poll-interval-millis", Long.class, 1000L);
+        boundMillis = 2 * pollInterval + 250;
+        System.out.printf("%d nodes started, staleness bound %d ms%n", nodes.size(), boundMillis);
+    }
+
+    private void run(int rounds) throws InterruptedException {
+        ConfigurableApplicationContext first = nodes.get(0);
+        Party party = first.getBean(PartyRepository.class).save(new Party("Harness Party", "Harness", null));
+
+        User user = first.getBean(UserService.class)
+                .registerUser("coherence@harness.example", "Harness@12345", "Cache", "Harness", null);
+        Long userId = user.getId();
+        String email = user.getEmail();
+        new TransactionTemplate(first.getBean(PlatformTransactionManager.class)).executeWithoutResult(status ->
+                first.getBean(UserRepository.class).lockUserAccount(userId, LocalDateTime.now().plusHours(1), 5));
+
+        // Unlock: every node has the locked summary cached
+        measure("user unlock", 0,
+                node -> node.getBean(UserService.class).findSummaryByEmail(email).map(UserSummary::isAccountLocked).orElse(true),
+                () -> first.getBean(UserService.class).unlockUserAccount(userId),
+                node -> !node.getBean(UserService.class).findSummaryByEmail(email).get().isAccountLocked());
+
+        for (int round = 1; round <= rounds; round++) {
+            int writer = round % nodes.size();
+            ConfigurableApplicationContext writerNode = nodes.get(writer);
+
+            String name = "Harness Party " + round;
+            String symbol = "Harness" + round;
+            measure("party rename", writer,
+                    node -> node.getBean(ConstituencyService.class).getPartyById(party.getId()).get().getName(),
+                    () -> writerNode.getBean(ConstituencyService.class).updateParty(party.getId(), name,
+                            symbol, null, null),
+                    node -> name.equals(node.getBean(ConstituencyService.class).getPartyById(party.getId()).get().getName()));
+
+            boolean active = round % 2 == 0;
+            measure("user active=" + active, writer,
+                    node -> node.getBean(UserService.class).findSummaryByEmail(email).get().isActive(),
+                    () -> writerNode.getBean(UserService.class).updateUserActiveStatus(userId, active),
+                    node -> node.getBean(UserService.class).findSummaryByEmail(email).get().isActive() == active);
+        }
+
+        System.out.printf("worst staleness %d ms, bound %d ms: %s%n", worstMillis, boundMillis,
+                passed ? "PASS" : "FAIL");
+    }
+
+    /**
+     * Warm every node, make the change on the writer, then wait for the other nodes to see it
+     */
+    private void measure(String change, int writer, Function<ConfigurableApplicationContext, Object> warm,
+            Runnable mutation, Predicate<ConfigurableApplicationContext> caughtUp) throws InterruptedException {
+        for (ConfigurableApplicationContext node : nodes) {
+            warm.apply(node);
+            warm.apply(node);
+        }
+
+        mutation.run();
+        long committedAt = System.nanoTime();
+        long timeoutNanos = 3 * boundMillis * 1_000_000L;
+
+        long[] seenMillis = new long[nodes.size()];
+        Arrays.fill(seenMillis, -1);
+        seenMillis[writer] = 0;
+        int pending = nodes.size() - 1;
+        while (pending > 0 && System.nanoTime() - committedAt < timeoutNanos) {
+            for (int i = 0; i < nodes.size(); i++) {
+                if (seenMillis[i] < 0 && caughtUp.test(nodes.get(i))) {
+                    seenMillis[i] = (System.nanoTime() - committedAt) / 1_000_000;
+                    pending--;
+                }
+            }
+            Thread.sleep(READ_INTERVAL_MILLIS);
+        }
+
+        StringBuilder line = new StringBuilder(String.format("%-18s writer node-%d:", change, writer));
+        for (int i = 0; i < nodes.size(); i++) {
+            if (i == writer) {
+                continue;
+            }
+            if (seenMillis[i] < 0) {
+                line.append(String.format(" node-%d stale after %d ms", i, timeoutNanos / 1_000_000));
+                worstMillis = Math.max(worstMillis, timeoutNanos / 1_000_000);
+                passed = false;
+            } else {
+                line.append(String.format(" node-%d %d ms", i, seenMillis[i]));
+                worstMillis = Math.max(worstMillis, seenMillis[i]);
+                passed &= seenMillis[i] <= boundMillis;
+            }
+        }
+        System.out.println(line);
+    }
+
+    private void stop() {
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            nodes.get(i).close();
+        }
+    }
+}
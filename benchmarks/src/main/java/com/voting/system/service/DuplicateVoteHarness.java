@@ -0,0 +1,178 @@
+package com.voting.system.service;
+
+import com.voting.system.VotingSystemApplication;
+import com.voting.system.model.AuthenticatedVoter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Races simultaneous ballots from one voter and checks that exactly one is stored
+ *
+ * Usage: java -cp target/benchmarks.jar com.voting.system.service.DuplicateVoteHarness
+ *            [attempts] [voters] [--property=value ...]
+ *
+ * Starts one node on an in-memory H2 database with a small synthetic election.
+ * For each of the given number of voters who have not voted, the given number
+ * of ballots is submitted at once from a thread pool, through the service as
+ * the endpoint does. Ballots are spread round-robin over up to 20
+ * constituencies, so both the same-constituency and the cross-constituency
+ * duplicate paths are raced. For every voter exactly one ballot must be
+ * accepted, every other one rejected as already voted, and the vote table and
+ * the voter ledger must each hold one row for the voter.
+ */
+public class DuplicateVoteHarness {
+
+    private static final int THREADS = 64;
+    private static final int MAX_CONSTITUENCIES = 20;
+
+    private boolean passed = true;
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = Arrays.stream(args).filter(a -> !a.startsWith("--")).toList();
+        int attempts = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : 1000;
+        int voters = positional.size() > 1 ? Integer.parseInt(positional.get(1)) : 5;
+
+        List<String> nodeArgs = new ArrayList<>(List.of(
+                "--spring.profiles.active=h2-bench",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:duplicates;MODE=Oracle;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.sql.init.mode=always",
+                "--voting.datagen.enabled=true",
+                "--voting.datagen.users=500",
+                "--voting.datagen.constituencies=40",
+                "--voting.datagen.parties=8",
+                "--voting.datagen.candidates-per-constituency=5",
+                "--voting.datagen.turnout=0.1",
+                "--voting.tally.rebuild-on-startup=false",
+                "--voting.warmup.enabled=false",
+                // Ballots are cast through the service without a voting OTP
+                "--voting.vote-session.required=false",
+                "--voting.registration.filter.enabled=false",
+                "--voting.security.bcrypt.calibrate=false",
+                "--voting.security.bcrypt.strength=4",
+                "--logging.level.root=WARN",
+                // Every losing ballot hits the ledger's unique key; that is the expected path here
+                "--logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF",
+                "--logging.level.org.hibernate.orm.jdbc.batch=OFF",
+                "--logging.file.name="));
+        nodeArgs.addAll(Arrays.stream(args).filter(a -> a.startsWith("--")).toList());
+
+        DuplicateVoteHarness harness = new DuplicateVoteHarness();
+        try (ConfigurableApplicationContext node = new SpringApplicationBuilder(VotingSystemApplication.class)
+                .run(nodeArgs.toArray(String[]::new))) {
+            harness.run(node, attempts, voters);
+        }
+        System.exit(harness.passed ? 0 : 1);
+    }
+
+    private void run(ConfigurableApplicationContext node, int attempts, int voters) throws Exception {
+        JdbcTemplate jdbc = node.getBean(JdbcTemplate.class);
+        VotingService votingService = node.getBean(VotingService.class);
+
+        // Constituency ID, party ID, candidate ID of the first candidate in each constituency
+        List<long[]> ballots = jdbc.query("SELECT c.CONSTITUENCY_ID, c.PARTY_ID, c.ID FROM VOTING_CANDIDATES c " +
+                "WHERE c.ID = (SELECT MIN(f.ID) FROM VOTING_CANDIDATES f WHERE f.CONSTITUENCY_ID = c.CONSTITUENCY_ID) " +
+                "ORDER BY c.CONSTITUENCY_ID FETCH FIRST " + MAX_CONSTITUENCIES + " ROWS ONLY",
+                (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2), rs.getLong(3) });
+        List<Long> userIds = jdbc.queryForList("SELECT u.ID FROM VOTING_USERS u WHERE u.IS_VERIFIED = TRUE " +
+                "AND u.IS_ACTIVE = TRUE AND NOT EXISTS (SELECT 1 FROM VOTING_VOTER_LEDGER l WHERE l.USER_ID = u.ID) " +
+                "ORDER BY u.ID FETCH FIRST " + voters + " ROWS ONLY", Long.class);
+        check(!ballots.isEmpty() && userIds.size() == voters, "the synthetic election has too few candidates or voters");
+        if (!passed) {
+            System.out.println("FAIL");
+            return;
+        }
+
+        System.out.printf("%d voters, %d simultaneous ballots each over %d constituencies, %d threads%n%n",
+                voters, attempts, ballots.size(), THREADS);
+        System.out.printf("%-12s %10s %10s %10s %8s %8s %10s%n",
+                "user", "accepted", "repeats", "other", "votes", "ledger", "elapsed");
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Long userId : userIds) {
+                race(pool, jdbc, votingService, userId, attempts, ballots);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        System.out.println(passed ? "PASS" : "FAIL");
+    }
+
+    private void race(ExecutorService pool, JdbcTemplate jdbc, VotingService votingService, Long userId,
+                      int attempts, List<long[]> ballots) throws Exception {
+        AuthenticatedVoter voter = new AuthenticatedVoter(userId, "voter" + userId + "@bench.example",
+                true, true, true, "duplicates-" + userId, Instant.now().plusSeconds(3600));
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger repeats = new AtomicInteger();
+        AtomicInteger other = new AtomicInteger();
+        AtomicReference<Throwable> firstOther = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            long[] ballot = ballots.get(i % ballots.size());
+            tasks.add(pool.submit(() -> {
+                start.await();
+                try {
+                    votingService.castVote(voter, ballot[0], ballot[1], ballot[2], null, "127.0.0.1",
+                            "duplicate-harness");
+                    accepted.incrementAndGet();
+                } catch (VotingService.VoteRejectedException e) {
+                    if (e.getReason() == VotingService.VoteRejectedException.Reason.ALREADY_VOTED) {
+                        repeats.incrementAndGet();
+                    } else {
+                        other.incrementAndGet();
+                        firstOther.compareAndSet(null, e);
+                    }
+                } catch (RuntimeException e) {
+                    other.incrementAndGet();
+                    firstOther.compareAndSet(null, e);
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        long elapsedMillis = (System.nanoTime() - begin) / 1_000_000;
+
+        long votes = jdbc.queryForObject("SELECT COUNT(*) FROM VOTING_VOTES WHERE USER_ID = ?", Long.class, userId);
+        long ledger = jdbc.queryForObject("SELECT COUNT(*) FROM VOTING_VOTER_LEDGER WHERE USER_ID = ?", Long.class,
+                userId);
+        System.out.printf("%-12d %10d %10d %10d %8d %8d %7d ms%n",
+                userId, accepted.get(), repeats.get(), other.get(), votes, ledger, elapsedMillis);
+
+        check(accepted.get() == 1, accepted.get() + " ballots accepted for user " + userId);
+        check(repeats.get() == attempts - 1, repeats.get() + " of " + (attempts - 1)
+                + " repeats rejected as already voted for user " + userId);
+        check(other.get() == 0, other.get() + " ballots failed otherwise for user " + userId + ", e.g. "
+                + firstOther.get());
+        check(votes == 1, votes + " ballots stored for user " + userId);
+        check(ledger == 1, ledger + " ledger rows for user " + userId);
+    }
+
+    private void check(boolean condition, String failure) {
+        if (!condition) {
+            System.out.println("FAILED: " + failure);
+            passed = false;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.voting.system.service;
+
+import com.voting.system.VotingSystemApplication;
+import com.voting.system.model.User;
+import com.voting.system.model.UserSummary;
+import com.voting.system.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Measures email lookups on a large user table: the previous LOWER(EMAIL)
+ * scan, the indexed lookup on the normalized email and the near cache
+ *
+ * Usage: java -Xmx3g -cp target/benchmarks.jar com.voting.system.service.EmailLookupHarness
+ *            [users] [lookups] [scans] [--property=value ...]
+ *
+ * Generates the users with SyntheticDataService into an H2 file database
+ * under ./data (users only, no OTPs or votes) and reuses it on later runs
+ * with the same user count; generating 10M users takes a while. Looks up
+ * random generated emails, mixed in case and padded as callers send them,
+ * through each path. The scan is only sampled, since each one reads the
+ * whole table. H2 gets a 1 GB page cache, so the index stays in memory as
+ * it would on a database server. All paths must find the same user; the
+ * plan for the normalized lookup must use the email index, the indexed
+ * lookup must stay within a mean and a 99th percentile budget, and a cache
+ * hit within a 99th percentile budget.
+ */
+public class EmailLookupHarness {
+
+    private static final long INDEXED_MEAN_BUDGET_NANOS = 1_000_000;
+    private static final long INDEXED_P99_BUDGET_NANOS = 10_000_000;
+    private static final long CACHED_P99_BUDGET_NANOS = 50_000;
+
+    // The lookup the repository used before emails were stored normalized
+    private static final String LOWER_LOOKUP_SQL = "SELECT ID FROM VOTING_USERS WHERE LOWER(EMAIL) = LOWER(?)";
+
+    private boolean passed = true;
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = Arrays.stream(args).filter(a -> !a.startsWith("--")).toList();
+        int users = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : 10_000_000;
+        int lookups = positional.size() > 1 ? Integer.parseInt(positional.get(1)) : 200_000;
+        int scans = positional.size() > 2 ? Integer.parseInt(positional.get(2)) : 5;
+
+        Path database = Path.of("data", "email-lookup-" + users).toAbsolutePath();
+        List<String> nodeArgs = new ArrayList<>(List.of(
+                "--spring.profiles.active=h2-bench",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:file:" + database + ";MODE=Oracle;DB_CLOSE_ON_EXIT=FALSE;CACHE_SIZE=1048576",
+                "--voting.datagen.users=" + users,
+                "--voting.datagen.constituencies=10",
+                "--voting.datagen.parties=4",
+                "--voting.datagen.candidates-per-constituency=2",
+                "--voting.datagen.otps-per-user=0",
+                "--voting.datagen.turnout=0",
+                "--voting.datagen.batch-size=5000",
+                "--voting.users.summary-cache.max-size=" + lookups,
+                "--voting.users.summary-cache.ttl-seconds=3600",
+                "--voting.tally.rebuild-on-startup=false",
+                "--voting.warmup.enabled=false",
+                "--voting.registration.filter.enabled=false",
+                "--voting.security.bcrypt.calibrate=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.voting.system.service.SyntheticDataService=INFO",
+                "--logging.file.name="));
+        nodeArgs.addAll(Arrays.stream(args).filter(a -> a.startsWith("--")).toList());
+
+        System.out.printf("Database %s (generated on the first run)%n", database);
+        EmailLookupHarness harness = new EmailLookupHarness();
+        try (ConfigurableApplicationContext node = new SpringApplicationBuilder(VotingSystemApplication.class)
+                .run(nodeArgs.toArray(String[]::new))) {
+            harness.run(node, users, lookups, scans);
+        }
+        System.exit(harness.passed ? 0 : 1);
+    }
+
+    private void run(ConfigurableApplicationContext node, int users, int lookups, int scans) {
+        JdbcTemplate jdbc = node.getBean(JdbcTemplate.class);
+        UserRepository userRepository = node.getBean(UserRepository.class);
+        UserService userService = node.getBean(UserService.class);
+
+        long stored = jdbc.queryForObject("SELECT COUNT(*) FROM VOTING_USERS", Long.class);
+        check(stored == users, "the database holds " + stored + " users, not " + users
+                + "; delete it to regenerate");
+
+        String plan = jdbc.queryForObject("EXPLAIN SELECT ID FROM VOTING_USERS WHERE EMAIL = ?", String.class,
+                SyntheticDataService.userEmail(0)).toUpperCase(Locale.ROOT);
+        check(!plan.contains("TABLESCAN") && plan.contains("EMAIL = "), "normalized lookup does not use an index: "
+                + plan.replace('\n', ' '));
+
+        SplittableRandom random = new SplittableRandom(7);
+        String[] emails = new String[lookups];
+        for (int i = 0; i < lookups; i++) {
+            String email = SyntheticDataService.userEmail(random.nextInt(users));
+            // As typed by a voter: some capitalized, some padded
+            emails[i] = (i % 3 == 0 ? email.toUpperCase(Locale.ROOT) : email) + (i % 5 == 0 ? " " : "");
+        }
+
+        System.out.printf("%n%d users, %d lookups, %d scans%n%n", stored, lookups, scans);
+        System.out.printf("%-36s %12s %12s %12s%n", "path", "mean", "p50", "p99");
+
+        Function<String, Long> scan = email -> jdbc.queryForObject(LOWER_LOOKUP_SQL, Long.class, email.trim());
+        Function<String, Long> indexed = email -> userRepository.findSummaryByEmail(User.normalizeEmail(email))
+                .map(UserSummary::getId).orElse(null);
+        Function<String, Long> cached = email -> userService.findSummaryByEmail(email)
+                .map(UserSummary::getId).orElse(null);
+
+        Long[] expected = new Long[lookups];
+        long[] scanNanos = time(scan, emails, Math.min(scans, lookups), expected, "LOWER(EMAIL) scan");
+        // Warm the connection, statement and index pages before timing
+        time(indexed, Arrays.copyOf(emails, Math.min(lookups, 20_000)), lookups, null, null);
+        long[] indexedNanos = time(indexed, emails, lookups, expected, "indexed, normalized");
+        for (String email : emails) {
+            userService.findSummaryByEmail(email);
+        }
+        long[] cachedNanos = time(cached, emails, lookups, expected, "near cache hit");
+
+        report("LOWER(EMAIL) scan", scanNanos);
+        report("indexed, normalized", indexedNanos);
+        report("near cache hit", cachedNanos);
+        check(mean(indexedNanos) <= INDEXED_MEAN_BUDGET_NANOS,
+                "indexed lookup mean above " + INDEXED_MEAN_BUDGET_NANOS + " ns");
+        check(percentile(indexedNanos, 0.99) <= INDEXED_P99_BUDGET_NANOS,
+                "indexed lookup p99 above " + INDEXED_P99_BUDGET_NANOS + " ns");
+        check(percentile(cachedNanos, 0.99) <= CACHED_P99_BUDGET_NANOS,
+                "cached lookup p99 above " + CACHED_P99_BUDGET_NANOS + " ns");
+
+        System.out.println(passed ? "PASS" : "FAIL");
+    }
+
+    /**
+     * Time a lookup for the first count emails
+     *
+     * The first path to run fills expected; later paths must find the same IDs
+     */
+    private long[] time(Function<String, Long> lookup, String[] emails, int count, Long[] expected, String label) {
+        int n = Math.min(count, emails.length);
+        long[] nanos = new long[n];
+        for (int i = 0; i < n; i++) {
+            long start = System.nanoTime();
+            Long id = lookup.apply(emails[i]);
+            nanos[i] = System.nanoTime() - start;
+            check(id != null, "no user found for " + emails[i]);
+            if (expected != null) {
+                if (expected[i] == null) {
+                    expected[i] = id;
+                } else if (!expected[i].equals(id)) {
+                    check(false, label + " found user " + id + " for " + emails[i] + ", expected " + expected[i]);
+                }
+            }
+        }
+        return nanos;
+    }
+
+    private static long percentile(long[] nanos, double p) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    private static long mean(long[] nanos) {
+        long total = 0;
+        for (long n : nanos) {
+            total += n;
+        }
+        return total / Math.max(1, nanos.length);
+    }
+
+    private static void report(String label, long[] nanos) {
+        System.out.printf("%-36s %9.1f us %9.1f us %9.1f us%n", label, mean(nanos) / 1_000.0,
+                percentile(nanos, 0.5) / 1_000.0, percentile(nanos, 0.99) / 1_000.0);
+    }
+
+    private void check(boolean condition, String failure) {
+        if (!condition) {
+            System.out.println("FAILED: " + failure);
+            passed = false;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.voting.system.service;
+
+import com.voting.system.VotingSystemApplication;
+import com.voting.system.model.OTP;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures sustained OTP email delivery against a local SMTP stand-in
+ *
+ * Usage: java -cp target/benchmarks.jar com.voting.system.service.EmailThroughputHarness
+ *            [messages] [server-latency-millis] [--property=value ...]
+ *
+ * Starts an SMTP sink on a free local port that accepts every message after
+ * the given latency, except every hundredth, which it refuses with a
+ * temporary 451. One node is started with delivery enabled against it.
+ * After a warm-up, the given number of OTP emails is queued at once and
+ * timed until the last one is accepted. Every message must be delivered,
+ * none dead-lettered, each refusal retried once, and the workers must
+ * reuse their connections rather than open one per message.
+ */
+public class EmailThroughputHarness {
+
+    private static final int REFUSE_EVERY = 100;
+
+    private boolean passed = true;
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = Arrays.stream(args).filter(a -> !a.startsWith("--")).toList();
+        int messages = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : 20_000;
+        int latencyMillis = positional.size() > 1 ? Integer.parseInt(positional.get(1)) : 1;
+
+        try (SmtpSink sink = new SmtpSink(latencyMillis)) {
+            List<String> nodeArgs = new ArrayList<>(List.of(
+                    "--spring.profiles.active=h2-bench",
+                    "--spring.main.web-application-type=none",
+                    "--spring.main.banner-mode=off",
+                    "--spring.datasource.url=jdbc:h2:mem:email;MODE=Oracle;DB_CLOSE_DELAY=-1",
+                    "--spring.jpa.hibernate.ddl-auto=create",
+                    "--spring.sql.init.mode=always",
+                    "--spring.mail.host=localhost",
+                    "--spring.mail.port=" + sink.port(),
+                    "--spring.mail.properties.mail.smtp.auth=false",
+                    "--spring.mail.properties.mail.smtp.starttls.enable=false",
+                    "--voting.email.delivery.enabled=true",
+                    "--voting.email.delivery.queue-capacity=" + Math.max(10_000, messages),
+                    "--voting.email.delivery.initial-backoff-ms=10",
+                    "--voting.datagen.enabled=false",
+                    "--voting.tally.rebuild-on-startup=false",
+                    "--voting.warmup.enabled=false",
+                    "--voting.registration.filter.enabled=false",
+                    "--voting.security.bcrypt.calibrate=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.voting.system=ERROR",
+                    "--logging.file.name="));
+            nodeArgs.addAll(Arrays.stream(args).filter(a -> a.startsWith("--")).toList());
+
+            EmailThroughputHarness harness = new EmailThroughputHarness();
+            try (ConfigurableApplicationContext node = new SpringApplicationBuilder(VotingSystemApplication.class)
+                    .run(nodeArgs.toArray(String[]::new))) {
+                int workers = node.getEnvironment().getProperty("voting.email.delivery.worker-threads", Integer.class, 4);
+                harness.run(node.getBean(EmailDeliveryService.class), sink, messages, latencyMillis, workers);
+            }
+            System.exit(harness.passed ? 0 : 1);
+        }
+    }
+
+    private void run(EmailDeliveryService delivery, SmtpSink sink, int messages, int latencyMillis, int workers)
+            throws InterruptedException {
+        check(delivery.isDeliveryEnabled(), "delivery did not start against the SMTP sink");
+        if (!passed) {
+            System.out.println("FAIL");
+            return;
+        }
+
+        // Warm the workers, their connections and the message path
+        int warmup = Math.min(1_000, Math.max(1, messages / 10));
+        send(delivery, warmup, "warmup");
+        awaitDelivered(delivery, warmup, 60_000);
+
+        EmailDeliveryService.EmailDeliveryStats before = delivery.getDeliveryStatistics();
+        int refusedBefore = sink.refused.get();
+        long start = System.nanoTime();
+        int queued = send(delivery, messages, "voter");
+        long queuedNanos = System.nanoTime() - start;
+        boolean drained = awaitDelivered(delivery, warmup + messages, 600_000);
+        long elapsedNanos = System.nanoTime() - start;
+        EmailDeliveryService.EmailDeliveryStats after = delivery.getDeliveryStatistics();
+
+        long delivered = after.getDelivered() - before.getDelivered();
+        long retried = after.getRetried() - before.getRetried();
+        long connects = after.getTransportConnects() - before.getTransportConnects();
+        int refused = sink.refused.get() - refusedBefore;
+
+        System.out.printf("%d messages, %d workers, SMTP sink latency %d ms, every %dth refused%n%n",
+                messages, workers, latencyMillis, REFUSE_EVERY);
+        System.out.printf("%-32s %12d%n", "queued", queued);
+        System.out.printf("%-32s %12d%n", "delivered", delivered);
+        System.out.printf("%-32s %12d%n", "refused by the server", refused);
+        System.out.printf("%-32s %12d%n", "retried", retried);
+        System.out.printf("%-32s %12d%n", "dead-lettered", after.getDeadLettered());
+        System.out.printf("%-32s %12d%n", "SMTP connections", connects);
+        System.out.printf("%-32s %9.1f us%n", "enqueue per message", queuedNanos / 1_000.0 / messages);
+        System.out.printf("%-32s %9.1f ms%n", "time to drain", elapsedNanos / 1e6);
+        System.out.printf("%-32s %9.0f /s%n", "sustained delivery", delivered * 1e9 / elapsedNanos);
+        System.out.printf("%-32s %9d ms%n", "max queue lag", after.getMaxLagMillis());
+
+        check(queued == messages, (messages - queued) + " messages were not queued");
+        check(drained && delivered == messages, "delivered " + delivered + " of " + messages);
+        check(after.getDeadLettered() == 0, after.getDeadLettered() + " messages were dead-lettered");
+        check(retried == refused, "refused " + refused + " but retried " + retried);
+        // One connection per worker, plus a reconnect after each refusal and an idle one or two
+        check(connects <= refused + 2L * workers, connects + " connections for " + messages + " messages");
+
+        System.out.println(passed ? "PASS" : "FAIL");
+    }
+
+    private static int send(EmailDeliveryService delivery, int count, String prefix) {
+        int queued = 0;
+        for (int i = 0; i < count; i++) {
+            if (delivery.sendOtpEmail(prefix + i + "@bench.example", String.format(Locale.ROOT, "%06d", i),
+                    OTP.OTPPurpose.LOGIN_VERIFICATION, 10)) {
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    private static boolean awaitDelivered(EmailDeliveryService delivery, long total, long timeoutMillis)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (System.currentTimeMillis() < deadline) {
+            EmailDeliveryService.EmailDeliveryStats stats = delivery.getDeliveryStatistics();
+            if (stats.getDelivered() + stats.getDeadLettered() >= total) {
+                return true;
+            }
+            Thread.sleep(1);
+        }
+        return false;
+    }
+
+    private void check(boolean condition, String failure) {
+        if (!condition) {
+            System.out.println("FAILED: " + failure);
+            passed = false;
+        }
+    }
+
+    /**
+     * Minimal SMTP server: accepts every message after a fixed latency, refusing every hundredth
+     */
+    static class SmtpSink implements AutoCloseable {
+        private final ServerSocket server;
+        private final int latencyMillis;
+        private final AtomicInteger received = new AtomicInteger();
+        private final AtomicInteger refused = new AtomicInteger();
+
+        SmtpSink(int latencyMillis) throws IOException {
+            this.latencyMillis = latencyMillis;
+            this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::accept, "smtp-sink");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        private void accept() {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    Thread session = new Thread(() -> serve(socket), "smtp-sink-session");
+                    session.setDaemon(true);
+                    session.start();
+                } catch (IOException e) {
+                    return; // Closed
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                         StandardCharsets.US_ASCII));
+                 OutputStream out = socket.getOutputStream()) {
+                reply(out, "220 localhost SMTP sink");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line;
+                    switch (command) {
+                        case "DATA" -> {
+                            reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                            while ((line = in.readLine()) != null && !line.equals(".")) {
+                                // Discard the message body
+                            }
+                            if (received.incrementAndGet() % REFUSE_EVERY == 0) {
+                                refused.incrementAndGet();
+                                reply(out, "451 Try again later");
+                            } else {
+                                pause();
+                                reply(out, "250 OK");
+                            }
+                        }
+                        case "QUIT" -> {
+                            reply(out, "221 Bye");
+                            return;
+                        }
+                        default -> reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                // Client went away
+            }
+        }
+
+        private void pause() {
+            if (latencyMillis > 0) {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private static void reply(OutputStream out, String line) {
+            try {
+                out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.voting.system.service;
+
+import com.voting.system.model.AuthenticatedVoter;
+import com.voting.system.model.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token verification as done by JwtAuthenticationFilter on every request
+ *
+ * verify uses the signing key and parser JwtService builds at startup;
+ * verifyWithFreshParser rebuilds them per call, as a per-request lookup of
+ * the key would. rejectTampered is a token whose signature does not match.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGhlLWp3dC1iZW5jaG1hcmstMzItYnl0ZXMhIQ==";
+    private static final String ISSUER = "online-voting-system";
+
+    private JwtService jwtService;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        set("secret", SECRET);
+        set("issuer", ISSUER);
+        set("expirationMinutes", 1440L);
+        jwtService.init();
+
+        User user = new User();
+        user.setId(42L);
+        user.setEmail("voter42@bench.example");
+        user.setIsActive(true);
+        user.setIsVerified(true);
+        token = jwtService.generateToken(user, false);
+
+        // Flip one character of the signature
+        char last = token.charAt(token.length() - 2);
+        tamperedToken = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A')
+                + token.charAt(token.length() - 1);
+        if (jwtService.parseToken(token).isEmpty() || jwtService.parseToken(tamperedToken).isPresent()) {
+            throw new IllegalStateException("Benchmark tokens do not verify as expected");
+        }
+    }
+
+    private void set(String name, Object value) {
+        Field field = ReflectionUtils.findField(JwtService.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, jwtService, value);
+    }
+
+    @Benchmark
+    public Optional<AuthenticatedVoter> verify() {
+        return jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public Object verifyWithFreshParser() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .requireIssuer(ISSUER)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public Optional<AuthenticatedVoter> rejectTampered() {
+        return jwtService.parseToken(tamperedToken);
+    }
+}
@@ -0,0 +1,185 @@
+package com.voting.system.service;
+
+import com.voting.system.VotingSystemApplication;
+import com.voting.system.model.User;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Several nodes in one JVM against one in-memory H2 database, checking that
+ * failed logins spread over the nodes lock an account as they would on one
+ *
+ * Usage: java -cp target/benchmarks.jar com.voting.system.service.LoginLockoutHarness
+ *            [nodes] [--property=value ...]
+ *
+ * Periodic flushes are disabled so the harness decides when nodes write. Three
+ * cases, each on a fresh account: all failures on one node must lock on the
+ * threshold-th; failures spread round-robin with a flush after each must lock
+ * on the threshold-th overall; failures spread round-robin with no flush in
+ * between, as many as the nodes accept on their own, must lock at the next
+ * flush with the stored count equal to the number of failures. A correct
+ * password must then be refused on every node.
+ */
+public class LoginLockoutHarness {
+
+    private static final String PASSWORD = "Harness@12345";
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private int threshold;
+    private boolean passed = true;
+
+    public static void main(String[] args) throws Exception {
+        int nodeCount = args.length > 0 && !args[0].startsWith("--") ? Integer.parseInt(args[0]) : 3;
+        String[] extra = Arrays.stream(args).filter(a -> a.startsWith("--")).toArray(String[]::new);
+
+        LoginLockoutHarness harness = new LoginLockoutHarness();
+        try {
+            harness.start(nodeCount, extra);
+            harness.run();
+        } finally {
+            harness.stop();
+        }
+        System.exit(harness.passed ? 0 : 1);
+    }
+
+    private void start(int nodeCount, String[] extra) {
+        for (int i = 0; i < nodeCount; i++) {
+            List<String> nodeArgs = new ArrayList<>(List.of(
+                    "--spring.profiles.active=h2-bench",
+                    "--spring.main.web-application-type=none",
+                    "--spring.main.banner-mode=off",
+                    "--spring.datasource.url=jdbc:h2:mem:lockout;MODE=Oracle;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.hikari.pool-name=node-" + i,
+                    // The first node creates the schema, the others share it
+                    "--spring.jpa.hibernate.ddl-auto=" + (i == 0 ? "create" : "none"),
+                    "--spring.sql.init.mode=never",
+                    "--voting.datagen.enabled=false",
+                    "--voting.warmup.enabled=false",
+                    "--voting.registration.filter.enabled=false",
+                    "--voting.security.bcrypt.calibrate=false",
+                    "--voting.security.bcrypt.strength=4",
+                    "--voting.security.login-attempts.flush-interval-millis=3600000",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.voting.system=WARN",
+                    "--logging.file.name="));
+            nodeArgs.addAll(Arrays.asList(extra));
+            nodes.add(new SpringApplicationBuilder(VotingSystemApplication.class)
+                    .run(nodeArgs.toArray(String[]::new)));
+        }
+        threshold = nodes.get(0).getEnvironment()
+                .getProperty("voting.security.account-lockout-attempts", Integer.class, 5);
+        System.out.printf("%d nodes started, lockout after %d failures%n%n", nodes.size(), threshold);
+    }
+
+    private void stop() {
+        for (ConfigurableApplicationContext node : nodes) {
+            node.close();
+        }
+    }
+
+    private void run() {
+        System.out.printf("%-32s %12s %12s %8s%n", "case", "failures", "stored", "locked");
+
+        // One node: the threshold-th failure locks
+        User single = register("single");
+        int lockedAt = failUntilLocked(single, false, threshold * nodes.size());
+        report("one node", single, lockedAt);
+        check(lockedAt == threshold, "one node locked after " + lockedAt + " failures");
+
+        // Round-robin, every node flushing after each failure: the threshold-th failure overall locks
+        User flushed = register("flushed");
+        lockedAt = failUntilLocked(flushed, true, threshold * nodes.size());
+        report("round-robin, flush each", flushed, lockedAt);
+        check(lockedAt == threshold, "round-robin with flushes locked after " + lockedAt + " failures");
+
+        // Round-robin without flushes: each node stops short of the threshold on its own
+        User spread = register("spread");
+        int failures = nodes.size() * (threshold - 1);
+        for (int i = 0; i < failures; i++) {
+            failLogin(nodes.get(i % nodes.size()), spread);
+        }
+        for (ConfigurableApplicationContext node : nodes) {
+            node.getBean(LoginAttemptService.class).flushPendingAttempts();
+        }
+        report("round-robin, flush at the end", spread, failures);
+        check(stored(spread) == failures, "stored count " + stored(spread) + " is not the sum " + failures);
+        check(locked(spread), "summed failures did not lock the account");
+        for (int i = 0; i < nodes.size(); i++) {
+            check(correctLoginRefused(nodes.get(i), spread), "node " + i + " let a locked account log in");
+        }
+
+        System.out.println(passed ? "PASS" : "FAIL");
+    }
+
+    private User register(String name) {
+        return nodes.get(0).getBean(UserService.class)
+                .registerUser(name + "@lockout.example", PASSWORD, "Lockout", "Harness", null);
+    }
+
+    /**
+     * Fail logins round-robin over the nodes until the account locks
+     *
+     * @return the failure that locked it, or 0
+     */
+    private int failUntilLocked(User user, boolean spread, int limit) {
+        for (int i = 1; i <= limit; i++) {
+            ConfigurableApplicationContext node = nodes.get(spread ? (i - 1) % nodes.size() : 0);
+            failLogin(node, user);
+            if (spread) {
+                node.getBean(LoginAttemptService.class).flushPendingAttempts();
+            }
+            if (locked(user)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private void failLogin(ConfigurableApplicationContext node, User user) {
+        try {
+            check(node.getBean(UserService.class).authenticateUser(user.getEmail(), "wrong-password").isEmpty(),
+                    "a wrong password was accepted");
+        } catch (UserService.LoginRejectedException e) {
+            check(false, "failure refused before the lock: " + e.getOutcome());
+        }
+    }
+
+    private boolean correctLoginRefused(ConfigurableApplicationContext node, User user) {
+        try {
+            node.getBean(UserService.class).authenticateUser(user.getEmail(), PASSWORD);
+            return false;
+        } catch (UserService.LoginRejectedException e) {
+            return e.getOutcome() == UserService.LoginOutcome.LOCKED;
+        }
+    }
+
+    private Map<String, Object> row(User user) {
+        return nodes.get(0).getBean(JdbcTemplate.class).queryForMap(
+                "SELECT FAILED_LOGIN_ATTEMPTS, ACCOUNT_LOCKED_UNTIL FROM VOTING_USERS WHERE ID = ?", user.getId());
+    }
+
+    private int stored(User user) {
+        return ((Number) row(user).get("FAILED_LOGIN_ATTEMPTS")).intValue();
+    }
+
+    private boolean locked(User user) {
+        return row(user).get("ACCOUNT_LOCKED_UNTIL") != null;
+    }
+
+    private void report(String label, User user, int failures) {
+        System.out.printf("%-32s %12d %12d %8s%n", label, failures, stored(user), locked(user));
+    }
+
+    private void check(boolean condition, String failure) {
+        if (!condition) {
+            System.out.println("FAILED: " + failure);
+            passed = false;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.voting.system.service;
+
+import com.voting.system.VotingSystemApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks that recording the hot-path metrics stays within a fixed budget per call
+ *
+ * Usage: java -cp target/benchmarks.jar com.voting.system.service.MetricsOverheadHarness
+ *            [calls] [--property=value ...]
+ *
+ * Starts one node on an in-memory H2 database with the application's meter
+ * registry and histogram settings, takes the meters the services registered
+ * and times the instrumentation as the services do it: two System.nanoTime
+ * reads and a record for a timer, an increment for a counter, and a lookup by
+ * name and tags plus a record for the repository timers Spring Data
+ * registers per call. Each is run on one thread and on several at once; the
+ * mean per call must stay within its budget. The repository budget is the
+ * loosest: the lookup contends on the registry, and is still small next to
+ * the statement it times.
+ */
+public class MetricsOverheadHarness {
+
+    private static final long TIMER_BUDGET_NANOS = 1_000;
+    private static final long COUNTER_BUDGET_NANOS = 200;
+    private static final long REPOSITORY_TIMER_BUDGET_NANOS = 5_000;
+
+    private boolean passed = true;
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = Arrays.stream(args).filter(a -> !a.startsWith("--")).toList();
+        int calls = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : 2_000_000;
+
+        List<String> nodeArgs = new ArrayList<>(List.of(
+                "--spring.profiles.active=h2-bench",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:metrics;MODE=Oracle;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.sql.init.mode=always",
+                "--voting.datagen.enabled=false",
+                "--voting.tally.rebuild-on-startup=false",
+                "--voting.warmup.enabled=false",
+                "--voting.registration.filter.enabled=false",
+                "--voting.security.bcrypt.calibrate=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.voting.system=WARN",
+                "--logging.file.name="));
+        nodeArgs.addAll(Arrays.stream(args).filter(a -> a.startsWith("--")).toList());
+
+        MetricsOverheadHarness harness = new MetricsOverheadHarness();
+        try (ConfigurableApplicationContext node = new SpringApplicationBuilder(VotingSystemApplication.class)
+                .run(nodeArgs.toArray(String[]::new))) {
+            harness.run(node.getBean(MeterRegistry.class), calls);
+        }
+        System.exit(harness.passed ? 0 : 1);
+    }
+
+    private void run(MeterRegistry registry, int calls) throws InterruptedException {
+        Timer voteTimer = registry.get("voting.votes.cast").tag("outcome", "accepted").timer();
+        Timer otpTimer = registry.get("voting.otp.validations").tag("result", "valid").timer();
+        Counter rejections = registry.get("voting.votes.rejected").tag("reason", "already_voted").counter();
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+        Runnable timed = () -> {
+            long start = System.nanoTime();
+            voteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        };
+        Runnable otp = () -> {
+            long start = System.nanoTime();
+            otpTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        };
+        Runnable counted = rejections::increment;
+        Runnable repository = () -> {
+            long start = System.nanoTime();
+            Timer.builder("spring.data.repository.invocations")
+                    .tag("repository", "UserRepository")
+                    .tag("method", "findVoterStatus")
+                    .tag("state", "SUCCESS")
+                    .tag("exception", "None")
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        };
+
+        System.out.printf("%d calls per case, %d threads for the concurrent runs%n%n", calls, threads);
+        System.out.printf("%-36s %12s %12s %10s%n", "meter", "1 thread", threads + " threads", "budget");
+        long before = voteTimer.count();
+        measure("voting.votes.cast timer", timed, calls, threads, TIMER_BUDGET_NANOS);
+        measure("voting.otp.validations timer", otp, calls, threads, TIMER_BUDGET_NANOS);
+        measure("voting.votes.rejected counter", counted, calls, threads, COUNTER_BUDGET_NANOS);
+        measure("repository timer, looked up", repository, calls, threads, REPOSITORY_TIMER_BUDGET_NANOS);
+
+        // Warm-up, one thread and every concurrent thread each made the full number of calls
+        long recorded = voteTimer.count() - before;
+        check(recorded == (long) calls * (threads + 2), "the vote timer recorded " + recorded + " calls");
+
+        System.out.println(passed ? "PASS" : "FAIL");
+    }
+
+    private void measure(String label, Runnable call, int calls, int threads, long budgetNanos)
+            throws InterruptedException {
+        // Warm the path before timing it
+        loop(call, calls);
+        long single = loop(call, calls) / calls;
+        long concurrent = concurrent(call, calls, threads) / calls;
+        System.out.printf("%-36s %9d ns %9d ns %7d ns%n", label, single, concurrent, budgetNanos);
+        check(single <= budgetNanos, label + " took " + single + " ns per call on one thread");
+        check(concurrent <= budgetNanos, label + " took " + concurrent + " ns per call on " + threads + " threads");
+    }
+
+    private static long loop(Runnable call, int calls) {
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            call.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Mean time each thread spent on its calls, all threads started together
+     */
+    private static long concurrent(Runnable call, int calls, int threads) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicLong total = new AtomicLong();
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    total.addAndGet(loop(call, calls));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+        return total.get() / threads;
+    }
+
+    private void check(boolean condition, String failure) {
+        if (!condition) {
+            System.out.println("FAILED: " + failure);
+            passed = false;
+        }
+    }
+}
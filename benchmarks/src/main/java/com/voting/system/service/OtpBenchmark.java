@@ -0,0 +1,37 @@
+package com.voting.system.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OTP code generation: String.format over the shared SecureRandom in OTPService
+ *
+ * The contended variant runs four threads against the same SecureRandom, as
+ * concurrent registrations and resends do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OtpBenchmark {
+
+    @Benchmark
+    public String generateOtpCode() {
+        return OTPService.generateOTPCode();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateOtpCodeContended() {
+        return OTPService.generateOTPCode();
+    }
+}
@@ -0,0 +1,194 @@
+package com.voting.system.service;
+
+import com.voting.system.VotingSystemApplication;
+import com.voting.system.model.Vote;
+import com.voting.system.model.VoteReceipt;
+import com.voting.system.model.VotingHistory;
+import com.voting.system.repository.VoteRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Counts the JDBC statements behind /api/voting/receipt and
+ * /api/user/voting-history, before and after the projection queries
+ *
+ * Usage: java -cp target/benchmarks.jar com.voting.system.service.ReceiptQueryCountHarness
+ *            [voters] [--property=value ...]
+ *
+ * Starts one node on an in-memory H2 database with a small synthetic election.
+ * Only statements Hibernate prepares on the harness thread are counted, so
+ * background pollers don't add to the counts. For voters who have voted, the
+ * previous entity paths (with the second-level cache cold and warm) and the
+ * projection paths
+ * must produce the same receipts and history rows; the projections must take
+ * one statement, and a receipt for a ballot just cast on this node none.
+ */
+public class ReceiptQueryCountHarness {
+
+    private SessionFactory sessionFactory;
+    private boolean passed = true;
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = Arrays.stream(args).filter(a -> !a.startsWith("--")).toList();
+        int voters = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : 50;
+
+        List<String> nodeArgs = new ArrayList<>(List.of(
+                "--spring.profiles.active=h2-bench",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:receipts;MODE=Oracle;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.sql.init.mode=always",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + HarnessThreadStatements.class.getName(),
+                "--voting.datagen.enabled=true",
+                "--voting.datagen.users=3000",
+                "--voting.datagen.constituencies=40",
+                "--voting.datagen.parties=8",
+                "--voting.datagen.candidates-per-constituency=5",
+                "--voting.datagen.turnout=0.5",
+                "--voting.tally.rebuild-on-startup=false",
+                "--voting.warmup.enabled=false",
+                // Ballots are cast through the service without a voting OTP
+                "--voting.vote-session.required=false",
+                "--voting.registration.filter.enabled=false",
+                "--voting.security.bcrypt.calibrate=false",
+                "--voting.security.bcrypt.strength=4",
+                "--logging.level.root=WARN",
+                "--logging.file.name="));
+        nodeArgs.addAll(Arrays.stream(args).filter(a -> a.startsWith("--")).toList());
+
+        ReceiptQueryCountHarness harness = new ReceiptQueryCountHarness();
+        try (ConfigurableApplicationContext node = new SpringApplicationBuilder(VotingSystemApplication.class)
+                .run(nodeArgs.toArray(String[]::new))) {
+            harness.run(node, voters);
+        }
+        System.exit(harness.passed ? 0 : 1);
+    }
+
+    private void run(ConfigurableApplicationContext node, int voterCount) {
+        sessionFactory = node.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+        HarnessThreadStatements.harnessThread = Thread.currentThread();
+        JdbcTemplate jdbc = node.getBean(JdbcTemplate.class);
+        VotingService votingService = node.getBean(VotingService.class);
+        VoteRepository voteRepository = node.getBean(VoteRepository.class);
+        TransactionTemplate readOnly = new TransactionTemplate(node.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Long> voters = jdbc.queryForList("SELECT USER_ID FROM VOTING_VOTER_LEDGER ORDER BY USER_ID " +
+                "FETCH FIRST " + voterCount + " ROWS ONLY", Long.class);
+        System.out.printf("%d voters with a vote%n%n", voters.size());
+        System.out.printf("%-46s %12s%n", "path", "statements");
+
+        long legacyReceiptCold = 0, legacyReceiptWarm = 0, receiptMiss = 0, receiptHit = 0;
+        long legacyHistoryCold = 0, historyProjection = 0;
+        for (Long userId : voters) {
+            sessionFactory.getCache().evictAllRegions();
+            Supplier<VoteReceipt> legacyReceipt = () -> readOnly.execute(status ->
+                    VoteReceipt.from(userId, votingService.getUserVoteHistory(userId).get(0)));
+            long[] count = new long[1];
+            VoteReceipt expected = counted(legacyReceipt, count);
+            legacyReceiptCold += count[0];
+            counted(legacyReceipt, count);
+            legacyReceiptWarm += count[0];
+
+            VoteReceipt projected = counted(() -> votingService.getLatestReceipt(userId).orElse(null), count);
+            receiptMiss += count[0];
+            check(Objects.equals(expected, projected), "receipt differs for user " + userId);
+            counted(() -> votingService.getLatestReceipt(userId).orElse(null), count);
+            receiptHit += count[0];
+
+            sessionFactory.getCache().evictAllRegions();
+            List<String> expectedHistory = counted(() -> readOnly.execute(status ->
+                    voteRepository.findByUserIdOrderByVotedAtDesc(userId).stream()
+                            .map(VotingService::toVotingHistory).map(ReceiptQueryCountHarness::describe).toList()),
+                    count);
+            legacyHistoryCold += count[0];
+            List<String> history = counted(() -> votingService.getVotingHistoryForUser(userId).stream()
+                    .map(ReceiptQueryCountHarness::describe).toList(), count);
+            historyProjection += count[0];
+            check(expectedHistory.equals(history), "history differs for user " + userId);
+        }
+
+        int n = Math.max(1, voters.size());
+        report("receipt, entities (L2 cold)", legacyReceiptCold, n);
+        report("receipt, entities (L2 warm)", legacyReceiptWarm, n);
+        report("receipt, projection (cache miss)", receiptMiss, n);
+        report("receipt, projection (cache hit)", receiptHit, n);
+        report("history, entities (L2 cold)", legacyHistoryCold, n);
+        report("history, projection", historyProjection, n);
+        check(receiptMiss == voters.size(), "projected receipt took more than one statement");
+        check(receiptHit == 0, "cached receipt hit the database");
+        check(historyProjection == voters.size(), "projected history took more than one statement");
+
+        // A receipt asked for right after casting comes from the cache filled at commit
+        Long newVoter = jdbc.queryForObject("SELECT MIN(u.ID) FROM VOTING_USERS u WHERE u.IS_VERIFIED = TRUE " +
+                "AND u.IS_ACTIVE = TRUE AND NOT EXISTS (SELECT 1 FROM VOTING_VOTER_LEDGER l WHERE l.USER_ID = u.ID)",
+                Long.class);
+        long[] candidate = jdbc.queryForObject("SELECT ID, CONSTITUENCY_ID FROM VOTING_CANDIDATES " +
+                "ORDER BY ID FETCH FIRST 1 ROWS ONLY", (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2) });
+        Vote vote = votingService.castVote(newVoter, candidate[1], null, candidate[0], null, "127.0.0.1",
+                "receipt-harness");
+        long[] count = new long[1];
+        VoteReceipt receipt = counted(() -> votingService.getLatestReceipt(newVoter).orElse(null), count);
+        report("receipt right after casting", count[0], 1);
+        check(count[0] == 0, "receipt after casting hit the database");
+        check(receipt != null && vote.getSessionId().equals(receipt.transactionId()),
+                "receipt after casting is not for the new vote");
+
+        System.out.println(passed ? "PASS" : "FAIL");
+    }
+
+    private <T> T counted(Supplier<T> action, long[] count) {
+        long before = HarnessThreadStatements.count;
+        T result = action.get();
+        count[0] = HarnessThreadStatements.count - before;
+        return result;
+    }
+
+    /**
+     * Counts the statements Hibernate prepares on the harness thread
+     */
+    public static class HarnessThreadStatements implements StatementInspector {
+
+        static volatile Thread harnessThread;
+        static volatile long count;
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == harnessThread) {
+                count++;
+            }
+            return sql;
+        }
+    }
+
+    private static String describe(VotingHistory history) {
+        return history.getId() + "|" + history.getConstituencyName() + "|" + history.getState() + "|"
+                + history.getVotedAt() + "|" + history.getSessionId() + "|" + history.getStatus() + "|"
+                + history.getTransactionId();
+    }
+
+    private static void report(String label, long statements, int calls) {
+        System.out.printf("%-46s %12.2f%n", label, (double) statements / calls);
+    }
+
+    private void check(boolean condition, String failure) {
+        if (!condition) {
+            System.out.println("FAILED: " + failure);
+            passed = false;
+        }
+    }
+}
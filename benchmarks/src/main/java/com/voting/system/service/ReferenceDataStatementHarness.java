@@ -0,0 +1,179 @@
+package com.voting.system.service;
+
+import com.voting.system.VotingSystemApplication;
+import com.voting.system.model.AuthenticatedVoter;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Counts the reference data SELECTs behind /api/voting/cast-vote, with the
+ * second-level cache cold and warm
+ *
+ * Usage: java -cp target/benchmarks.jar com.voting.system.service.ReferenceDataStatementHarness
+ *            [ballots] [--property=value ...]
+ *
+ * Starts one node on an in-memory H2 database with a small synthetic election
+ * and casts ballots through the service as the endpoint does. Only statements
+ * Hibernate prepares on the harness thread are looked at. With the cache
+ * emptied, one ballot per candidate loads the constituencies, parties and
+ * candidates; after that, the given number of ballots spread over every
+ * candidate must issue no SELECT on VOTING_CONSTITUENCIES, VOTING_PARTIES or
+ * VOTING_CANDIDATES.
+ */
+public class ReferenceDataStatementHarness {
+
+    private static final List<String> REFERENCE_TABLES =
+            List.of("voting_constituencies", "voting_parties", "voting_candidates");
+
+    private boolean passed = true;
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = Arrays.stream(args).filter(a -> !a.startsWith("--")).toList();
+        int ballots = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : 500;
+
+        List<String> nodeArgs = new ArrayList<>(List.of(
+                "--spring.profiles.active=h2-bench",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:referencedata;MODE=Oracle;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.sql.init.mode=always",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + HarnessThreadSelects.class.getName(),
+                "--voting.datagen.enabled=true",
+                "--voting.datagen.users=3000",
+                "--voting.datagen.constituencies=40",
+                "--voting.datagen.parties=8",
+                "--voting.datagen.candidates-per-constituency=5",
+                "--voting.datagen.turnout=0.1",
+                "--voting.tally.rebuild-on-startup=false",
+                "--voting.warmup.enabled=false",
+                // Ballots are cast through the service without a voting OTP
+                "--voting.vote-session.required=false",
+                "--voting.registration.filter.enabled=false",
+                "--voting.security.bcrypt.calibrate=false",
+                "--voting.security.bcrypt.strength=4",
+                "--logging.level.root=WARN",
+                "--logging.file.name="));
+        nodeArgs.addAll(Arrays.stream(args).filter(a -> a.startsWith("--")).toList());
+
+        ReferenceDataStatementHarness harness = new ReferenceDataStatementHarness();
+        try (ConfigurableApplicationContext node = new SpringApplicationBuilder(VotingSystemApplication.class)
+                .run(nodeArgs.toArray(String[]::new))) {
+            harness.run(node, ballots);
+        }
+        System.exit(harness.passed ? 0 : 1);
+    }
+
+    private void run(ConfigurableApplicationContext node, int ballots) throws InterruptedException {
+        JdbcTemplate jdbc = node.getBean(JdbcTemplate.class);
+        VotingService votingService = node.getBean(VotingService.class);
+        ReferenceCacheService referenceCacheService = node.getBean(ReferenceCacheService.class);
+
+        // Candidate ID, constituency ID, party ID
+        List<long[]> candidates = jdbc.query("SELECT ID, CONSTITUENCY_ID, PARTY_ID FROM VOTING_CANDIDATES " +
+                "ORDER BY ID", (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2), rs.getLong(3) });
+        List<Long> voters = jdbc.queryForList("SELECT u.ID FROM VOTING_USERS u WHERE u.IS_VERIFIED = TRUE " +
+                "AND u.IS_ACTIVE = TRUE AND NOT EXISTS (SELECT 1 FROM VOTING_VOTER_LEDGER l WHERE l.USER_ID = u.ID) " +
+                "ORDER BY u.ID FETCH FIRST " + (candidates.size() + ballots) + " ROWS ONLY", Long.class);
+        if (voters.size() < candidates.size() + ballots) {
+            ballots = voters.size() - candidates.size();
+        }
+        System.out.printf("%d candidates, %d ballots once warm%n%n", candidates.size(), ballots);
+        System.out.printf("%-36s %12s %12s%n", "ballots", "statements", "reference");
+
+        HarnessThreadSelects.harnessThread = Thread.currentThread();
+        referenceCacheService.evictAll();
+        // The version bump drops the regions again on this node's next two polls; let those pass
+        long pollMillis = node.getEnvironment().getProperty("voting.cache-coherence.poll-interval-millis",
+                Long.class, 1000L);
+        Thread.sleep(3 * pollMillis);
+
+        // Cold: one ballot per candidate loads every constituency, party and candidate
+        long[] cold = cast(votingService, voters.subList(0, candidates.size()), candidates);
+        report("cold, one per candidate", cold, candidates.size());
+        check(cold[1] > 0, "no reference SELECTs seen with the cache cold; the inspector is not counting");
+
+        // Warm: no ballot goes back to the reference tables
+        long[] warm = cast(votingService, voters.subList(candidates.size(), candidates.size() + ballots), candidates);
+        report("warm", warm, ballots);
+        check(warm[1] == 0, warm[1] + " reference SELECTs once warm, e.g. " + HarnessThreadSelects.lastReference);
+
+        System.out.println();
+        System.out.printf("%-36s %12s%n", "second-level cache region", "hit ratio");
+        for (ReferenceCacheService.RegionStats region : referenceCacheService.getCacheStatistics().getRegions()) {
+            System.out.printf("%-36s %12.3f%n", region.getRegion(), region.getHitRatio());
+        }
+
+        System.out.println(passed ? "PASS" : "FAIL");
+    }
+
+    /**
+     * Cast a ballot for each voter, cycling over the candidates
+     *
+     * @return statements and reference SELECTs issued
+     */
+    private long[] cast(VotingService votingService, List<Long> voters, List<long[]> candidates) {
+        long statements = HarnessThreadSelects.statements;
+        long references = HarnessThreadSelects.references;
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        for (int i = 0; i < voters.size(); i++) {
+            long[] candidate = candidates.get(i % candidates.size());
+            Long userId = voters.get(i);
+            AuthenticatedVoter voter = new AuthenticatedVoter(userId, "voter" + userId + "@bench.example",
+                    true, true, true, "harness-" + userId, expiresAt);
+            try {
+                votingService.castVote(voter, candidate[1], candidate[2], candidate[0], null, "127.0.0.1",
+                        "reference-harness");
+            } catch (VotingService.VoteRejectedException e) {
+                check(false, "ballot for user " + userId + " rejected: " + e.getMessage());
+            }
+        }
+        return new long[] { HarnessThreadSelects.statements - statements, HarnessThreadSelects.references - references };
+    }
+
+    /**
+     * Counts the statements Hibernate prepares on the harness thread, and
+     * among them the SELECTs on reference data tables
+     */
+    public static class HarnessThreadSelects implements StatementInspector {
+
+        static volatile Thread harnessThread;
+        static volatile long statements;
+        static volatile long references;
+        static volatile String lastReference;
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == harnessThread) {
+                statements++;
+                String lower = sql.toLowerCase(Locale.ROOT);
+                if (lower.startsWith("select") && REFERENCE_TABLES.stream().anyMatch(lower::contains)) {
+                    references++;
+                    lastReference = sql;
+                }
+            }
+            return sql;
+        }
+    }
+
+    private static void report(String label, long[] counts, int ballots) {
+        System.out.printf("%-36s %12.2f %12.2f%n", label, (double) counts[0] / Math.max(1, ballots),
+                (double) counts[1] / Math.max(1, ballots));
+    }
+
+    private void check(boolean condition, String failure) {
+        if (!condition) {
+            System.out.println("FAILED: " + failure);
+            passed = false;
+        }
+    }
+}
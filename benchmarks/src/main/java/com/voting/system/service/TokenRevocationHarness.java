@@ -0,0 +1,137 @@
+package com.voting.system.service;
+
+import com.voting.system.VotingSystemApplication;
+import com.voting.system.model.AuthenticatedVoter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Measures token revocation lookups: latency and the Bloom filter's false-positive rate
+ *
+ * Usage: java -cp target/benchmarks.jar com.voting.system.service.TokenRevocationHarness
+ *            [revoked] [lookups] [--property=value ...]
+ *
+ * Starts one node on an in-memory H2 database sized for the given number of
+ * revocations, revokes that many tokens through the service and then looks up
+ * as many live token ids. Every revoked token must be reported revoked, the
+ * observed false-positive rate must stay within twice the configured one and
+ * the mean and 99th percentile lookup times within fixed budgets.
+ */
+public class TokenRevocationHarness {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final long MEAN_BUDGET_NANOS = 2_000;
+    private static final long P99_BUDGET_NANOS = 20_000;
+
+    private boolean passed = true;
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = Arrays.stream(args).filter(a -> !a.startsWith("--")).toList();
+        int revoked = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : 20_000;
+        int lookups = positional.size() > 1 ? Integer.parseInt(positional.get(1)) : 1_000_000;
+
+        List<String> nodeArgs = new ArrayList<>(List.of(
+                "--spring.profiles.active=h2-bench",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:revocation;MODE=Oracle;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.sql.init.mode=always",
+                "--voting.datagen.enabled=false",
+                "--voting.jwt.revocation.expected-revocations=" + revoked,
+                "--voting.jwt.revocation.false-positive-rate=" + FALSE_POSITIVE_RATE,
+                "--voting.warmup.enabled=false",
+                "--voting.registration.filter.enabled=false",
+                "--voting.security.bcrypt.calibrate=false",
+                "--logging.level.root=WARN",
+                "--logging.file.name="));
+        nodeArgs.addAll(Arrays.stream(args).filter(a -> a.startsWith("--")).toList());
+
+        TokenRevocationHarness harness = new TokenRevocationHarness();
+        try (ConfigurableApplicationContext node = new SpringApplicationBuilder(VotingSystemApplication.class)
+                .run(nodeArgs.toArray(String[]::new))) {
+            harness.run(node.getBean(TokenRevocationService.class), revoked, lookups);
+        }
+        System.exit(harness.passed ? 0 : 1);
+    }
+
+    private void run(TokenRevocationService revocations, int revokedCount, int lookupCount) {
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        String[] revoked = new String[revokedCount];
+        for (int i = 0; i < revokedCount; i++) {
+            revoked[i] = UUID.randomUUID().toString();
+            revocations.revoke(new AuthenticatedVoter((long) i, "voter" + i + "@bench.example", true, true, true,
+                    revoked[i], expiresAt));
+        }
+
+        int missed = 0;
+        for (String tokenId : revoked) {
+            if (!revocations.isRevoked(tokenId)) {
+                missed++;
+            }
+        }
+        check(missed == 0, missed + " revoked tokens were reported live");
+
+        String[] live = new String[lookupCount];
+        for (int i = 0; i < lookupCount; i++) {
+            live[i] = UUID.randomUUID().toString();
+        }
+        // Warm the lookup path before timing it
+        for (int i = 0; i < Math.min(lookupCount, 200_000); i++) {
+            revocations.isRevoked(live[i]);
+        }
+
+        long[] nanos = new long[lookupCount];
+        int falsePositives = 0;
+        for (int i = 0; i < lookupCount; i++) {
+            long start = System.nanoTime();
+            boolean revokedAnswer = revocations.isRevoked(live[i]);
+            nanos[i] = System.nanoTime() - start;
+            if (revokedAnswer) {
+                falsePositives++;
+            }
+        }
+
+        TokenRevocationService.RevocationStats stats = revocations.getRevocationStatistics();
+        double observedRate = (double) stats.getFalsePositives() / Math.max(1, stats.getLookups() - revokedCount);
+        long total = 0;
+        for (long n : nanos) {
+            total += n;
+        }
+        Arrays.sort(nanos);
+        long mean = total / lookupCount;
+        long p50 = nanos[lookupCount / 2];
+        long p99 = nanos[(int) (lookupCount * 0.99)];
+
+        System.out.printf("%d revoked tokens, %d live lookups%n%n", revokedCount, lookupCount);
+        System.out.printf("%-40s %12s%n", "revoked tokens reported live", missed);
+        System.out.printf("%-40s %12s%n", "live tokens reported revoked", falsePositives);
+        System.out.printf("%-40s %12.4f%n", "false-positive rate (Bloom filter)", observedRate);
+        System.out.printf("%-40s %12.4f%n", "false-positive rate (configured)", FALSE_POSITIVE_RATE);
+        System.out.printf("%-40s %12.4f%n", "false-positive rate (estimated)", stats.getEstimatedFalsePositiveRate());
+        System.out.printf("%-40s %10d ns%n", "lookup mean", mean);
+        System.out.printf("%-40s %10d ns%n", "lookup p50", p50);
+        System.out.printf("%-40s %10d ns%n", "lookup p99", p99);
+
+        // Positives of the filter are settled by the exact set, so no live token is ever refused
+        check(falsePositives == 0, "live tokens were reported revoked");
+        check(observedRate <= 2 * FALSE_POSITIVE_RATE, "Bloom filter false-positive rate above twice the target");
+        check(mean <= MEAN_BUDGET_NANOS, "mean lookup above " + MEAN_BUDGET_NANOS + " ns");
+        check(p99 <= P99_BUDGET_NANOS, "p99 lookup above " + P99_BUDGET_NANOS + " ns");
+
+        System.out.println(passed ? "PASS" : "FAIL");
+    }
+
+    private void check(boolean condition, String failure) {
+        if (!condition) {
+            System.out.println("FAILED: " + failure);
+            passed = false;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.voting.system.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Voting session lookup and expiry in VoteSessionRegistry with a million open
+ * sessions, whose deadlines are spread evenly over the session lifetime
+ *
+ * openAndExpire is the steady state: each operation opens a session and moves
+ * the clock on by one lifetime divided by the session count, so on average one
+ * session expires per operation. scanForExpired is the alternative the timing
+ * wheel replaces: one pass over all open sessions looking for expired ones,
+ * as a periodic cleanup task would do every tick.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class VoteSessionBenchmark {
+
+    private static final long TTL_MILLIS = TimeUnit.MINUTES.toMillis(15);
+    private static final long TICK_MILLIS = 1000;
+
+    @State(Scope.Benchmark)
+    public static class Sessions {
+
+        @Param({ "1000000" })
+        int sessions;
+
+        VoteSessionRegistry registry;
+        String[] sessionIds;
+        Long[] userIds;
+        double step;
+        double now;
+        long nextUserId;
+
+        @Setup
+        public void setUp() {
+            registry = new VoteSessionRegistry(TTL_MILLIS, TICK_MILLIS, 0);
+            sessionIds = new String[sessions];
+            userIds = new Long[sessions];
+            step = (double) TTL_MILLIS / sessions;
+            for (int i = 0; i < sessions; i++) {
+                now = i * step;
+                userIds[i] = (long) i;
+                sessionIds[i] = registry.open(userIds[i], "10.0.0.1", "benchmark", (long) now).getSessionId();
+                registry.expireDue((long) now);
+            }
+            nextUserId = sessions;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ExpiryMap {
+
+        @Param({ "1000000" })
+        int sessions;
+
+        Map<String, Long> deadlines;
+
+        @Setup
+        public void setUp() {
+            deadlines = new ConcurrentHashMap<>();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < sessions; i++) {
+                deadlines.put(new UUID(random.nextLong(), random.nextLong()).toString(),
+                        TTL_MILLIS + random.nextLong(TTL_MILLIS));
+            }
+        }
+    }
+
+    @Benchmark
+    public VoteSessionRegistry.Session lookup(Sessions state) {
+        return state.registry.find(state.sessionIds[ThreadLocalRandom.current().nextInt(state.sessions)]);
+    }
+
+    @Benchmark
+    public VoteSessionRegistry.Session claimAndRelease(Sessions state) {
+        int i = ThreadLocalRandom.current().nextInt(state.sessions);
+        VoteSessionRegistry registry = state.registry;
+        VoteSessionRegistry.Session session = registry.claim(registry.find(state.sessionIds[i]), state.userIds[i], 0);
+        registry.release(session, 0);
+        return session;
+    }
+
+    @Benchmark
+    public List<VoteSessionRegistry.Session> openAndExpire(Sessions state) {
+        state.now += state.step;
+        long now = (long) state.now;
+        state.registry.open(state.nextUserId++, "10.0.0.1", "benchmark", now);
+        return state.registry.expireDue(now);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int scanForExpired(ExpiryMap state) {
+        int expired = 0;
+        for (Long deadline : state.deadlines.values()) {
+            if (deadline <= TTL_MILLIS) {
+                expired++;
+            }
+        }
+        return expired;
+    }
+}
@@ -0,0 +1,245 @@
+package com.voting.system.service;
+
+import com.voting.system.VotingSystemApplication;
+import com.voting.system.model.Vote;
+import com.voting.system.repository.VoteRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Randomized multi-node check of the per-node vote tallies against
+ * VoteRepository.getOverallVoteResults()
+ *
+ * Usage: java -cp target/benchmarks.jar com.voting.system.service.VoteTallySimulation
+ *            [nodes] [ballots] [seed] [--property=value ...]
+ *
+ * Starts several application contexts ("nodes") on one in-memory H2 database
+ * with a small synthetic election, then casts ballots from 8 threads through
+ * random nodes, interleaved with random flushes and flagged votes. At every
+ * checkpoint all nodes flush and each node's merged results must equal the
+ * vote table exactly. Twice during the run a node dies with unflushed counts;
+ * the results must fall short until a replacement node starts and rebuilds
+ * the lost counts from the vote table.
+ */
+public class VoteTallySimulation {
+
+    private static final int THREADS = 8;
+    private static final int CHECKPOINTS = 6;
+
+    private final List<ConfigurableApplicationContext> nodes = new CopyOnWriteArrayList<>();
+    private final List<Long> acceptedVotes = new CopyOnWriteArrayList<>();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong flagged = new AtomicLong();
+    private String[] extra;
+    private int started;
+    private boolean passed = true;
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = Arrays.stream(args).filter(a -> !a.startsWith("--")).toList();
+        int nodeCount = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : 3;
+        int ballots = positional.size() > 1 ? Integer.parseInt(positional.get(1)) : 3000;
+        long seed = positional.size() > 2 ? Long.parseLong(positional.get(2)) : 42;
+
+        VoteTallySimulation simulation = new VoteTallySimulation();
+        simulation.extra = Arrays.stream(args).filter(a -> a.startsWith("--")).toArray(String[]::new);
+        try {
+            for (int i = 0; i < nodeCount; i++) {
+                simulation.startNode();
+            }
+            simulation.run(ballots, new Random(seed));
+        } finally {
+            for (ConfigurableApplicationContext node : simulation.nodes) {
+                node.close();
+            }
+        }
+        System.exit(simulation.passed ? 0 : 1);
+    }
+
+    private void startNode() throws InterruptedException {
+        boolean first = started++ == 0;
+        // Command-line arguments, so they win over application.yml
+        List<String> nodeArgs = new ArrayList<>(List.of(
+                "--spring.profiles.active=h2-bench",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:tallies;MODE=Oracle;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.hikari.pool-name=node-" + (started - 1),
+                // The first node creates the schema and the election, the others share it
+                "--spring.jpa.hibernate.ddl-auto=" + (first ? "create" : "none"),
+                "--spring.sql.init.mode=" + (first ? "always" : "never"),
+                "--voting.datagen.enabled=" + first,
+                "--voting.datagen.users=6000",
+                "--voting.datagen.constituencies=40",
+                "--voting.datagen.parties=8",
+                "--voting.datagen.candidates-per-constituency=5",
+                "--voting.datagen.turnout=0.3",
+                "--voting.tally.node-name=node-" + (started - 1),
+                "--voting.tally.flush-interval-millis=2000",
+                "--voting.warmup.enabled=false",
+                // Ballots are cast through the service without a voting OTP
+                "--voting.vote-session.required=false",
+                "--voting.registration.filter.enabled=false",
+                "--voting.security.bcrypt.calibrate=false",
+                "--voting.security.bcrypt.strength=4",
+                "--logging.level.root=WARN",
+                "--logging.file.name="));
+        nodeArgs.addAll(Arrays.asList(extra));
+        ConfigurableApplicationContext node = new SpringApplicationBuilder(VotingSystemApplication.class)
+                .run(nodeArgs.toArray(String[]::new));
+        // The rebuild from the vote table runs in the background after start-up
+        VoteTallyService tallies = node.getBean(VoteTallyService.class);
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (tallies.getTallyStatistics().getLastRebuiltAt() == null) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Tally rebuild did not finish on " + tallies.getNodeId());
+            }
+            Thread.sleep(50);
+        }
+        nodes.add(node);
+    }
+
+    private void run(int ballots, Random random) throws Exception {
+        JdbcTemplate jdbc = nodes.get(0).getBean(JdbcTemplate.class);
+        List<Long> voters = new ArrayList<>(jdbc.queryForList("SELECT u.ID FROM VOTING_USERS u " +
+                "WHERE u.IS_VERIFIED = TRUE AND u.IS_ACTIVE = TRUE " +
+                "AND NOT EXISTS (SELECT 1 FROM VOTING_VOTER_LEDGER l WHERE l.USER_ID = u.ID)", Long.class));
+        List<long[]> candidates = jdbc.query("SELECT ID, CONSTITUENCY_ID FROM VOTING_CANDIDATES",
+                (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2) });
+        Collections.shuffle(voters, random);
+        ballots = Math.min(ballots, voters.size());
+        System.out.printf("%d nodes, %d ballots from %d eligible voters, %d candidates%n",
+                nodes.size(), ballots, voters.size(), candidates.size());
+
+        check("after start-up (generated votes rebuilt)");
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        int perCheckpoint = Math.max(1, ballots / CHECKPOINTS);
+        try {
+            for (int from = 0, checkpoint = 1; from < ballots; from += perCheckpoint, checkpoint++) {
+                int to = Math.min(ballots, from + perCheckpoint);
+                List<Future<?>> tasks = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    tasks.add(pool.submit(step(voters.get(i), candidates.get(random.nextInt(candidates.size())),
+                            random.nextLong())));
+                }
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+
+                if (checkpoint == 2 || checkpoint == 4) {
+                    loseAndReplaceNode(random);
+                } else {
+                    check("checkpoint " + checkpoint);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        int raised = nodes.get(0).getBean(VoteTallyService.class).rebuildFromVotes();
+        System.out.printf("%d ballots accepted, %d rejected, %d flagged, %d random flushes; " +
+                "rebuild after the last flush raised %d rows%n",
+                acceptedVotes.size(), rejected.get(), flagged.get(), flushes.get(), raised);
+        passed &= raised == 0;
+        System.out.println(passed ? "PASS" : "FAIL");
+    }
+
+    /**
+     * Cast one ballot through a random node; now and then also flush a node or flag a vote
+     */
+    private Runnable step(Long userId, long[] candidate, long seed) {
+        return () -> {
+            Random random = new Random(seed);
+            ConfigurableApplicationContext node = nodes.get(random.nextInt(nodes.size()));
+            try {
+                Vote vote = node.getBean(VotingService.class).castVote(userId, candidate[1], null, candidate[0], null,
+                        "10.0." + random.nextInt(256) + "." + random.nextInt(256), "tally-simulation");
+                acceptedVotes.add(vote.getId());
+            } catch (RuntimeException e) {
+                rejected.incrementAndGet();
+            }
+
+            int action = random.nextInt(100);
+            if (action < 10) {
+                nodes.get(random.nextInt(nodes.size())).getBean(VoteTallyService.class).flush();
+                flushes.incrementAndGet();
+            } else if (action < 13 && !acceptedVotes.isEmpty()) {
+                Long voteId = acceptedVotes.get(random.nextInt(acceptedVotes.size()));
+                nodes.get(random.nextInt(nodes.size())).getBean(VotingService.class).flagVote(voteId, "simulation");
+                flagged.incrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Kill a node with unflushed counts, check the shortfall, then start a replacement
+     */
+    private void loseAndReplaceNode(Random random) throws InterruptedException {
+        int index = 1 + random.nextInt(nodes.size() - 1);
+        ConfigurableApplicationContext lost = nodes.get(index);
+        VoteTallyService tallies = lost.getBean(VoteTallyService.class);
+        long pending = tallies.simulateNodeLoss();
+        nodes.remove(index);
+        lost.close();
+
+        long shortfall = flushAndCompare().values().stream().mapToLong(Long::longValue).sum();
+        System.out.printf("%-40s %d ballots pending on the lost node, results short by %d%n",
+                "node " + tallies.getNodeId() + " lost", pending, shortfall);
+        passed &= shortfall == pending;
+
+        startNode();
+        check("replacement node started");
+    }
+
+    private void check(String label) throws InterruptedException {
+        Map<String, Long> differences = flushAndCompare();
+        long votes = nodes.get(0).getBean(VoteRepository.class).countTotalValidVotes();
+        System.out.printf("%-40s %d counted votes on %d nodes: %s%n", label, votes, nodes.size(),
+                differences.isEmpty() ? "exact" : "MISMATCH " + differences);
+        passed &= differences.isEmpty();
+    }
+
+    /**
+     * Flush every node, then diff every node's merged results against the vote table
+     *
+     * @return party -> votes missing from the tallies (negative if over-counted), for the worst node
+     */
+    private Map<String, Long> flushAndCompare() {
+        for (ConfigurableApplicationContext node : nodes) {
+            node.getBean(VoteTallyService.class).flush();
+        }
+
+        Map<String, Long> expected = new HashMap<>();
+        for (Object[] row : nodes.get(0).getBean(VoteRepository.class).getOverallVoteResults()) {
+            expected.put((String) row[0], (Long) row[1]);
+        }
+
+        Map<String, Long> worst = Map.of();
+        for (ConfigurableApplicationContext node : nodes) {
+            Map<String, Long> differences = new HashMap<>(expected);
+            for (VoteTallyService.PartyResult result : node.getBean(VoteTallyService.class).getOverallResults()) {
+                differences.merge(result.getPartyName(), -result.getVoteCount(), Long::sum);
+            }
+            differences.values().removeIf(difference -> difference == 0);
+            if (differences.size() > worst.size()) {
+                worst = differences;
+            }
+        }
+        return worst;
+    }
+}
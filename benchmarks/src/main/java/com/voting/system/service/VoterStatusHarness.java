@@ -0,0 +1,209 @@
+package com.voting.system.service;
+
+import com.voting.system.VotingSystemApplication;
+import com.voting.system.model.User;
+import com.voting.system.model.VoterStatus;
+import com.voting.system.repository.UserRepository;
+import com.voting.system.repository.VoterLedgerRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Counts the JDBC statements behind /api/voting/eligibility and
+ * /api/voting/status, and checks that the voter status cache follows changes
+ *
+ * Usage: java -cp target/benchmarks.jar com.voting.system.service.VoterStatusHarness
+ *            [voters] [--property=value ...]
+ *
+ * Starts one node on an in-memory H2 database with a small synthetic election.
+ * For voters who have and have not voted, the eligibility answer must match
+ * the one computed from the user entity and the ledger, a miss must take one
+ * statement and a hit none. A ballot cast, a deactivation, a lockout and an
+ * unlock through the services must show up in the next status read.
+ */
+public class VoterStatusHarness {
+
+    private boolean passed = true;
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = Arrays.stream(args).filter(a -> !a.startsWith("--")).toList();
+        int voters = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : 100;
+
+        List<String> nodeArgs = new ArrayList<>(List.of(
+                "--spring.profiles.active=h2-bench",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:voterstatus;MODE=Oracle;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.sql.init.mode=always",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + ReceiptQueryCountHarness.HarnessThreadStatements.class.getName(),
+                "--voting.datagen.enabled=true",
+                "--voting.datagen.users=3000",
+                "--voting.datagen.constituencies=40",
+                "--voting.datagen.parties=8",
+                "--voting.datagen.candidates-per-constituency=5",
+                "--voting.datagen.turnout=0.5",
+                "--voting.tally.rebuild-on-startup=false",
+                "--voting.warmup.enabled=false",
+                // Ballots are cast through the service without a voting OTP
+                "--voting.vote-session.required=false",
+                "--voting.registration.filter.enabled=false",
+                "--voting.security.bcrypt.calibrate=false",
+                "--voting.security.bcrypt.strength=4",
+                "--logging.level.root=WARN",
+                "--logging.file.name="));
+        nodeArgs.addAll(Arrays.stream(args).filter(a -> a.startsWith("--")).toList());
+
+        VoterStatusHarness harness = new VoterStatusHarness();
+        try (ConfigurableApplicationContext node = new SpringApplicationBuilder(VotingSystemApplication.class)
+                .run(nodeArgs.toArray(String[]::new))) {
+            harness.run(node, voters);
+        }
+        System.exit(harness.passed ? 0 : 1);
+    }
+
+    private void run(ConfigurableApplicationContext node, int voterCount) {
+        ReceiptQueryCountHarness.HarnessThreadStatements.harnessThread = Thread.currentThread();
+        JdbcTemplate jdbc = node.getBean(JdbcTemplate.class);
+        VotingService votingService = node.getBean(VotingService.class);
+        VoterStatusService voterStatusService = node.getBean(VoterStatusService.class);
+        UserService userService = node.getBean(UserService.class);
+        UserRepository userRepository = node.getBean(UserRepository.class);
+        VoterLedgerRepository voterLedgerRepository = node.getBean(VoterLedgerRepository.class);
+        TransactionTemplate transaction = new TransactionTemplate(node.getBean(PlatformTransactionManager.class));
+
+        List<Long> users = new ArrayList<>(jdbc.queryForList("SELECT ID FROM VOTING_USERS ORDER BY ID " +
+                "FETCH FIRST " + voterCount + " ROWS ONLY", Long.class));
+        users.add(Long.MAX_VALUE); // unknown ID
+        System.out.printf("%d users%n%n", users.size());
+        System.out.printf("%-46s %12s%n", "path", "statements");
+
+        long legacyEligibility = 0, legacyStatus = 0, eligibilityMiss = 0, eligibilityHit = 0, statusHit = 0;
+        for (Long userId : users) {
+            long[] count = new long[1];
+            String expected = counted(() -> transaction.execute(tx -> legacyEligibility(userId,
+                    userRepository.findById(userId).orElse(null), voterLedgerRepository)), count);
+            legacyEligibility += count[0];
+            counted(() -> {
+                votingService.hasUserVoted(userId);
+                try {
+                    return votingService.getUserVoteHistory(userId);
+                } catch (RuntimeException e) {
+                    return null; // User not found
+                }
+            }, count);
+            legacyStatus += count[0];
+
+            String eligibility = counted(() -> describe(votingService.checkVotingEligibility(userId)), count);
+            eligibilityMiss += count[0];
+            check(expected.equals(eligibility), "eligibility differs for user " + userId + ": " + expected
+                    + " vs " + eligibility);
+            counted(() -> describe(votingService.checkVotingEligibility(userId)), count);
+            eligibilityHit += count[0];
+            counted(() -> voterStatusService.getStatus(userId), count);
+            statusHit += count[0];
+        }
+
+        int n = users.size();
+        report("eligibility, user + ledger", legacyEligibility, n);
+        report("status, ledger + user + vote history", legacyStatus, n);
+        report("eligibility, status cache miss", eligibilityMiss, n);
+        report("eligibility, status cache hit", eligibilityHit, n);
+        report("status, status cache hit", statusHit, n);
+        check(eligibilityMiss <= n, "a status miss took more than one statement");
+        check(eligibilityHit == 0 && statusHit == 0, "a cached status hit the database");
+
+        // Changes made through the services show up in the next read
+        Long voterId = jdbc.queryForObject("SELECT MIN(u.ID) FROM VOTING_USERS u WHERE u.IS_VERIFIED = TRUE " +
+                "AND u.IS_ACTIVE = TRUE AND NOT EXISTS (SELECT 1 FROM VOTING_VOTER_LEDGER l WHERE l.USER_ID = u.ID)",
+                Long.class);
+        long[] candidate = jdbc.queryForObject("SELECT ID, CONSTITUENCY_ID FROM VOTING_CANDIDATES " +
+                "ORDER BY ID FETCH FIRST 1 ROWS ONLY", (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2) });
+        check(votingService.checkVotingEligibility(voterId).isEligible(), "voter " + voterId + " is not eligible");
+
+        Long voteId = votingService.castVote(voterId, candidate[1], null, candidate[0], null, "127.0.0.1",
+                "status-harness").getId();
+        long[] count = new long[1];
+        VoterStatus status = counted(() -> voterStatusService.getStatus(voterId).orElse(null), count);
+        report("status right after casting", count[0], 1);
+        check(count[0] == 0, "status after casting hit the database");
+        check(status != null && Objects.equals(voteId, status.voteId()), "status after casting is not voted");
+
+        Long otherId = jdbc.queryForObject("SELECT MIN(u.ID) FROM VOTING_USERS u WHERE u.IS_VERIFIED = TRUE " +
+                "AND u.IS_ACTIVE = TRUE AND NOT EXISTS (SELECT 1 FROM VOTING_VOTER_LEDGER l WHERE l.USER_ID = u.ID)",
+                Long.class);
+        check(votingService.checkVotingEligibility(otherId).isEligible(), "voter " + otherId + " is not eligible");
+        userService.updateUserActiveStatus(otherId, false);
+        check("User account is not active".equals(votingService.checkVotingEligibility(otherId).getMessage()),
+                "deactivation not seen");
+        userService.updateUserActiveStatus(otherId, true);
+
+        User user = userRepository.findById(otherId).orElseThrow();
+        for (int i = 0; i < 5; i++) {
+            userService.authenticateUser(user.getEmail(), "wrong-password");
+        }
+        check("User account is locked".equals(votingService.checkVotingEligibility(otherId).getMessage()),
+                "lockout not seen");
+        userService.unlockUserAccount(otherId);
+        check(votingService.checkVotingEligibility(otherId).isEligible(), "unlock not seen");
+
+        System.out.println(passed ? "PASS" : "FAIL");
+    }
+
+    /**
+     * Eligibility as the endpoint computed it from the user entity and the ledger
+     */
+    private static String legacyEligibility(Long userId, User user, VoterLedgerRepository voterLedgerRepository) {
+        if (user == null) {
+            return "false|User not found|null|null";
+        }
+        String who = "|" + user.getEmail() + "|" + user.getFullName();
+        if (!user.getIsActive()) {
+            return "false|User account is not active" + who;
+        }
+        if (!user.getIsVerified()) {
+            return "false|User account is not verified" + who;
+        }
+        if (user.isAccountLocked()) {
+            return "false|User account is locked" + who;
+        }
+        if (voterLedgerRepository.existsByUserId(userId)) {
+            return "false|User has already voted" + who;
+        }
+        return "true|User is eligible to vote" + who;
+    }
+
+    private static String describe(VotingService.VotingEligibility eligibility) {
+        VoterStatus status = eligibility.getStatus();
+        return eligibility.isEligible() + "|" + eligibility.getMessage() + "|"
+                + (status != null ? status.email() : null) + "|" + (status != null ? status.fullName() : null);
+    }
+
+    private <T> T counted(Supplier<T> action, long[] count) {
+        long before = ReceiptQueryCountHarness.HarnessThreadStatements.count;
+        T result = action.get();
+        count[0] = ReceiptQueryCountHarness.HarnessThreadStatements.count - before;
+        return result;
+    }
+
+    private static void report(String label, long statements, int calls) {
+        System.out.printf("%-46s %12.2f%n", label, (double) statements / calls);
+    }
+
+    private void check(boolean condition, String failure) {
+        if (!condition) {
+            System.out.println("FAILED: " + failure);
+            passed = false;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.voting.system.service;
+
+import com.voting.system.model.Constituency;
+import com.voting.system.model.Vote;
+import com.voting.system.model.VotingHistory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Voting history mapping in VotingService: transaction ID formatting and the
+ * Vote to VotingHistory projection for a user's history page
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class VotingHistoryBenchmark {
+
+    @Param({ "1", "10", "100" })
+    private int votes;
+
+    private List<Vote> history;
+
+    @Setup
+    public void setUp() {
+        // Fixed ids and timestamps so runs are comparable
+        LocalDateTime votedAt = LocalDateTime.of(2024, 4, 19, 7, 0);
+        history = new ArrayList<>(votes);
+        for (int i = 0; i < votes; i++) {
+            Constituency constituency = new Constituency("Constituency " + i, "State " + (i % 30), null);
+            constituency.setId((long) i + 1);
+
+            Vote vote = new Vote();
+            vote.setId(1_000_000L + i * 7919L);
+            vote.setConstituency(constituency);
+            vote.setVotedAt(votedAt.plusMinutes(i * 13L));
+            vote.setSessionId("SESSION-" + i);
+            history.add(vote);
+        }
+    }
+
+    @Benchmark
+    public String generateTransactionId() {
+        return VotingService.generateTransactionId(history.get(0));
+    }
+
+    @Benchmark
+    public List<VotingHistory> mapVotingHistory() {
+        return history.stream().map(VotingService::toVotingHistory).collect(Collectors.toList());
+    }
+}
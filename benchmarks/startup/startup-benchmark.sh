@@ -0,0 +1,105 @@
+#!/usr/bin/env bash
+#
+# Startup time and first-request latency: regular fat jar vs the fast-startup build
+#
+# Usage: benchmarks/startup/startup-benchmark.sh <baseline-exec-jar> [runs]
+#
+# Build the baseline first and keep a copy, then build the fast-startup profile:
+#   mvn clean package -DskipTests && cp target/online-voting-system-1.0.0-exec.jar /tmp/baseline.jar
+#   mvn clean package -DskipTests -Pfast-startup
+#   benchmarks/startup/startup-benchmark.sh /tmp/baseline.jar 5
+#
+# Both variants run against the same in-memory H2 database settings. Reported per
+# variant (median of the runs):
+#   ready      - launch until the server answers /actuator/info
+#   started    - Spring's own "Started ... in" time
+#   first-req  - latency of the first GET /api/voting/constituencies
+#   second-req - latency of the same request right after it
+
+set -euo pipefail
+
+BASELINE_JAR=${1:?usage: $0 <baseline-exec-jar> [runs]}
+RUNS=${2:-5}
+PORT=${PORT:-18099}
+PROJECT_DIR=$(cd "$(dirname "$0")/../.." && pwd)
+TARGET="$PROJECT_DIR/target"
+BASE_URL="http://localhost:$PORT/voting"
+
+APP_ARGS=(
+    --server.port="$PORT"
+    --spring.datasource.url="jdbc:h2:mem:startup;MODE=Oracle;DB_CLOSE_DELAY=-1"
+    --spring.datasource.driver-class-name=org.h2.Driver
+    --spring.datasource.username=sa
+    --spring.datasource.password=
+    "--spring.datasource.hikari.connection-test-query=SELECT 1"
+    --spring.jpa.database-platform=org.hibernate.dialect.H2Dialect
+    --spring.jpa.hibernate.ddl-auto=create
+    --voting.security.bcrypt.calibrate=false
+    --logging.file.name=
+)
+
+if [[ ! -f "$TARGET/application.jsa" || ! -f "$TARGET/online-voting-system-1.0.0.jar" ]]; then
+    echo "Fast-startup build not found - run: mvn clean package -DskipTests -Pfast-startup" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR % 2) print v[(NR + 1) / 2]; else print (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+# Runs one start-up and prints "ready started first-req second-req" in milliseconds
+measure() {
+    local log
+    log=$(mktemp)
+    local start
+    start=$(now_ms)
+    "$@" "${APP_ARGS[@]}" > "$log" 2>&1 &
+    local pid=$!
+
+    until curl -sf -o /dev/null "$BASE_URL/actuator/info"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited during startup, log: $log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    local ready=$(( $(now_ms) - start ))
+
+    local first second
+    first=$(curl -s -o /dev/null -w '%{time_total}' "$BASE_URL/api/voting/constituencies")
+    second=$(curl -s -o /dev/null -w '%{time_total}' "$BASE_URL/api/voting/constituencies")
+    local started
+    started=$(grep -o 'Started VotingSystemApplication in [0-9.]*' "$log" | awk '{ print $4 * 1000 }')
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    rm -f "$log"
+
+    echo "$ready $started $(awk -v f="$first" -v s="$second" 'BEGIN { print f * 1000, s * 1000 }')"
+}
+
+run_variant() {
+    local name=$1
+    shift
+    local results
+    results=$(mktemp)
+    for ((i = 1; i <= RUNS; i++)); do
+        measure "$@" >> "$results"
+    done
+    printf "%-14s %10s %10s %12s %12s\n" "$name" \
+        "$(cut -d' ' -f1 "$results" | median)" \
+        "$(cut -d' ' -f2 "$results" | median)" \
+        "$(cut -d' ' -f3 "$results" | median)" \
+        "$(cut -d' ' -f4 "$results" | median)"
+    rm -f "$results"
+}
+
+echo "Median of $RUNS runs, milliseconds"
+printf "%-14s %10s %10s %12s %12s\n" "variant" "ready" "started" "first-req" "second-req"
+run_variant "fat-jar" java -jar "$BASELINE_JAR"
+run_variant "fast-startup" java -XX:SharedArchiveFile="$TARGET/application.jsa" -Dspring.aot.enabled=true \
+    -jar "$TARGET/online-voting-system-1.0.0.jar"
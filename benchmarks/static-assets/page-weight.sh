@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+#
+# Requests and bytes per page load for the UI pages, first and repeat visit
+#
+# Usage: benchmarks/static-assets/page-weight.sh [base-url] [pages...]
+#
+# Run it against a running node, e.g. once on a build from before the static
+# asset pipeline and once after:
+#   benchmarks/static-assets/page-weight.sh http://localhost:8080/voting
+#
+# first visit  - the page plus every local stylesheet and script it references,
+#                with an empty cache (Accept-Encoding: br, gzip)
+# repeat visit - the same page load with a warm cache: responses marked
+#                immutable or with a max-age are not requested again, everything
+#                else is revalidated with If-None-Match / If-Modified-Since
+# Bytes are response headers plus body as received on the wire.
+
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8080/voting}
+shift || true
+PAGES=("$@")
+if [ ${#PAGES[@]} -eq 0 ]; then
+    PAGES=(login.html voting.html)
+fi
+
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+# fetch <url> <headers-file> [extra curl args...] -> prints "<status> <bytes>"
+fetch() {
+    local url=$1 headers=$2
+    shift 2
+    curl -s -o "$WORK/body" -D "$headers" -H 'Accept-Encoding: br, gzip' "$@" \
+        -w '%{http_code} %{size_header} %{size_download}\n' "$url" |
+        awk '{ print $1, $2 + $3 }'
+}
+
+header() {
+    grep -i "^$2:" "$1" | head -1 | cut -d' ' -f2- | tr -d '\r' || true
+}
+
+printf '%-20s %14s %14s %14s %14s\n' "Page" "first reqs" "first bytes" "repeat reqs" "repeat bytes"
+for page in "${PAGES[@]}"; do
+    first_requests=0
+    first_bytes=0
+    repeat_requests=0
+    repeat_bytes=0
+
+    # Page itself; references come from the decoded HTML
+    read -r _ bytes < <(fetch "$BASE_URL/$page" "$WORK/page.h" --compressed)
+    first_requests=$((first_requests + 1))
+    first_bytes=$((first_bytes + bytes))
+    urls=("$page")
+    while read -r ref; do
+        urls+=("$ref")
+    done < <(grep -oE '(href|src)="[^"#:]+\.(css|js)"' "$WORK/body" | sed -E 's/^[a-z]+="(.*)"$/\1/')
+    cp "$WORK/page.h" "$WORK/0.h"
+
+    for i in "${!urls[@]}"; do
+        if [ "$i" -gt 0 ]; then
+            read -r _ bytes < <(fetch "$BASE_URL/${urls[$i]}" "$WORK/$i.h")
+            first_requests=$((first_requests + 1))
+            first_bytes=$((first_bytes + bytes))
+        fi
+
+        cache_control=$(header "$WORK/$i.h" cache-control)
+        if [[ "$cache_control" == *immutable* ]] ||
+            { [[ "$cache_control" =~ max-age=[1-9] ]] && [[ "$cache_control" != *no-cache* ]]; }; then
+            continue
+        fi
+        conditions=()
+        etag=$(header "$WORK/$i.h" etag)
+        last_modified=$(header "$WORK/$i.h" last-modified)
+        [ -n "$etag" ] && conditions+=(-H "If-None-Match: $etag")
+        [ -n "$last_modified" ] && conditions+=(-H "If-Modified-Since: $last_modified")
+        read -r _ bytes < <(fetch "$BASE_URL/${urls[$i]}" "$WORK/repeat.h" "${conditions[@]}")
+        repeat_requests=$((repeat_requests + 1))
+        repeat_bytes=$((repeat_bytes + bytes))
+    done
+
+    printf '%-20s %14d %14d %14d %14d\n' "$page" "$first_requests" "$first_bytes" "$repeat_requests" "$repeat_bytes"
+done
@@ -0,0 +1,241 @@
+package com.voting.system.util;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Build step for the static UI, run by Maven in process-classes
+ *
+ * Reads src/main/resources/static and writes into target/classes:
+ * css, js and image files get a content-hashed copy (styles.css ->
+ * styles.1a2b3c4d5e.css), references to them in HTML and CSS are rewritten to
+ * the hashed names, and every served file gets .gz and .br siblings when they
+ * are smaller. The logical -> hashed mapping is written to
+ * static-assets.properties, which StaticAssetService loads at startup.
+ *
+ * Brotli needs the brotli4j native library; without it only gzip is written.
+ * brotli4j is a provided dependency, so it is not shipped with the application.
+ */
+public final class StaticAssetPipeline {
+
+    public static final String MANIFEST = "static-assets.properties";
+
+    private static final int HASH_LENGTH = 10;
+    private static final List<String> FINGERPRINTED_DIRECTORIES = List.of("css/", "js/", "images/");
+    private static final List<String> COMPRESSED_EXTENSIONS = List.of(".html", ".css", ".js", ".svg", ".json", ".txt");
+    private static final Pattern HTML_REFERENCE = Pattern.compile("(\\s(?:href|src)\\s*=\\s*)([\"'])([^\"']+)\\2");
+    private static final Pattern CSS_REFERENCE = Pattern.compile("url\\(\\s*([\"']?)([^\"')]+)\\1\\s*\\)");
+
+    private final Path sourceDirectory;
+    private final Path outputDirectory;
+    private final boolean brotli;
+
+    // Logical path -> hashed path, both relative to static/
+    private final Map<String, String> manifest = new TreeMap<>();
+    private long sourceBytes;
+    private long gzipBytes;
+    private long brotliBytes;
+
+    private StaticAssetPipeline(Path sourceDirectory, Path outputDirectory) {
+        this.sourceDirectory = sourceDirectory;
+        this.outputDirectory = outputDirectory;
+        this.brotli = Brotli4jLoader.isAvailable();
+    }
+
+    /**
+     * Usage: StaticAssetPipeline &lt;static source directory&gt; &lt;classes directory&gt;
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: StaticAssetPipeline <static source directory> <classes directory>");
+        }
+        new StaticAssetPipeline(Paths.get(args[0]), Paths.get(args[1])).run();
+    }
+
+    private void run() throws IOException {
+        Path staticOutput = outputDirectory.resolve("static");
+        removePreviousOutput(staticOutput);
+
+        List<String> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(sourceDirectory)) {
+            paths.filter(Files::isRegularFile)
+                    .map(path -> sourceDirectory.relativize(path).toString().replace('\\', '/'))
+                    .sorted()
+                    .forEach(files::add);
+        }
+
+        // Leaves first: CSS can reference images, HTML references everything
+        List<String> ordered = new ArrayList<>();
+        files.stream().filter(file -> !file.endsWith(".css") && !file.endsWith(".html")).forEach(ordered::add);
+        files.stream().filter(file -> file.endsWith(".css")).forEach(ordered::add);
+        files.stream().filter(file -> file.endsWith(".html")).forEach(ordered::add);
+
+        for (String file : ordered) {
+            byte[] content = Files.readAllBytes(sourceDirectory.resolve(file));
+            if (file.endsWith(".css")) {
+                content = rewrite(file, content, CSS_REFERENCE, 2);
+            } else if (file.endsWith(".html")) {
+                content = rewrite(file, content, HTML_REFERENCE, 3);
+            }
+
+            String servedName = file;
+            if (FINGERPRINTED_DIRECTORIES.stream().anyMatch(file::startsWith)) {
+                servedName = fingerprint(file, content);
+                write(staticOutput.resolve(servedName), content);
+            }
+            // The logical name is still served (old pages, logo URLs stored in the database)
+            write(staticOutput.resolve(file), content);
+            manifest.put(file, servedName);
+
+            sourceBytes += content.length;
+            if (COMPRESSED_EXTENSIONS.stream().anyMatch(file::endsWith)) {
+                compress(staticOutput.resolve(servedName), content);
+            }
+        }
+
+        // Written by hand rather than Properties.store so the file has no timestamp and builds are reproducible
+        StringBuilder lines = new StringBuilder("# Generated by StaticAssetPipeline: logical path -> content-hashed path\n");
+        manifest.forEach((logical, hashed) -> lines.append(logical).append('=').append(hashed).append('\n'));
+        write(outputDirectory.resolve(MANIFEST), lines.toString().getBytes(StandardCharsets.ISO_8859_1));
+
+        System.out.printf("Static assets: %d files, %d bytes -> gzip %d bytes, brotli %s%n", manifest.size(),
+                sourceBytes, gzipBytes, brotli ? brotliBytes + " bytes" : "unavailable");
+    }
+
+    /**
+     * Replaces relative references to fingerprinted assets with their hashed names
+     */
+    private byte[] rewrite(String file, byte[] content, Pattern pattern, int urlGroup) {
+        String text = new String(content, StandardCharsets.UTF_8);
+        String directory = file.contains("/") ? file.substring(0, file.lastIndexOf('/') + 1) : "";
+
+        Matcher matcher = pattern.matcher(text);
+        StringBuilder rewritten = new StringBuilder();
+        while (matcher.find()) {
+            String reference = matcher.group(urlGroup);
+            String replacement = matcher.group();
+            String target = resolve(directory, reference);
+            if (target != null && manifest.containsKey(target) && !manifest.get(target).equals(target)) {
+                String hashed = manifest.get(target);
+                String relative = reference.substring(0, reference.length() - lastSegment(reference).length())
+                        + lastSegment(hashed);
+                replacement = text.substring(matcher.start(), matcher.start(urlGroup)) + relative
+                        + text.substring(matcher.end(urlGroup), matcher.end());
+            }
+            matcher.appendReplacement(rewritten, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(rewritten);
+        return rewritten.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Resolves a reference against the referencing file's directory. Absolute,
+     * external and data URLs are left alone.
+     */
+    private static String resolve(String directory, String reference) {
+        if (reference.startsWith("/") || reference.startsWith("#") || reference.contains(":")
+                || reference.contains("?") || reference.contains("#")) {
+            return null;
+        }
+        String resolved = Paths.get(directory + reference).normalize().toString().replace('\\', '/');
+        return resolved.startsWith("..") ? null : resolved;
+    }
+
+    private static String lastSegment(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static String fingerprint(String file, byte[] content) {
+        String hash = sha256(content).substring(0, HASH_LENGTH);
+        int dot = file.lastIndexOf('.');
+        if (dot <= file.lastIndexOf('/')) {
+            return file + "." + hash;
+        }
+        return file.substring(0, dot) + "." + hash + file.substring(dot);
+    }
+
+    private void compress(Path target, byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(content);
+        }
+        byte[] gzipped = buffer.toByteArray();
+        if (gzipped.length < content.length) {
+            write(Paths.get(target + ".gz"), gzipped);
+            gzipBytes += gzipped.length;
+        } else {
+            gzipBytes += content.length;
+        }
+
+        if (brotli) {
+            byte[] compressed = Encoder.compress(content, new Encoder.Parameters().setQuality(11));
+            if (compressed.length < content.length) {
+                write(Paths.get(target + ".br"), compressed);
+                brotliBytes += compressed.length;
+            } else {
+                brotliBytes += content.length;
+            }
+        }
+    }
+
+    /**
+     * Deletes hashed copies and compressed siblings from an earlier build so
+     * stale versions do not end up in the jar
+     */
+    private void removePreviousOutput(Path staticOutput) throws IOException {
+        Path previousManifest = outputDirectory.resolve(MANIFEST);
+        if (!Files.exists(previousManifest)) {
+            return;
+        }
+        Properties previous = new Properties();
+        try (InputStream in = Files.newInputStream(previousManifest)) {
+            previous.load(in);
+        }
+        for (String logical : previous.stringPropertyNames()) {
+            String hashed = previous.getProperty(logical);
+            if (!hashed.equals(logical)) {
+                Files.deleteIfExists(staticOutput.resolve(hashed));
+            }
+            Files.deleteIfExists(staticOutput.resolve(hashed + ".gz"));
+            Files.deleteIfExists(staticOutput.resolve(hashed + ".br"));
+        }
+    }
+
+    private static void write(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.write(target, content);
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
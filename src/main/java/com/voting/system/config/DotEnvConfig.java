@@ -19,6 +19,11 @@ public class DotEnvConfig implements ApplicationContextInitializer<ConfigurableA
 
     @Override
     public void initialize(@org.springframework.lang.NonNull ConfigurableApplicationContext applicationContext) {
+        // Production nodes get their settings from the real environment
+        if (!applicationContext.getEnvironment().getProperty("voting.dotenv.enabled", Boolean.class, true)) {
+            return;
+        }
+
         try {
             // Load .env file from project root
             Map<String, Object> envMap = loadEnvFile(".env");
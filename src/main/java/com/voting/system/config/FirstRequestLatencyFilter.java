@@ -0,0 +1,43 @@
+package com.voting.system.config;
+
+import com.voting.system.service.WarmupService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Times requests end to end, security filters included, for the warm-up
+ * first-request report. Actuator probes and scrapes are not real traffic and
+ * are skipped.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FirstRequestLatencyFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private WarmupService warmupService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            warmupService.recordRequest(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getServletPath().startsWith("/actuator");
+    }
+}
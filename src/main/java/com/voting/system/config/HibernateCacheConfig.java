@@ -0,0 +1,85 @@
+package com.voting.system.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ObjectUtils;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache wiring
+ *
+ * Constituencies, parties and candidates are read on every ballot and change
+ * only through admin updates, so they are kept in bounded Caffeine-backed
+ * JCache regions together with the query cache. Every region is created here
+ * with a size bound and TTL; Hibernate is told to fail rather than silently
+ * create an unbounded cache for a region not listed.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String CONSTITUENCY_REGION = "voting.constituencies";
+    public static final String PARTY_REGION = "voting.parties";
+    public static final String CANDIDATE_REGION = "voting.candidates";
+
+    @Value("${voting.reference-cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${voting.reference-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${voting.reference-cache.max-queries:1000}")
+    private long maxQueries;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // One manager per application context, so several contexts can share a JVM
+        URI uri = URI.create(provider.getDefaultURI() + "#" + ObjectUtils.getIdentityHexString(this));
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+
+        for (String region : new String[] { CONSTITUENCY_REGION, PARTY_REGION, CANDIDATE_REGION }) {
+            cacheManager.createCache(region, bounded(maxEntries, ttlSeconds));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                bounded(maxQueries, ttlSeconds));
+        // Update timestamps must outlive every cached query result or stale results could be served
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                bounded(maxQueries, 0));
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.use_query_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            // Region hit/miss counts for the admin report; per-session metric logging stays off
+            properties.put("hibernate.generate_statistics", true);
+            properties.put("hibernate.session.events.log", false);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maximumSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        return configuration;
+    }
+}
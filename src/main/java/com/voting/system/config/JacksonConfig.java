@@ -0,0 +1,71 @@
+package com.voting.system.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON serialization for the REST API
+ *
+ * Registers the Blackbird module, which replaces reflective getter calls with
+ * generated lambdas, and a message converter that writes each response type
+ * through an ObjectWriter built once with its root serializer resolved.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Picked up by Spring Boot's Jackson auto-configuration
+     */
+    @Bean
+    @ConditionalOnProperty(name = "voting.json.blackbird.enabled", havingValue = "true", matchIfMissing = true)
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Replaces Spring Boot's default JSON converter
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new PrebuiltWriterMessageConverter(objectMapper);
+    }
+
+    /**
+     * Swaps the per-request ObjectWriter for a cached one with the root
+     * serializer already resolved. Only done for final declared types (the
+     * ApiResponse envelope, records), where the value cannot be a subclass,
+     * and when the request uses the plain mapper configuration; JSON views,
+     * filters and server-sent events keep Spring's writer.
+     */
+    public static class PrebuiltWriterMessageConverter extends MappingJackson2HttpMessageConverter {
+
+        private final Map<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+        public PrebuiltWriterMessageConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable JavaType javaType,
+                @Nullable MediaType contentType) {
+            ObjectMapper objectMapper = getObjectMapper();
+            if (javaType == null || !javaType.isFinal() || writer.hasPrefetchedSerializer()
+                    || writer.getConfig() != objectMapper.getSerializationConfig()) {
+                return writer;
+            }
+            return writers.computeIfAbsent(javaType, objectMapper::writerFor);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.voting.system.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.voting.system.model.ApiResponse;
+import com.voting.system.model.AuthenticatedVoter;
+import com.voting.system.service.JwtService;
+import com.voting.system.service.TokenRevocationService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Authenticates requests carrying a Bearer access token
+ *
+ * The token is verified locally; on success the AuthenticatedVoter built from
+ * its claims becomes the principal. A request whose token does not verify or
+ * has been revoked by logout is answered with 401, so it cannot fall through
+ * to an anonymous path. Requests without a token continue unauthenticated.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ObjectMapper objectMapper;
+
+    public JwtAuthenticationFilter(JwtService jwtService, TokenRevocationService tokenRevocationService,
+            ObjectMapper objectMapper) {
+        this.jwtService = jwtService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader("Authorization");
+
+        if (header != null && header.startsWith(BEARER_PREFIX)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Optional<AuthenticatedVoter> voter = jwtService.parseToken(header.substring(BEARER_PREFIX.length()))
+                    .filter(v -> !tokenRevocationService.isRevoked(v));
+            if (voter.isEmpty()) {
+                reject(response);
+                return;
+            }
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    voter.get(), null, AuthorityUtils.createAuthorityList("ROLE_VOTER"));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ApiResponse(false, "Access token is invalid, expired or revoked. Please log in again."));
+    }
+}
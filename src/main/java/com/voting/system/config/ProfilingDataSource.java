@@ -0,0 +1,167 @@
+package com.voting.system.config;
+
+import com.voting.system.service.SqlProfilerService;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource wrapper that reports every statement execution to the SQL profiler
+ *
+ * Connections, statements and result sets are wrapped in JDK proxies: execute
+ * calls are timed, update counts are taken as rows, and result set rows are
+ * counted as they are read. Extends DelegatingDataSource so pool metrics and
+ * health checks still unwrap to the underlying Hikari pool.
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    private final SqlProfilerService profiler;
+
+    public ProfilingDataSource(DataSource target, SqlProfilerService profiler) {
+        super(target);
+        this.profiler = profiler;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+                return proxy;
+            }
+
+            Object result = ProfilingDataSource.invoke(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return wrapStatement(statement, CallableStatement.class, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrapStatement(statement, PreparedStatement.class, (String) args[0]);
+            }
+            if (result instanceof Statement statement) {
+                return wrapStatement(statement, Statement.class, null);
+            }
+            return result;
+        }
+    }
+
+    private Object wrapStatement(Statement statement, Class<?> type, String sql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+                new StatementHandler(statement, sql));
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private SqlProfilerService.QueryStats lastStats;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = ProfilingDataSource.invoke(target, method, args);
+                // Results of execute() are fetched separately
+                if (name.equals("getResultSet") && result != null && lastStats != null) {
+                    return wrapResultSet((ResultSet) result, lastStats);
+                }
+                return result;
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            if (sql == null) {
+                return ProfilingDataSource.invoke(target, method, args);
+            }
+
+            SqlProfilerService.QueryStats stats = profiler.statsFor(sql);
+            lastStats = stats;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = ProfilingDataSource.invoke(target, method, args);
+            } catch (Throwable e) {
+                profiler.record(stats, System.nanoTime() - start, 0, true);
+                throw e;
+            }
+            profiler.record(stats, System.nanoTime() - start, updatedRows(result), false);
+
+            if (result instanceof ResultSet resultSet) {
+                return wrapResultSet(resultSet, stats);
+            }
+            return result;
+        }
+    }
+
+    private static long updatedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(0, count);
+        }
+        if (result instanceof Long count) {
+            return Math.max(0, count);
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                total += Math.max(0, count);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                total += Math.max(0, count);
+            }
+        }
+        return total;
+    }
+
+    private ResultSet wrapResultSet(ResultSet resultSet, SqlProfilerService.QueryStats stats) {
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                        stats.addRows(1);
+                    }
+                    return result;
+                });
+    }
+}
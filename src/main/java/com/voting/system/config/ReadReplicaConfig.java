@@ -0,0 +1,80 @@
+package com.voting.system.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Read replica wiring
+ *
+ * When voting.datasource.replica.enabled is true, the application DataSource
+ * becomes a read/write router over two Hikari pools: the primary, configured
+ * by spring.datasource.*, and a read replica, configured by
+ * voting.datasource.replica.*, with its own (smaller, fail-fast) limits.
+ * Admin analytics marked @Transactional(readOnly = true) then stop competing
+ * with vote casting for primary connections.
+ */
+@Configuration
+@ConditionalOnProperty(name = "voting.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("VotingReplicaPool");
+        replica.setDriverClassName(properties.determineDriverClassName());
+        replica.setUsername(properties.determineUsername());
+        replica.setPassword(properties.determinePassword());
+        replica.setConnectionTestQuery(primary.getConnectionTestQuery());
+        replica.setMaximumPoolSize(5);
+        replica.setMinimumIdle(1);
+        replica.setConnectionTimeout(2000);
+        replica.setReadOnly(true);
+        // A replica that is down at startup must not stop the application
+        replica.setInitializationFailTimeout(-1);
+        binder.bind("voting.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setJdbcUrl(environment.getProperty("voting.datasource.replica.url"));
+        // Blank credentials fall back to the primary's
+        String username = environment.getProperty("voting.datasource.replica.username");
+        if (StringUtils.hasText(username)) {
+            replica.setUsername(username);
+            replica.setPassword(environment.getProperty("voting.datasource.replica.password"));
+        }
+        if (!StringUtils.hasText(replica.getJdbcUrl())) {
+            throw new IllegalStateException("voting.datasource.replica.url is required when the read replica is enabled");
+        }
+        // The primary pool is bound to Micrometer by the actuator through the DataSource bean
+        meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+
+        logger.info("Read-only transactions routed to replica pool {} (max {} connections)",
+                replica.getJdbcUrl(), replica.getMaximumPoolSize());
+
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica));
+    }
+}
@@ -0,0 +1,116 @@
+package com.voting.system.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routes read-only transactions to the read replica pool
+ *
+ * Connections for @Transactional(readOnly = true) work come from the replica
+ * while it is marked usable; everything else, and every read-only
+ * transaction while the replica is lagging or down, goes to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the target is chosen
+ * after the transaction's read-only flag has been set.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private volatile boolean replicaUsable = true;
+
+    // Routing metrics
+    private final LongAdder primaryRoutes = new LongAdder();
+    private final LongAdder replicaRoutes = new LongAdder();
+    private final LongAdder fallbackRoutes = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryRoutes.increment();
+            return Route.PRIMARY;
+        }
+        if (!replicaUsable) {
+            fallbackRoutes.increment();
+            return Route.PRIMARY;
+        }
+        replicaRoutes.increment();
+        return Route.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object route = determineCurrentLookupKey();
+        if (route == Route.PRIMARY) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            // Replica pool exhausted or unreachable - serve the read from the primary
+            // until the next heartbeat confirms the replica is back
+            logger.warn("Read replica connection failed, falling back to primary: {}", e.getMessage());
+            markReplicaUsable(false);
+            fallbackRoutes.increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTargetDataSource().getConnection(username, password);
+    }
+
+    public void markReplicaUsable(boolean usable) {
+        if (replicaUsable != usable) {
+            logger.info("Read replica {}", usable ? "back in rotation" : "taken out of rotation");
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    public long getPrimaryRoutes() {
+        return primaryRoutes.sum();
+    }
+
+    public long getReplicaRoutes() {
+        return replicaRoutes.sum();
+    }
+
+    public long getFallbackRoutes() {
+        return fallbackRoutes.sum();
+    }
+}
@@ -1,14 +1,16 @@
 package com.voting.system.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.voting.system.service.JwtService;
+import com.voting.system.service.TokenRevocationService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -32,19 +34,12 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
-        /**
-         * Password encoder using BCrypt with strength 12
-         */
-        @Bean
-        public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder(12);
-        }
-
         /**
          * Main Security Filter Chain Configuration
          */
         @Bean
-        public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        public SecurityFilterChain filterChain(HttpSecurity http, JwtService jwtService,
+                        TokenRevocationService tokenRevocationService, ObjectMapper objectMapper) throws Exception {
                 http
                                 // CORS Configuration
                                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -76,6 +71,11 @@ public class SecurityConfig {
                                                 .referrerPolicy(referrer -> referrer.policy(
                                                                 ReferrerPolicyHeaderWriter.ReferrerPolicy.STRICT_ORIGIN_WHEN_CROSS_ORIGIN)))
 
+                                // Verify Bearer tokens locally - no per-request user lookup
+                                .addFilterBefore(new JwtAuthenticationFilter(jwtService, tokenRevocationService,
+                                                objectMapper),
+                                                UsernamePasswordAuthenticationFilter.class)
+
                                 // Disable form login (using JWT)
                                 .formLogin(AbstractHttpConfigurer::disable)
                                 .httpBasic(AbstractHttpConfigurer::disable);
@@ -0,0 +1,43 @@
+package com.voting.system.config;
+
+import com.voting.system.service.SqlProfilerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * SQL profiler wiring
+ *
+ * When voting.sql-profiler.enabled is true, the application DataSource is
+ * wrapped so every statement is reported to SqlProfilerService. Off by
+ * default; intended for load tests and short production investigations.
+ */
+@Configuration
+@ConditionalOnProperty(name = "voting.sql-profiler.enabled", havingValue = "true")
+public class SqlProfilerConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlProfilerConfig.class);
+
+    /**
+     * Static so the post-processor is registered before the DataSource is created
+     */
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<SqlProfilerService> profiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)) {
+                    logger.info("SQL profiler enabled for DataSource '{}'", beanName);
+                    return new ProfilingDataSource(dataSource, profiler.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.voting.system.config;
+
+import com.voting.system.service.StaticAssetService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Serves static assets from StaticAssetService's in-memory cache
+ *
+ * Picks the brotli or gzip bytes when the client accepts them, answers
+ * If-None-Match with 304, and marks content-hashed names immutable so
+ * browsers do not ask again. Runs after the Spring Security chain, so
+ * responses keep the usual security headers; anything not in the cache falls
+ * through to the normal handlers.
+ */
+@Component
+public class StaticAssetFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private StaticAssetService staticAssetService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StaticAssetService.Asset asset = staticAssetService.getAsset(request.getServletPath());
+        if (asset == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        String encoding = "identity";
+        byte[] body = asset.getIdentity();
+        if (asset.getBrotli() != null && accepts(acceptEncoding, "br")) {
+            encoding = "br";
+            body = asset.getBrotli();
+        } else if (asset.getGzip() != null && accepts(acceptEncoding, "gzip")) {
+            encoding = "gzip";
+            body = asset.getGzip();
+        }
+
+        // One ETag per representation, as the bytes differ by encoding
+        String etag = "\"" + asset.getHash() + ("identity".equals(encoding) ? "" : "-" + encoding) + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, asset.isImmutable()
+                ? "public, max-age=" + staticAssetService.getMaxAgeSeconds() + ", immutable"
+                : "no-cache");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            meterRegistry.counter("voting.static.responses", "status", "304", "encoding", encoding).increment();
+            return;
+        }
+
+        response.setContentType(asset.getContentType());
+        if (!"identity".equals(encoding)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        response.setContentLength(body.length);
+        if (!"HEAD".equals(request.getMethod())) {
+            response.getOutputStream().write(body);
+            meterRegistry.counter("voting.static.bytes", "encoding", encoding).increment(body.length);
+        }
+        meterRegistry.counter("voting.static.responses", "status", "200", "encoding", encoding).increment();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+    }
+
+    /**
+     * Whether Accept-Encoding lists the coding without q=0
+     */
+    private static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] fields = part.split(";");
+            if (fields[0].trim().equals(coding)) {
+                for (int i = 1; i < fields.length; i++) {
+                    String parameter = fields[i].trim().replace(" ", "");
+                    if (parameter.matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
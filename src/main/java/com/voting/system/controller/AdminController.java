@@ -38,6 +38,45 @@ public class AdminController {
     @Autowired
     private ConstituencyService constituencyService;
 
+    @Autowired
+    private EmailDeliveryService emailDeliveryService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private RegistrationFilterService registrationFilterService;
+
+    @Autowired
+    private VoterRollImportService voterRollImportService;
+
+    @Autowired
+    private SqlProfilerService sqlProfilerService;
+
+    @Autowired
+    private ReadReplicaService readReplicaService;
+
+    @Autowired
+    private ReferenceCacheService referenceCacheService;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    @Autowired
+    private VoteTallyService voteTallyService;
+
+    @Autowired
+    private VoteSessionService voteSessionService;
+
+    @Autowired
+    private WarmupService warmupService;
+
     // Database Schema Management
 
     /**
@@ -62,6 +101,34 @@ public class AdminController {
         }
     }
 
+    /**
+     * Get read replica routing and lag statistics
+     */
+    @GetMapping("/database/replica")
+    public ResponseEntity<ApiResponse> getReplicaStatistics() {
+        try {
+            ReadReplicaService.ReplicaStats stats = readReplicaService.getReplicaStatistics();
+            return ResponseEntity.ok(new ApiResponse(true, "Read replica statistics retrieved", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get start-up warm-up timings and first-request latency
+     */
+    @GetMapping("/warmup")
+    public ResponseEntity<ApiResponse> getWarmupStatistics() {
+        try {
+            WarmupService.WarmupStats stats = warmupService.getWarmupStatistics();
+            return ResponseEntity.ok(new ApiResponse(true, "Warm-up statistics retrieved", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
     // System Statistics and Monitoring
 
     /**
@@ -98,6 +165,207 @@ public class AdminController {
         }
     }
 
+    /**
+     * Get outbound email queue statistics
+     */
+    @GetMapping("/email/stats")
+    public ResponseEntity<ApiResponse> getEmailDeliveryStats() {
+        try {
+            EmailDeliveryService.EmailDeliveryStats stats = emailDeliveryService.getDeliveryStatistics();
+            return ResponseEntity.ok(new ApiResponse(true, "Email delivery statistics retrieved", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get emails that could not be delivered
+     */
+    @GetMapping("/email/dead-letters")
+    public ResponseEntity<ApiResponse> getEmailDeadLetters() {
+        try {
+            List<EmailDeliveryService.DeadLetter> deadLetters = emailDeliveryService.getDeadLetters();
+            return ResponseEntity.ok(new ApiResponse(true, "Dead letters retrieved", deadLetters));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get password hashing pool statistics
+     */
+    @GetMapping("/security/password-hashing")
+    public ResponseEntity<ApiResponse> getPasswordHashingStats() {
+        try {
+            PasswordHashingService.HashingStats stats = passwordHashingService.getHashingStatistics();
+            return ResponseEntity.ok(new ApiResponse(true, "Password hashing statistics retrieved", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get access token revocation statistics
+     */
+    @GetMapping("/security/token-revocation")
+    public ResponseEntity<ApiResponse> getTokenRevocationStats() {
+        try {
+            TokenRevocationService.RevocationStats stats = tokenRevocationService.getRevocationStatistics();
+            return ResponseEntity.ok(new ApiResponse(true, "Token revocation statistics retrieved", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get failed login tracking statistics
+     */
+    @GetMapping("/security/login-attempts")
+    public ResponseEntity<ApiResponse> getLoginAttemptStats() {
+        try {
+            LoginAttemptService.LoginAttemptStats stats = loginAttemptService.getLoginAttemptStatistics();
+            return ResponseEntity.ok(new ApiResponse(true, "Login attempt statistics retrieved", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    // SQL Profiling
+
+    /**
+     * Get the most expensive SQL statements since the last reset
+     */
+    @GetMapping("/sql-profile/top")
+    public ResponseEntity<ApiResponse> getTopSqlStatements(@RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "totalTime") String sortBy) {
+        try {
+            List<SqlProfilerService.QueryStatsView> statements = sqlProfilerService.getTopStatements(limit, sortBy);
+            String message = sqlProfilerService.isEnabled() ? "Top SQL statements retrieved"
+                    : "SQL profiler is disabled (voting.sql-profiler.enabled)";
+            return ResponseEntity.ok(new ApiResponse(true, message, statements));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Export every profiled statement
+     */
+    @GetMapping("/sql-profile/snapshot")
+    public ResponseEntity<ApiResponse> getSqlProfileSnapshot() {
+        try {
+            SqlProfilerService.ProfileSnapshot snapshot = sqlProfilerService.getSnapshot();
+            return ResponseEntity.ok(new ApiResponse(true, "SQL profile snapshot captured", snapshot));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Clear SQL statistics and start a new measurement window
+     */
+    @PostMapping("/sql-profile/reset")
+    public ResponseEntity<ApiResponse> resetSqlProfile() {
+        try {
+            sqlProfilerService.reset();
+            return ResponseEntity.ok(new ApiResponse(true, "SQL profile reset", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get second-level cache hit ratios for constituencies, parties and candidates
+     */
+    @GetMapping("/cache/reference")
+    public ResponseEntity<ApiResponse> getReferenceCacheStatistics() {
+        try {
+            ReferenceCacheService.ReferenceCacheStats stats = referenceCacheService.getCacheStatistics();
+            return ResponseEntity.ok(new ApiResponse(true, "Reference cache statistics retrieved", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get cross-node cache version polling state
+     */
+    @GetMapping("/cache/coherence")
+    public ResponseEntity<ApiResponse> getCacheCoherenceStatistics() {
+        try {
+            CacheCoherenceService.CoherenceStats stats = cacheCoherenceService.getCoherenceStatistics();
+            return ResponseEntity.ok(new ApiResponse(true, "Cache coherence statistics retrieved", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Evict cached reference data on every node after changes made directly in the database
+     */
+    @PostMapping("/cache/reference/evict")
+    public ResponseEntity<ApiResponse> evictReferenceCache() {
+        try {
+            referenceCacheService.evictAll();
+            return ResponseEntity.ok(new ApiResponse(true, "Reference cache evicted", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get this node's vote tally state
+     */
+    @GetMapping("/tallies")
+    public ResponseEntity<ApiResponse> getTallyStatistics() {
+        try {
+            VoteTallyService.TallyStats stats = voteTallyService.getTallyStatistics();
+            return ResponseEntity.ok(new ApiResponse(true, "Tally statistics retrieved", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Rebuild vote tallies from the votes table, e.g. after a node was lost
+     */
+    @PostMapping("/tallies/rebuild")
+    public ResponseEntity<ApiResponse> rebuildTallies() {
+        try {
+            int rows = voteTallyService.rebuildFromVotes();
+            return ResponseEntity.ok(new ApiResponse(true, "Vote tallies rebuilt: " + rows + " rows raised", rows));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get this node's voting session state
+     */
+    @GetMapping("/vote-sessions")
+    public ResponseEntity<ApiResponse> getVoteSessionStatistics() {
+        try {
+            VoteSessionService.SessionStats stats = voteSessionService.getSessionStatistics();
+            return ResponseEntity.ok(new ApiResponse(true, "Vote session statistics retrieved", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
     // Constituency Management
 
     /**
@@ -218,6 +486,67 @@ public class AdminController {
 
     // User Management
 
+    /**
+     * Get email lookup near cache statistics
+     */
+    @GetMapping("/users/summary-cache")
+    public ResponseEntity<ApiResponse> getSummaryCacheStats() {
+        try {
+            UserService.SummaryCacheStats stats = userService.getSummaryCacheStatistics();
+            return ResponseEntity.ok(new ApiResponse(true, "User summary cache statistics retrieved", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get registration Bloom filter statistics
+     */
+    @GetMapping("/users/registration-filter")
+    public ResponseEntity<ApiResponse> getRegistrationFilterStats() {
+        try {
+            RegistrationFilterService.RegistrationFilterStats stats = registrationFilterService.getFilterStatistics();
+            return ResponseEntity.ok(new ApiResponse(true, "Registration filter statistics retrieved", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    // Voter Roll Import
+
+    /**
+     * Start or resume a bulk voter roll import from the import directory
+     */
+    @PostMapping("/voter-roll/imports")
+    public ResponseEntity<ApiResponse> startVoterRollImport(@Valid @RequestBody VoterRollImportRequest request) {
+        try {
+            VoterRollImportService.ImportJobStatus status = voterRollImportService.startImport(
+                    request.getFileName(), request.getFormat());
+            return ResponseEntity.ok(new ApiResponse(true, "Voter roll import started", status));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Get voter roll import progress and throughput
+     */
+    @GetMapping("/voter-roll/imports/{jobId}")
+    public ResponseEntity<ApiResponse> getVoterRollImport(@PathVariable String jobId) {
+        try {
+            return voterRollImportService.getImportStatus(jobId)
+                    .map(status -> ResponseEntity.ok(new ApiResponse(true, "Voter roll import status retrieved", status)))
+                    .orElseGet(() -> ResponseEntity.badRequest()
+                            .body(new ApiResponse(false, "Import job not found", null)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
     /**
      * Get locked user accounts
      */
@@ -294,6 +623,20 @@ public class AdminController {
         }
     }
 
+    /**
+     * Get state-wise vote summary
+     */
+    @GetMapping("/analytics/state-summary")
+    public ResponseEntity<ApiResponse> getStateVoteSummary() {
+        try {
+            List<VotingService.StateVoteSummary> summary = votingService.getStateVoteSummary();
+            return ResponseEntity.ok(new ApiResponse(true, "State vote summary retrieved", summary));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
     /**
      * Get constituencies without candidates
      */
@@ -325,6 +668,32 @@ public class AdminController {
 
     // Request DTOs
 
+    public static class VoterRollImportRequest {
+        @NotBlank(message = "File name is required")
+        @Size(max = 500, message = "File name must not exceed 500 characters")
+        private String fileName;
+
+        @Size(max = 10, message = "Format must not exceed 10 characters")
+        private String format;
+
+        // Getters and setters
+        public String getFileName() {
+            return fileName;
+        }
+
+        public void setFileName(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getFormat() {
+            return format;
+        }
+
+        public void setFormat(String format) {
+            this.format = format;
+        }
+    }
+
     public static class ConstituencyCreateRequest {
         @NotBlank(message = "Name is required")
         @Size(max = 200, message = "Name must not exceed 200 characters")
@@ -4,14 +4,21 @@ import com.voting.system.model.ApiResponse;
 import com.voting.system.model.LogoutRequest;
 import com.voting.system.model.OTP;
 import com.voting.system.model.User;
+import com.voting.system.model.UserSummary;
+import com.voting.system.service.JwtService;
 import com.voting.system.service.OTPService;
+import com.voting.system.service.PasswordHashingService;
+import com.voting.system.service.TokenRevocationService;
 import com.voting.system.service.UserService;
+import com.voting.system.service.VoteSessionService;
+import com.voting.system.service.VotingService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -54,6 +61,18 @@ public class AuthController {
     @Autowired
     private OTPService otpService;
 
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private VotingService votingService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private VoteSessionService voteSessionService;
+
     /**
      * User registration endpoint
      * Note: Database schema must be created offline before using this endpoint
@@ -80,6 +99,8 @@ public class AuthController {
 
             return ResponseEntity.ok(new ApiResponse(true, "Registration successful", responseData));
 
+        } catch (PasswordHashingService.HashingUnavailableException e) {
+            return hashingUnavailable(e);
         } catch (org.springframework.dao.InvalidDataAccessResourceUsageException e) {
             // Log detailed database error information
             logger.error("=== DATABASE SCHEMA ERROR IN REGISTRATION ===");
@@ -142,7 +163,7 @@ public class AuthController {
                         .body(new ApiResponse(false, "Email is required", null));
             }
 
-            boolean exists = userService.userExists(email);
+            boolean exists = userService.isEmailTaken(email);
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("exists", exists);
 
@@ -186,12 +207,9 @@ public class AuthController {
             System.out.println("✅ Account is VERIFIED - proceeding with OTP generation");
             // Generate and send OTP for login verification
             System.out.println("🎯 About to generate OTP for verified user: " + user.getEmail());
-            otpService.generateAndSendOTP(user.getEmail(), OTP.OTPPurpose.LOGIN_VERIFICATION);
+            OTP generatedOTP = otpService.issueOTP(user.getEmail(), OTP.OTPPurpose.LOGIN_VERIFICATION);
             System.out.println("✅ OTP generation completed");
 
-            // Retrieve the generated OTP for response
-            Optional<OTP> generatedOTP = otpService.getMostRecentOTP(user.getEmail());
-
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("userId", user.getId());
             responseData.put("email", user.getEmail());
@@ -200,14 +218,14 @@ public class AuthController {
             responseData.put("lastName", user.getLastName());
             responseData.put("requiresOTP", true);
             // Include OTP code for frontend display (TEST MODE)
-            if (generatedOTP.isPresent()) {
-                responseData.put("otpCode", generatedOTP.get().getOtpCode());
-                System.out.println("📱 OTP Code included in response: " + generatedOTP.get().getOtpCode());
-            }
+            responseData.put("otpCode", generatedOTP.getOtpCode());
+            System.out.println("📱 OTP Code included in response: " + generatedOTP.getOtpCode());
 
             return ResponseEntity
                     .ok(new ApiResponse(true, "Login successful. OTP sent for verification.", responseData));
 
+        } catch (PasswordHashingService.HashingUnavailableException e) {
+            return hashingUnavailable(e);
         } catch (org.springframework.dao.InvalidDataAccessResourceUsageException e) {
             // Log detailed database error information
             System.out.println("💥 DATABASE ERROR during login:");
@@ -373,9 +391,13 @@ public class AuthController {
             if (userOpt.isPresent()) {
                 User user = userOpt.get();
 
-                // Create session or generate JWT token here
-                // For now, we'll just return user info
+                // Issue access token carrying identity and vote eligibility
+                String token = jwtService.generateToken(user, votingService.hasUserVoted(user.getId()));
+
                 Map<String, Object> responseData = new HashMap<>();
+                responseData.put("token", token);
+                responseData.put("tokenType", "Bearer");
+                responseData.put("expiresIn", jwtService.getExpirationSeconds());
                 responseData.put("userId", user.getId());
                 responseData.put("email", user.getEmail());
                 responseData.put("fullName", user.getFullName());
@@ -402,16 +424,16 @@ public class AuthController {
     @PostMapping("/request-voting-otp")
     public ResponseEntity<ApiResponse> requestVotingOTP(@Valid @RequestBody VotingOTPRequest request) {
         try {
-            Optional<User> userOpt = userService.findByEmail(request.getEmail());
+            Optional<UserSummary> userOpt = userService.findSummaryByEmail(request.getEmail());
 
             if (userOpt.isEmpty()) {
                 return ResponseEntity.badRequest()
                         .body(new ApiResponse(false, "User not found", null));
             }
 
-            User user = userOpt.get();
+            UserSummary user = userOpt.get();
 
-            if (!user.getIsVerified() || !user.getIsActive()) {
+            if (!user.isVerified() || !user.isActive()) {
                 return ResponseEntity.badRequest()
                         .body(new ApiResponse(false, "User account is not eligible for voting", null));
             }
@@ -441,8 +463,15 @@ public class AuthController {
      * Verify voting OTP
      */
     @PostMapping("/verify-voting-otp")
-    public ResponseEntity<ApiResponse> verifyVotingOTP(@Valid @RequestBody OTPVerificationRequest request) {
+    public ResponseEntity<ApiResponse> verifyVotingOTP(@Valid @RequestBody OTPVerificationRequest request,
+            HttpServletRequest httpRequest) {
         try {
+            Optional<UserSummary> userOpt = userService.findSummaryByEmail(request.getEmail());
+            if (userOpt.isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse(false, "User not found", null));
+            }
+
             boolean isValid = otpService.validateOTP(
                     request.getEmail(),
                     request.getOtpCode(),
@@ -453,9 +482,15 @@ public class AuthController {
                         .body(new ApiResponse(false, "Invalid or expired voting OTP", null));
             }
 
+            // The session authorizes one ballot until it expires
+            VoteSessionService.OpenedSession session = voteSessionService.open(userOpt.get().getId(),
+                    getClientIpAddress(httpRequest), httpRequest.getHeader("User-Agent"));
+
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("email", request.getEmail());
             responseData.put("votingAuthorized", true);
+            responseData.put("voteSessionId", session.getVoteSessionId());
+            responseData.put("sessionExpiresAt", session.getExpiresAt());
 
             return ResponseEntity.ok(new ApiResponse(true, "Voting OTP verified successfully", responseData));
 
@@ -514,6 +549,8 @@ public class AuthController {
 
             return ResponseEntity.ok(new ApiResponse(true, "Password reset successful", null));
 
+        } catch (PasswordHashingService.HashingUnavailableException e) {
+            return hashingUnavailable(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage(), null));
@@ -532,15 +569,13 @@ public class AuthController {
             String userAgent = httpRequest.getHeader("User-Agent");
             String clientIp = getClientIpAddress(httpRequest);
 
-            // For now, logout is mainly client-side token removal
-            // In a full implementation, you would:
-            // 1. Add token to blacklist/invalidation cache
-            // 2. Clear any server-side session data
-            // 3. Log the logout event for audit purposes
+            // Revoke the access token on every node; an invalid or expired token needs no revocation
+            boolean tokenRevoked = tokenRevocationService.revoke(request.getToken());
 
             // Create logout response with metadata
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("logoutTime", java.time.LocalDateTime.now());
+            responseData.put("tokenRevoked", tokenRevoked);
             responseData.put("message", "Successfully logged out from all sessions");
 
             return ResponseEntity.ok(
@@ -554,6 +589,17 @@ public class AuthController {
         }
     }
 
+    /**
+     * 503 with Retry-After when the password hashing pool is saturated
+     * Expected under load, so it is not logged with a stack trace
+     */
+    private ResponseEntity<ApiResponse> hashingUnavailable(PasswordHashingService.HashingUnavailableException e) {
+        logger.debug("Password hashing unavailable: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ApiResponse(false, e.getMessage(), null));
+    }
+
     /**
      * Extract client IP address from request
      */
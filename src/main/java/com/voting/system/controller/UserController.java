@@ -3,12 +3,15 @@ package com.voting.system.controller;
 import com.voting.system.model.ApiResponse;
 import com.voting.system.model.User;
 import com.voting.system.model.VotingHistory;
+import com.voting.system.service.PasswordHashingService;
 import com.voting.system.service.UserService;
 import com.voting.system.service.VotingService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -106,6 +109,8 @@ public class UserController {
 
             return ResponseEntity.ok(new ApiResponse(true, "Password changed successfully", null));
 
+        } catch (PasswordHashingService.HashingUnavailableException e) {
+            return hashingUnavailable(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage(), null));
@@ -145,7 +150,7 @@ public class UserController {
     @GetMapping("/exists/{email}")
     public ResponseEntity<ApiResponse> checkEmailExists(@PathVariable String email) {
         try {
-            boolean exists = userService.userExists(email);
+            boolean exists = userService.isEmailTaken(email);
 
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("exists", exists);
@@ -247,16 +252,13 @@ public class UserController {
     @GetMapping("/voting-history/{userId}")
     public ResponseEntity<ApiResponse> getVotingHistory(@PathVariable Long userId) {
         try {
-            // Verify user exists
-            Optional<User> userOpt = userService.findById(userId);
-            if (userOpt.isEmpty()) {
+            // Get voting history for the user; only an empty history needs the user checked
+            List<VotingHistory> votingHistory = votingService.getVotingHistoryForUser(userId);
+            if (votingHistory.isEmpty() && userService.findById(userId).isEmpty()) {
                 return ResponseEntity.badRequest()
                         .body(new ApiResponse(false, "User not found", null));
             }
 
-            // Get voting history for the user
-            List<VotingHistory> votingHistory = votingService.getVotingHistoryForUser(userId);
-
             // Prepare response data
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("userId", userId);
@@ -272,6 +274,15 @@ public class UserController {
         }
     }
 
+    /**
+     * 503 with Retry-After when the password hashing pool is saturated
+     */
+    private ResponseEntity<ApiResponse> hashingUnavailable(PasswordHashingService.HashingUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ApiResponse(false, e.getMessage(), null));
+    }
+
     // Inner classes for request/response DTOs
     public static class ProfileUpdateRequest {
         @NotBlank(message = "First name is required")
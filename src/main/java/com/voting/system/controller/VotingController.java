@@ -1,19 +1,26 @@
 package com.voting.system.controller;
 
 import com.voting.system.model.ApiResponse;
+import com.voting.system.model.AuthenticatedVoter;
 import com.voting.system.model.Candidate;
 import com.voting.system.model.Constituency;
 import com.voting.system.model.Party;
 import com.voting.system.model.Vote;
+import com.voting.system.model.VoteConfirmation;
+import com.voting.system.model.VoteReceipt;
+import com.voting.system.model.VoterStatus;
 import com.voting.system.service.CandidateService;
 import com.voting.system.service.ConstituencyService;
+import com.voting.system.service.VoteTallyService;
+import com.voting.system.service.VoterStatusService;
 import com.voting.system.service.VotingService;
-import com.voting.system.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -36,13 +43,16 @@ public class VotingController {
     private VotingService votingService;
 
     @Autowired
-    private ConstituencyService constituencyService;
+    private VoteTallyService voteTallyService;
 
     @Autowired
-    private CandidateService candidateService;
+    private VoterStatusService voterStatusService;
+
+    @Autowired
+    private ConstituencyService constituencyService;
 
     @Autowired
-    private UserService userService;
+    private CandidateService candidateService;
 
     /**
      * Get general voting status (simplified for testing without user
@@ -200,23 +210,23 @@ public class VotingController {
             String ipAddress = getClientIpAddress(httpRequest);
             String userAgent = httpRequest.getHeader("User-Agent");
 
+            // Token identifies the voter - a userId in the body must agree with it
+            AuthenticatedVoter voter = getCurrentVoter();
+            ResponseEntity<ApiResponse> refusal = refuseUnlessVoter(voter, request.getUserId());
+            if (refusal != null) {
+                return refusal;
+            }
+
             Vote vote = votingService.castVote(
-                    request.getUserId(),
+                    voter,
                     request.getConstituencyId(),
                     request.getPartyId(),
                     request.getCandidateId(),
+                    request.getVoteSessionId(),
                     ipAddress,
                     userAgent);
 
-            Map<String, Object> responseData = new HashMap<>();
-            responseData.put("voteId", vote.getId());
-            responseData.put("constituency", vote.getConstituencyName());
-            responseData.put("candidate", vote.getCandidateFullInfo());
-            responseData.put("votedAt", vote.getVotedAt());
-            responseData.put("sessionId", vote.getSessionId());
-            responseData.put("transactionId", vote.getSessionId()); // Using sessionId as transactionId
-
-            return ResponseEntity.ok(new ApiResponse(true, "Vote cast successfully", responseData));
+            return ResponseEntity.ok(new ApiResponse(true, "Vote cast successfully", VoteConfirmation.from(vote)));
 
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -230,14 +240,19 @@ public class VotingController {
     @GetMapping("/eligibility/{userId}")
     public ResponseEntity<ApiResponse> checkVotingEligibility(@PathVariable Long userId) {
         try {
+            ResponseEntity<ApiResponse> refusal = refuseUnlessVoter(getCurrentVoter(), userId);
+            if (refusal != null) {
+                return refusal;
+            }
+
             VotingService.VotingEligibility eligibility = votingService.checkVotingEligibility(userId);
 
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("eligible", eligibility.isEligible());
             responseData.put("message", eligibility.getMessage());
-            if (eligibility.getUser() != null) {
-                responseData.put("userEmail", eligibility.getUser().getEmail());
-                responseData.put("userFullName", eligibility.getUser().getFullName());
+            if (eligibility.getStatus() != null) {
+                responseData.put("userEmail", eligibility.getStatus().email());
+                responseData.put("userFullName", eligibility.getStatus().fullName());
             }
 
             return ResponseEntity.ok(new ApiResponse(true, "Eligibility checked", responseData));
@@ -249,17 +264,22 @@ public class VotingController {
     }
 
     /**
-     * Check if user has voted
+     * Check if user has voted, from the voter status cache
      */
     @GetMapping("/status/{userId}")
     public ResponseEntity<ApiResponse> getVotingStatus(@PathVariable Long userId) {
         try {
-            boolean hasVoted = votingService.hasUserVoted(userId);
-            List<Vote> voteHistory = votingService.getUserVoteHistory(userId);
+            ResponseEntity<ApiResponse> refusal = refuseUnlessVoter(getCurrentVoter(), userId);
+            if (refusal != null) {
+                return refusal;
+            }
+
+            VoterStatus status = voterStatusService.getStatus(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
 
             Map<String, Object> responseData = new HashMap<>();
-            responseData.put("hasVoted", hasVoted);
-            responseData.put("voteHistory", voteHistory);
+            responseData.put("hasVoted", status.hasVoted());
+            responseData.put("voteId", status.voteId());
 
             return ResponseEntity.ok(new ApiResponse(true, "Voting status retrieved", responseData));
 
@@ -269,6 +289,20 @@ public class VotingController {
         }
     }
 
+    /**
+     * Get overall voting results by party, from the per-node tallies
+     */
+    @GetMapping("/results/overall")
+    public ResponseEntity<ApiResponse> getOverallResults() {
+        try {
+            List<VoteTallyService.PartyResult> results = voteTallyService.getOverallResults();
+            return ResponseEntity.ok(new ApiResponse(true, "Results retrieved successfully", results));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
     /**
      * Get voting results for constituency
      */
@@ -394,59 +428,29 @@ public class VotingController {
     @GetMapping("/receipt")
     public ResponseEntity<ApiResponse> getVoteReceipt(@RequestParam(required = false) Long userId) {
         try {
-            // If userId not provided, try to get from security context
-            if (userId == null) {
-                userId = getCurrentUserId();
-            }
-
             System.out.println("\n🔍 === RECEIPT REQUEST ===");
             System.out.println("📍 Received userId parameter: " + userId);
 
-            if (userId == null) {
-                System.out.println("❌ User ID is NULL");
-                return ResponseEntity.status(401)
-                        .body(new ApiResponse(false, "User not authenticated. Please provide userId parameter.", null));
+            // Receipts are only shown to the voter they belong to
+            AuthenticatedVoter voter = getCurrentVoter();
+            ResponseEntity<ApiResponse> refusal = refuseUnlessVoter(voter, userId);
+            if (refusal != null) {
+                return refusal;
             }
+            userId = voter.getUserId();
 
-            // Get user's latest vote
-            System.out.println("🔎 Fetching vote history for userId: " + userId);
-            List<Vote> userVotes = votingService.getUserVoteHistory(userId);
-
-            System.out.println("📋 Found " + userVotes.size() + " votes for user");
-
-            if (userVotes.isEmpty()) {
+            // Latest vote as a receipt row, in at most one statement
+            Optional<VoteReceipt> receipt = votingService.getLatestReceipt(userId);
+            if (receipt.isEmpty()) {
                 System.out.println("⚠️ No votes found for userId: " + userId);
                 return ResponseEntity.status(404)
                         .body(new ApiResponse(false, "No vote found for user", null));
             }
 
-            Vote vote = userVotes.get(0); // Get latest vote
-
-            System.out.println("📦 Vote Details:");
-            System.out.println("   - SessionId: " + vote.getSessionId());
-            System.out.println("   - UserId: " + vote.getUser().getId());
-            System.out.println("   - VotedAt: " + vote.getVotedAt());
-            System.out.println("   - Constituency: "
-                    + (vote.getConstituency() != null ? vote.getConstituency().getName() : "NULL"));
-            System.out.println(
-                    "   - Candidate: " + (vote.getCandidate() != null ? vote.getCandidate().getName() : "NULL"));
-            System.out.println("   - Party: " + (vote.getCandidate() != null && vote.getCandidate().getParty() != null
-                    ? vote.getCandidate().getParty().getName()
-                    : "NULL"));
-
-            Map<String, Object> receipt = new HashMap<>();
-            receipt.put("transactionId", vote.getSessionId());
-            receipt.put("voterId", userId);
-            receipt.put("constituencyName", vote.getConstituency().getName());
-            receipt.put("partyName", vote.getCandidate().getParty().getName());
-            receipt.put("candidateName", vote.getCandidate().getName());
-            receipt.put("timestamp", vote.getVotedAt()); // Gets VOTED_AT from database
-            receipt.put("status", "CAST");
-
-            System.out.println("✅ Receipt prepared: " + receipt);
+            System.out.println("✅ Receipt prepared: " + receipt.get());
             System.out.println("=========================\n");
 
-            return ResponseEntity.ok(new ApiResponse(true, "Receipt retrieved", receipt));
+            return ResponseEntity.ok(new ApiResponse(true, "Receipt retrieved", receipt.get()));
         } catch (Exception e) {
             System.out.println("💥 ERROR in getVoteReceipt:");
             System.out.println("   " + e.getMessage());
@@ -481,24 +485,28 @@ public class VotingController {
     }
 
     /**
-     * Helper method to get current user ID from JWT token
+     * Helper method to refuse a request unless it comes from the voter it names
+     * Returns null when the token's voter may act for userId; a null userId names the token's voter
      */
-    private Long getCurrentUserId() {
-        // This should extract user ID from JWT token in Authorization header
-        // For now, return null to indicate not authenticated
-        // In production, integrate with your JWT token parser
-        try {
-            // Get from session or principal
-            org.springframework.security.core.Authentication auth = org.springframework.security.core.context.SecurityContextHolder
-                    .getContext().getAuthentication();
-            if (auth != null && auth.getPrincipal() instanceof String) {
-                String username = auth.getPrincipal().toString();
-                com.voting.system.model.User user = userService.findByEmail(username)
-                        .orElse(null);
-                return user != null ? user.getId() : null;
-            }
-        } catch (Exception e) {
-            System.err.println("Error getting current user: " + e.getMessage());
+    private ResponseEntity<ApiResponse> refuseUnlessVoter(AuthenticatedVoter voter, Long userId) {
+        if (voter == null) {
+            return ResponseEntity.status(401)
+                    .body(new ApiResponse(false, "User not authenticated. Please log in again.", null));
+        }
+        if (userId != null && !userId.equals(voter.getUserId())) {
+            return ResponseEntity.status(403)
+                    .body(new ApiResponse(false, "User ID does not match the authenticated voter", null));
+        }
+        return null;
+    }
+
+    /**
+     * Helper method to get the voter verified by JwtAuthenticationFilter
+     */
+    private AuthenticatedVoter getCurrentVoter() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedVoter voter) {
+            return voter;
         }
         return null;
     }
@@ -523,7 +531,7 @@ public class VotingController {
     // Request DTOs
 
     public static class VoteRequest {
-        @NotNull(message = "User ID is required")
+        // Optional when the request carries an access token
         private Long userId;
 
         @NotNull(message = "Constituency ID is required")
@@ -535,6 +543,9 @@ public class VotingController {
         @NotNull(message = "Candidate ID is required")
         private Long candidateId;
 
+        // From /api/auth/verify-voting-otp; required when voting.vote-session.required is set
+        private String voteSessionId;
+
         // Getters and setters
         public Long getUserId() {
             return userId;
@@ -567,5 +578,13 @@ public class VotingController {
         public void setCandidateId(Long candidateId) {
             this.candidateId = candidateId;
         }
+
+        public String getVoteSessionId() {
+            return voteSessionId;
+        }
+
+        public void setVoteSessionId(String voteSessionId) {
+            this.voteSessionId = voteSessionId;
+        }
     }
 }
\ No newline at end of file
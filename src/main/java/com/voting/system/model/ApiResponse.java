@@ -16,7 +16,7 @@ import java.util.HashMap;
  * - Timestamp for request tracking
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class ApiResponse {
+public final class ApiResponse {
     private boolean success;
     private String message;
     private Object data;
@@ -24,10 +24,9 @@ public class ApiResponse {
     private LocalDateTime timestamp;
     private Map<String, Object> metadata;
     
-    // Default constructor
+    // Default constructor; metadata is only allocated by withMetadata
     public ApiResponse() {
         this.timestamp = LocalDateTime.now();
-        this.metadata = new HashMap<>();
     }
     
     // Constructor for basic success/failure responses
@@ -0,0 +1,72 @@
+package com.voting.system.model;
+
+import java.time.Instant;
+
+/**
+ * Identity of a voter taken from a verified access token
+ *
+ * Built entirely from token claims so that authenticated requests can identify
+ * the voter without a database lookup
+ */
+public class AuthenticatedVoter {
+
+    private final Long userId;
+    private final String email;
+    private final boolean verified;
+    private final boolean active;
+    private final boolean voteEligible;
+    private final String tokenId;
+    private final Instant expiresAt;
+
+    public AuthenticatedVoter(Long userId, String email, boolean verified, boolean active, boolean voteEligible,
+            String tokenId, Instant expiresAt) {
+        this.userId = userId;
+        this.email = email;
+        this.verified = verified;
+        this.active = active;
+        this.voteEligible = voteEligible;
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public boolean isVerified() {
+        return verified;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public boolean isVoteEligible() {
+        return voteEligible;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedVoter{" +
+                "userId=" + userId +
+                ", email='" + email + '\'' +
+                ", verified=" + verified +
+                ", active=" + active +
+                ", voteEligible=" + voteEligible +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,82 @@
+package com.voting.system.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cache Version Entity
+ *
+ * One row per cached domain. Mutations bump the version in their own
+ * transaction; every node polls the rows and drops its local copies of a
+ * domain whose version has moved.
+ */
+@Entity
+@Table(name = "VOTING_CACHE_VERSIONS")
+public class CacheVersion {
+
+    /**
+     * Data cached on each node and invalidated as a unit
+     */
+    public enum Domain {
+        CONSTITUENCIES,
+        PARTIES,
+        CANDIDATES,
+        USERS
+    }
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "DOMAIN_NAME", length = 30)
+    private Domain domain;
+
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
+
+    @Column(name = "UPDATED_AT", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public CacheVersion() {
+    }
+
+    public CacheVersion(Domain domain, Long version, LocalDateTime updatedAt) {
+        this.domain = domain;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters and Setters
+    public Domain getDomain() {
+        return domain;
+    }
+
+    public void setDomain(Domain domain) {
+        this.domain = domain;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheVersion{" +
+                "domain=" + domain +
+                ", version=" + version +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
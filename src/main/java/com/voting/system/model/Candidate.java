@@ -2,6 +2,8 @@ package com.voting.system.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,6 +19,8 @@ import java.util.Objects;
  * constituencies
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "voting.candidates")
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 @Table(name = "VOTING_CANDIDATES", indexes = {
         @Index(name = "idx_voting_candidates_name", columnList = "name"),
@@ -2,6 +2,8 @@ package com.voting.system.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -14,6 +16,8 @@ import java.util.Objects;
  * Represents voting constituencies/electoral districts with candidates
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "voting.constituencies")
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 @Table(name = "VOTING_CONSTITUENCIES", indexes = {
         @Index(name = "idx_voting_constituencies_name", columnList = "name"),
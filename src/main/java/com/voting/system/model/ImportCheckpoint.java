@@ -0,0 +1,170 @@
+package com.voting.system.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Import Checkpoint Entity
+ * 
+ * Progress of a voter roll import, committed together with each batch so an
+ * interrupted import resumes after the last committed line
+ */
+@Entity
+@Table(name = "VOTING_IMPORT_CHECKPOINTS")
+public class ImportCheckpoint {
+
+    @Id
+    @Column(name = "FILE_KEY", length = 64)
+    private String fileKey;
+
+    @Column(name = "FILE_NAME", nullable = false, length = 500)
+    private String fileName;
+
+    @Column(name = "LAST_LINE", nullable = false)
+    private Long lastLine = 0L;
+
+    @Column(name = "ROWS_IMPORTED", nullable = false)
+    private Long rowsImported = 0L;
+
+    @Column(name = "ROWS_INVALID", nullable = false)
+    private Long rowsInvalid = 0L;
+
+    @Column(name = "ROWS_DUPLICATE", nullable = false)
+    private Long rowsDuplicate = 0L;
+
+    @Column(name = "ROWS_EXISTING", nullable = false)
+    private Long rowsExisting = 0L;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false, length = 20)
+    private ImportStatus status;
+
+    @Column(name = "STARTED_AT", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "UPDATED_AT", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "COMPLETED_AT")
+    private LocalDateTime completedAt;
+
+    // Import Status Enum
+    public enum ImportStatus {
+        RUNNING,
+        FAILED,
+        COMPLETED
+    }
+
+    // Constructors
+    public ImportCheckpoint() {
+    }
+
+    public ImportCheckpoint(String fileKey, String fileName) {
+        this.fileKey = fileKey;
+        this.fileName = fileName;
+        this.status = ImportStatus.RUNNING;
+        this.startedAt = LocalDateTime.now();
+        this.updatedAt = this.startedAt;
+    }
+
+    // Getters and Setters
+    public String getFileKey() {
+        return fileKey;
+    }
+
+    public void setFileKey(String fileKey) {
+        this.fileKey = fileKey;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getLastLine() {
+        return lastLine;
+    }
+
+    public void setLastLine(Long lastLine) {
+        this.lastLine = lastLine;
+    }
+
+    public Long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(Long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public Long getRowsInvalid() {
+        return rowsInvalid;
+    }
+
+    public void setRowsInvalid(Long rowsInvalid) {
+        this.rowsInvalid = rowsInvalid;
+    }
+
+    public Long getRowsDuplicate() {
+        return rowsDuplicate;
+    }
+
+    public void setRowsDuplicate(Long rowsDuplicate) {
+        this.rowsDuplicate = rowsDuplicate;
+    }
+
+    public Long getRowsExisting() {
+        return rowsExisting;
+    }
+
+    public void setRowsExisting(Long rowsExisting) {
+        this.rowsExisting = rowsExisting;
+    }
+
+    public ImportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportCheckpoint{" +
+                "fileKey='" + fileKey + '\'' +
+                ", fileName='" + fileName + '\'' +
+                ", lastLine=" + lastLine +
+                ", rowsImported=" + rowsImported +
+                ", status=" + status +
+                '}';
+    }
+}
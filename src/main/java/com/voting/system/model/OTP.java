@@ -21,6 +21,8 @@ import java.util.Objects;
 public class OTP {
 
     @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "otp_seq")
+    @SequenceGenerator(name = "otp_seq", sequenceName = "SEQ_VOTING_OTP_VERIFICATION", allocationSize = 1)
     @Column(name = "ID")
     private Long id;
 
@@ -2,6 +2,8 @@ package com.voting.system.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,6 +18,8 @@ import java.util.Objects;
  * Represents political parties participating in elections within constituencies
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "voting.parties")
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 @Table(name = "VOTING_PARTIES", indexes = {
         @Index(name = "idx_voting_parties_name", columnList = "name"),
@@ -0,0 +1,43 @@
+package com.voting.system.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Replica Heartbeat Entity
+ *
+ * Single row written to the primary by the read replica monitor and read
+ * back from the replica; how far the replica's copy trails the primary's is
+ * the replication lag
+ */
+@Entity
+@Table(name = "VOTING_REPLICA_HEARTBEAT")
+public class ReplicaHeartbeat {
+
+    @Id
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "BEAT_MILLIS", nullable = false)
+    private Long beatMillis;
+
+    // Constructors
+    public ReplicaHeartbeat() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getBeatMillis() {
+        return beatMillis;
+    }
+
+    public void setBeatMillis(Long beatMillis) {
+        this.beatMillis = beatMillis;
+    }
+}
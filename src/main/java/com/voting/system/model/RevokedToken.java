@@ -0,0 +1,85 @@
+package com.voting.system.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Revoked Token Entity
+ * 
+ * Records access tokens revoked by logout until their natural expiry
+ */
+@Entity
+@Table(name = "VOTING_REVOKED_TOKENS", indexes = {
+        @Index(name = "idx_voting_revoked_tokens_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_voting_revoked_tokens_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+
+    @Id
+    @Column(name = "TOKEN_ID", length = 64)
+    private String tokenId;
+
+    @Column(name = "USER_ID")
+    private Long userId;
+
+    @Column(name = "EXPIRES_AT", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "REVOKED_AT", nullable = false)
+    private LocalDateTime revokedAt;
+
+    // Constructors
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String tokenId, Long userId, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        this.tokenId = tokenId;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+
+    // Getters and Setters
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "RevokedToken{" +
+                "tokenId='" + tokenId + '\'' +
+                ", userId=" + userId +
+                ", expiresAt=" + expiresAt +
+                ", revokedAt=" + revokedAt +
+                '}';
+    }
+}
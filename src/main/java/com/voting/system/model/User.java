@@ -8,6 +8,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -21,17 +22,29 @@ import java.util.Objects;
         @Index(name = "idx_voting_users_email", columnList = "email"),
         @Index(name = "idx_voting_users_phone", columnList = "phone_number"),
         @Index(name = "idx_voting_users_created", columnList = "created_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "EMAIL"),
+        @UniqueConstraint(name = User.PHONE_CONSTRAINT, columnNames = "PHONE_NUMBER")
 })
 public class User {
 
+    public static final String EMAIL_CONSTRAINT = "UK_VOTING_USERS_EMAIL";
+    public static final String PHONE_CONSTRAINT = "UK_VOTING_USERS_PHONE";
+
+    // Stored for imported voters who have not set a password yet; never matches a BCrypt check
+    public static final String ACTIVATION_PENDING_HASH = "!ACTIVATION_PENDING";
+
+    // IDs are handed out in blocks of 50 so registration is a single INSERT
     @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "SEQ_VOTING_USERS", allocationSize = 50)
     @Column(name = "ID")
     private Long id;
 
     @NotBlank(message = "Email is required")
     @Email(message = "Please provide a valid email address")
     @Size(max = 255, message = "Email must not exceed 255 characters")
-    @Column(name = "EMAIL", nullable = false, unique = true)
+    @Column(name = "EMAIL", nullable = false)
     private String email;
 
     @NotBlank(message = "Password is required")
@@ -187,10 +200,22 @@ public class User {
     }
 
     // Convenience methods
+
+    /**
+     * Canonical form in which emails are stored and looked up
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
     public String getFullName() {
         return firstName + " " + lastName;
     }
 
+    public boolean isActivationPending() {
+        return ACTIVATION_PENDING_HASH.equals(passwordHash);
+    }
+
     public boolean isAccountLocked() {
         return accountLockedUntil != null && accountLockedUntil.isAfter(LocalDateTime.now());
     }
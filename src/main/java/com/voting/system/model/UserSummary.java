@@ -0,0 +1,62 @@
+package com.voting.system.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight view of a user for email lookups
+ * 
+ * Holds only what pre-checks need, so it can be cached without the password
+ * hash or profile fields
+ */
+public class UserSummary {
+
+    private final Long id;
+    private final String email;
+    private final boolean verified;
+    private final boolean active;
+    private final LocalDateTime accountLockedUntil;
+
+    public UserSummary(Long id, String email, Boolean verified, Boolean active, LocalDateTime accountLockedUntil) {
+        this.id = id;
+        this.email = email;
+        this.verified = Boolean.TRUE.equals(verified);
+        this.active = Boolean.TRUE.equals(active);
+        this.accountLockedUntil = accountLockedUntil;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public boolean isVerified() {
+        return verified;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public LocalDateTime getAccountLockedUntil() {
+        return accountLockedUntil;
+    }
+
+    public boolean isAccountLocked() {
+        return accountLockedUntil != null && accountLockedUntil.isAfter(LocalDateTime.now());
+    }
+
+    @Override
+    public String toString() {
+        return "UserSummary{" +
+                "id=" + id +
+                ", email='" + email + '\'' +
+                ", verified=" + verified +
+                ", active=" + active +
+                ", accountLockedUntil=" + accountLockedUntil +
+                '}';
+    }
+}
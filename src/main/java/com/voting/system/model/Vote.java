@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.annotations.CreationTimestamp;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -21,11 +23,14 @@ import java.util.Objects;
         @Index(name = "idx_voting_votes_constituency", columnList = "constituency_id"),
         @Index(name = "idx_voting_votes_candidate", columnList = "candidate_id"),
         @Index(name = "idx_voting_votes_session", columnList = "session_id"),
-        @Index(name = "idx_voting_votes_timestamp", columnList = "voted_at")
+        @Index(name = "idx_voting_votes_timestamp", columnList = "voted_at"),
+        @Index(name = "idx_voting_votes_node", columnList = "node_id")
 }, uniqueConstraints = {
-        @UniqueConstraint(name = "uk_voting_votes_user_constituency", columnNames = { "user_id", "constituency_id" })
+        @UniqueConstraint(name = Vote.USER_CONSTITUENCY_CONSTRAINT, columnNames = { "user_id", "constituency_id" })
 })
-public class Vote {
+public class Vote implements Persistable<Long> {
+
+    public static final String USER_CONSTITUENCY_CONSTRAINT = "UQ_USER_CONSTITUENCY";
 
     @Id
     @Column(name = "ID")
@@ -61,10 +66,19 @@ public class Vote {
     @Column(name = "USER_AGENT")
     private String userAgent;
 
+    // Node that accepted the ballot; its tally row can be rebuilt from these votes
+    @JsonIgnore
+    @Column(name = "NODE_ID", length = 64, updatable = false)
+    private String nodeId;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "STATUS", nullable = false)
     private VoteStatus status = VoteStatus.CAST;
 
+    // IDs are assigned before saving, so save() is told explicitly that a new vote needs no merge SELECT
+    @Transient
+    private boolean newVote = true;
+
     // Vote Status Enum
     public enum VoteStatus {
         CAST("Vote Cast Successfully"),
@@ -111,6 +125,18 @@ public class Vote {
         this.id = id;
     }
 
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newVote;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newVote = false;
+    }
+
     public User getUser() {
         return user;
     }
@@ -167,6 +193,14 @@ public class Vote {
         this.userAgent = userAgent;
     }
 
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
     public VoteStatus getStatus() {
         return status;
     }
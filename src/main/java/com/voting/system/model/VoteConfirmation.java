@@ -0,0 +1,21 @@
+package com.voting.system.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response data for a successfully cast vote
+ */
+public record VoteConfirmation(
+        Long voteId,
+        String constituency,
+        String candidate,
+        LocalDateTime votedAt,
+        String sessionId,
+        String transactionId) {
+
+    public static VoteConfirmation from(Vote vote) {
+        // The session id doubles as the transaction id shown to the voter
+        return new VoteConfirmation(vote.getId(), vote.getConstituencyName(), vote.getCandidateFullInfo(),
+                vote.getVotedAt(), vote.getSessionId(), vote.getSessionId());
+    }
+}
@@ -0,0 +1,21 @@
+package com.voting.system.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Receipt for a voter's latest vote, shown on the success page
+ */
+public record VoteReceipt(
+        String transactionId,
+        Long voterId,
+        String constituencyName,
+        String partyName,
+        String candidateName,
+        LocalDateTime timestamp,
+        String status) {
+
+    public static VoteReceipt from(Long voterId, Vote vote) {
+        return new VoteReceipt(vote.getSessionId(), voterId, vote.getConstituency().getName(),
+                vote.getCandidate().getParty().getName(), vote.getCandidate().getName(), vote.getVotedAt(), "CAST");
+    }
+}
@@ -0,0 +1,139 @@
+package com.voting.system.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vote Session Entity
+ *
+ * Audit record of a voting session opened by a verified voting OTP. Live
+ * sessions are tracked in memory by VoteSessionService; rows are written
+ * after the fact and read only to resume a session opened on another node.
+ */
+@Entity
+@Table(name = "VOTING_VOTE_SESSIONS", indexes = {
+        @Index(name = "idx_voting_vote_sessions_user", columnList = "user_id"),
+        @Index(name = "idx_voting_vote_sessions_expires", columnList = "expires_at")
+})
+public class VoteSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vote_session_seq")
+    @SequenceGenerator(name = "vote_session_seq", sequenceName = "SEQ_VOTING_VOTE_SESSIONS", allocationSize = 1)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "SESSION_ID", nullable = false, unique = true)
+    private String sessionId;
+
+    @Column(name = "USER_ID", nullable = false)
+    private Long userId;
+
+    @Column(name = "OTP_VERIFIED")
+    private Boolean otpVerified = false;
+
+    @Column(name = "STARTED_AT")
+    private LocalDateTime startedAt;
+
+    @Column(name = "EXPIRES_AT", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "COMPLETED_AT")
+    private LocalDateTime completedAt;
+
+    @Column(name = "IP_ADDRESS", length = 45)
+    private String ipAddress;
+
+    @Lob
+    @Column(name = "USER_AGENT")
+    private String userAgent;
+
+    // Constructors
+    public VoteSession() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Boolean getOtpVerified() {
+        return otpVerified;
+    }
+
+    public void setOtpVerified(Boolean otpVerified) {
+        this.otpVerified = otpVerified;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+    }
+
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    public void setUserAgent(String userAgent) {
+        this.userAgent = userAgent;
+    }
+
+    @Override
+    public String toString() {
+        return "VoteSession{" +
+                "id=" + id +
+                ", sessionId='" + sessionId + '\'' +
+                ", userId=" + userId +
+                ", expiresAt=" + expiresAt +
+                ", completedAt=" + completedAt +
+                '}';
+    }
+}
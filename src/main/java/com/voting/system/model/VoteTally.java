@@ -0,0 +1,141 @@
+package com.voting.system.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Vote Tally Entity
+ *
+ * One node's share of a candidate's votes. Each node only raises its own
+ * rows, and only ever to a higher count, so the rows of all nodes can be
+ * summed into an exact total without coordination. CAST_COUNT is every ballot
+ * the node accepted; WITHDRAWN_COUNT is how many of those were later taken
+ * out of the count (e.g. flagged for review).
+ */
+@Entity
+@Table(name = "VOTING_VOTE_TALLIES")
+public class VoteTally {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "CAST_COUNT", nullable = false)
+    private Long castCount;
+
+    @Column(name = "WITHDRAWN_COUNT", nullable = false)
+    private Long withdrawnCount;
+
+    @Column(name = "UPDATED_AT", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Node, constituency and candidate a tally row counts
+     */
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "NODE_ID", length = 64)
+        private String nodeId;
+
+        @Column(name = "CONSTITUENCY_ID")
+        private Long constituencyId;
+
+        @Column(name = "CANDIDATE_ID")
+        private Long candidateId;
+
+        public Key() {
+        }
+
+        public Key(String nodeId, Long constituencyId, Long candidateId) {
+            this.nodeId = nodeId;
+            this.constituencyId = constituencyId;
+            this.candidateId = candidateId;
+        }
+
+        public String getNodeId() {
+            return nodeId;
+        }
+
+        public Long getConstituencyId() {
+            return constituencyId;
+        }
+
+        public Long getCandidateId() {
+            return candidateId;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (obj == null || getClass() != obj.getClass())
+                return false;
+            Key other = (Key) obj;
+            return Objects.equals(nodeId, other.nodeId) && Objects.equals(constituencyId, other.constituencyId)
+                    && Objects.equals(candidateId, other.candidateId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(nodeId, constituencyId, candidateId);
+        }
+    }
+
+    // Constructors
+    public VoteTally() {
+    }
+
+    public VoteTally(Key key, Long castCount, Long withdrawnCount, LocalDateTime updatedAt) {
+        this.key = key;
+        this.castCount = castCount;
+        this.withdrawnCount = withdrawnCount;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters and Setters
+    public Key getKey() {
+        return key;
+    }
+
+    public void setKey(Key key) {
+        this.key = key;
+    }
+
+    public Long getCastCount() {
+        return castCount;
+    }
+
+    public void setCastCount(Long castCount) {
+        this.castCount = castCount;
+    }
+
+    public Long getWithdrawnCount() {
+        return withdrawnCount;
+    }
+
+    public void setWithdrawnCount(Long withdrawnCount) {
+        this.withdrawnCount = withdrawnCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "VoteTally{" +
+                "nodeId=" + (key != null ? key.getNodeId() : null) +
+                ", constituencyId=" + (key != null ? key.getConstituencyId() : null) +
+                ", candidateId=" + (key != null ? key.getCandidateId() : null) +
+                ", castCount=" + castCount +
+                ", withdrawnCount=" + withdrawnCount +
+                '}';
+    }
+}
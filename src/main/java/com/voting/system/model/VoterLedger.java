@@ -0,0 +1,96 @@
+package com.voting.system.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Voter Ledger Entity
+ *
+ * One row per voter who has cast a ballot, written in the same transaction as
+ * the vote. The unique key on USER_ID is what enforces one vote per voter.
+ */
+@Entity
+@Table(name = "VOTING_VOTER_LEDGER", uniqueConstraints = {
+        @UniqueConstraint(name = VoterLedger.VOTER_CONSTRAINT, columnNames = "USER_ID")
+})
+public class VoterLedger implements Persistable<Long> {
+
+    public static final String VOTER_CONSTRAINT = "UK_VOTING_VOTER_LEDGER_USER";
+
+    @Id
+    @Column(name = "VOTE_ID")
+    private Long voteId;
+
+    @Column(name = "USER_ID", nullable = false, updatable = false)
+    private Long userId;
+
+    @CreationTimestamp
+    @Column(name = "VOTED_AT", nullable = false, updatable = false)
+    private LocalDateTime votedAt;
+
+    // Rows are only ever inserted; lets save() persist without a merge SELECT
+    @Transient
+    private boolean newEntry = true;
+
+    // Constructors
+    public VoterLedger() {
+    }
+
+    public VoterLedger(Vote vote) {
+        this.voteId = vote.getId();
+        this.userId = vote.getUser().getId();
+    }
+
+    // Getters and Setters
+    @Override
+    public Long getId() {
+        return voteId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntry;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntry = false;
+    }
+
+    public Long getVoteId() {
+        return voteId;
+    }
+
+    public void setVoteId(Long voteId) {
+        this.voteId = voteId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getVotedAt() {
+        return votedAt;
+    }
+
+    public void setVotedAt(LocalDateTime votedAt) {
+        this.votedAt = votedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "VoterLedger{" +
+                "voteId=" + voteId +
+                ", userId=" + userId +
+                ", votedAt=" + votedAt +
+                '}';
+    }
+}
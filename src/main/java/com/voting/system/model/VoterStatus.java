@@ -0,0 +1,41 @@
+package com.voting.system.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * What the voting page polls for a voter: account state and whether they have voted
+ *
+ * Read with the voter ledger in one statement and cached per voter, so it
+ * holds no entities. The lock is kept as a deadline so it lapses without an
+ * invalidation.
+ */
+public record VoterStatus(
+        Long userId,
+        String email,
+        String fullName,
+        boolean active,
+        boolean verified,
+        LocalDateTime lockedUntil,
+        Long voteId) {
+
+    public VoterStatus(Long userId, String email, String firstName, String lastName, Boolean active,
+            Boolean verified, LocalDateTime lockedUntil, Long voteId) {
+        this(userId, email, firstName + " " + lastName, Boolean.TRUE.equals(active), Boolean.TRUE.equals(verified),
+                lockedUntil, voteId);
+    }
+
+    public boolean isLocked() {
+        return lockedUntil != null && lockedUntil.isAfter(LocalDateTime.now());
+    }
+
+    public boolean hasVoted() {
+        return voteId != null;
+    }
+
+    /**
+     * The same status once the voter's ballot has been recorded
+     */
+    public VoterStatus withVote(Long voteId) {
+        return new VoterStatus(userId, email, fullName, active, verified, lockedUntil, voteId);
+    }
+}
@@ -1,5 +1,6 @@
 package com.voting.system.model;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -39,6 +40,30 @@ public class VotingHistory {
         this.sessionId = sessionId;
     }
     
+    // Constructor for the JPQL projection in VoteRepository.findHistoryByUserId
+    public VotingHistory(Long id, String constituencyName, String state, LocalDateTime votedAt, String sessionId) {
+        this(id, constituencyName, state, votedAt, sessionId, "CONFIRMED", transactionId(id, votedAt.toLocalDate()));
+    }
+    
+    /**
+     * Reference shown to the voter: VTX{id}-{yyyyMMdd}-{last four digits of id}
+     * Provides a reference without exposing sensitive information
+     */
+    public static String transactionId(Long id, LocalDate votedOn) {
+        long suffix = id % 10000;
+        int month = votedOn.getMonthValue();
+        int day = votedOn.getDayOfMonth();
+        StringBuilder builder = new StringBuilder(24).append("VTX").append(id).append('-')
+                .append(votedOn.getYear())
+                .append(month < 10 ? "0" : "").append(month)
+                .append(day < 10 ? "0" : "").append(day)
+                .append('-');
+        for (long limit = 1000; limit > 1 && suffix < limit; limit /= 10) {
+            builder.append('0');
+        }
+        return builder.append(suffix).toString();
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,30 @@
+package com.voting.system.repository;
+
+import com.voting.system.model.CacheVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for CacheVersion entity
+ *
+ * The table holds one row per domain, so polling it is a single small read
+ */
+@Repository
+public interface CacheVersionRepository extends JpaRepository<CacheVersion, CacheVersion.Domain> {
+
+        /**
+         * Increment a domain's version in the caller's transaction
+         *
+         * @return 0 if the domain has no row yet
+         */
+        @Modifying
+        @Transactional
+        @Query("UPDATE CacheVersion c SET c.version = c.version + 1, c.updatedAt = :now WHERE c.domain = :domain")
+        int bump(@Param("domain") CacheVersion.Domain domain, @Param("now") LocalDateTime now);
+}
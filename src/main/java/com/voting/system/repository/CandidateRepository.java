@@ -1,8 +1,11 @@
 package com.voting.system.repository;
 
 import com.voting.system.model.Candidate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -18,17 +21,20 @@ public interface CandidateRepository extends JpaRepository<Candidate, Long> {
     /**
      * Find all active candidates
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Candidate> findByIsActiveTrue();
 
     /**
      * Find candidates by constituency ID
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Candidate c WHERE c.constituency.id = :constituencyId AND c.isActive = true")
     List<Candidate> findByConstituencyId(@Param("constituencyId") Long constituencyId);
 
     /**
      * Find candidates by party ID
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Candidate c WHERE c.party.id = :partyId AND c.isActive = true")
     List<Candidate> findByPartyId(@Param("partyId") Long partyId);
 
@@ -1,8 +1,11 @@
 package com.voting.system.repository;
 
 import com.voting.system.model.Constituency;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -42,6 +45,7 @@ public interface ConstituencyRepository extends JpaRepository<Constituency, Long
     /**
      * Find all active constituencies
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Constituency> findByIsActiveTrueOrderByName();
 
     /**
@@ -52,11 +56,13 @@ public interface ConstituencyRepository extends JpaRepository<Constituency, Long
     /**
      * Find active constituencies by state
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Constituency> findByStateAndIsActiveTrueOrderByName(String state);
 
     /**
      * Find all unique states
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT c.state FROM Constituency c WHERE c.isActive = true ORDER BY c.state")
     List<String> findAllActiveStates();
 
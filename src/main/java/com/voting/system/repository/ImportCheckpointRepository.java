@@ -0,0 +1,15 @@
+package com.voting.system.repository;
+
+import com.voting.system.model.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for ImportCheckpoint entity
+ * 
+ * Per-batch progress is written by the importer over JDBC, in the same
+ * transaction as the batch it describes
+ */
+@Repository
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+}
@@ -107,6 +107,15 @@ public interface OTPRepository extends JpaRepository<OTP, Long> {
         @Query("UPDATE OTP o SET o.isUsed = true, o.usedAt = :usedAt WHERE o.id = :otpId")
         void markOTPAsUsed(@Param("otpId") Long otpId, @Param("usedAt") LocalDateTime usedAt);
 
+        /**
+         * Supersede all active OTPs for email and purpose in a single statement
+         */
+        @Modifying
+        @Query("UPDATE OTP o SET o.isUsed = true, o.usedAt = :currentTime WHERE o.email = :email AND o.purpose = :purpose AND o.isUsed = false AND o.expiryTime > :currentTime")
+        int supersedeActiveOTPs(@Param("email") String email,
+                        @Param("purpose") OTP.OTPPurpose purpose,
+                        @Param("currentTime") LocalDateTime currentTime);
+
         /**
          * Increment OTP attempts
          */
@@ -1,8 +1,11 @@
 package com.voting.system.repository;
 
 import com.voting.system.model.Party;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,6 +22,7 @@ public interface PartyRepository extends JpaRepository<Party, Long> {
     /**
      * Find all active parties
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Party> findByIsActiveTrueOrderByName();
 
     /**
@@ -0,0 +1,36 @@
+package com.voting.system.repository;
+
+import com.voting.system.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for RevokedToken entity
+ * 
+ * Supports polling for revocations made on other nodes and expiry cleanup
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+        /**
+         * Find unexpired revocations recorded at or after the given time
+         */
+        @Query("SELECT r FROM RevokedToken r WHERE r.revokedAt >= :since AND r.expiresAt > :currentTime")
+        List<RevokedToken> findRevokedSince(@Param("since") LocalDateTime since,
+                        @Param("currentTime") LocalDateTime currentTime);
+
+        /**
+         * Delete revocations whose tokens have expired
+         */
+        @Modifying
+        @Transactional
+        @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :currentTime")
+        int deleteExpired(@Param("currentTime") LocalDateTime currentTime);
+}
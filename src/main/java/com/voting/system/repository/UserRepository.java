@@ -1,15 +1,21 @@
 package com.voting.system.repository;
 
 import com.voting.system.model.User;
+import com.voting.system.model.UserSummary;
+import com.voting.system.model.VoterStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for User entity
@@ -31,10 +37,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     /**
-     * Find user by email address (case insensitive)
+     * Find lookup summary by normalized email
+     * Plain equality on EMAIL so the email index is used; callers pass User.normalizeEmail output
      */
-    @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
-    Optional<User> findByEmailIgnoreCase(@Param("email") String email);
+    @Query("SELECT new com.voting.system.model.UserSummary(u.id, u.email, u.isVerified, u.isActive, u.accountLockedUntil) " +
+            "FROM User u WHERE u.email = :email")
+    Optional<UserSummary> findSummaryByEmail(@Param("email") String email);
+
+    /**
+     * Find a voter's account state and ledger entry in one statement
+     */
+    @Query("SELECT new com.voting.system.model.VoterStatus(u.id, u.email, u.firstName, u.lastName, u.isActive, " +
+            "u.isVerified, u.accountLockedUntil, l.voteId) " +
+            "FROM User u LEFT JOIN VoterLedger l ON l.userId = u.id WHERE u.id = :userId")
+    Optional<VoterStatus> findVoterStatus(@Param("userId") Long userId);
 
     /**
      * Find user by phone number
@@ -46,12 +62,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     boolean existsByEmail(String email);
 
-    /**
-     * Check if email exists (case insensitive)
-     */
-    @Query("SELECT COUNT(u) > 0 FROM User u WHERE LOWER(u.email) = LOWER(:email)")
-    boolean existsByEmailIgnoreCase(@Param("email") String email);
-
     /**
      * Check if phone number exists
      */
@@ -87,6 +97,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("UPDATE User u SET u.failedLoginAttempts = :attempts WHERE u.id = :userId")
     void updateFailedLoginAttempts(@Param("userId") Long userId, @Param("attempts") Integer attempts);
 
+    /**
+     * Add failed login attempts counted on one node
+     * Adds rather than overwrites, so the counts of all nodes are summed
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.failedLoginAttempts = COALESCE(u.failedLoginAttempts, 0) + :delta " +
+            "WHERE u.id = :userId")
+    int addFailedLoginAttempts(@Param("userId") Long userId, @Param("delta") Integer delta);
+
+    /**
+     * Lock an account whose summed failed login attempts reached the limit, unless it is already locked
+     *
+     * @return 1 if this call locked the account
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.accountLockedUntil = :lockUntil WHERE u.id = :userId " +
+            "AND u.failedLoginAttempts >= :limit AND (u.accountLockedUntil IS NULL OR u.accountLockedUntil <= :now)")
+    int lockIfAttemptsReached(@Param("userId") Long userId,
+            @Param("limit") Integer limit,
+            @Param("lockUntil") LocalDateTime lockUntil,
+            @Param("now") LocalDateTime now);
+
     /**
      * Lock user account
      */
@@ -124,6 +156,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("UPDATE User u SET u.passwordHash = :passwordHash WHERE u.id = :userId")
     void updateUserPassword(@Param("userId") Long userId, @Param("passwordHash") String passwordHash);
 
+    /**
+     * Set a new password and clear failed attempts and any lock
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash, u.failedLoginAttempts = 0, " +
+            "u.accountLockedUntil = NULL, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :userId")
+    void resetUserPassword(@Param("userId") Long userId, @Param("passwordHash") String passwordHash);
+
     /**
      * Get user statistics
      */
@@ -142,6 +182,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE FUNCTION('DATE', u.createdAt) = CURRENT_DATE")
     List<User> findUsersCreatedToday();
 
+    /**
+     * Stream every registered email and phone number (filter warm-up)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT u.email, u.phoneNumber FROM User u")
+    Stream<Object[]> streamEmailsAndPhoneNumbers();
+
+    /**
+     * Find emails and phone numbers registered since the given time
+     */
+    @Query("SELECT u.email, u.phoneNumber FROM User u WHERE u.createdAt >= :since")
+    List<Object[]> findEmailsAndPhoneNumbersCreatedSince(@Param("since") LocalDateTime since);
+
     /**
      * Find users by name pattern
      */
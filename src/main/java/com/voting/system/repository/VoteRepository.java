@@ -4,6 +4,9 @@ import com.voting.system.model.Candidate;
 import com.voting.system.model.Constituency;
 import com.voting.system.model.User;
 import com.voting.system.model.Vote;
+import com.voting.system.model.VoteReceipt;
+import com.voting.system.model.VotingHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -37,11 +40,6 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
          */
         boolean existsByUserAndConstituency(User user, Constituency constituency);
 
-        /**
-         * Check if user has voted in any constituency
-         */
-        boolean existsByUser(User user);
-
         /**
          * Find votes by user
          */
@@ -53,6 +51,21 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
         @Query("SELECT v FROM Vote v WHERE v.user.id = :userId ORDER BY v.votedAt DESC")
         List<Vote> findByUserIdOrderByVotedAtDesc(@Param("userId") Long userId);
 
+        /**
+         * Receipts for a user's votes, latest first, in one statement
+         */
+        @Query("SELECT new com.voting.system.model.VoteReceipt(v.sessionId, v.user.id, c.name, p.name, ca.name, " +
+                        "v.votedAt, 'CAST') FROM Vote v JOIN v.constituency c JOIN v.candidate ca JOIN ca.party p " +
+                        "WHERE v.user.id = :userId ORDER BY v.votedAt DESC")
+        List<VoteReceipt> findReceiptsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+        /**
+         * Anonymized history rows for a user's votes, latest first, in one statement
+         */
+        @Query("SELECT new com.voting.system.model.VotingHistory(v.id, c.name, c.state, v.votedAt, v.sessionId) " +
+                        "FROM Vote v JOIN v.constituency c WHERE v.user.id = :userId ORDER BY v.votedAt DESC")
+        List<VotingHistory> findHistoryByUserId(@Param("userId") Long userId);
+
         /**
          * Find votes by constituency
          */
@@ -117,6 +130,13 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
         @Query("SELECT v.candidate.party.name, COUNT(v) as voteCount FROM Vote v WHERE v.status = 'CAST' GROUP BY v.candidate.party.name ORDER BY COUNT(v) DESC")
         List<Object[]> getOverallVoteResults();
 
+        /**
+         * Count ballots per accepting node and candidate, and how many are no longer CAST
+         * Full scan; used only to rebuild the vote tallies
+         */
+        @Query("SELECT v.nodeId, v.constituency.id, v.candidate.id, COUNT(v), SUM(CASE WHEN v.status <> 'CAST' THEN 1 ELSE 0 END) FROM Vote v GROUP BY v.nodeId, v.constituency.id, v.candidate.id")
+        List<Object[]> countVotesByNodeAndCandidate();
+
         /**
          * Get constituency-wise vote summary
          */
@@ -0,0 +1,22 @@
+package com.voting.system.repository;
+
+import com.voting.system.model.VoteSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for VoteSession entity
+ *
+ * Sessions are written in batches by VoteSessionService; this only reads
+ * them back
+ */
+@Repository
+public interface VoteSessionRepository extends JpaRepository<VoteSession, Long> {
+
+        /**
+         * Find a session by its public session ID
+         */
+        Optional<VoteSession> findBySessionId(String sessionId);
+}
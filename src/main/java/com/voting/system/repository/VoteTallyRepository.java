@@ -0,0 +1,54 @@
+package com.voting.system.repository;
+
+import com.voting.system.model.VoteTally;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for VoteTally entity
+ *
+ * Counts are only ever raised, never overwritten with a lower value, so
+ * flushes and rebuilds can run in any order
+ */
+@Repository
+public interface VoteTallyRepository extends JpaRepository<VoteTally, VoteTally.Key> {
+
+        /**
+         * Raise a row's counts to at least the given values
+         *
+         * @return 0 if the row doesn't exist or already has both counts
+         */
+        @Modifying
+        @Query("UPDATE VoteTally t SET t.castCount = GREATEST(t.castCount, :castCount), " +
+                        "t.withdrawnCount = GREATEST(t.withdrawnCount, :withdrawnCount), t.updatedAt = :now " +
+                        "WHERE t.key = :key AND (t.castCount < :castCount OR t.withdrawnCount < :withdrawnCount)")
+        int raiseCounts(@Param("key") VoteTally.Key key, @Param("castCount") long castCount,
+                        @Param("withdrawnCount") long withdrawnCount, @Param("now") LocalDateTime now);
+
+        /**
+         * Count one more withdrawn ballot in the caller's transaction
+         *
+         * @return 0 if the row doesn't exist yet
+         */
+        @Modifying
+        @Query("UPDATE VoteTally t SET t.withdrawnCount = t.withdrawnCount + 1, t.updatedAt = :now WHERE t.key = :key")
+        int incrementWithdrawn(@Param("key") VoteTally.Key key, @Param("now") LocalDateTime now);
+
+        /**
+         * Find one node's rows
+         */
+        List<VoteTally> findByKeyNodeId(String nodeId);
+
+        /**
+         * Sum every other node's counted ballots per candidate
+         */
+        @Query("SELECT t.key.candidateId, SUM(t.castCount - t.withdrawnCount) FROM VoteTally t " +
+                        "WHERE t.key.nodeId <> :nodeId GROUP BY t.key.candidateId")
+        List<Object[]> sumOtherNodesByCandidate(@Param("nodeId") String nodeId);
+}
@@ -0,0 +1,19 @@
+package com.voting.system.repository;
+
+import com.voting.system.model.VoterLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for VoterLedger entity
+ *
+ * Answers "has this voter voted" from the ledger's unique USER_ID index
+ */
+@Repository
+public interface VoterLedgerRepository extends JpaRepository<VoterLedger, Long> {
+
+        /**
+         * Check if user has voted in any constituency
+         */
+        boolean existsByUserId(Long userId);
+}
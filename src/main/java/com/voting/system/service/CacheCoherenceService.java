@@ -0,0 +1,340 @@
+package com.voting.system.service;
+
+import com.voting.system.model.CacheVersion;
+import com.voting.system.repository.CacheVersionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Service class for keeping node-local caches coherent across nodes
+ *
+ * Mutations of cached data call bump() in their own transaction, which
+ * increments the domain's row in VOTING_CACHE_VERSIONS. Every node polls that
+ * table and runs the invalidation callbacks registered for each domain whose
+ * version moved. A change committed on one node is dropped from every other
+ * node's caches within two poll intervals: invalidation runs once when the
+ * change is seen and again on the next poll, for loads that were already
+ * reading the old row. A node that cannot poll for max-staleness-millis drops
+ * all registered caches on every poll until it can again, so it never serves
+ * cached data older than that bound.
+ */
+@Service
+public class CacheCoherenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheCoherenceService.class);
+
+    @Autowired
+    private CacheVersionRepository cacheVersionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.cache-coherence.enabled:true}")
+    private boolean enabled;
+
+    @Value("${voting.cache-coherence.poll-interval-millis:1000}")
+    private long pollIntervalMillis;
+
+    @Value("${voting.cache-coherence.max-staleness-millis:5000}")
+    private long maxStalenessMillis;
+
+    private final Map<CacheVersion.Domain, List<Runnable>> invalidators = new EnumMap<>(CacheVersion.Domain.class);
+    // Last version seen per domain; only touched by the polling thread after start-up
+    private final Map<CacheVersion.Domain, Long> seenVersions = new EnumMap<>(CacheVersion.Domain.class);
+    private final Set<CacheVersion.Domain> repeatNextPoll = EnumSet.noneOf(CacheVersion.Domain.class);
+    private final Map<CacheVersion.Domain, Counter> invalidationCounters = new EnumMap<>(CacheVersion.Domain.class);
+
+    private TransactionTemplate transactionTemplate;
+    private Counter failSafeInvalidations;
+    private volatile long lastSuccessfulPollMillis;
+    private volatile LocalDateTime lastPolledAt;
+    private volatile LocalDateTime lastChangeSeenAt;
+
+    @PostConstruct
+    public void init() {
+        // Read-write so the poll goes to the primary rather than a lagging read replica
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        lastSuccessfulPollMillis = System.currentTimeMillis();
+
+        for (CacheVersion.Domain domain : CacheVersion.Domain.values()) {
+            invalidators.put(domain, new CopyOnWriteArrayList<>());
+            invalidationCounters.put(domain, Counter.builder("voting.cache.coherence.invalidations")
+                    .description("Local cache invalidations triggered by version changes")
+                    .tag("domain", domain.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        failSafeInvalidations = Counter.builder("voting.cache.coherence.failsafe")
+                .description("Polls that dropped every local cache because versions could not be read")
+                .register(meterRegistry);
+        Gauge.builder("voting.cache.coherence.poll.age", this, s -> (System.currentTimeMillis() - s.lastSuccessfulPollMillis) / 1000.0)
+                .description("Seconds since versions were last read; cached data is at most this much older")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        if (enabled) {
+            seedVersions();
+            // Baseline before any cache is filled, so a change made during start-up is still seen
+            readVersions(false);
+        }
+    }
+
+    /**
+     * Run the given callback whenever another node (or this one) changes the domain
+     */
+    public void onChange(CacheVersion.Domain domain, Runnable invalidator) {
+        invalidators.get(domain).add(invalidator);
+    }
+
+    /**
+     * Record a change to cached data
+     *
+     * Joins the caller's transaction, so other nodes only see the new version
+     * together with the committed change.
+     */
+    @Transactional
+    public void bump(CacheVersion.Domain domain) {
+        if (cacheVersionRepository.bump(domain, LocalDateTime.now()) == 0) {
+            cacheVersionRepository.save(new CacheVersion(domain, 1L, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Invalidate local caches for domains changed since the last poll
+     */
+    @Scheduled(fixedDelayString = "${voting.cache-coherence.poll-interval-millis:1000}")
+    public void pollVersions() {
+        if (!enabled) {
+            return;
+        }
+
+        if (!readVersions(true)
+                && System.currentTimeMillis() - lastSuccessfulPollMillis > maxStalenessMillis) {
+            // Changes can no longer be seen - stop serving anything older than the bound
+            invalidate(EnumSet.allOf(CacheVersion.Domain.class));
+            failSafeInvalidations.increment();
+            seenVersions.clear();
+        }
+    }
+
+    private boolean readVersions(boolean invalidateChanged) {
+        try {
+            List<CacheVersion> rows = transactionTemplate.execute(status -> cacheVersionRepository.findAll());
+            Set<CacheVersion.Domain> changed = EnumSet.copyOf(repeatNextPoll);
+            repeatNextPoll.clear();
+            for (CacheVersion row : rows) {
+                Long previous = seenVersions.put(row.getDomain(), row.getVersion());
+                if (invalidateChanged && !row.getVersion().equals(previous)) {
+                    changed.add(row.getDomain());
+                    repeatNextPoll.add(row.getDomain());
+                }
+            }
+
+            lastSuccessfulPollMillis = System.currentTimeMillis();
+            lastPolledAt = LocalDateTime.now();
+            if (!changed.isEmpty()) {
+                invalidate(changed);
+                lastChangeSeenAt = lastPolledAt;
+            }
+            return true;
+        } catch (InvalidDataAccessResourceUsageException e) {
+            // Table doesn't exist yet (offline schema management)
+            logger.debug("Cache version poll skipped - schema not yet initialized");
+        } catch (Exception e) {
+            logger.warn("Cache version poll failed: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    private void invalidate(Set<CacheVersion.Domain> domains) {
+        for (CacheVersion.Domain domain : domains) {
+            for (Runnable invalidator : invalidators.get(domain)) {
+                try {
+                    invalidator.run();
+                } catch (Exception e) {
+                    logger.warn("Invalidating {} cache failed: {}", domain, e.getMessage());
+                }
+            }
+            invalidationCounters.get(domain).increment();
+        }
+    }
+
+    private void seedVersions() {
+        for (CacheVersion.Domain domain : CacheVersion.Domain.values()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!cacheVersionRepository.existsById(domain)) {
+                        cacheVersionRepository.save(new CacheVersion(domain, 0L, LocalDateTime.now()));
+                    }
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another node inserted it first
+            } catch (Exception e) {
+                logger.warn("Could not create cache version row for {}: {}", domain, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get coherence statistics
+     */
+    public CoherenceStats getCoherenceStatistics() {
+        CoherenceStats stats = new CoherenceStats();
+        stats.setEnabled(enabled);
+        stats.setPollIntervalMillis(pollIntervalMillis);
+        stats.setMaxStalenessMillis(maxStalenessMillis);
+        stats.setMillisSinceLastPoll(System.currentTimeMillis() - lastSuccessfulPollMillis);
+        stats.setLastPolledAt(lastPolledAt);
+        stats.setLastChangeSeenAt(lastChangeSeenAt);
+
+        List<DomainStats> domains = new ArrayList<>();
+        for (CacheVersion.Domain domain : CacheVersion.Domain.values()) {
+            DomainStats domainStats = new DomainStats();
+            domainStats.setDomain(domain.name());
+            domainStats.setVersion(seenVersions.get(domain));
+            domainStats.setInvalidations((long) invalidationCounters.get(domain).count());
+            domains.add(domainStats);
+        }
+        stats.setDomains(domains);
+        stats.setFailSafeInvalidations((long) failSafeInvalidations.count());
+        return stats;
+    }
+
+    /**
+     * Domain Statistics DTO
+     */
+    public static class DomainStats {
+        private String domain;
+        private Long version;
+        private long invalidations;
+
+        // Getters and setters
+        public String getDomain() {
+            return domain;
+        }
+
+        public void setDomain(String domain) {
+            this.domain = domain;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public void setVersion(Long version) {
+            this.version = version;
+        }
+
+        public long getInvalidations() {
+            return invalidations;
+        }
+
+        public void setInvalidations(long invalidations) {
+            this.invalidations = invalidations;
+        }
+    }
+
+    /**
+     * Coherence Statistics DTO
+     */
+    public static class CoherenceStats {
+        private boolean enabled;
+        private long pollIntervalMillis;
+        private long maxStalenessMillis;
+        private long millisSinceLastPoll;
+        private LocalDateTime lastPolledAt;
+        private LocalDateTime lastChangeSeenAt;
+        private List<DomainStats> domains;
+        private long failSafeInvalidations;
+
+        // Getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getPollIntervalMillis() {
+            return pollIntervalMillis;
+        }
+
+        public void setPollIntervalMillis(long pollIntervalMillis) {
+            this.pollIntervalMillis = pollIntervalMillis;
+        }
+
+        public long getMaxStalenessMillis() {
+            return maxStalenessMillis;
+        }
+
+        public void setMaxStalenessMillis(long maxStalenessMillis) {
+            this.maxStalenessMillis = maxStalenessMillis;
+        }
+
+        public long getMillisSinceLastPoll() {
+            return millisSinceLastPoll;
+        }
+
+        public void setMillisSinceLastPoll(long millisSinceLastPoll) {
+            this.millisSinceLastPoll = millisSinceLastPoll;
+        }
+
+        public LocalDateTime getLastPolledAt() {
+            return lastPolledAt;
+        }
+
+        public void setLastPolledAt(LocalDateTime lastPolledAt) {
+            this.lastPolledAt = lastPolledAt;
+        }
+
+        public LocalDateTime getLastChangeSeenAt() {
+            return lastChangeSeenAt;
+        }
+
+        public void setLastChangeSeenAt(LocalDateTime lastChangeSeenAt) {
+            this.lastChangeSeenAt = lastChangeSeenAt;
+        }
+
+        public List<DomainStats> getDomains() {
+            return domains;
+        }
+
+        public void setDomains(List<DomainStats> domains) {
+            this.domains = domains;
+        }
+
+        public long getFailSafeInvalidations() {
+            return failSafeInvalidations;
+        }
+
+        public void setFailSafeInvalidations(long failSafeInvalidations) {
+            this.failSafeInvalidations = failSafeInvalidations;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.voting.system.service;
 
+import com.voting.system.model.CacheVersion;
 import com.voting.system.model.Candidate;
 import com.voting.system.model.Constituency;
 import com.voting.system.model.Party;
@@ -21,6 +22,9 @@ public class CandidateService {
     @Autowired
     private CandidateRepository candidateRepository;
 
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
     /**
      * Get all active candidates
      */
@@ -67,6 +71,7 @@ public class CandidateService {
      * Save a candidate
      */
     public Candidate saveCandidate(Candidate candidate) {
+        cacheCoherenceService.bump(CacheVersion.Domain.CANDIDATES);
         return candidateRepository.save((Candidate) candidate);
     }
 
@@ -77,6 +82,7 @@ public class CandidateService {
             Constituency constituency) {
         Candidate candidate = new Candidate(name, age, qualification, party, constituency);
         candidate.setBio(bio);
+        cacheCoherenceService.bump(CacheVersion.Domain.CANDIDATES);
         return candidateRepository.save(candidate);
     }
 
@@ -91,6 +97,7 @@ public class CandidateService {
             candidate.setAge(age);
             candidate.setQualification(qualification);
             candidate.setBio(bio);
+            cacheCoherenceService.bump(CacheVersion.Domain.CANDIDATES);
             return candidateRepository.save(candidate);
         }
         throw new RuntimeException("Candidate not found with ID: " + id);
@@ -105,6 +112,7 @@ public class CandidateService {
             Candidate candidate = candidateOpt.get();
             candidate.setIsActive(false);
             candidateRepository.save(candidate);
+            cacheCoherenceService.bump(CacheVersion.Domain.CANDIDATES);
         } else {
             throw new RuntimeException("Candidate not found with ID: " + id);
         }
@@ -119,6 +127,7 @@ public class CandidateService {
             Candidate candidate = candidateOpt.get();
             candidate.setIsActive(true);
             candidateRepository.save(candidate);
+            cacheCoherenceService.bump(CacheVersion.Domain.CANDIDATES);
         } else {
             throw new RuntimeException("Candidate not found with ID: " + id);
         }
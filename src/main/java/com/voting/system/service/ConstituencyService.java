@@ -1,5 +1,6 @@
 package com.voting.system.service;
 
+import com.voting.system.model.CacheVersion;
 import com.voting.system.model.Constituency;
 import com.voting.system.model.Party;
 import com.voting.system.repository.ConstituencyRepository;
@@ -26,6 +27,9 @@ public class ConstituencyService {
     @Autowired
     private PartyRepository partyRepository;
 
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
     // Constituency Management
 
     /**
@@ -80,6 +84,7 @@ public class ConstituencyService {
         }
 
         Constituency constituency = new Constituency(name, state, description);
+        cacheCoherenceService.bump(CacheVersion.Domain.CONSTITUENCIES);
         return constituencyRepository.save(constituency);
     }
 
@@ -100,6 +105,7 @@ public class ConstituencyService {
         constituency.setState(state);
         constituency.setDescription(description);
 
+        cacheCoherenceService.bump(CacheVersion.Domain.CONSTITUENCIES);
         return constituencyRepository.save(constituency);
     }
 
@@ -112,6 +118,7 @@ public class ConstituencyService {
 
         constituency.setIsActive(isActive);
         constituencyRepository.save(constituency);
+        cacheCoherenceService.bump(CacheVersion.Domain.CONSTITUENCIES);
 
         // If deactivating constituency, also deactivate all its parties
         // Note: In the new candidate-based structure, parties are independent
@@ -131,6 +138,7 @@ public class ConstituencyService {
     /**
      * Get constituencies with candidate count
      */
+    @Transactional(readOnly = true)
     public List<ConstituencyWithCandidateCount> getConstituenciesWithCandidateCount() {
         List<Object[]> results = constituencyRepository.findConstituenciesWithCandidateCount();
 
@@ -144,6 +152,7 @@ public class ConstituencyService {
     /**
      * Get constituencies without candidates
      */
+    @Transactional(readOnly = true)
     public List<Constituency> getConstituenciesWithoutCandidates() {
         return constituencyRepository.findConstituenciesWithoutCandidates();
     }
@@ -245,6 +254,7 @@ public class ConstituencyService {
         party.setDescription(description);
         party.setLogoUrl(logoUrl);
 
+        cacheCoherenceService.bump(CacheVersion.Domain.PARTIES);
         return partyRepository.save(party);
     }
 
@@ -257,6 +267,7 @@ public class ConstituencyService {
 
         party.setIsActive(isActive);
         partyRepository.save(party);
+        cacheCoherenceService.bump(CacheVersion.Domain.PARTIES);
     }
 
     /**
@@ -276,6 +287,7 @@ public class ConstituencyService {
     /**
      * Get top parties by votes globally
      */
+    @Transactional(readOnly = true)
     public List<PartyWithVoteCount> getTopPartiesByVotes() {
         List<Object[]> results = partyRepository.findTopPartiesByVotes();
 
@@ -289,6 +301,7 @@ public class ConstituencyService {
     /**
      * Get parties without votes
      */
+    @Transactional(readOnly = true)
     public List<Party> getPartiesWithoutVotes() {
         return partyRepository.findPartiesWithoutVotes();
     }
@@ -296,6 +309,7 @@ public class ConstituencyService {
     /**
      * Get constituency and party statistics
      */
+    @Transactional(readOnly = true)
     public ConstituencyPartyStats getStatistics() {
         ConstituencyPartyStats stats = new ConstituencyPartyStats();
 
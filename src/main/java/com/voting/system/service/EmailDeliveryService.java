@@ -0,0 +1,567 @@
+package com.voting.system.service;
+
+import com.voting.system.model.OTP;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Service;
+
+import java.io.UnsupportedEncodingException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class for outbound email delivery
+ *
+ * Accepts messages into a bounded in-memory queue and delivers them from a
+ * fixed set of worker threads. Each worker keeps its own SMTP transport
+ * connected between batches, failed messages are retried with exponential
+ * backoff and messages that exhaust their retries are kept in a bounded
+ * dead-letter store for inspection.
+ */
+@Service
+public class EmailDeliveryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDeliveryService.class);
+
+    @Autowired
+    private ObjectProvider<JavaMailSender> mailSenderProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.email.delivery.enabled:false}")
+    private boolean deliveryEnabled;
+
+    @Value("${voting.email.delivery.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${voting.email.delivery.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${voting.email.delivery.batch-size:50}")
+    private int batchSize;
+
+    @Value("${voting.email.delivery.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${voting.email.delivery.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${voting.email.delivery.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    @Value("${voting.email.delivery.dead-letter-capacity:1000}")
+    private int deadLetterCapacity;
+
+    @Value("${voting.email.from:noreply@votingsystem.com}")
+    private String fromAddress;
+
+    @Value("${voting.email.from-name:Online Voting System}")
+    private String fromName;
+
+    private BlockingQueue<OutboundEmail> queue;
+    private final ConcurrentLinkedDeque<DeadLetter> deadLetters = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger deadLetterCount = new AtomicInteger();
+    private final List<Thread> workers = new ArrayList<>();
+    private ScheduledExecutorService retryScheduler;
+    private JavaMailSenderImpl mailSender;
+    private volatile boolean running;
+
+    // Delivery counters
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong transportConnects = new AtomicLong();
+    private final AtomicLong totalLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    /**
+     * Start worker threads when delivery is enabled and a mail sender is configured
+     */
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        registerMetrics();
+
+        if (!deliveryEnabled) {
+            logger.info("Email delivery disabled - OTP codes are written to the log only");
+            return;
+        }
+
+        JavaMailSender sender = mailSenderProvider.getIfAvailable();
+        if (!(sender instanceof JavaMailSenderImpl)) {
+            logger.warn("Email delivery enabled but no SMTP sender is configured (spring.mail.host) - delivery disabled");
+            deliveryEnabled = false;
+            return;
+        }
+        mailSender = (JavaMailSenderImpl) sender;
+
+        running = true;
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "email-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int i = 0; i < Math.max(1, workerThreads); i++) {
+            Thread worker = new Thread(this::runWorker, "email-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+
+        logger.info("Email delivery started: {} workers, queue capacity {}, batch size {}",
+                workers.size(), queueCapacity, batchSize);
+    }
+
+    /**
+     * Stop workers and close their transports
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (retryScheduler != null) {
+            retryScheduler.shutdownNow();
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+    }
+
+    /**
+     * Check whether messages are actually delivered over SMTP
+     */
+    public boolean isDeliveryEnabled() {
+        return deliveryEnabled;
+    }
+
+    private void registerMetrics() {
+        Gauge.builder("voting.email.queue.depth", queue, BlockingQueue::size)
+                .description("Emails waiting for delivery")
+                .register(meterRegistry);
+        Gauge.builder("voting.email.dead.letters", deadLetterCount, AtomicInteger::get)
+                .description("Emails held in the dead-letter store")
+                .register(meterRegistry);
+        FunctionCounter.builder("voting.email.delivered", delivered, AtomicLong::get)
+                .register(meterRegistry);
+        FunctionCounter.builder("voting.email.rejected", rejected, AtomicLong::get)
+                .description("Emails rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue an OTP email for delivery
+     *
+     * Returns false when delivery is disabled or the queue is full; the caller
+     * never blocks on SMTP.
+     */
+    public boolean sendOtpEmail(String email, String otpCode, OTP.OTPPurpose purpose, int expiryMinutes) {
+        String subject = "Your " + purpose.getDescription() + " code";
+        String body = "Your one-time verification code is: " + otpCode + "\n\n"
+                + "This code expires in " + expiryMinutes + " minutes. "
+                + "If you did not request it, you can ignore this email.\n\n"
+                + fromName;
+        return enqueue(email, subject, body);
+    }
+
+    /**
+     * Queue a plain text email for delivery
+     */
+    public boolean enqueue(String to, String subject, String body) {
+        if (!deliveryEnabled) {
+            return false;
+        }
+
+        OutboundEmail email = new OutboundEmail(to, subject, body);
+        if (!queue.offer(email)) {
+            rejected.incrementAndGet();
+            logger.warn("Email queue full ({} messages) - rejected message to {}", queueCapacity, to);
+            return false;
+        }
+
+        enqueued.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Worker loop: take a batch from the queue and send it over one connected transport
+     */
+    private void runWorker() {
+        Transport transport = null;
+        List<OutboundEmail> batch = new ArrayList<>(batchSize);
+
+        try {
+            while (running) {
+                OutboundEmail first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    // Idle - release the connection rather than hold it open indefinitely
+                    transport = closeQuietly(transport);
+                    continue;
+                }
+
+                batch.clear();
+                batch.add(first);
+                queue.drainTo(batch, Math.max(0, batchSize - 1));
+
+                for (OutboundEmail email : batch) {
+                    try {
+                        transport = ensureConnected(transport);
+                        MimeMessage message = buildMessage(email);
+                        transport.sendMessage(message, message.getAllRecipients());
+                        recordDelivered(email);
+                    } catch (MessagingException | UnsupportedEncodingException e) {
+                        // A failed send may leave the connection unusable - reconnect for the next one
+                        transport = closeQuietly(transport);
+                        handleFailure(email, e);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeQuietly(transport);
+        }
+    }
+
+    /**
+     * Reuse the worker's transport when it is still connected, otherwise open a new one
+     */
+    private Transport ensureConnected(Transport transport) throws MessagingException {
+        if (transport != null && transport.isConnected()) {
+            return transport;
+        }
+
+        Session session = mailSender.getSession();
+        Transport fresh = session.getTransport(mailSender.getProtocol());
+        fresh.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(),
+                mailSender.getPassword());
+        transportConnects.incrementAndGet();
+        return fresh;
+    }
+
+    private MimeMessage buildMessage(OutboundEmail email) throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = new MimeMessage(mailSender.getSession());
+        message.setFrom(new InternetAddress(fromAddress, fromName));
+        message.setRecipient(MimeMessage.RecipientType.TO, new InternetAddress(email.getTo()));
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody(), "UTF-8");
+        message.saveChanges();
+        return message;
+    }
+
+    private Transport closeQuietly(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                logger.debug("Error closing SMTP transport: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private void recordDelivered(OutboundEmail email) {
+        delivered.incrementAndGet();
+        long lag = System.currentTimeMillis() - email.getEnqueuedAtMillis();
+        totalLagMillis.addAndGet(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+    }
+
+    /**
+     * Schedule a retry with exponential backoff, or dead-letter the message
+     */
+    private void handleFailure(OutboundEmail email, Exception e) {
+        int attempt = email.incrementAttempts();
+        if (attempt > maxRetries || !running) {
+            deadLetter(email, e.getMessage());
+            return;
+        }
+
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        retried.incrementAndGet();
+        logger.warn("Email to {} failed (attempt {}/{}), retrying in {} ms: {}",
+                email.getTo(), attempt, maxRetries, backoff, e.getMessage());
+
+        retryScheduler.schedule(() -> {
+            if (!queue.offer(email)) {
+                deadLetter(email, "Queue full on retry");
+            }
+        }, backoff, TimeUnit.MILLISECONDS);
+    }
+
+    private void deadLetter(OutboundEmail email, String reason) {
+        deadLettered.incrementAndGet();
+        deadLetters.addLast(new DeadLetter(email.getTo(), email.getSubject(), email.getAttempts(), reason,
+                LocalDateTime.now()));
+        // Keep the store bounded - oldest entries are dropped first
+        if (deadLetterCount.incrementAndGet() > deadLetterCapacity && deadLetters.pollFirst() != null) {
+            deadLetterCount.decrementAndGet();
+        }
+        logger.error("Email to {} moved to dead-letter store after {} attempts: {}",
+                email.getTo(), email.getAttempts(), reason);
+    }
+
+    /**
+     * Get messages that could not be delivered
+     */
+    public List<DeadLetter> getDeadLetters() {
+        return new ArrayList<>(deadLetters);
+    }
+
+    /**
+     * Get delivery statistics including queue lag
+     */
+    public EmailDeliveryStats getDeliveryStatistics() {
+        EmailDeliveryStats stats = new EmailDeliveryStats();
+        stats.setDeliveryEnabled(deliveryEnabled);
+        stats.setQueueDepth(queue.size());
+        stats.setQueueCapacity(queueCapacity);
+        stats.setEnqueued(enqueued.get());
+        stats.setRejected(rejected.get());
+        stats.setDelivered(delivered.get());
+        stats.setRetried(retried.get());
+        stats.setDeadLettered(deadLettered.get());
+        stats.setTransportConnects(transportConnects.get());
+        stats.setMaxLagMillis(maxLagMillis.get());
+
+        long deliveredCount = delivered.get();
+        stats.setAverageLagMillis(deliveredCount > 0 ? totalLagMillis.get() / deliveredCount : 0);
+
+        OutboundEmail oldest = queue.peek();
+        stats.setOldestQueuedAgeMillis(oldest != null ? System.currentTimeMillis() - oldest.getEnqueuedAtMillis() : 0);
+
+        return stats;
+    }
+
+    /**
+     * Queued email message
+     */
+    public static class OutboundEmail {
+        private final String to;
+        private final String subject;
+        private final String body;
+        private final long enqueuedAtMillis;
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        public OutboundEmail(String to, String subject, String body) {
+            this.to = to;
+            this.subject = subject;
+            this.body = body;
+            this.enqueuedAtMillis = System.currentTimeMillis();
+        }
+
+        public String getTo() {
+            return to;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public long getEnqueuedAtMillis() {
+            return enqueuedAtMillis;
+        }
+
+        public int getAttempts() {
+            return attempts.get();
+        }
+
+        int incrementAttempts() {
+            return attempts.incrementAndGet();
+        }
+    }
+
+    /**
+     * Message that exhausted its delivery attempts
+     */
+    public static class DeadLetter {
+        private final String to;
+        private final String subject;
+        private final int attempts;
+        private final String reason;
+        private final LocalDateTime failedAt;
+
+        public DeadLetter(String to, String subject, int attempts, String reason, LocalDateTime failedAt) {
+            this.to = to;
+            this.subject = subject;
+            this.attempts = attempts;
+            this.reason = reason;
+            this.failedAt = failedAt;
+        }
+
+        // Getters
+        public String getTo() {
+            return to;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public LocalDateTime getFailedAt() {
+            return failedAt;
+        }
+    }
+
+    /**
+     * Email Delivery Statistics DTO
+     */
+    public static class EmailDeliveryStats {
+        private boolean deliveryEnabled;
+        private int queueDepth;
+        private int queueCapacity;
+        private long enqueued;
+        private long rejected;
+        private long delivered;
+        private long retried;
+        private long deadLettered;
+        private long transportConnects;
+        private long averageLagMillis;
+        private long maxLagMillis;
+        private long oldestQueuedAgeMillis;
+
+        // Getters and setters
+        public boolean isDeliveryEnabled() {
+            return deliveryEnabled;
+        }
+
+        public void setDeliveryEnabled(boolean deliveryEnabled) {
+            this.deliveryEnabled = deliveryEnabled;
+        }
+
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public void setQueueDepth(int queueDepth) {
+            this.queueDepth = queueDepth;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getEnqueued() {
+            return enqueued;
+        }
+
+        public void setEnqueued(long enqueued) {
+            this.enqueued = enqueued;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public void setRejected(long rejected) {
+            this.rejected = rejected;
+        }
+
+        public long getDelivered() {
+            return delivered;
+        }
+
+        public void setDelivered(long delivered) {
+            this.delivered = delivered;
+        }
+
+        public long getRetried() {
+            return retried;
+        }
+
+        public void setRetried(long retried) {
+            this.retried = retried;
+        }
+
+        public long getDeadLettered() {
+            return deadLettered;
+        }
+
+        public void setDeadLettered(long deadLettered) {
+            this.deadLettered = deadLettered;
+        }
+
+        public long getTransportConnects() {
+            return transportConnects;
+        }
+
+        public void setTransportConnects(long transportConnects) {
+            this.transportConnects = transportConnects;
+        }
+
+        public long getAverageLagMillis() {
+            return averageLagMillis;
+        }
+
+        public void setAverageLagMillis(long averageLagMillis) {
+            this.averageLagMillis = averageLagMillis;
+        }
+
+        public long getMaxLagMillis() {
+            return maxLagMillis;
+        }
+
+        public void setMaxLagMillis(long maxLagMillis) {
+            this.maxLagMillis = maxLagMillis;
+        }
+
+        public long getOldestQueuedAgeMillis() {
+            return oldestQueuedAgeMillis;
+        }
+
+        public void setOldestQueuedAgeMillis(long oldestQueuedAgeMillis) {
+            this.oldestQueuedAgeMillis = oldestQueuedAgeMillis;
+        }
+    }
+}
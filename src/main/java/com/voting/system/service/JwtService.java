@@ -0,0 +1,131 @@
+package com.voting.system.service;
+
+import com.voting.system.model.AuthenticatedVoter;
+import com.voting.system.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service class for JWT access tokens
+ *
+ * Issues signed tokens after login OTP verification and verifies them locally.
+ * The signing key and parser are built once at startup, so verification costs
+ * one HMAC and no database access.
+ */
+@Service
+public class JwtService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
+
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_VERIFIED = "verified";
+    static final String CLAIM_ACTIVE = "active";
+    static final String CLAIM_VOTE_ELIGIBLE = "voteEligible";
+
+    @Value("${voting.jwt.secret:}")
+    private String secret;
+
+    @Value("${voting.jwt.issuer:online-voting-system}")
+    private String issuer;
+
+    @Value("${voting.jwt.expiration-minutes:1440}")
+    private long expirationMinutes;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        if (secret == null || secret.isBlank()) {
+            // Tokens will not survive a restart or work across nodes - fine for local development only
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            signingKey = Keys.hmacShaKeyFor(random);
+            logger.warn("voting.jwt.secret is not set - using a random per-process signing key");
+        } else {
+            signingKey = Keys.hmacShaKeyFor(decodeSecret(secret));
+        }
+
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .requireIssuer(issuer)
+                .build();
+    }
+
+    private byte[] decodeSecret(String value) {
+        try {
+            return Decoders.BASE64.decode(value);
+        } catch (RuntimeException e) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Issue an access token for a user
+     */
+    public String generateToken(User user, boolean hasVoted) {
+        Instant now = Instant.now();
+        boolean voteEligible = user.getIsActive() && user.getIsVerified() && !user.isAccountLocked() && !hasVoted;
+
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .issuer(issuer)
+                .subject(String.valueOf(user.getId()))
+                .claim(CLAIM_EMAIL, user.getEmail())
+                .claim(CLAIM_VERIFIED, user.getIsVerified())
+                .claim(CLAIM_ACTIVE, user.getIsActive())
+                .claim(CLAIM_VOTE_ELIGIBLE, voteEligible)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(expirationMinutes * 60)))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Verify a token and extract the voter identity
+     */
+    public Optional<AuthenticatedVoter> parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            return Optional.of(new AuthenticatedVoter(
+                    Long.valueOf(claims.getSubject()),
+                    claims.get(CLAIM_EMAIL, String.class),
+                    Boolean.TRUE.equals(claims.get(CLAIM_VERIFIED, Boolean.class)),
+                    Boolean.TRUE.equals(claims.get(CLAIM_ACTIVE, Boolean.class)),
+                    Boolean.TRUE.equals(claims.get(CLAIM_VOTE_ELIGIBLE, Boolean.class)),
+                    claims.getId(),
+                    claims.getExpiration().toInstant()));
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected access token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Token lifetime in seconds
+     */
+    public long getExpirationSeconds() {
+        return expirationMinutes * 60;
+    }
+}
@@ -0,0 +1,384 @@
+package com.voting.system.service;
+
+import com.voting.system.model.CacheVersion;
+import com.voting.system.model.User;
+import com.voting.system.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class for failed login tracking and account lockout
+ *
+ * Failed attempts are counted in memory under striped locks so that a burst
+ * of bad passwords does not turn into one UPDATE per attempt. Each node
+ * writes only the attempts it has not written yet, added to the stored
+ * count, so the count in VOTING_USERS is the sum over all nodes. The database
+ * locks the account once that sum reaches the threshold. A node writes
+ * straight away when its own view reaches the threshold; otherwise a periodic
+ * flush coalesces any number of attempts into one UPDATE per account.
+ */
+@Service
+public class LoginAttemptService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    @Value("${voting.security.account-lockout-attempts:5}")
+    private int maxFailedAttempts;
+
+    @Value("${voting.security.account-lockout-duration-minutes:30}")
+    private int lockoutDurationMinutes;
+
+    @Value("${voting.security.login-attempts.stripes:64}")
+    private int stripeCount;
+
+    private final Map<Long, AttemptState> attempts = new ConcurrentHashMap<>();
+    private Object[] stripes;
+    private TransactionTemplate transactionTemplate;
+
+    // Tracking metrics
+    private final AtomicLong failuresRecorded = new AtomicLong();
+    private final AtomicLong locksPersisted = new AtomicLong();
+    private final AtomicLong unlocksPersisted = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong rowsFlushed = new AtomicLong();
+    private final AtomicLong writesAvoided = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        // Round up to a power of two so the stripe index is a mask
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        stripes = new Object[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Object();
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("voting.login.attempts.tracked", attempts, Map::size)
+                .description("Accounts with failed logins tracked in memory")
+                .register(meterRegistry);
+        FunctionCounter.builder("voting.login.attempts.failed", failuresRecorded, AtomicLong::get)
+                .register(meterRegistry);
+        FunctionCounter.builder("voting.login.lockouts", locksPersisted, AtomicLong::get)
+                .register(meterRegistry);
+
+        // An admin unlock on another node must not be overridden by a lock held here
+        cacheCoherenceService.onChange(CacheVersion.Domain.USERS, this::forgetLocks);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flushPendingAttempts();
+        } catch (Exception e) {
+            logger.warn("Could not flush failed login attempts on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private Object stripeFor(Long userId) {
+        int h = userId.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * Check whether an account is currently locked
+     * In-memory state is newer than the loaded row when this node locked the account.
+     */
+    public boolean isLocked(User user) {
+        AttemptState state = attempts.get(user.getId());
+        if (state != null && state.lockedUntil != null && state.lockedUntil.isAfter(LocalDateTime.now())) {
+            return true;
+        }
+        return user.isAccountLocked();
+    }
+
+    /**
+     * Record a failed login; locks the account once the threshold is reached
+     *
+     * The user row is read on every login, so the stored count already holds
+     * what every node has written; attempts not written yet are added to it.
+     *
+     * @return true if this failure locked the account
+     */
+    public boolean recordFailure(User user) {
+        failuresRecorded.incrementAndGet();
+        int stored = user.getFailedLoginAttempts() != null ? user.getFailedLoginAttempts() : 0;
+        int delta = 0;
+
+        synchronized (stripeFor(user.getId())) {
+            AttemptState state = attempts.computeIfAbsent(user.getId(), id -> new AttemptState());
+            state.pending++;
+            state.lastUpdated = LocalDateTime.now();
+
+            if (stored + state.pending >= maxFailedAttempts) {
+                delta = state.pending;
+                state.pending = 0;
+            } else if (state.pending > 1) {
+                writesAvoided.incrementAndGet();
+            }
+        }
+
+        if (delta == 0) {
+            return false;
+        }
+
+        // The database decides on the summed count
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockUntil = now.plusMinutes(lockoutDurationMinutes);
+        userRepository.addFailedLoginAttempts(user.getId(), delta);
+        if (userRepository.lockIfAttemptsReached(user.getId(), maxFailedAttempts, lockUntil, now) == 0) {
+            return false;
+        }
+
+        synchronized (stripeFor(user.getId())) {
+            AttemptState state = attempts.get(user.getId());
+            if (state != null) {
+                state.lockedUntil = lockUntil;
+            }
+        }
+        locksPersisted.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Record a successful login; clears failures only if there are any
+     *
+     * @return true if the row was reset
+     */
+    public boolean recordSuccess(User user) {
+        AttemptState state;
+        synchronized (stripeFor(user.getId())) {
+            state = attempts.remove(user.getId());
+        }
+
+        boolean persistedFailures = (user.getFailedLoginAttempts() != null && user.getFailedLoginAttempts() > 0)
+                || user.getAccountLockedUntil() != null;
+
+        if (state != null || persistedFailures) {
+            userRepository.unlockUserAccount(user.getId());
+            unlocksPersisted.incrementAndGet();
+            return true;
+        }
+        writesAvoided.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Forget in-memory state after the row was reset elsewhere (admin unlock, password change)
+     */
+    public void clear(Long userId) {
+        synchronized (stripeFor(userId)) {
+            attempts.remove(userId);
+        }
+    }
+
+    /**
+     * Drop in-memory lock state; locks are persisted when set, so the row still has any that remain
+     */
+    private void forgetLocks() {
+        for (Map.Entry<Long, AttemptState> entry : attempts.entrySet()) {
+            if (entry.getValue().lockedUntil != null) {
+                synchronized (stripeFor(entry.getKey())) {
+                    attempts.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Add pending failure counts to the stored ones, one UPDATE per account regardless of attempts
+     * Locks accounts whose summed count reached the threshold, and drops clean
+     * entries whose lockout window has passed to keep memory bounded.
+     */
+    @Scheduled(fixedDelayString = "${voting.security.login-attempts.flush-interval-millis:10000}")
+    public void flushPendingAttempts() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Map.Entry<Long, Integer>> pending = new ArrayList<>();
+
+        // Take the pending counts so a concurrent write of the same attempts cannot happen
+        for (Map.Entry<Long, AttemptState> entry : attempts.entrySet()) {
+            synchronized (stripeFor(entry.getKey())) {
+                AttemptState state = entry.getValue();
+                if (state.pending > 0) {
+                    pending.add(Map.entry(entry.getKey(), state.pending));
+                    state.pending = 0;
+                } else if (state.lastUpdated.isBefore(now.minusMinutes(lockoutDurationMinutes))) {
+                    attempts.remove(entry.getKey(), state);
+                }
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime lockUntil = now.plusMinutes(lockoutDurationMinutes);
+        List<Long> locked = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Map.Entry<Long, Integer> entry : pending) {
+                    userRepository.addFailedLoginAttempts(entry.getKey(), entry.getValue());
+                    if (userRepository.lockIfAttemptsReached(entry.getKey(), maxFailedAttempts, lockUntil, now) > 0) {
+                        locked.add(entry.getKey());
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // Put the counts back for the next flush
+            for (Map.Entry<Long, Integer> entry : pending) {
+                synchronized (stripeFor(entry.getKey())) {
+                    attempts.computeIfAbsent(entry.getKey(), id -> new AttemptState()).pending += entry.getValue();
+                }
+            }
+            throw e;
+        }
+
+        for (Long userId : locked) {
+            synchronized (stripeFor(userId)) {
+                AttemptState state = attempts.get(userId);
+                if (state != null) {
+                    state.lockedUntil = lockUntil;
+                }
+            }
+        }
+
+        flushes.incrementAndGet();
+        rowsFlushed.addAndGet(pending.size());
+        locksPersisted.addAndGet(locked.size());
+        logger.debug("Flushed failed login attempts for {} accounts, {} locked", pending.size(), locked.size());
+    }
+
+    /**
+     * Get login attempt tracking statistics
+     */
+    public LoginAttemptStats getLoginAttemptStatistics() {
+        LoginAttemptStats stats = new LoginAttemptStats();
+        stats.setTrackedAccounts(attempts.size());
+        stats.setPendingFlush(attempts.values().stream().filter(s -> s.pending > 0).count());
+        stats.setFailuresRecorded(failuresRecorded.get());
+        stats.setLocksPersisted(locksPersisted.get());
+        stats.setUnlocksPersisted(unlocksPersisted.get());
+        stats.setFlushes(flushes.get());
+        stats.setRowsFlushed(rowsFlushed.get());
+        stats.setWritesAvoided(writesAvoided.get());
+        return stats;
+    }
+
+    /**
+     * Per-account attempt state, guarded by the account's stripe
+     */
+    private static class AttemptState {
+        // Failures not yet added to the stored count
+        private int pending;
+        private LocalDateTime lockedUntil;
+        private LocalDateTime lastUpdated = LocalDateTime.now();
+    }
+
+    /**
+     * Login Attempt Statistics DTO
+     */
+    public static class LoginAttemptStats {
+        private long trackedAccounts;
+        private long pendingFlush;
+        private long failuresRecorded;
+        private long locksPersisted;
+        private long unlocksPersisted;
+        private long flushes;
+        private long rowsFlushed;
+        private long writesAvoided;
+
+        // Getters and setters
+        public long getTrackedAccounts() {
+            return trackedAccounts;
+        }
+
+        public void setTrackedAccounts(long trackedAccounts) {
+            this.trackedAccounts = trackedAccounts;
+        }
+
+        public long getPendingFlush() {
+            return pendingFlush;
+        }
+
+        public void setPendingFlush(long pendingFlush) {
+            this.pendingFlush = pendingFlush;
+        }
+
+        public long getFailuresRecorded() {
+            return failuresRecorded;
+        }
+
+        public void setFailuresRecorded(long failuresRecorded) {
+            this.failuresRecorded = failuresRecorded;
+        }
+
+        public long getLocksPersisted() {
+            return locksPersisted;
+        }
+
+        public void setLocksPersisted(long locksPersisted) {
+            this.locksPersisted = locksPersisted;
+        }
+
+        public long getUnlocksPersisted() {
+            return unlocksPersisted;
+        }
+
+        public void setUnlocksPersisted(long unlocksPersisted) {
+            this.unlocksPersisted = unlocksPersisted;
+        }
+
+        public long getFlushes() {
+            return flushes;
+        }
+
+        public void setFlushes(long flushes) {
+            this.flushes = flushes;
+        }
+
+        public long getRowsFlushed() {
+            return rowsFlushed;
+        }
+
+        public void setRowsFlushed(long rowsFlushed) {
+            this.rowsFlushed = rowsFlushed;
+        }
+
+        public long getWritesAvoided() {
+            return writesAvoided;
+        }
+
+        public void setWritesAvoided(long writesAvoided) {
+            this.writesAvoided = writesAvoided;
+        }
+    }
+}
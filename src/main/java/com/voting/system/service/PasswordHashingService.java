@@ -0,0 +1,405 @@
+package com.voting.system.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class for password hashing
+ *
+ * Runs BCrypt on a bounded, CPU-sized worker pool so that a login surge cannot
+ * occupy every request thread with hashing. When the pool and its queue are
+ * full, work is rejected immediately instead of piling up. The BCrypt cost is
+ * configured, so every node hashes with the same one, and hashes created with
+ * a lower cost are re-hashed on the next successful login. Calibration only
+ * reports the cost this machine could afford.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.security.bcrypt.strength:12}")
+    private int configuredStrength;
+
+    @Value("${voting.security.bcrypt.calibrate:false}")
+    private boolean calibrate;
+
+    @Value("${voting.security.bcrypt.target-millis:250}")
+    private long targetMillis;
+
+    @Value("${voting.security.bcrypt.max-strength:14}")
+    private int maxStrength;
+
+    @Value("${voting.security.bcrypt.worker-threads:0}")
+    private int workerThreads;
+
+    @Value("${voting.security.bcrypt.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${voting.security.bcrypt.max-wait-millis:5000}")
+    private long maxWaitMillis;
+
+    @Value("${voting.security.bcrypt.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private int strength;
+    private BCryptPasswordEncoder encoder;
+    private ThreadPoolExecutor executor;
+
+    // Pool metrics
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong rehashed = new AtomicLong();
+    private final AtomicLong totalQueueNanos = new AtomicLong();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+    private final AtomicLong totalHashNanos = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        int threads = workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread thread = new Thread(r, "password-hash-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        strength = configuredStrength;
+        if (calibrate) {
+            reportCalibration();
+        }
+        encoder = new BCryptPasswordEncoder(strength);
+
+        Gauge.builder("voting.password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("voting.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("voting.password.hashing.rejected", rejected, AtomicLong::get)
+                .description("Hashing requests turned away because the pool was saturated")
+                .register(meterRegistry);
+        FunctionCounter.builder("voting.password.hashing.timed.out", timedOut, AtomicLong::get)
+                .register(meterRegistry);
+
+        logger.info("Password hashing pool started: {} threads, queue capacity {}, BCrypt strength {}",
+                threads, queueCapacity, strength);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Log the highest BCrypt strength whose hash time stays within the target
+     *
+     * Only reported: a per-node cost would differ between machines and make
+     * every login on another node re-hash the password.
+     */
+    private void reportCalibration() {
+        String sample = "calibration-password";
+        int chosen = -1;
+
+        // Warm up so the first measurement is not dominated by class loading and JIT
+        new BCryptPasswordEncoder(4).encode(sample);
+
+        for (int candidate = configuredStrength; candidate <= maxStrength; candidate++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(candidate).encode(sample);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            logger.info("BCrypt calibration: strength {} took {} ms", candidate, elapsedMillis);
+            if (elapsedMillis > targetMillis) {
+                break;
+            }
+            chosen = candidate;
+
+            // Each step doubles the cost - stop before running one that would overshoot
+            if (elapsedMillis * 2 > targetMillis) {
+                break;
+            }
+        }
+
+        if (chosen < 0) {
+            logger.warn("BCrypt calibration: configured strength {} takes longer than {} ms on this machine",
+                    configuredStrength, targetMillis);
+        } else {
+            logger.info("BCrypt calibration: strength {} fits {} ms on this machine, configured strength is {}",
+                    chosen, targetMillis, configuredStrength);
+        }
+    }
+
+    /**
+     * Hash a raw password on the hashing pool
+     */
+    public String encode(String rawPassword) {
+        BCryptPasswordEncoder current = encoder;
+        return submit(() -> current.encode(rawPassword));
+    }
+
+    /**
+     * Check a raw password against a stored hash on the hashing pool
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        BCryptPasswordEncoder current = encoder;
+        return submit(() -> current.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Check whether a stored hash was created with a lower cost than the configured one
+     *
+     * Never lowers the cost of an existing hash
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword == null || parseStrength(encodedPassword) < strength;
+    }
+
+    /**
+     * Current BCrypt cost, for callers that hash outside the pool (bulk imports)
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Record that a stored hash was upgraded to the current cost
+     */
+    public void recordRehash() {
+        rehashed.incrementAndGet();
+    }
+
+    private int parseStrength(String encodedPassword) {
+        // BCrypt format: $2a$12$<salt+hash>
+        String[] parts = encodedPassword.split("\\$");
+        if (parts.length < 4) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(parts[2]);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private <T> T submit(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                long queued = startedAt - enqueuedAt;
+                totalQueueNanos.addAndGet(queued);
+                maxQueueNanos.accumulateAndGet(queued, Math::max);
+                try {
+                    return task.call();
+                } finally {
+                    totalHashNanos.addAndGet(System.nanoTime() - startedAt);
+                    completed.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new HashingUnavailableException("Server is busy. Please try again shortly.", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.incrementAndGet();
+            throw new HashingUnavailableException("Server is busy. Please try again shortly.", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HashingUnavailableException("Password check was interrupted", retryAfterSeconds);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Get hashing pool statistics
+     */
+    public HashingStats getHashingStatistics() {
+        HashingStats stats = new HashingStats();
+        stats.setStrength(strength);
+        stats.setPoolSize(executor.getMaximumPoolSize());
+        stats.setActiveThreads(executor.getActiveCount());
+        stats.setQueueDepth(executor.getQueue().size());
+        stats.setQueueCapacity(queueCapacity);
+        stats.setCompleted(completed.get());
+        stats.setRejected(rejected.get());
+        stats.setTimedOut(timedOut.get());
+        stats.setRehashed(rehashed.get());
+
+        long done = completed.get();
+        stats.setAverageQueueMillis(done > 0 ? TimeUnit.NANOSECONDS.toMillis(totalQueueNanos.get() / done) : 0);
+        stats.setMaxQueueMillis(TimeUnit.NANOSECONDS.toMillis(maxQueueNanos.get()));
+        stats.setAverageHashMillis(done > 0 ? TimeUnit.NANOSECONDS.toMillis(totalHashNanos.get() / done) : 0);
+        return stats;
+    }
+
+    /**
+     * Thrown when the hashing pool is saturated
+     * Controllers answer it with 503 and a Retry-After header
+     */
+    public static class HashingUnavailableException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public HashingUnavailableException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    /**
+     * Hashing Statistics DTO
+     */
+    public static class HashingStats {
+        private int strength;
+        private int poolSize;
+        private int activeThreads;
+        private int queueDepth;
+        private int queueCapacity;
+        private long completed;
+        private long rejected;
+        private long timedOut;
+        private long rehashed;
+        private long averageQueueMillis;
+        private long maxQueueMillis;
+        private long averageHashMillis;
+
+        // Getters and setters
+        public int getStrength() {
+            return strength;
+        }
+
+        public void setStrength(int strength) {
+            this.strength = strength;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getActiveThreads() {
+            return activeThreads;
+        }
+
+        public void setActiveThreads(int activeThreads) {
+            this.activeThreads = activeThreads;
+        }
+
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public void setQueueDepth(int queueDepth) {
+            this.queueDepth = queueDepth;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public void setCompleted(long completed) {
+            this.completed = completed;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public void setRejected(long rejected) {
+            this.rejected = rejected;
+        }
+
+        public long getTimedOut() {
+            return timedOut;
+        }
+
+        public void setTimedOut(long timedOut) {
+            this.timedOut = timedOut;
+        }
+
+        public long getRehashed() {
+            return rehashed;
+        }
+
+        public void setRehashed(long rehashed) {
+            this.rehashed = rehashed;
+        }
+
+        public long getAverageQueueMillis() {
+            return averageQueueMillis;
+        }
+
+        public void setAverageQueueMillis(long averageQueueMillis) {
+            this.averageQueueMillis = averageQueueMillis;
+        }
+
+        public long getMaxQueueMillis() {
+            return maxQueueMillis;
+        }
+
+        public void setMaxQueueMillis(long maxQueueMillis) {
+            this.maxQueueMillis = maxQueueMillis;
+        }
+
+        public long getAverageHashMillis() {
+            return averageHashMillis;
+        }
+
+        public void setAverageHashMillis(long averageHashMillis) {
+            this.averageHashMillis = averageHashMillis;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.voting.system.service;
+
+import com.voting.system.config.ReadWriteRoutingDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Service class for read replica health and lag monitoring
+ *
+ * Writes a heartbeat to VOTING_REPLICA_HEARTBEAT on the primary and reads it
+ * back from the replica on a fixed schedule. When the replica's copy is older
+ * than voting.datasource.replica.max-lag-millis, or the replica cannot be
+ * reached, read-only transactions are routed to the primary until it catches
+ * up. A max lag of 0 only checks connectivity - for local setups where the
+ * "replica" is an independent database with no replication.
+ */
+@Service
+public class ReadReplicaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaService.class);
+
+    private static final String UPDATE_HEARTBEAT_SQL = "UPDATE VOTING_REPLICA_HEARTBEAT SET BEAT_MILLIS = ? WHERE ID = 1";
+    private static final String INSERT_HEARTBEAT_SQL = "INSERT INTO VOTING_REPLICA_HEARTBEAT (ID, BEAT_MILLIS) VALUES (1, ?)";
+    private static final String SELECT_HEARTBEAT_SQL = "SELECT BEAT_MILLIS FROM VOTING_REPLICA_HEARTBEAT WHERE ID = 1";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.datasource.replica.enabled:false}")
+    private boolean enabled;
+
+    @Value("${voting.datasource.replica.max-lag-millis:5000}")
+    private long maxLagMillis;
+
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+
+    private volatile long lagMillis = -1;
+    private volatile LocalDateTime lastCheckedAt;
+    private volatile String lastError;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!dataSource.isWrapperFor(ReadWriteRoutingDataSource.class)) {
+                logger.warn("Read replica enabled but the DataSource is not routed - replica monitoring disabled");
+                return;
+            }
+            routing = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+        } catch (SQLException e) {
+            logger.warn("Read replica monitoring disabled: {}", e.getMessage());
+            return;
+        }
+        primaryJdbc = new JdbcTemplate(routing.getPrimary());
+        replicaJdbc = new JdbcTemplate(routing.getReplica());
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        Gauge.builder("voting.datasource.replica.lag", this, s -> s.lagMillis)
+                .description("Replication lag measured by the last heartbeat, in milliseconds (-1 when unknown)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("voting.datasource.replica.usable", routing, r -> r.isReplicaUsable() ? 1 : 0)
+                .description("Whether read-only transactions are currently routed to the replica")
+                .register(meterRegistry);
+        FunctionCounter.builder("voting.datasource.routes", routing, ReadWriteRoutingDataSource::getPrimaryRoutes)
+                .tag("target", "primary")
+                .register(meterRegistry);
+        FunctionCounter.builder("voting.datasource.routes", routing, ReadWriteRoutingDataSource::getReplicaRoutes)
+                .tag("target", "replica")
+                .register(meterRegistry);
+        FunctionCounter.builder("voting.datasource.routes", routing, ReadWriteRoutingDataSource::getFallbackRoutes)
+                .tag("target", "fallback")
+                .description("Read-only transactions served by the primary because the replica was unusable")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Write a heartbeat to the primary and check how far the replica trails it
+     */
+    @Scheduled(fixedDelayString = "${voting.datasource.replica.heartbeat-interval-millis:1000}")
+    public void heartbeat() {
+        if (routing == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        lastCheckedAt = LocalDateTime.now();
+
+        if (maxLagMillis <= 0) {
+            routing.markReplicaUsable(isReplicaReachable());
+            return;
+        }
+
+        try {
+            if (primaryJdbc.update(UPDATE_HEARTBEAT_SQL, now) == 0) {
+                primaryJdbc.update(INSERT_HEARTBEAT_SQL, now);
+            }
+        } catch (Exception e) {
+            // Lag cannot be measured without a fresh heartbeat; keep the current routing
+            lastError = "Heartbeat write failed: " + e.getMessage();
+            logger.debug(lastError);
+            return;
+        }
+
+        try {
+            Long replicaBeat = replicaJdbc.query(SELECT_HEARTBEAT_SQL,
+                    rs -> rs.next() ? rs.getLong(1) : null);
+            if (replicaBeat == null) {
+                // First heartbeat not replicated yet
+                lagMillis = -1;
+                routing.markReplicaUsable(false);
+                return;
+            }
+            lagMillis = Math.max(0, now - replicaBeat);
+            routing.markReplicaUsable(lagMillis <= maxLagMillis);
+            lastError = null;
+        } catch (Exception e) {
+            lagMillis = -1;
+            lastError = "Replica heartbeat read failed: " + e.getMessage();
+            logger.debug(lastError);
+            routing.markReplicaUsable(false);
+        }
+    }
+
+    private boolean isReplicaReachable() {
+        try (Connection connection = routing.getReplica().getConnection()) {
+            boolean valid = connection.isValid(2);
+            lastError = valid ? null : "Replica connection failed validation";
+            return valid;
+        } catch (SQLException e) {
+            lastError = "Replica unreachable: " + e.getMessage();
+            return false;
+        }
+    }
+
+    /**
+     * Get read replica routing statistics
+     */
+    public ReplicaStats getReplicaStatistics() {
+        ReplicaStats stats = new ReplicaStats();
+        stats.setEnabled(routing != null);
+        stats.setMaxLagMillis(maxLagMillis);
+        stats.setLagMillis(lagMillis);
+        stats.setLastCheckedAt(lastCheckedAt);
+        stats.setLastError(lastError);
+        if (routing != null) {
+            stats.setReplicaUsable(routing.isReplicaUsable());
+            stats.setPrimaryRoutes(routing.getPrimaryRoutes());
+            stats.setReplicaRoutes(routing.getReplicaRoutes());
+            stats.setFallbackRoutes(routing.getFallbackRoutes());
+        }
+        return stats;
+    }
+
+    /**
+     * Replica Statistics DTO
+     */
+    public static class ReplicaStats {
+        private boolean enabled;
+        private boolean replicaUsable;
+        private long lagMillis;
+        private long maxLagMillis;
+        private long primaryRoutes;
+        private long replicaRoutes;
+        private long fallbackRoutes;
+        private LocalDateTime lastCheckedAt;
+        private String lastError;
+
+        // Getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isReplicaUsable() {
+            return replicaUsable;
+        }
+
+        public void setReplicaUsable(boolean replicaUsable) {
+            this.replicaUsable = replicaUsable;
+        }
+
+        public long getLagMillis() {
+            return lagMillis;
+        }
+
+        public void setLagMillis(long lagMillis) {
+            this.lagMillis = lagMillis;
+        }
+
+        public long getMaxLagMillis() {
+            return maxLagMillis;
+        }
+
+        public void setMaxLagMillis(long maxLagMillis) {
+            this.maxLagMillis = maxLagMillis;
+        }
+
+        public long getPrimaryRoutes() {
+            return primaryRoutes;
+        }
+
+        public void setPrimaryRoutes(long primaryRoutes) {
+            this.primaryRoutes = primaryRoutes;
+        }
+
+        public long getReplicaRoutes() {
+            return replicaRoutes;
+        }
+
+        public void setReplicaRoutes(long replicaRoutes) {
+            this.replicaRoutes = replicaRoutes;
+        }
+
+        public long getFallbackRoutes() {
+            return fallbackRoutes;
+        }
+
+        public void setFallbackRoutes(long fallbackRoutes) {
+            this.fallbackRoutes = fallbackRoutes;
+        }
+
+        public LocalDateTime getLastCheckedAt() {
+            return lastCheckedAt;
+        }
+
+        public void setLastCheckedAt(LocalDateTime lastCheckedAt) {
+            this.lastCheckedAt = lastCheckedAt;
+        }
+
+        public String getLastError() {
+            return lastError;
+        }
+
+        public void setLastError(String lastError) {
+            this.lastError = lastError;
+        }
+    }
+}
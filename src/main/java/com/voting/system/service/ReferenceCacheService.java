@@ -0,0 +1,250 @@
+package com.voting.system.service;
+
+import com.voting.system.config.HibernateCacheConfig;
+import com.voting.system.model.CacheVersion;
+import com.voting.system.model.Candidate;
+import com.voting.system.model.Constituency;
+import com.voting.system.model.Party;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class for the reference data second-level cache
+ *
+ * Reports hit ratios for the constituency, party and candidate regions and
+ * the query cache, and evicts them on demand. Updates made through JPA keep
+ * this node's cache consistent on their own; other nodes drop the changed
+ * region when CacheCoherenceService sees its version move. Eviction on
+ * demand is for changes made directly in the database (e.g. running the
+ * sample data scripts) and is passed on to every node the same way.
+ */
+@Service
+public class ReferenceCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceCacheService.class);
+
+    private static final Map<String, Class<?>> ENTITY_REGIONS = new LinkedHashMap<>();
+
+    static {
+        ENTITY_REGIONS.put(HibernateCacheConfig.CONSTITUENCY_REGION, Constituency.class);
+        ENTITY_REGIONS.put(HibernateCacheConfig.PARTY_REGION, Party.class);
+        ENTITY_REGIONS.put(HibernateCacheConfig.CANDIDATE_REGION, Candidate.class);
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    private SessionFactory sessionFactory;
+    private volatile LocalDateTime lastEvictedAt;
+
+    @PostConstruct
+    public void init() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        Statistics statistics = sessionFactory.getStatistics();
+        for (String region : regionNames()) {
+            FunctionCounter.builder("voting.cache.l2.gets", statistics, s -> s.getCacheRegionStatistics(region).getHitCount())
+                    .tag("region", region)
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            FunctionCounter.builder("voting.cache.l2.gets", statistics, s -> s.getCacheRegionStatistics(region).getMissCount())
+                    .tag("region", region)
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+        }
+
+        cacheCoherenceService.onChange(CacheVersion.Domain.CONSTITUENCIES, () -> evict(Constituency.class));
+        cacheCoherenceService.onChange(CacheVersion.Domain.PARTIES, () -> evict(Party.class));
+        cacheCoherenceService.onChange(CacheVersion.Domain.CANDIDATES, () -> evict(Candidate.class));
+    }
+
+    /**
+     * Drop one entity's cached rows and every cached query result, which may list them
+     */
+    private void evict(Class<?> entity) {
+        sessionFactory.getCache().evictEntityData(entity);
+        sessionFactory.getCache().evictQueryRegions();
+    }
+
+    /**
+     * Drop every cached constituency, party, candidate and query result, on all nodes
+     */
+    public void evictAll() {
+        ENTITY_REGIONS.values().forEach(sessionFactory.getCache()::evictEntityData);
+        sessionFactory.getCache().evictQueryRegions();
+        lastEvictedAt = LocalDateTime.now();
+        cacheCoherenceService.bump(CacheVersion.Domain.CONSTITUENCIES);
+        cacheCoherenceService.bump(CacheVersion.Domain.PARTIES);
+        cacheCoherenceService.bump(CacheVersion.Domain.CANDIDATES);
+        logger.info("Reference data cache evicted");
+    }
+
+    /**
+     * Get per-region hit ratios
+     */
+    public ReferenceCacheStats getCacheStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        List<RegionStats> regions = new ArrayList<>();
+        for (String region : regionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            RegionStats stats = new RegionStats();
+            stats.setRegion(region);
+            stats.setHits(regionStatistics.getHitCount());
+            stats.setMisses(regionStatistics.getMissCount());
+            stats.setPuts(regionStatistics.getPutCount());
+            stats.setHitRatio(ratio(stats.getHits(), stats.getMisses()));
+            Class<?> entity = ENTITY_REGIONS.get(region);
+            if (entity != null) {
+                // Rows actually read from the database for this entity
+                stats.setDatabaseLoads(statistics.getEntityStatistics(entity.getName()).getLoadCount());
+            }
+            regions.add(stats);
+        }
+
+        ReferenceCacheStats stats = new ReferenceCacheStats();
+        stats.setRegions(regions);
+        stats.setQueryCacheHitRatio(ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+        stats.setStatisticsSince(LocalDateTime.ofInstant(statistics.getStart(), ZoneId.systemDefault()));
+        stats.setLastEvictedAt(lastEvictedAt);
+        return stats;
+    }
+
+    private static List<String> regionNames() {
+        List<String> names = new ArrayList<>(ENTITY_REGIONS.keySet());
+        names.add(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+        return names;
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total > 0 ? (double) hits / total : 0;
+    }
+
+    /**
+     * Region Statistics DTO
+     */
+    public static class RegionStats {
+        private String region;
+        private long hits;
+        private long misses;
+        private long puts;
+        private double hitRatio;
+        private long databaseLoads;
+
+        // Getters and setters
+        public String getRegion() {
+            return region;
+        }
+
+        public void setRegion(String region) {
+            this.region = region;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public void setHits(long hits) {
+            this.hits = hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public void setMisses(long misses) {
+            this.misses = misses;
+        }
+
+        public long getPuts() {
+            return puts;
+        }
+
+        public void setPuts(long puts) {
+            this.puts = puts;
+        }
+
+        public double getHitRatio() {
+            return hitRatio;
+        }
+
+        public void setHitRatio(double hitRatio) {
+            this.hitRatio = hitRatio;
+        }
+
+        public long getDatabaseLoads() {
+            return databaseLoads;
+        }
+
+        public void setDatabaseLoads(long databaseLoads) {
+            this.databaseLoads = databaseLoads;
+        }
+    }
+
+    /**
+     * Reference Cache Statistics DTO
+     */
+    public static class ReferenceCacheStats {
+        private List<RegionStats> regions;
+        private double queryCacheHitRatio;
+        private LocalDateTime statisticsSince;
+        private LocalDateTime lastEvictedAt;
+
+        // Getters and setters
+        public List<RegionStats> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(List<RegionStats> regions) {
+            this.regions = regions;
+        }
+
+        public double getQueryCacheHitRatio() {
+            return queryCacheHitRatio;
+        }
+
+        public void setQueryCacheHitRatio(double queryCacheHitRatio) {
+            this.queryCacheHitRatio = queryCacheHitRatio;
+        }
+
+        public LocalDateTime getStatisticsSince() {
+            return statisticsSince;
+        }
+
+        public void setStatisticsSince(LocalDateTime statisticsSince) {
+            this.statisticsSince = statisticsSince;
+        }
+
+        public LocalDateTime getLastEvictedAt() {
+            return lastEvictedAt;
+        }
+
+        public void setLastEvictedAt(LocalDateTime lastEvictedAt) {
+            this.lastEvictedAt = lastEvictedAt;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.voting.system.service;
+
+import com.voting.system.model.User;
+import com.voting.system.repository.UserRepository;
+import com.voting.system.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Service class for registered email and phone pre-checks
+ *
+ * Keeps Bloom filters over every registered email and phone number so that
+ * "definitely not registered" is answered without a database round trip -
+ * the common case for the signup page's as-you-type email check. A "maybe"
+ * falls through to the normal lookup. The filters are warmed from
+ * VOTING_USERS in the background after startup, updated on local
+ * registrations and topped up by polling for registrations on other nodes.
+ * Until warm-up finishes every check falls through.
+ */
+@Service
+public class RegistrationFilterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationFilterService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${voting.registration.filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${voting.registration.filter.expected-users:1000000}")
+    private long expectedUsers;
+
+    @Value("${voting.registration.filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${voting.registration.filter.poll-overlap-millis:10000}")
+    private long pollOverlapMillis;
+
+    private volatile BloomFilter emailFilter;
+    private volatile BloomFilter phoneFilter;
+    private volatile boolean ready;
+    private volatile LocalDateTime lastPolledAt;
+
+    // Filter metrics
+    private final AtomicLong definitelyFree = new AtomicLong();
+    private final AtomicLong fallThroughs = new AtomicLong();
+    private final AtomicLong warmedUsers = new AtomicLong();
+    private volatile long warmUpMillis;
+    private final CountDownLatch warmUpFinished = new CountDownLatch(1);
+
+    /**
+     * Load every registered email and phone number once the application is up
+     * Ordered first so it is already running when the warm-up gate waits for it
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void warmUp() {
+        try {
+            if (enabled) {
+                loadFilters();
+            }
+        } finally {
+            warmUpFinished.countDown();
+        }
+    }
+
+    private void loadFilters() {
+        long start = System.currentTimeMillis();
+        try {
+            long users = userRepository.count();
+            // Leave headroom for growth so the false-positive rate holds between restarts
+            long capacity = Math.max(expectedUsers, users * 2);
+            BloomFilter emails = new BloomFilter(capacity, falsePositiveRate);
+            BloomFilter phones = new BloomFilter(capacity, falsePositiveRate);
+
+            // Registrations committed while scanning are picked up by the first poll
+            LocalDateTime scanStartedAt = LocalDateTime.now();
+            // Served by the read replica when one is configured; its lag stays below the poll overlap
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = userRepository.streamEmailsAndPhoneNumbers()) {
+                    rows.forEach(row -> {
+                        add(emails, phones, (String) row[0], (String) row[1]);
+                        warmedUsers.incrementAndGet();
+                    });
+                }
+            });
+
+            emailFilter = emails;
+            phoneFilter = phones;
+            lastPolledAt = scanStartedAt;
+            ready = true;
+            warmUpMillis = System.currentTimeMillis() - start;
+
+            logger.info("Registration filters warmed with {} users in {} ms", warmedUsers.get(), warmUpMillis);
+        } catch (InvalidDataAccessResourceUsageException e) {
+            // Table doesn't exist yet (offline schema management) - checks keep falling through
+            logger.warn("Registration filters not warmed - schema not yet initialized");
+        } catch (Exception e) {
+            logger.warn("Registration filter warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Wait for the start-up load to finish
+     * Returns whether the filters are ready
+     */
+    public boolean awaitWarmUp(long timeoutMillis) throws InterruptedException {
+        warmUpFinished.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        return ready;
+    }
+
+    /**
+     * Add registrations made on other nodes since the last poll
+     */
+    @Scheduled(fixedDelayString = "${voting.registration.filter.poll-interval-millis:5000}")
+    public void pollRegistrations() {
+        if (!ready) {
+            return;
+        }
+
+        LocalDateTime pollStartedAt = LocalDateTime.now();
+        try {
+            List<Object[]> rows = userRepository.findEmailsAndPhoneNumbersCreatedSince(
+                    lastPolledAt.minusNanos(pollOverlapMillis * 1_000_000L));
+            BloomFilter emails = emailFilter;
+            BloomFilter phones = phoneFilter;
+            for (Object[] row : rows) {
+                add(emails, phones, (String) row[0], (String) row[1]);
+            }
+            lastPolledAt = pollStartedAt;
+        } catch (Exception e) {
+            logger.warn("Registration filter poll failed: {}", e.getMessage());
+        }
+    }
+
+    private void add(BloomFilter emails, BloomFilter phones, String email, String phoneNumber) {
+        if (email != null) {
+            emails.put(User.normalizeEmail(email));
+        }
+        if (phoneNumber != null && !phoneNumber.isEmpty()) {
+            phones.put(phoneNumber);
+        }
+    }
+
+    /**
+     * Record an email and/or phone number now held by an account on this node
+     */
+    public void recordAccount(String email, String phoneNumber) {
+        if (ready) {
+            add(emailFilter, phoneFilter, email, phoneNumber);
+        }
+    }
+
+    /**
+     * Check whether no account can have this email (normalized)
+     * false means "maybe registered" - the caller must look it up
+     */
+    public boolean isEmailDefinitelyFree(String normalizedEmail) {
+        return check(emailFilter, normalizedEmail);
+    }
+
+    /**
+     * Check whether no account can have this phone number
+     */
+    public boolean isPhoneDefinitelyFree(String phoneNumber) {
+        return check(phoneFilter, phoneNumber);
+    }
+
+    private boolean check(BloomFilter filter, String value) {
+        if (!ready || value == null) {
+            fallThroughs.incrementAndGet();
+            return false;
+        }
+        if (!filter.mightContain(value)) {
+            definitelyFree.incrementAndGet();
+            return true;
+        }
+        fallThroughs.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Get registration filter statistics
+     */
+    public RegistrationFilterStats getFilterStatistics() {
+        RegistrationFilterStats stats = new RegistrationFilterStats();
+        stats.setReady(ready);
+        stats.setWarmedUsers(warmedUsers.get());
+        stats.setWarmUpMillis(warmUpMillis);
+        stats.setDefinitelyFree(definitelyFree.get());
+        stats.setFallThroughs(fallThroughs.get());
+        stats.setLastPolledAt(lastPolledAt);
+        if (ready) {
+            stats.setEmailFillRatio(emailFilter.fillRatio());
+            stats.setPhoneFillRatio(phoneFilter.fillRatio());
+            stats.setEstimatedFalsePositiveRate(emailFilter.estimatedFalsePositiveRate());
+        }
+        return stats;
+    }
+
+    /**
+     * Registration Filter Statistics DTO
+     */
+    public static class RegistrationFilterStats {
+        private boolean ready;
+        private long warmedUsers;
+        private long warmUpMillis;
+        private long definitelyFree;
+        private long fallThroughs;
+        private double emailFillRatio;
+        private double phoneFillRatio;
+        private double estimatedFalsePositiveRate;
+        private LocalDateTime lastPolledAt;
+
+        // Getters and setters
+        public boolean isReady() {
+            return ready;
+        }
+
+        public void setReady(boolean ready) {
+            this.ready = ready;
+        }
+
+        public long getWarmedUsers() {
+            return warmedUsers;
+        }
+
+        public void setWarmedUsers(long warmedUsers) {
+            this.warmedUsers = warmedUsers;
+        }
+
+        public long getWarmUpMillis() {
+            return warmUpMillis;
+        }
+
+        public void setWarmUpMillis(long warmUpMillis) {
+            this.warmUpMillis = warmUpMillis;
+        }
+
+        public long getDefinitelyFree() {
+            return definitelyFree;
+        }
+
+        public void setDefinitelyFree(long definitelyFree) {
+            this.definitelyFree = definitelyFree;
+        }
+
+        public long getFallThroughs() {
+            return fallThroughs;
+        }
+
+        public void setFallThroughs(long fallThroughs) {
+            this.fallThroughs = fallThroughs;
+        }
+
+        public double getEmailFillRatio() {
+            return emailFillRatio;
+        }
+
+        public void setEmailFillRatio(double emailFillRatio) {
+            this.emailFillRatio = emailFillRatio;
+        }
+
+        public double getPhoneFillRatio() {
+            return phoneFillRatio;
+        }
+
+        public void setPhoneFillRatio(double phoneFillRatio) {
+            this.phoneFillRatio = phoneFillRatio;
+        }
+
+        public double getEstimatedFalsePositiveRate() {
+            return estimatedFalsePositiveRate;
+        }
+
+        public void setEstimatedFalsePositiveRate(double estimatedFalsePositiveRate) {
+            this.estimatedFalsePositiveRate = estimatedFalsePositiveRate;
+        }
+
+        public LocalDateTime getLastPolledAt() {
+            return lastPolledAt;
+        }
+
+        public void setLastPolledAt(LocalDateTime lastPolledAt) {
+            this.lastPolledAt = lastPolledAt;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.voting.system.service;
+
+import com.voting.system.config.SqlProfilerConfig;
+import com.voting.system.util.SqlFingerprint;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service class for SQL statement profiling
+ *
+ * Accumulates per-fingerprint execution counts, total and max latency, rows
+ * and the endpoints that issued each statement. Statements are reported by
+ * the profiling DataSource wrapper (voting.sql-profiler.enabled). All
+ * counters are LongAdders or CAS-updated longs, so recording never takes a
+ * lock; only the first execution of a new statement shape inserts into a map.
+ */
+@Service
+public class SqlProfilerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlProfilerService.class);
+
+    private static final String BACKGROUND = "[background]";
+    private static final String OTHER_ENDPOINTS = "[other]";
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${voting.sql-profiler.enabled:false}")
+    private boolean enabled;
+
+    @Value("${voting.sql-profiler.max-statements:2000}")
+    private int maxStatements;
+
+    @Value("${voting.sql-profiler.max-endpoints-per-statement:20}")
+    private int maxEndpointsPerStatement;
+
+    // Raw SQL -> stats; Hibernate reuses the same SQL strings, so this skips re-fingerprinting
+    private final Map<String, QueryStats> bySql = new ConcurrentHashMap<>();
+    private final Map<String, QueryStats> byFingerprint = new ConcurrentHashMap<>();
+    private volatile LocalDateTime since = LocalDateTime.now();
+    private final QueryStats overflow = new QueryStats("[statements beyond voting.sql-profiler.max-statements]");
+
+    @PostConstruct
+    public void checkWiring() {
+        // An AOT build includes or leaves out the DataSource wrapper when it is built
+        if (enabled && applicationContext.getBeanNamesForType(SqlProfilerConfig.class).length == 0) {
+            logger.warn("voting.sql-profiler.enabled is set but this build has no SQL profiler; "
+                    + "rebuild the fast-startup jar with -Daot.sql-profiler.enabled=true");
+            enabled = false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Find the accumulator for a SQL statement, creating it on first use
+     */
+    public QueryStats statsFor(String sql) {
+        QueryStats stats = bySql.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        if (bySql.size() >= maxStatements) {
+            // Unbounded distinct SQL (e.g. inlined literals) must not grow memory forever
+            QueryStats existing = byFingerprint.get(SqlFingerprint.of(sql));
+            return existing != null ? existing : overflow;
+        }
+        QueryStats shared = byFingerprint.computeIfAbsent(SqlFingerprint.of(sql), QueryStats::new);
+        QueryStats previous = bySql.putIfAbsent(sql, shared);
+        return previous != null ? previous : shared;
+    }
+
+    /**
+     * Record one execution
+     */
+    public void record(QueryStats stats, long elapsedNanos, long rows, boolean failed) {
+        stats.executions.increment();
+        stats.totalNanos.add(elapsedNanos);
+        if (elapsedNanos > stats.maxNanos.get()) {
+            stats.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+        if (rows > 0) {
+            stats.rows.add(rows);
+        }
+        if (failed) {
+            stats.errors.increment();
+        }
+
+        String endpoint = currentEndpoint();
+        LongAdder calls = stats.endpoints.get(endpoint);
+        if (calls == null) {
+            calls = stats.endpoints.size() < maxEndpointsPerStatement
+                    ? stats.endpoints.computeIfAbsent(endpoint, e -> new LongAdder())
+                    : stats.endpoints.computeIfAbsent(OTHER_ENDPOINTS, e -> new LongAdder());
+        }
+        calls.increment();
+    }
+
+    private String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return BACKGROUND;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    /**
+     * Top statements by the given ordering: totalTime, maxTime, count or rows
+     */
+    public List<QueryStatsView> getTopStatements(int limit, String sortBy) {
+        Comparator<QueryStatsView> order = switch (sortBy == null ? "totalTime" : sortBy) {
+            case "count" -> Comparator.comparingLong(QueryStatsView::getExecutions);
+            case "maxTime" -> Comparator.comparingDouble(QueryStatsView::getMaxMillis);
+            case "rows" -> Comparator.comparingLong(QueryStatsView::getRows);
+            case "totalTime" -> Comparator.comparingDouble(QueryStatsView::getTotalMillis);
+            default -> throw new RuntimeException("sortBy must be one of totalTime, maxTime, count, rows");
+        };
+        return views().stream()
+                .sorted(order.reversed())
+                .limit(Math.max(1, limit))
+                .toList();
+    }
+
+    /**
+     * Every statement seen since the last reset, for export
+     */
+    public ProfileSnapshot getSnapshot() {
+        List<QueryStatsView> statements = new ArrayList<>(views());
+        statements.sort(Comparator.comparingDouble(QueryStatsView::getTotalMillis).reversed());
+
+        ProfileSnapshot snapshot = new ProfileSnapshot();
+        snapshot.setEnabled(enabled);
+        snapshot.setSince(since);
+        snapshot.setCapturedAt(LocalDateTime.now());
+        snapshot.setStatements(statements);
+        snapshot.setTotalExecutions(statements.stream().mapToLong(QueryStatsView::getExecutions).sum());
+        snapshot.setTotalMillis(statements.stream().mapToDouble(QueryStatsView::getTotalMillis).sum());
+        return snapshot;
+    }
+
+    /**
+     * Start a new measurement window
+     */
+    public void reset() {
+        bySql.clear();
+        byFingerprint.clear();
+        overflow.clear();
+        since = LocalDateTime.now();
+    }
+
+    private List<QueryStatsView> views() {
+        List<QueryStatsView> views = new ArrayList<>();
+        byFingerprint.values().forEach(stats -> views.add(stats.toView()));
+        if (overflow.executions.sum() > 0) {
+            views.add(overflow.toView());
+        }
+        return views;
+    }
+
+    /**
+     * Lock-free accumulator for one statement fingerprint
+     */
+    public static class QueryStats {
+        private final String fingerprint;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder rows = new LongAdder();
+        private final Map<String, LongAdder> endpoints = new ConcurrentHashMap<>();
+
+        private QueryStats(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        /**
+         * Count rows as a result set is read
+         */
+        public void addRows(long count) {
+            rows.add(count);
+        }
+
+        private void clear() {
+            executions.reset();
+            errors.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+            rows.reset();
+            endpoints.clear();
+        }
+
+        private QueryStatsView toView() {
+            QueryStatsView view = new QueryStatsView();
+            long count = executions.sum();
+            long total = totalNanos.sum();
+            view.setFingerprint(fingerprint);
+            view.setExecutions(count);
+            view.setErrors(errors.sum());
+            view.setTotalMillis(total / 1_000_000.0);
+            view.setAverageMillis(count > 0 ? total / 1_000_000.0 / count : 0);
+            view.setMaxMillis(maxNanos.get() / 1_000_000.0);
+            view.setRows(rows.sum());
+
+            Map<String, Long> callers = new LinkedHashMap<>();
+            endpoints.entrySet().stream()
+                    .sorted(Map.Entry.<String, LongAdder>comparingByValue(
+                            Comparator.comparingLong(LongAdder::sum)).reversed())
+                    .forEach(e -> callers.put(e.getKey(), e.getValue().sum()));
+            view.setEndpoints(callers);
+            return view;
+        }
+    }
+
+    /**
+     * Query Statistics DTO
+     */
+    public static class QueryStatsView {
+        private String fingerprint;
+        private long executions;
+        private long errors;
+        private double totalMillis;
+        private double averageMillis;
+        private double maxMillis;
+        private long rows;
+        private Map<String, Long> endpoints;
+
+        // Getters and setters
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public void setFingerprint(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public long getExecutions() {
+            return executions;
+        }
+
+        public void setExecutions(long executions) {
+            this.executions = executions;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public void setErrors(long errors) {
+            this.errors = errors;
+        }
+
+        public double getTotalMillis() {
+            return totalMillis;
+        }
+
+        public void setTotalMillis(double totalMillis) {
+            this.totalMillis = totalMillis;
+        }
+
+        public double getAverageMillis() {
+            return averageMillis;
+        }
+
+        public void setAverageMillis(double averageMillis) {
+            this.averageMillis = averageMillis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+
+        public void setMaxMillis(double maxMillis) {
+            this.maxMillis = maxMillis;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public void setRows(long rows) {
+            this.rows = rows;
+        }
+
+        public Map<String, Long> getEndpoints() {
+            return endpoints;
+        }
+
+        public void setEndpoints(Map<String, Long> endpoints) {
+            this.endpoints = endpoints;
+        }
+    }
+
+    /**
+     * Profile Snapshot DTO
+     */
+    public static class ProfileSnapshot {
+        private boolean enabled;
+        private LocalDateTime since;
+        private LocalDateTime capturedAt;
+        private long totalExecutions;
+        private double totalMillis;
+        private List<QueryStatsView> statements;
+
+        // Getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public LocalDateTime getSince() {
+            return since;
+        }
+
+        public void setSince(LocalDateTime since) {
+            this.since = since;
+        }
+
+        public LocalDateTime getCapturedAt() {
+            return capturedAt;
+        }
+
+        public void setCapturedAt(LocalDateTime capturedAt) {
+            this.capturedAt = capturedAt;
+        }
+
+        public long getTotalExecutions() {
+            return totalExecutions;
+        }
+
+        public void setTotalExecutions(long totalExecutions) {
+            this.totalExecutions = totalExecutions;
+        }
+
+        public double getTotalMillis() {
+            return totalMillis;
+        }
+
+        public void setTotalMillis(double totalMillis) {
+            this.totalMillis = totalMillis;
+        }
+
+        public List<QueryStatsView> getStatements() {
+            return statements;
+        }
+
+        public void setStatements(List<QueryStatsView> statements) {
+            this.statements = statements;
+        }
+    }
+}
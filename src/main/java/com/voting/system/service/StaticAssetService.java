@@ -0,0 +1,201 @@
+package com.voting.system.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Static Asset Service
+ *
+ * Holds the UI's static files in memory, as produced by StaticAssetPipeline:
+ * each asset with its identity, gzip and brotli bytes. Content-hashed names
+ * never change content and are served as immutable; logical names (the HTML
+ * pages, and old or database-stored URLs) are revalidated by ETag.
+ *
+ * Without the build manifest (e.g. run from an IDE) nothing is cached and
+ * Spring's static resource handler serves the files as before.
+ */
+@Service
+public class StaticAssetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaticAssetService.class);
+
+    // Written by StaticAssetPipeline (src/build/java) during the build
+    private static final String MANIFEST = "static-assets.properties";
+
+    @Value("${voting.static-assets.enabled:true}")
+    private boolean enabled;
+
+    @Value("${voting.static-assets.max-age-seconds:31536000}")
+    private long maxAgeSeconds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Servlet path (/css/styles.1a2b3c4d5e.css) -> asset
+    private final Map<String, Asset> assets = new HashMap<>();
+    private long cachedBytes;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            logger.info("Static asset cache disabled");
+            return;
+        }
+
+        ClassPathResource manifestResource = new ClassPathResource(MANIFEST);
+        if (!manifestResource.exists()) {
+            logger.warn("{} not found; static files are served without fingerprints or pre-compression",
+                    MANIFEST);
+            return;
+        }
+
+        try {
+            Properties manifest = new Properties();
+            try (InputStream in = manifestResource.getInputStream()) {
+                manifest.load(in);
+            }
+            for (String logical : manifest.stringPropertyNames()) {
+                String hashed = manifest.getProperty(logical);
+                Asset asset = load(hashed);
+                assets.put("/" + hashed, asset);
+                if (!hashed.equals(logical)) {
+                    assets.put("/" + logical, asset.revalidated());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load static assets: " + e.getMessage(), e);
+        }
+
+        Gauge.builder("voting.static.assets.cached.bytes", () -> cachedBytes)
+                .description("Bytes of static assets held in memory, all encodings")
+                .register(meterRegistry);
+        logger.info("Static asset cache loaded: {} paths, {} KB", assets.size(), cachedBytes / 1024);
+    }
+
+    /**
+     * Find the asset for a servlet path, or null when it is not a pipeline asset
+     */
+    public Asset getAsset(String servletPath) {
+        return assets.get(servletPath);
+    }
+
+    public long getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    private Asset load(String hashed) throws IOException {
+        byte[] identity = read("static/" + hashed);
+        if (identity == null) {
+            throw new IOException("static/" + hashed + " listed in the manifest but missing");
+        }
+        Asset asset = new Asset();
+        asset.contentType = contentType(hashed);
+        asset.identity = identity;
+        asset.gzip = read("static/" + hashed + ".gz");
+        asset.brotli = read("static/" + hashed + ".br");
+        asset.hash = sha256(identity).substring(0, 16);
+        asset.immutable = !hashed.endsWith(".html");
+
+        cachedBytes += identity.length;
+        cachedBytes += asset.gzip != null ? asset.gzip.length : 0;
+        cachedBytes += asset.brotli != null ? asset.brotli.length : 0;
+        return asset;
+    }
+
+    private static byte[] read(String path) throws IOException {
+        ClassPathResource resource = new ClassPathResource(path);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static String contentType(String path) {
+        MediaType mediaType = MediaTypeFactory.getMediaType(path).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        boolean text = "text".equals(mediaType.getType()) || path.endsWith(".js") || path.endsWith(".svg");
+        if (text && mediaType.getCharset() == null) {
+            mediaType = new MediaType(mediaType, StandardCharsets.UTF_8);
+        }
+        return mediaType.toString();
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A static file with its pre-compressed variants
+     */
+    public static class Asset {
+        private String contentType;
+        private byte[] identity;
+        private byte[] gzip;
+        private byte[] brotli;
+        private String hash;
+        private boolean immutable;
+
+        /**
+         * Same bytes under a logical name, which must be revalidated
+         */
+        private Asset revalidated() {
+            Asset asset = new Asset();
+            asset.contentType = contentType;
+            asset.identity = identity;
+            asset.gzip = gzip;
+            asset.brotli = brotli;
+            asset.hash = hash;
+            asset.immutable = false;
+            return asset;
+        }
+
+        // Getters
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getIdentity() {
+            return identity;
+        }
+
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        public byte[] getBrotli() {
+            return brotli;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public boolean isImmutable() {
+            return immutable;
+        }
+    }
+}
@@ -0,0 +1,597 @@
+package com.voting.system.service;
+
+import com.voting.system.model.OTP;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Service class for synthetic election data generation
+ *
+ * Fills an empty database with configurable volumes of constituencies,
+ * parties, candidates, users, OTPs and votes for load testing. Volumes and
+ * skew come from voting.datagen.*: voters concentrate in a few hot
+ * constituencies and parties (Zipf-distributed), votes follow a daytime
+ * turnout curve with short bursts, and a small share of votes comes from a
+ * handful of shared IP addresses. Rows are written with batched JDBC, so the
+ * same generator loads the h2-bench profile's embedded database or Oracle.
+ * Runs once at startup when enabled and VOTING_USERS is empty; the output is
+ * identical for the same seed and settings.
+ */
+@Service
+public class SyntheticDataService implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataService.class);
+
+    private static final String INSERT_CONSTITUENCY_SQL = "INSERT INTO VOTING_CONSTITUENCIES (ID, NAME, STATE, " +
+            "DESCRIPTION, IS_ACTIVE, CREATED_AT, UPDATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PARTY_SQL = "INSERT INTO VOTING_PARTIES (ID, NAME, SYMBOL, DESCRIPTION, " +
+            "IS_ACTIVE, CREATED_AT, UPDATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CANDIDATE_SQL = "INSERT INTO VOTING_CANDIDATES (ID, NAME, AGE, QUALIFICATION, " +
+            "PARTY_ID, CONSTITUENCY_ID, IS_ACTIVE, CREATED_AT, UPDATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_SQL = "INSERT INTO VOTING_USERS (ID, EMAIL, PASSWORD_HASH, " +
+            "FIRST_NAME, LAST_NAME, PHONE_NUMBER, IS_VERIFIED, IS_ACTIVE, FAILED_LOGIN_ATTEMPTS, CREATED_AT, " +
+            "UPDATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+    private static final String INSERT_OTP_SQL = "INSERT INTO VOTING_OTP_VERIFICATION (ID, EMAIL, OTP_CODE, " +
+            "PURPOSE, EXPIRY_TIME, ATTEMPTS, IS_USED, USED_AT, CREATED_AT) " +
+            "VALUES (SEQ_VOTING_OTP_VERIFICATION.NEXTVAL, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_VOTE_SQL = "INSERT INTO VOTING_VOTES (ID, USER_ID, CONSTITUENCY_ID, " +
+            "CANDIDATE_ID, SESSION_ID, STATUS, VOTED_AT, IP_ADDRESS, USER_AGENT) " +
+            "VALUES (SEQ_VOTING_VOTES.NEXTVAL, ?, ?, ?, ?, 'CAST', ?, ?, ?)";
+    private static final String INSERT_LEDGER_SQL = "INSERT INTO VOTING_VOTER_LEDGER (VOTE_ID, USER_ID, VOTED_AT) " +
+            "SELECT ID, USER_ID, VOTED_AT FROM VOTING_VOTES";
+
+    // Matches the user sequence's INCREMENT BY (see VoterRollImportService)
+    private static final int USER_ID_BLOCK_SIZE = 50;
+
+    // Relative turnout for each polling hour, 07:00 to 18:00 - morning and after-work peaks
+    private static final int FIRST_POLLING_HOUR = 7;
+    private static final double[] HOURLY_TURNOUT = { 4, 9, 12, 13, 10, 7, 6, 6, 7, 10, 12, 6 };
+    private static final int BURST_WINDOWS = 6;
+    private static final int BURST_WINDOW_SECONDS = 300;
+    private static final int SHARED_IPS = 50;
+
+    private static final String[] STATES = { "Uttar Pradesh", "Maharashtra", "West Bengal", "Bihar", "Tamil Nadu",
+            "Madhya Pradesh", "Karnataka", "Gujarat", "Andhra Pradesh", "Rajasthan", "Odisha", "Kerala",
+            "Telangana", "Assam", "Jharkhand", "Punjab", "Chhattisgarh", "Haryana", "Delhi", "Jammu and Kashmir",
+            "Uttarakhand", "Himachal Pradesh", "Tripura", "Meghalaya", "Manipur", "Nagaland", "Goa",
+            "Arunachal Pradesh" };
+    private static final String[] SYMBOLS = { "Lotus", "Hand", "Broom", "Elephant", "Bicycle", "Clock", "Lantern",
+            "Arrow", "Kite", "Tractor", "Conch", "Star", "Sun", "Leaves", "Ladder", "Umbrella" };
+    private static final String[] FIRST_NAMES = { "Aarav", "Vivaan", "Aditya", "Vihaan", "Arjun", "Sai", "Reyansh",
+            "Ayaan", "Krishna", "Ishaan", "Ananya", "Diya", "Aadhya", "Saanvi", "Pari", "Anika", "Navya", "Myra",
+            "Sara", "Ira", "Rahul", "Priya", "Amit", "Sneha", "Vikram", "Kavya", "Rohan", "Meera", "Karan", "Pooja" };
+    private static final String[] LAST_NAMES = { "Sharma", "Verma", "Gupta", "Singh", "Kumar", "Patel", "Reddy",
+            "Nair", "Iyer", "Rao", "Das", "Chatterjee", "Banerjee", "Mehta", "Shah", "Joshi", "Pillai", "Menon",
+            "Yadav", "Mishra", "Khan", "Ahmed", "Fernandes", "Gill", "Sandhu" };
+    private static final String[] QUALIFICATIONS = { "Graduate", "Post Graduate", "Doctorate", "Higher Secondary",
+            "Professional Degree" };
+    private static final String[] USER_AGENTS = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36",
+            "Mozilla/5.0 (Linux; Android 13) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Mobile Safari/537.36",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_1 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Mobile/15E148",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 14_1) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.1 Safari/605.1.15" };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${voting.datagen.enabled:false}")
+    private boolean enabled;
+
+    @Value("${voting.datagen.seed:42}")
+    private long seed;
+
+    @Value("${voting.datagen.users:100000}")
+    private int userCount;
+
+    @Value("${voting.datagen.constituencies:543}")
+    private int constituencyCount;
+
+    @Value("${voting.datagen.parties:40}")
+    private int partyCount;
+
+    @Value("${voting.datagen.candidates-per-constituency:8}")
+    private int candidatesPerConstituency;
+
+    @Value("${voting.datagen.verified-ratio:0.92}")
+    private double verifiedRatio;
+
+    @Value("${voting.datagen.turnout:0.65}")
+    private double turnout;
+
+    @Value("${voting.datagen.otps-per-user:1.5}")
+    private double otpsPerUser;
+
+    @Value("${voting.datagen.constituency-skew:1.1}")
+    private double constituencySkew;
+
+    @Value("${voting.datagen.party-skew:1.3}")
+    private double partySkew;
+
+    @Value("${voting.datagen.burst-fraction:0.15}")
+    private double burstFraction;
+
+    @Value("${voting.datagen.shared-ip-fraction:0.02}")
+    private double sharedIpFraction;
+
+    @Value("${voting.datagen.election-date:}")
+    private String electionDate;
+
+    @Value("${voting.datagen.password:Bench@12345}")
+    private String password;
+
+    @Value("${voting.datagen.batch-size:1000}")
+    private int batchSize;
+
+    private TransactionTemplate batchTransactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        Long existingUsers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM VOTING_USERS", Long.class);
+        if (existingUsers != null && existingUsers > 0) {
+            logger.info("Synthetic data generation skipped - VOTING_USERS already has {} rows", existingUsers);
+            return;
+        }
+        generate();
+    }
+
+    /**
+     * Generate the full data set into an empty schema
+     */
+    public GenerationSummary generate() {
+        batchTransactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate day = StringUtils.hasText(electionDate) ? LocalDate.parse(electionDate) : LocalDate.now();
+        long start = System.currentTimeMillis();
+
+        logger.info("Generating synthetic election data (seed {}): {} users, {} constituencies, {} parties",
+                seed, userCount, constituencyCount, partyCount);
+
+        long[] constituencyIds = insertConstituencies(random, day);
+        long[] partyIds = insertParties(day);
+        Ballot[] ballots = insertCandidates(random, constituencyIds, partyIds, day);
+        Voters voters = insertUsers(random, day);
+        long otps = insertOtps(random, day);
+        long votes = insertVotes(random, day, constituencyIds, ballots, voters);
+
+        GenerationSummary summary = new GenerationSummary();
+        summary.setConstituencies(constituencyIds.length);
+        summary.setParties(partyIds.length);
+        summary.setCandidates(Arrays.stream(ballots).mapToLong(b -> b.candidateIds.length).sum());
+        summary.setUsers(userCount);
+        summary.setOtps(otps);
+        summary.setVotes(votes);
+        summary.setElapsedMillis(System.currentTimeMillis() - start);
+
+        logger.info("Synthetic data generated in {} ms: {} candidates, {} OTPs, {} votes. Every user's password is '{}'",
+                summary.getElapsedMillis(), summary.getCandidates(), otps, votes, password);
+        return summary;
+    }
+
+    private long[] insertConstituencies(SplittableRandom random, LocalDate day) {
+        long[] ids = nextIds("SEQ_VOTING_CONSTITUENCIES", constituencyCount);
+        // Larger states get more seats
+        WeightedSampler states = new WeightedSampler(zipfWeights(STATES.length, 0.8, null));
+        int[] seatsPerState = new int[STATES.length];
+        String[] state = new String[constituencyCount];
+        String[] name = new String[constituencyCount];
+        for (int i = 0; i < constituencyCount; i++) {
+            int s = states.next(random);
+            state[i] = STATES[s];
+            name[i] = STATES[s] + " " + (++seatsPerState[s]);
+        }
+        Timestamp created = Timestamp.valueOf(day.minusDays(90).atStartOfDay());
+
+        insertBatches(INSERT_CONSTITUENCY_SQL, constituencyCount, (ps, i) -> {
+            ps.setLong(1, ids[i]);
+            ps.setString(2, name[i]);
+            ps.setString(3, state[i]);
+            ps.setString(4, "Synthetic constituency " + name[i]);
+            ps.setBoolean(5, true);
+            ps.setTimestamp(6, created);
+            ps.setTimestamp(7, created);
+        });
+        return ids;
+    }
+
+    private long[] insertParties(LocalDate day) {
+        long[] ids = nextIds("SEQ_VOTING_PARTIES", partyCount);
+        Timestamp created = Timestamp.valueOf(day.minusDays(90).atStartOfDay());
+
+        insertBatches(INSERT_PARTY_SQL, partyCount, (ps, i) -> {
+            ps.setLong(1, ids[i]);
+            ps.setString(2, String.format("Party %02d", i + 1));
+            ps.setString(3, SYMBOLS[i % SYMBOLS.length] + (i >= SYMBOLS.length ? " " + (i / SYMBOLS.length + 1) : ""));
+            ps.setString(4, "Synthetic party " + (i + 1));
+            ps.setBoolean(5, true);
+            ps.setTimestamp(6, created);
+            ps.setTimestamp(7, created);
+        });
+        return ids;
+    }
+
+    /**
+     * Field candidates from the most popular parties in each constituency
+     * A candidate's share is its party's national weight times a local factor
+     */
+    private Ballot[] insertCandidates(SplittableRandom random, long[] constituencyIds, long[] partyIds,
+            LocalDate day) {
+        double[] partyWeights = zipfWeights(partyIds.length, partySkew, null);
+        WeightedSampler parties = new WeightedSampler(partyWeights);
+        int perConstituency = Math.min(candidatesPerConstituency, partyIds.length);
+
+        Ballot[] ballots = new Ballot[constituencyIds.length];
+        List<long[]> rows = new ArrayList<>();
+        for (int c = 0; c < constituencyIds.length; c++) {
+            boolean[] fielded = new boolean[partyIds.length];
+            int[] chosen = new int[perConstituency];
+            for (int k = 0; k < perConstituency; k++) {
+                int p;
+                do {
+                    p = parties.next(random);
+                } while (fielded[p]);
+                fielded[p] = true;
+                chosen[k] = p;
+            }
+            double[] weights = new double[perConstituency];
+            for (int k = 0; k < perConstituency; k++) {
+                weights[k] = partyWeights[chosen[k]] * (0.5 + random.nextDouble());
+                rows.add(new long[] { c, chosen[k] });
+            }
+            ballots[c] = new Ballot(new long[perConstituency], new WeightedSampler(weights));
+        }
+
+        long[] ids = nextIds("SEQ_VOTING_CANDIDATES", rows.size());
+        int[] slot = new int[constituencyIds.length];
+        for (int i = 0; i < rows.size(); i++) {
+            int c = (int) rows.get(i)[0];
+            ballots[c].candidateIds[slot[c]++] = ids[i];
+        }
+        Timestamp created = Timestamp.valueOf(day.minusDays(60).atStartOfDay());
+
+        insertBatches(INSERT_CANDIDATE_SQL, rows.size(), (ps, i) -> {
+            long[] row = rows.get(i);
+            ps.setLong(1, ids[i]);
+            ps.setString(2, FIRST_NAMES[(int) ((ids[i] * 7) % FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[(int) ((ids[i] * 13) % LAST_NAMES.length)]);
+            ps.setInt(3, 25 + (int) ((ids[i] * 31) % 50));
+            ps.setString(4, QUALIFICATIONS[(int) (ids[i] % QUALIFICATIONS.length)]);
+            ps.setLong(5, partyIds[(int) row[1]]);
+            ps.setLong(6, constituencyIds[(int) row[0]]);
+            ps.setBoolean(7, true);
+            ps.setTimestamp(8, created);
+            ps.setTimestamp(9, created);
+        });
+        return ballots;
+    }
+
+    /**
+     * Register users over the two months before election day, most of them recently
+     */
+    private Voters insertUsers(SplittableRandom random, LocalDate day) {
+        String passwordHash = new BCryptPasswordEncoder(10).encode(password);
+        long[] ids = new long[userCount];
+        boolean[] eligible = new boolean[userCount];
+        boolean[] verified = new boolean[userCount];
+        boolean[] active = new boolean[userCount];
+        long[] createdAt = new long[userCount];
+        long electionStart = Timestamp.valueOf(day.atStartOfDay()).getTime();
+
+        long nextId = 1;
+        long lastId = 0;
+        for (int i = 0; i < userCount; i++) {
+            if (nextId > lastId) {
+                Long value = jdbcTemplate.queryForObject("SELECT SEQ_VOTING_USERS.NEXTVAL FROM DUAL", Long.class);
+                lastId = value;
+                nextId = Math.max(1, value - USER_ID_BLOCK_SIZE + 1);
+            }
+            ids[i] = nextId++;
+            verified[i] = random.nextDouble() < verifiedRatio;
+            active[i] = random.nextDouble() >= 0.01;
+            eligible[i] = verified[i] && active[i];
+            double age = random.nextDouble();
+            createdAt[i] = electionStart - (long) (age * age * 60 * 86_400_000L) - 1;
+        }
+
+        insertBatches(INSERT_USER_SQL, userCount, (ps, i) -> {
+            ps.setLong(1, ids[i]);
+            ps.setString(2, userEmail(i));
+            ps.setString(3, passwordHash);
+            ps.setString(4, FIRST_NAMES[i % FIRST_NAMES.length]);
+            ps.setString(5, LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length]);
+            ps.setString(6, String.format("9%09d", i));
+            ps.setBoolean(7, verified[i]);
+            ps.setBoolean(8, active[i]);
+            ps.setTimestamp(9, new Timestamp(createdAt[i]));
+            ps.setTimestamp(10, new Timestamp(createdAt[i]));
+        });
+        return new Voters(ids, eligible);
+    }
+
+    /**
+     * Mostly used, long-expired codes, with a few still live around "now"
+     */
+    private long insertOtps(SplittableRandom random, LocalDate day) {
+        int count = (int) Math.round(userCount * otpsPerUser);
+        long now = System.currentTimeMillis();
+        long electionStart = Timestamp.valueOf(day.atStartOfDay()).getTime();
+        OTP.OTPPurpose[] purposes = OTP.OTPPurpose.values();
+        double[] purposeWeights = { 70, 15, 10, 5 };
+        WeightedSampler purpose = new WeightedSampler(purposeWeights);
+
+        insertBatches(INSERT_OTP_SQL, count, (ps, i) -> {
+            boolean live = random.nextDouble() < 0.02;
+            long created = live
+                    ? now - random.nextLong(300_000L)
+                    : electionStart - random.nextLong(30 * 86_400_000L);
+            boolean used = !live && random.nextDouble() < 0.8;
+            ps.setString(1, userEmail(random.nextInt(userCount)));
+            ps.setString(2, String.format("%06d", random.nextInt(1_000_000)));
+            ps.setString(3, purposes[purpose.next(random) % purposes.length].name());
+            ps.setTimestamp(4, new Timestamp(created + 600_000L));
+            ps.setInt(5, used ? 0 : random.nextInt(3));
+            ps.setBoolean(6, used);
+            ps.setTimestamp(7, used ? new Timestamp(created + 5_000L + random.nextLong(240_000L)) : null);
+            ps.setTimestamp(8, new Timestamp(created));
+        });
+        return count;
+    }
+
+    /**
+     * One vote per participating voter, cast on election day
+     * Votes are written in time order so vote IDs follow VOTED_AT, as they would live.
+     */
+    private long insertVotes(SplittableRandom random, LocalDate day, long[] constituencyIds, Ballot[] ballots,
+            Voters voters) {
+        // Shuffle eligible voters, then take the turnout share
+        int[] order = new int[userCount];
+        int eligibleCount = 0;
+        for (int i = 0; i < userCount; i++) {
+            if (voters.eligible[i]) {
+                order[eligibleCount++] = i;
+            }
+        }
+        for (int i = eligibleCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        int count = (int) Math.min(eligibleCount, Math.round(userCount * turnout));
+
+        // Voting times from the turnout curve, with short bursts around random moments
+        long pollsOpen = Timestamp.valueOf(day.atTime(FIRST_POLLING_HOUR, 0)).getTime();
+        WeightedSampler hours = new WeightedSampler(HOURLY_TURNOUT);
+        long[] bursts = new long[BURST_WINDOWS];
+        for (int b = 0; b < BURST_WINDOWS; b++) {
+            bursts[b] = pollsOpen + hours.next(random) * 3_600_000L + random.nextLong(3_600_000L - BURST_WINDOW_SECONDS * 1000L);
+        }
+        long[] votedAt = new long[count];
+        for (int i = 0; i < count; i++) {
+            votedAt[i] = random.nextDouble() < burstFraction
+                    ? bursts[random.nextInt(BURST_WINDOWS)] + random.nextLong(BURST_WINDOW_SECONDS * 1000L)
+                    : pollsOpen + hours.next(random) * 3_600_000L + random.nextLong(3_600_000L);
+        }
+        Arrays.sort(votedAt);
+
+        WeightedSampler constituencies = new WeightedSampler(zipfWeights(constituencyIds.length, constituencySkew, random));
+        String[] sharedIps = new String[SHARED_IPS];
+        for (int i = 0; i < SHARED_IPS; i++) {
+            sharedIps[i] = "100.64." + random.nextInt(256) + "." + random.nextInt(256);
+        }
+
+        insertBatches(INSERT_VOTE_SQL, count, (ps, i) -> {
+            int c = constituencies.next(random);
+            Ballot ballot = ballots[c];
+            String ip = random.nextDouble() < sharedIpFraction
+                    ? sharedIps[random.nextInt(SHARED_IPS)]
+                    : (1 + random.nextInt(223)) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + (1 + random.nextInt(254));
+            ps.setLong(1, voters.ids[order[i]]);
+            ps.setLong(2, constituencyIds[c]);
+            ps.setLong(3, ballot.candidateIds[ballot.sampler.next(random)]);
+            ps.setString(4, new UUID(random.nextLong(), random.nextLong()).toString());
+            ps.setTimestamp(5, new Timestamp(votedAt[i]));
+            ps.setString(6, ip);
+            ps.setString(7, USER_AGENTS[random.nextInt(USER_AGENTS.length)]);
+        });
+        // Every generated voter votes once, so the ledger is a straight copy
+        batchTransactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_LEDGER_SQL));
+        return count;
+    }
+
+    /**
+     * Email of the index-th generated user
+     */
+    static String userEmail(int index) {
+        return String.format("voter%07d@bench.example", index);
+    }
+
+    /**
+     * Draw IDs one at a time from a sequence that the application uses with allocationSize 1
+     */
+    private long[] nextIds(String sequence, int count) {
+        String sql = "SELECT " + sequence + ".NEXTVAL FROM DUAL";
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = jdbcTemplate.queryForObject(sql, Long.class);
+        }
+        return ids;
+    }
+
+    /**
+     * Insert rows in JDBC batches, one transaction per batch
+     */
+    private void insertBatches(String sql, int total, RowBinder binder) {
+        long start = System.currentTimeMillis();
+        int size = Math.max(1, batchSize);
+        for (int from = 0; from < total; from += size) {
+            int offset = from;
+            int rows = Math.min(size, total - from);
+            batchTransactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            binder.bind(ps, offset + i);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return rows;
+                        }
+                    }));
+        }
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        logger.info("Inserted {} rows into {} in {} ms ({} rows/s)", total, sql.split(" ")[2], elapsed,
+                total * 1000L / elapsed);
+    }
+
+    /**
+     * Weights proportional to 1 / rank^skew; ranks are shuffled when a random source is given
+     * so the heaviest entries are not simply the first IDs
+     */
+    private static double[] zipfWeights(int n, double skew, SplittableRandom random) {
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, skew);
+        }
+        if (random != null) {
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                double swap = weights[i];
+                weights[i] = weights[j];
+                weights[j] = swap;
+            }
+        }
+        return weights;
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, int index) throws SQLException;
+    }
+
+    /**
+     * Samples indexes in proportion to fixed weights
+     */
+    private static class WeightedSampler {
+        private final double[] cumulative;
+
+        WeightedSampler(double[] weights) {
+            cumulative = new double[weights.length];
+            double total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                total += weights[i];
+                cumulative[i] = total;
+            }
+        }
+
+        int next(SplittableRandom random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int index = Arrays.binarySearch(cumulative, target);
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+
+    private record Ballot(long[] candidateIds, WeightedSampler sampler) {
+    }
+
+    private record Voters(long[] ids, boolean[] eligible) {
+    }
+
+    /**
+     * Generation Summary DTO
+     */
+    public static class GenerationSummary {
+        private long constituencies;
+        private long parties;
+        private long candidates;
+        private long users;
+        private long otps;
+        private long votes;
+        private long elapsedMillis;
+
+        // Getters and setters
+        public long getConstituencies() {
+            return constituencies;
+        }
+
+        public void setConstituencies(long constituencies) {
+            this.constituencies = constituencies;
+        }
+
+        public long getParties() {
+            return parties;
+        }
+
+        public void setParties(long parties) {
+            this.parties = parties;
+        }
+
+        public long getCandidates() {
+            return candidates;
+        }
+
+        public void setCandidates(long candidates) {
+            this.candidates = candidates;
+        }
+
+        public long getUsers() {
+            return users;
+        }
+
+        public void setUsers(long users) {
+            this.users = users;
+        }
+
+        public long getOtps() {
+            return otps;
+        }
+
+        public void setOtps(long otps) {
+            this.otps = otps;
+        }
+
+        public long getVotes() {
+            return votes;
+        }
+
+        public void setVotes(long votes) {
+            this.votes = votes;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public void setElapsedMillis(long elapsedMillis) {
+            this.elapsedMillis = elapsedMillis;
+        }
+    }
+}
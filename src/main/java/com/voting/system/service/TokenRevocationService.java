@@ -0,0 +1,379 @@
+package com.voting.system.service;
+
+import com.voting.system.model.AuthenticatedVoter;
+import com.voting.system.model.RevokedToken;
+import com.voting.system.repository.RevokedTokenRepository;
+import com.voting.system.util.BloomFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class for access token revocation
+ *
+ * Every authenticated request checks its token here, so lookups never touch
+ * the database. A Bloom filter answers the common "not revoked" case; only
+ * its positives consult the exact set of revoked token ids. Revocations are
+ * written to VOTING_REVOKED_TOKENS and other nodes pick them up by polling.
+ * Entries are dropped once the token would have expired anyway, which bounds
+ * memory by the number of logouts within one token lifetime.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.jwt.revocation.expected-revocations:100000}")
+    private long expectedRevocations;
+
+    @Value("${voting.jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${voting.jwt.revocation.poll-overlap-millis:10000}")
+    private long pollOverlapMillis;
+
+    // Token id -> token expiry
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private volatile LocalDateTime lastPolledAt;
+
+    // Lookup metrics
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong bloomNegatives = new AtomicLong();
+    private final AtomicLong confirmedRevocations = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private final AtomicLong totalLookupNanos = new AtomicLong();
+    private final AtomicLong bloomRebuilds = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        bloomFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+
+        Gauge.builder("voting.tokens.revoked", revokedTokens, Map::size)
+                .description("Revoked, unexpired access tokens held in memory")
+                .register(meterRegistry);
+        FunctionCounter.builder("voting.tokens.revocation.false.positives", falsePositives, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check whether a verified token has been revoked
+     */
+    public boolean isRevoked(AuthenticatedVoter voter) {
+        return voter.getTokenId() != null && isRevoked(voter.getTokenId());
+    }
+
+    /**
+     * Check whether a token id has been revoked
+     */
+    public boolean isRevoked(String tokenId) {
+        long start = System.nanoTime();
+        lookups.incrementAndGet();
+        try {
+            if (!bloomFilter.mightContain(tokenId)) {
+                bloomNegatives.incrementAndGet();
+                return false;
+            }
+
+            Instant expiresAt = revokedTokens.get(tokenId);
+            if (expiresAt != null && expiresAt.isAfter(Instant.now())) {
+                confirmedRevocations.incrementAndGet();
+                return true;
+            }
+
+            falsePositives.incrementAndGet();
+            return false;
+        } finally {
+            totalLookupNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Revoke a raw access token
+     *
+     * @return false if the token is not a valid, unexpired token
+     */
+    public boolean revoke(String token) {
+        Optional<AuthenticatedVoter> voter = jwtService.parseToken(token);
+        if (voter.isEmpty() || voter.get().getTokenId() == null) {
+            return false;
+        }
+
+        revoke(voter.get());
+        return true;
+    }
+
+    /**
+     * Revoke a verified token on this node and record it for the others
+     */
+    public void revoke(AuthenticatedVoter voter) {
+        String tokenId = voter.getTokenId();
+        addLocal(tokenId, voter.getExpiresAt());
+
+        try {
+            if (!revokedTokenRepository.existsById(tokenId)) {
+                revokedTokenRepository.save(new RevokedToken(tokenId, voter.getUserId(),
+                        toLocalDateTime(voter.getExpiresAt()), LocalDateTime.now()));
+            }
+        } catch (DataAccessException e) {
+            // Still revoked on this node; other nodes will not see it until it is recorded
+            logger.warn("Could not record revocation of token {}: {}", tokenId, e.getMessage());
+        }
+    }
+
+    private void addLocal(String tokenId, Instant expiresAt) {
+        // Map first, filter second: a concurrent rebuild re-reads the map after swapping filters
+        revokedTokens.put(tokenId, expiresAt);
+        bloomFilter.put(tokenId);
+    }
+
+    /**
+     * Pull revocations recorded by other nodes
+     * The first poll loads everything revoked within one token lifetime.
+     * Later polls overlap the previous window to tolerate clock skew between nodes.
+     */
+    @Scheduled(fixedDelayString = "${voting.jwt.revocation.poll-interval-millis:5000}")
+    public void pollRevocations() {
+        LocalDateTime pollStartedAt = LocalDateTime.now();
+        LocalDateTime since = lastPolledAt == null
+                ? pollStartedAt.minusSeconds(jwtService.getExpirationSeconds())
+                : lastPolledAt.minusNanos(pollOverlapMillis * 1_000_000L);
+
+        try {
+            List<RevokedToken> rows = revokedTokenRepository.findRevokedSince(since, pollStartedAt);
+            for (RevokedToken row : rows) {
+                if (!revokedTokens.containsKey(row.getTokenId())) {
+                    addLocal(row.getTokenId(), row.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+                }
+            }
+            lastPolledAt = pollStartedAt;
+        } catch (InvalidDataAccessResourceUsageException e) {
+            // Table doesn't exist yet (offline schema management) - keep revocations node-local
+            logger.debug("Token revocation poll skipped - schema not yet initialized");
+        } catch (Exception e) {
+            logger.warn("Token revocation poll failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Forget expired revocations and rebuild the Bloom filter without them
+     */
+    @Scheduled(fixedRateString = "${voting.jwt.revocation.purge-interval-millis:300000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int removed = 0;
+        for (Map.Entry<String, Instant> entry : revokedTokens.entrySet()) {
+            if (!entry.getValue().isAfter(now) && revokedTokens.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+
+        if (removed > 0 || revokedTokens.size() > bloomFilter.getExpectedInsertions()) {
+            rebuildBloomFilter();
+        }
+
+        try {
+            int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+            if (removed > 0 || deleted > 0) {
+                logger.info("Token revocation cleanup: {} local entries and {} rows expired", removed, deleted);
+            }
+        } catch (InvalidDataAccessResourceUsageException e) {
+            logger.debug("Token revocation cleanup skipped - schema not yet initialized");
+        } catch (Exception e) {
+            logger.warn("Token revocation cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    private void rebuildBloomFilter() {
+        // Grow with the live set so a logout storm cannot push the false-positive rate up
+        long capacity = Math.max(expectedRevocations, revokedTokens.size() * 2L);
+        BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::put);
+
+        bloomFilter = rebuilt;
+
+        // Catch ids added to the old filter while this one was being built
+        revokedTokens.keySet().forEach(rebuilt::put);
+        bloomRebuilds.incrementAndGet();
+    }
+
+    private LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    /**
+     * Get token revocation statistics
+     */
+    public RevocationStats getRevocationStatistics() {
+        BloomFilter current = bloomFilter;
+        RevocationStats stats = new RevocationStats();
+        stats.setRevokedTokens(revokedTokens.size());
+        stats.setBloomBits(current.getBitCount());
+        stats.setBloomHashes(current.getHashCount());
+        stats.setBloomFillRatio(current.fillRatio());
+        stats.setEstimatedFalsePositiveRate(current.estimatedFalsePositiveRate());
+        stats.setLookups(lookups.get());
+        stats.setBloomNegatives(bloomNegatives.get());
+        stats.setConfirmedRevocations(confirmedRevocations.get());
+        stats.setFalsePositives(falsePositives.get());
+        stats.setBloomRebuilds(bloomRebuilds.get());
+        stats.setLastPolledAt(lastPolledAt);
+
+        long total = lookups.get();
+        stats.setAverageLookupNanos(total > 0 ? totalLookupNanos.get() / total : 0);
+        long notRevoked = bloomNegatives.get() + falsePositives.get();
+        stats.setObservedFalsePositiveRate(notRevoked > 0 ? (double) falsePositives.get() / notRevoked : 0);
+        return stats;
+    }
+
+    /**
+     * Revocation Statistics DTO
+     */
+    public static class RevocationStats {
+        private int revokedTokens;
+        private long bloomBits;
+        private int bloomHashes;
+        private double bloomFillRatio;
+        private double estimatedFalsePositiveRate;
+        private double observedFalsePositiveRate;
+        private long lookups;
+        private long bloomNegatives;
+        private long confirmedRevocations;
+        private long falsePositives;
+        private long averageLookupNanos;
+        private long bloomRebuilds;
+        private LocalDateTime lastPolledAt;
+
+        // Getters and setters
+        public int getRevokedTokens() {
+            return revokedTokens;
+        }
+
+        public void setRevokedTokens(int revokedTokens) {
+            this.revokedTokens = revokedTokens;
+        }
+
+        public long getBloomBits() {
+            return bloomBits;
+        }
+
+        public void setBloomBits(long bloomBits) {
+            this.bloomBits = bloomBits;
+        }
+
+        public int getBloomHashes() {
+            return bloomHashes;
+        }
+
+        public void setBloomHashes(int bloomHashes) {
+            this.bloomHashes = bloomHashes;
+        }
+
+        public double getBloomFillRatio() {
+            return bloomFillRatio;
+        }
+
+        public void setBloomFillRatio(double bloomFillRatio) {
+            this.bloomFillRatio = bloomFillRatio;
+        }
+
+        public double getEstimatedFalsePositiveRate() {
+            return estimatedFalsePositiveRate;
+        }
+
+        public void setEstimatedFalsePositiveRate(double estimatedFalsePositiveRate) {
+            this.estimatedFalsePositiveRate = estimatedFalsePositiveRate;
+        }
+
+        public double getObservedFalsePositiveRate() {
+            return observedFalsePositiveRate;
+        }
+
+        public void setObservedFalsePositiveRate(double observedFalsePositiveRate) {
+            this.observedFalsePositiveRate = observedFalsePositiveRate;
+        }
+
+        public long getLookups() {
+            return lookups;
+        }
+
+        public void setLookups(long lookups) {
+            this.lookups = lookups;
+        }
+
+        public long getBloomNegatives() {
+            return bloomNegatives;
+        }
+
+        public void setBloomNegatives(long bloomNegatives) {
+            this.bloomNegatives = bloomNegatives;
+        }
+
+        public long getConfirmedRevocations() {
+            return confirmedRevocations;
+        }
+
+        public void setConfirmedRevocations(long confirmedRevocations) {
+            this.confirmedRevocations = confirmedRevocations;
+        }
+
+        public long getFalsePositives() {
+            return falsePositives;
+        }
+
+        public void setFalsePositives(long falsePositives) {
+            this.falsePositives = falsePositives;
+        }
+
+        public long getAverageLookupNanos() {
+            return averageLookupNanos;
+        }
+
+        public void setAverageLookupNanos(long averageLookupNanos) {
+            this.averageLookupNanos = averageLookupNanos;
+        }
+
+        public long getBloomRebuilds() {
+            return bloomRebuilds;
+        }
+
+        public void setBloomRebuilds(long bloomRebuilds) {
+            this.bloomRebuilds = bloomRebuilds;
+        }
+
+        public LocalDateTime getLastPolledAt() {
+            return lastPolledAt;
+        }
+
+        public void setLastPolledAt(LocalDateTime lastPolledAt) {
+            this.lastPolledAt = lastPolledAt;
+        }
+    }
+}
@@ -1,24 +1,50 @@
 package com.voting.system.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.voting.system.model.CacheVersion;
 import com.voting.system.model.User;
+import com.voting.system.model.UserSummary;
 import com.voting.system.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service class for User management
  * 
  * Handles user registration, authentication, profile management, and security
- * features
+ * features. Emails are stored normalized, so lookups are plain equality on the
+ * indexed EMAIL column. Email pre-checks go through a bounded, short-lived near
+ * cache of UserSummary entries that this service invalidates on every mutation.
+ * Admin changes to account status also reach other nodes' caches through
+ * CacheCoherenceService; the TTL bounds staleness from self-service changes
+ * (verification, lockouts) made on other nodes. Account changes are also
+ * reported to VoterStatusService for the voting page's status cache.
+ * Methods that hash or match passwords run outside a transaction, so no
+ * database connection is held while they wait on the hashing pool; their
+ * writes each get a short transaction of their own.
  */
 @Service
 @Transactional
@@ -30,47 +56,102 @@ public class UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
-    @Value("${voting.security.account-lockout-attempts:5}")
-    private int maxFailedAttempts;
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private RegistrationFilterService registrationFilterService;
 
-    @Value("${voting.security.account-lockout-duration-minutes:30}")
-    private int lockoutDurationMinutes;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    @Autowired
+    private VoterStatusService voterStatusService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${voting.users.summary-cache.max-size:100000}")
+    private long summaryCacheMaxSize;
+
+    @Value("${voting.users.summary-cache.ttl-seconds:30}")
+    private long summaryTtlSeconds;
+
+    @Value("${voting.users.summary-cache.negative-ttl-seconds:5}")
+    private long negativeTtlSeconds;
+
+    // Normalized email -> summary, or empty for emails with no account
+    private Cache<String, Optional<UserSummary>> summaryCache;
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<LoginOutcome, Timer> loginTimers = new EnumMap<>(LoginOutcome.class);
+
+    @PostConstruct
+    public void initSummaryCache() {
+        // Short write transactions for the methods that hash outside one
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        long ttlNanos = TimeUnit.SECONDS.toNanos(summaryTtlSeconds);
+        long negativeTtlNanos = TimeUnit.SECONDS.toNanos(negativeTtlSeconds);
+
+        summaryCache = Caffeine.newBuilder()
+                .maximumSize(summaryCacheMaxSize)
+                .expireAfter(new Expiry<String, Optional<UserSummary>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<UserSummary> value, long currentTime) {
+                        // Unknown emails expire sooner so a fresh signup elsewhere is seen quickly
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<UserSummary> value, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<UserSummary> value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, summaryCache, "user-summary");
+        // Status changed by an admin somewhere; the version does not say which user
+        cacheCoherenceService.onChange(CacheVersion.Domain.USERS, summaryCache::invalidateAll);
+        for (LoginOutcome outcome : LoginOutcome.values()) {
+            loginTimers.put(outcome, Timer.builder("voting.auth.logins")
+                    .description("Password logins by outcome")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
 
     /**
      * Register a new user
+     * The password is hashed before the INSERT's own transaction starts
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User registerUser(String email, String password, String firstName, String lastName, String phoneNumber) {
         logger.info("=== USER REGISTRATION STARTED ===");
         logger.info("Email: {}", email);
         logger.info("Phone: {}", phoneNumber);
 
         try {
-            // Check if user already exists
-            logger.info("Checking if user exists with email: {}", email);
-            if (userRepository.existsByEmailIgnoreCase(email)) {
-                logger.warn("User registration failed: User with email {} already exists", email);
-                throw new RuntimeException("User with this email already exists");
-            }
+            email = User.normalizeEmail(email);
+            phoneNumber = phoneNumber == null || phoneNumber.isBlank() ? null : phoneNumber.trim();
 
-            if (phoneNumber != null && userRepository.existsByPhoneNumber(phoneNumber)) {
-                logger.warn("User registration failed: User with phone {} already exists", phoneNumber);
-                throw new RuntimeException("User with this phone number already exists");
-            }
-
-            logger.info("User validation passed, proceeding with ID generation...");
-
-            // Get next ID manually
-            Long nextId = userRepository.getNextId();
-            logger.info("Generated next user ID: {}", nextId);
-
-            // Create new user
+            // Create new user - the ID comes from a pre-allocated sequence block
             logger.info("Creating new user object...");
             User user = new User();
-            user.setId(nextId); // Set ID manually for schemas without auto-increment
-            user.setEmail(email.toLowerCase());
-            user.setPasswordHash(passwordEncoder.encode(password));
+            user.setEmail(email);
+            user.setPasswordHash(passwordHashingService.encode(password));
             user.setFirstName(firstName);
             user.setLastName(lastName);
             user.setPhoneNumber(phoneNumber);
@@ -78,8 +159,25 @@ public class UserService {
             user.setIsActive(true);
             user.setFailedLoginAttempts(0);
 
+            // Single INSERT; duplicates are rejected by the unique constraints
             logger.info("Saving user to database...");
-            User savedUser = userRepository.save(user);
+            User savedUser;
+            try {
+                savedUser = userRepository.saveAndFlush(user);
+            } catch (DataIntegrityViolationException e) {
+                String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toUpperCase(Locale.ROOT);
+                if (cause.contains(User.PHONE_CONSTRAINT)) {
+                    logger.warn("User registration failed: User with phone {} already exists", phoneNumber);
+                    throw new RuntimeException("User with this phone number already exists");
+                }
+                if (cause.contains(User.EMAIL_CONSTRAINT)) {
+                    logger.warn("User registration failed: User with email {} already exists", email);
+                    throw new RuntimeException("User with this email already exists");
+                }
+                throw e;
+            }
+            registrationFilterService.recordAccount(email, phoneNumber);
+            summaryCache.invalidate(email);
             logger.info("User saved successfully with ID: {}", savedUser.getId());
             logger.info("=== USER REGISTRATION COMPLETED ===");
 
@@ -97,7 +195,24 @@ public class UserService {
      * Find user by email
      */
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmailIgnoreCase(email);
+        return userRepository.findByEmail(User.normalizeEmail(email));
+    }
+
+    /**
+     * Find user summary by email through the near cache
+     * Never answered from the registration filter, which can miss a registration made elsewhere
+     */
+    public Optional<UserSummary> findSummaryByEmail(String email) {
+        String normalized = User.normalizeEmail(email);
+        if (normalized == null || normalized.isEmpty()) {
+            return Optional.empty();
+        }
+        return summaryCache.get(normalized, userRepository::findSummaryByEmail);
+    }
+
+    private void invalidateSummary(Long userId) {
+        // Rare admin/verification paths - a scan of the bounded cache is acceptable
+        summaryCache.asMap().values().removeIf(s -> s.isPresent() && s.get().getId().equals(userId));
     }
 
     /**
@@ -109,58 +224,105 @@ public class UserService {
 
     /**
      * Authenticate user credentials
+     * The password is matched outside a transaction; lockout and rehash writes get short ones
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<User> authenticateUser(String email, String password) {
-        Optional<User> userOpt = findByEmail(email);
+        long start = System.nanoTime();
+        LoginOutcome outcome = LoginOutcome.ERROR;
+        try {
+            Optional<User> user = authenticate(email, password);
+            outcome = user.isPresent() ? LoginOutcome.SUCCESS : LoginOutcome.INVALID_CREDENTIALS;
+            return user;
+        } catch (LoginRejectedException e) {
+            outcome = e.getOutcome();
+            throw e;
+        } catch (PasswordHashingService.HashingUnavailableException e) {
+            outcome = LoginOutcome.BUSY;
+            throw e;
+        } finally {
+            loginTimers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Optional<User> authenticate(String email, String password) {
+        // Unknown, locked and deactivated accounts are rejected from the near cache
+        Optional<UserSummary> summaryOpt = findSummaryByEmail(email);
+
+        if (summaryOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        UserSummary summary = summaryOpt.get();
+        if (summary.isAccountLocked()) {
+            throw new LoginRejectedException(LoginOutcome.LOCKED,
+                    "Account is locked. Please try again later.");
+        }
+        if (!summary.isActive()) {
+            throw new LoginRejectedException(LoginOutcome.DEACTIVATED,
+                    "Account is deactivated. Please contact support.");
+        }
 
+        Optional<User> userOpt = userRepository.findById(summary.getId());
         if (userOpt.isEmpty()) {
+            summaryCache.invalidate(summary.getEmail());
             return Optional.empty();
         }
 
         User user = userOpt.get();
 
         // Check if account is locked
-        if (user.isAccountLocked()) {
-            throw new RuntimeException("Account is locked. Please try again later.");
+        if (loginAttemptService.isLocked(user)) {
+            throw new LoginRejectedException(LoginOutcome.LOCKED,
+                    "Account is locked. Please try again later.");
         }
 
         // Check if account is active
         if (!user.getIsActive()) {
-            throw new RuntimeException("Account is deactivated. Please contact support.");
+            throw new LoginRejectedException(LoginOutcome.DEACTIVATED,
+                    "Account is deactivated. Please contact support.");
+        }
+
+        // Imported voters activate by setting a password through the reset flow
+        if (user.isActivationPending()) {
+            throw new LoginRejectedException(LoginOutcome.ACTIVATION_PENDING,
+                    "Account is not activated yet. Please use forgot password to set your password.");
         }
 
         // Verify password
-        if (passwordEncoder.matches(password, user.getPasswordHash())) {
+        // The row is only written when there is something to change
+        if (passwordHashingService.matches(password, user.getPasswordHash())) {
             // Reset failed login attempts on successful login
-            user.resetFailedLoginAttempts();
-            userRepository.save(user);
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> loginAttemptService.recordSuccess(user)))) {
+                summaryCache.invalidate(user.getEmail());
+                voterStatusService.invalidate(user.getId());
+            }
+
+            // Transparently upgrade the hash when the BCrypt cost has been raised
+            if (passwordHashingService.needsRehash(user.getPasswordHash())) {
+                String upgradedHash = passwordHashingService.encode(password);
+                transactionTemplate.executeWithoutResult(status ->
+                        userRepository.updateUserPassword(user.getId(), upgradedHash));
+                passwordHashingService.recordRehash();
+            }
             return Optional.of(user);
         } else {
             // Increment failed login attempts
-            handleFailedLogin(user);
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> loginAttemptService.recordFailure(user)))) {
+                summaryCache.invalidate(user.getEmail());
+                voterStatusService.invalidate(user.getId());
+            }
             return Optional.empty();
         }
     }
 
-    /**
-     * Handle failed login attempt
-     */
-    private void handleFailedLogin(User user) {
-        user.incrementFailedLoginAttempts();
-
-        if (user.getFailedLoginAttempts() >= maxFailedAttempts) {
-            // Lock the account
-            user.setAccountLockedUntil(LocalDateTime.now().plusMinutes(lockoutDurationMinutes));
-        }
-
-        userRepository.save(user);
-    }
-
     /**
      * Verify user account
      */
     public void verifyUserAccount(Long userId) {
         userRepository.verifyUserAccount(userId);
+        invalidateSummary(userId);
+        voterStatusService.invalidate(userId);
     }
 
     /**
@@ -171,7 +333,8 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Check if phone number is already taken by another user
-        if (phoneNumber != null && !phoneNumber.equals(user.getPhoneNumber())) {
+        if (phoneNumber != null && !phoneNumber.equals(user.getPhoneNumber())
+                && !registrationFilterService.isPhoneDefinitelyFree(phoneNumber)) {
             Optional<User> existingUser = userRepository.findByPhoneNumber(phoneNumber);
             if (existingUser.isPresent() && !existingUser.get().getId().equals(userId)) {
                 throw new RuntimeException("Phone number is already in use");
@@ -182,39 +345,49 @@ public class UserService {
         user.setLastName(lastName);
         user.setPhoneNumber(phoneNumber);
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        registrationFilterService.recordAccount(null, phoneNumber);
+        voterStatusService.invalidate(userId);
+        return savedUser;
     }
 
     /**
      * Change user password
+     * Both hashes are computed outside a transaction; the row is updated in a short one
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void changePassword(Long userId, String currentPassword, String newPassword) {
         User user = userRepository.findById(userId != null ? userId : 0L)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Verify current password
-        if (!passwordEncoder.matches(currentPassword, user.getPasswordHash())) {
+        if (!passwordHashingService.matches(currentPassword, user.getPasswordHash())) {
             throw new RuntimeException("Current password is incorrect");
         }
 
-        // Update password
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
-        user.resetFailedLoginAttempts(); // Reset failed attempts on password change
-
-        userRepository.save(user);
+        // Update password and reset failed attempts on password change
+        String passwordHash = passwordHashingService.encode(newPassword);
+        transactionTemplate.executeWithoutResult(status -> userRepository.resetUserPassword(userId, passwordHash));
+        loginAttemptService.clear(userId);
+        summaryCache.invalidate(user.getEmail());
+        voterStatusService.invalidate(userId);
     }
 
     /**
      * Reset password (without current password validation)
+     * The hash is computed outside a transaction; the row is updated in a short one
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void resetPassword(String email, String newPassword) {
-        User user = userRepository.findByEmailIgnoreCase(email)
+        User user = findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
-        user.resetFailedLoginAttempts();
-
-        userRepository.save(user);
+        String passwordHash = passwordHashingService.encode(newPassword);
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.resetUserPassword(user.getId(), passwordHash));
+        loginAttemptService.clear(user.getId());
+        summaryCache.invalidate(user.getEmail());
+        voterStatusService.invalidate(user.getId());
     }
 
     /**
@@ -222,6 +395,10 @@ public class UserService {
      */
     public void unlockUserAccount(Long userId) {
         userRepository.unlockUserAccount(userId);
+        loginAttemptService.clear(userId);
+        invalidateSummary(userId);
+        voterStatusService.invalidate(userId);
+        cacheCoherenceService.bump(CacheVersion.Domain.USERS);
     }
 
     /**
@@ -229,6 +406,9 @@ public class UserService {
      */
     public void updateUserActiveStatus(Long userId, Boolean isActive) {
         userRepository.updateUserActiveStatus(userId, isActive);
+        invalidateSummary(userId);
+        voterStatusService.invalidate(userId);
+        cacheCoherenceService.bump(CacheVersion.Domain.USERS);
     }
 
     /**
@@ -277,7 +457,21 @@ public class UserService {
      * Check if user exists
      */
     public boolean userExists(String email) {
-        return userRepository.existsByEmailIgnoreCase(email);
+        return findSummaryByEmail(email).isPresent();
+    }
+
+    /**
+     * Signup pre-check: is the email already registered
+     * A "definitely free" answer from the registration filter skips the database;
+     * if it is wrong, the unique constraint still rejects the registration.
+     */
+    public boolean isEmailTaken(String email) {
+        String normalized = User.normalizeEmail(email);
+        if (normalized == null || normalized.isEmpty()
+                || registrationFilterService.isEmailDefinitelyFree(normalized)) {
+            return false;
+        }
+        return findSummaryByEmail(normalized).isPresent();
     }
 
     /**
@@ -287,6 +481,101 @@ public class UserService {
         updateUserActiveStatus(userId, false);
     }
 
+    /**
+     * Get email lookup near cache statistics
+     */
+    public SummaryCacheStats getSummaryCacheStatistics() {
+        CacheStats cacheStats = summaryCache.stats();
+        SummaryCacheStats stats = new SummaryCacheStats();
+        stats.setSize(summaryCache.estimatedSize());
+        stats.setHitCount(cacheStats.hitCount());
+        stats.setMissCount(cacheStats.missCount());
+        stats.setHitRate(cacheStats.hitRate());
+        stats.setEvictionCount(cacheStats.evictionCount());
+        return stats;
+    }
+
+    /**
+     * Login outcomes reported as metric tags
+     */
+    public enum LoginOutcome {
+        SUCCESS,
+        INVALID_CREDENTIALS,
+        LOCKED,
+        DEACTIVATED,
+        ACTIVATION_PENDING,
+        BUSY,
+        ERROR
+    }
+
+    /**
+     * Thrown when a login is refused for a reason other than bad credentials
+     */
+    public static class LoginRejectedException extends RuntimeException {
+        private final LoginOutcome outcome;
+
+        public LoginRejectedException(LoginOutcome outcome, String message) {
+            super(message);
+            this.outcome = outcome;
+        }
+
+        public LoginOutcome getOutcome() {
+            return outcome;
+        }
+    }
+
+    /**
+     * Summary Cache Statistics DTO
+     */
+    public static class SummaryCacheStats {
+        private long size;
+        private long hitCount;
+        private long missCount;
+        private double hitRate;
+        private long evictionCount;
+
+        // Getters and setters
+        public long getSize() {
+            return size;
+        }
+
+        public void setSize(long size) {
+            this.size = size;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public void setHitCount(long hitCount) {
+            this.hitCount = hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public void setMissCount(long missCount) {
+            this.missCount = missCount;
+        }
+
+        public double getHitRate() {
+            return hitRate;
+        }
+
+        public void setHitRate(double hitRate) {
+            this.hitRate = hitRate;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        public void setEvictionCount(long evictionCount) {
+            this.evictionCount = evictionCount;
+        }
+    }
+
     /**
      * User Statistics DTO
      */
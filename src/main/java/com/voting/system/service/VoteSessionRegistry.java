@@ -0,0 +1,235 @@
+package com.voting.system.service;
+
+import com.voting.system.service.VotingService.VoteRejectedException;
+import com.voting.system.util.HierarchicalTimingWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * In-memory store of live voting sessions
+ *
+ * Sessions are looked up by ID in a hash map and expire through a
+ * hierarchical timing wheel, so neither lookups nor expiry scan the open
+ * sessions. A session is claimed by one cast at a time and then either
+ * completed or released for another attempt. Completed sessions are kept
+ * until their deadline so a reused ID is recognised without a database read.
+ * Times are epoch milliseconds passed in by the caller. Persistence is left
+ * to VoteSessionService.
+ */
+class VoteSessionRegistry {
+
+    enum State {
+        OPEN, CLAIMED, COMPLETED, EXPIRED
+    }
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final HierarchicalTimingWheel<Session> expiryWheel;
+    private final long ttlMillis;
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    VoteSessionRegistry(long ttlMillis, long tickMillis, long nowMillis) {
+        this.ttlMillis = ttlMillis;
+        this.expiryWheel = new HierarchicalTimingWheel<>(tickMillis, ttlMillis, nowMillis);
+    }
+
+    /**
+     * Open a session for a voter who has just verified a voting OTP
+     */
+    Session open(Long userId, String ipAddress, String userAgent, long nowMillis) {
+        Session session = new Session(UUID.randomUUID().toString(), userId, nowMillis, nowMillis + ttlMillis,
+                ipAddress, userAgent);
+        track(session);
+        return session;
+    }
+
+    /**
+     * Track a session opened elsewhere, e.g. read back from another node's audit row
+     *
+     * @return the session already tracked under that ID, if any
+     */
+    Session adopt(String sessionId, Long userId, long startedAtMillis, long expiresAtMillis, String ipAddress,
+            String userAgent) {
+        Session session = new Session(sessionId, userId, startedAtMillis, expiresAtMillis, ipAddress, userAgent);
+        session.timeout = expiryWheel.schedule(session, expiresAtMillis);
+        Session existing = sessions.putIfAbsent(sessionId, session);
+        if (existing != null) {
+            session.timeout.cancel();
+            return existing;
+        }
+        return session;
+    }
+
+    private void track(Session session) {
+        // Scheduled before it is visible, so every reachable session has its timeout
+        session.timeout = expiryWheel.schedule(session, session.expiresAtMillis);
+        sessions.put(session.sessionId, session);
+    }
+
+    Session find(String sessionId) {
+        return sessionId != null ? sessions.get(sessionId) : null;
+    }
+
+    /**
+     * Claim an open session of the given voter for one cast
+     */
+    Session claim(Session session, Long userId, long nowMillis) {
+        if (session == null || !session.userId.equals(userId)) {
+            throw new VoteRejectedException(VoteRejectedException.Reason.SESSION_NOT_FOUND,
+                    "Voting session not found. Please verify your voting OTP again.");
+        }
+        if (nowMillis >= session.expiresAtMillis) {
+            expire(session);
+            throw new VoteRejectedException(VoteRejectedException.Reason.SESSION_EXPIRED,
+                    "Voting session has expired. Please verify your voting OTP again.");
+        }
+        if (!session.transition(State.OPEN, State.CLAIMED)) {
+            State state = session.state;
+            if (state == State.EXPIRED) {
+                throw new VoteRejectedException(VoteRejectedException.Reason.SESSION_EXPIRED,
+                        "Voting session has expired. Please verify your voting OTP again.");
+            }
+            throw new VoteRejectedException(VoteRejectedException.Reason.SESSION_USED,
+                    state == State.CLAIMED ? "A ballot is already being cast in this voting session"
+                            : "Voting session has already been used");
+        }
+        return session;
+    }
+
+    /**
+     * Close a claimed session after its ballot was recorded
+     */
+    boolean complete(Session session, long nowMillis) {
+        if (!session.transition(State.CLAIMED, State.COMPLETED)) {
+            return false;
+        }
+        if (nowMillis >= session.expiresAtMillis) {
+            // The expiry tick passed while the cast was running
+            remove(session);
+        }
+        return true;
+    }
+
+    /**
+     * Reopen a claimed session whose ballot was not recorded
+     */
+    void release(Session session, long nowMillis) {
+        if (session.transition(State.CLAIMED, State.OPEN) && nowMillis >= session.expiresAtMillis) {
+            // The expiry tick passed while the cast was running
+            expire(session);
+        }
+    }
+
+    /**
+     * Expire every open session whose deadline has passed and forget completed ones
+     *
+     * @return the sessions expired by this call
+     */
+    List<Session> expireDue(long nowMillis) {
+        List<Session> due = expiryWheel.advance(nowMillis);
+        List<Session> expired = new ArrayList<>(due.size());
+        for (Session session : due) {
+            if (expire(session)) {
+                expired.add(session);
+            } else if (session.state == State.COMPLETED) {
+                remove(session);
+            }
+            // A claimed session is left to its cast, which completes or releases it
+        }
+        return expired;
+    }
+
+    private boolean expire(Session session) {
+        if (!session.transition(State.OPEN, State.EXPIRED)) {
+            return false;
+        }
+        expiredCount.incrementAndGet();
+        remove(session);
+        return true;
+    }
+
+    private void remove(Session session) {
+        session.timeout.cancel();
+        sessions.remove(session.sessionId, session);
+    }
+
+    /**
+     * Number of tracked sessions, including completed ones not yet past their deadline
+     */
+    int size() {
+        return sessions.size();
+    }
+
+    long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    /**
+     * One live voting session
+     */
+    static final class Session {
+
+        private static final AtomicReferenceFieldUpdater<Session, State> STATE =
+                AtomicReferenceFieldUpdater.newUpdater(Session.class, State.class, "state");
+
+        private final String sessionId;
+        private final Long userId;
+        private final long startedAtMillis;
+        private final long expiresAtMillis;
+        private final String ipAddress;
+        private final String userAgent;
+        private volatile State state = State.OPEN;
+        private HierarchicalTimingWheel.Timeout<Session> timeout;
+
+        private Session(String sessionId, Long userId, long startedAtMillis, long expiresAtMillis,
+                String ipAddress, String userAgent) {
+            this.sessionId = sessionId;
+            this.userId = userId;
+            this.startedAtMillis = startedAtMillis;
+            this.expiresAtMillis = expiresAtMillis;
+            this.ipAddress = ipAddress;
+            this.userAgent = userAgent;
+        }
+
+        private boolean transition(State from, State to) {
+            return STATE.compareAndSet(this, from, to);
+        }
+
+        String getSessionId() {
+            return sessionId;
+        }
+
+        Long getUserId() {
+            return userId;
+        }
+
+        long getStartedAtMillis() {
+            return startedAtMillis;
+        }
+
+        long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+
+        String getIpAddress() {
+            return ipAddress;
+        }
+
+        String getUserAgent() {
+            return userAgent;
+        }
+
+        State getState() {
+            return state;
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package com.voting.system.service;
+
+import com.voting.system.model.VoteSession;
+import com.voting.system.repository.VoteSessionRepository;
+import com.voting.system.service.VoteSessionRegistry.Session;
+import com.voting.system.service.VotingService.VoteRejectedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class for voting sessions
+ *
+ * A verified voting OTP opens a session that authorizes one ballot until it
+ * expires. Live sessions are held in memory (VoteSessionRegistry), so opening,
+ * checking and expiring them costs no database round trip. Sessions are
+ * written to VOTING_VOTE_SESSIONS in batches in the background, for audit and
+ * so that another node can resume a session it does not hold. One vote per
+ * voter is still enforced by the voter ledger, not by sessions.
+ */
+@Service
+public class VoteSessionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteSessionService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO VOTING_VOTE_SESSIONS (ID, SESSION_ID, USER_ID, " +
+            "OTP_VERIFIED, STARTED_AT, EXPIRES_AT, IP_ADDRESS, USER_AGENT) " +
+            "VALUES (SEQ_VOTING_VOTE_SESSIONS.NEXTVAL, ?, ?, 1, ?, ?, ?, ?)";
+    private static final String COMPLETE_SQL = "UPDATE VOTING_VOTE_SESSIONS SET COMPLETED_AT = ? " +
+            "WHERE SESSION_ID = ?";
+
+    @Autowired
+    private VoteSessionRepository voteSessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.vote-session.required:true}")
+    private boolean required;
+
+    @Value("${voting.vote-session.ttl-minutes:15}")
+    private long ttlMinutes;
+
+    @Value("${voting.vote-session.tick-millis:1000}")
+    private long tickMillis;
+
+    @Value("${voting.vote-session.audit.flush-interval-millis:1000}")
+    private long auditFlushIntervalMillis;
+
+    @Value("${voting.vote-session.audit.max-pending:100000}")
+    private int maxPendingAudit;
+
+    @Value("${voting.vote-session.audit.max-backoff-millis:30000}")
+    private long maxAuditBackoffMillis;
+
+    private VoteSessionRegistry registry;
+    private TransactionTemplate auditTemplate;
+
+    // Session writes waiting for the next audit flush, in the order they happened
+    private final Queue<AuditEvent> auditQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingAudit = new AtomicInteger();
+    // A batch the database refused, written again ahead of the queue; guarded by this
+    private List<AuditEvent> unwrittenAudit = new ArrayList<>();
+    private long auditBackoffMillis;
+    private long nextAuditAttemptAt;
+
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong resumed = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong auditWritten = new AtomicLong();
+    private final AtomicLong auditDropped = new AtomicLong();
+    private volatile LocalDateTime lastAuditFlushAt;
+
+    @PostConstruct
+    public void init() {
+        registry = new VoteSessionRegistry(ttlMinutes * 60_000, tickMillis, System.currentTimeMillis());
+        auditTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("voting.vote-sessions.tracked", registry, VoteSessionRegistry::size)
+                .description("Voting sessions held on this node, open or used within their lifetime")
+                .register(meterRegistry);
+        Gauge.builder("voting.vote-sessions.audit.pending", pendingAudit, AtomicInteger::get)
+                .description("Session changes not yet written to VOTING_VOTE_SESSIONS")
+                .register(meterRegistry);
+        FunctionCounter.builder("voting.vote-sessions.opened", opened, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("voting.vote-sessions.completed", completed, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("voting.vote-sessions.expired", registry, VoteSessionRegistry::getExpiredCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a voting session for a voter whose voting OTP was just verified
+     */
+    public OpenedSession open(Long userId, String ipAddress, String userAgent) {
+        Session session = registry.open(userId, ipAddress, userAgent, System.currentTimeMillis());
+        opened.incrementAndGet();
+        enqueueAudit(new AuditEvent(session, false, 0));
+        return new OpenedSession(session.getSessionId(), toDateTime(session.getExpiresAtMillis()));
+    }
+
+    /**
+     * Claim a voting session for the ballot being cast in the caller's transaction
+     *
+     * The session is completed when the transaction commits and reopened if it
+     * rolls back. Without a session ID a ballot is only accepted when sessions
+     * are not required, and gets a fresh session ID of its own.
+     *
+     * @return the session ID to record on the vote
+     */
+    public String claimForCast(String voteSessionId, Long userId) {
+        if (!StringUtils.hasText(voteSessionId)) {
+            if (required) {
+                throw new VoteRejectedException(VoteRejectedException.Reason.SESSION_REQUIRED,
+                        "A voting session is required. Please verify your voting OTP first.");
+            }
+            return UUID.randomUUID().toString();
+        }
+
+        long now = System.currentTimeMillis();
+        Session session = registry.find(voteSessionId);
+        if (session == null) {
+            session = resume(voteSessionId, userId, now);
+        }
+        Session claimed = registry.claim(session, userId, now);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        complete(claimed);
+                    } else {
+                        registry.release(claimed, System.currentTimeMillis());
+                    }
+                }
+            });
+        } else {
+            complete(claimed);
+        }
+        return claimed.getSessionId();
+    }
+
+    private void complete(Session session) {
+        long now = System.currentTimeMillis();
+        if (registry.complete(session, now)) {
+            completed.incrementAndGet();
+            enqueueAudit(new AuditEvent(session, true, now));
+        }
+    }
+
+    /**
+     * Pick up a session opened on another node from its audit row
+     *
+     * @return null if there is no usable session under that ID
+     */
+    private Session resume(String sessionId, Long userId, long now) {
+        Optional<VoteSession> stored = voteSessionRepository.findBySessionId(sessionId);
+        if (stored.isEmpty() || !stored.get().getUserId().equals(userId)
+                || !Boolean.TRUE.equals(stored.get().getOtpVerified())) {
+            return null;
+        }
+        VoteSession row = stored.get();
+        if (row.getCompletedAt() != null) {
+            throw new VoteRejectedException(VoteRejectedException.Reason.SESSION_USED,
+                    "Voting session has already been used");
+        }
+        long expiresAt = toMillis(row.getExpiresAt());
+        if (expiresAt <= now) {
+            throw new VoteRejectedException(VoteRejectedException.Reason.SESSION_EXPIRED,
+                    "Voting session has expired. Please verify your voting OTP again.");
+        }
+        resumed.incrementAndGet();
+        return registry.adopt(sessionId, userId,
+                row.getStartedAt() != null ? toMillis(row.getStartedAt()) : now, expiresAt,
+                row.getIpAddress(), row.getUserAgent());
+    }
+
+    /**
+     * Drop sessions whose time is up
+     */
+    @Scheduled(fixedDelayString = "${voting.vote-session.tick-millis:1000}")
+    public void expireSessions() {
+        registry.expireDue(System.currentTimeMillis());
+    }
+
+    private void enqueueAudit(AuditEvent event) {
+        if (pendingAudit.incrementAndGet() > maxPendingAudit) {
+            // The database has been unreachable for a while; live sessions don't depend on it
+            pendingAudit.decrementAndGet();
+            auditDropped.incrementAndGet();
+            return;
+        }
+        auditQueue.add(event);
+    }
+
+    /**
+     * Write queued session openings and completions in one batch each. While
+     * the database is unreachable the changes are kept, in order, and retried
+     * with a growing delay; only max-pending bounds how many are kept.
+     */
+    @Scheduled(fixedDelayString = "${voting.vote-session.audit.flush-interval-millis:1000}")
+    public synchronized void flushAudit() {
+        if (System.currentTimeMillis() < nextAuditAttemptAt) {
+            return;
+        }
+        List<AuditEvent> batch = unwrittenAudit;
+        unwrittenAudit = new ArrayList<>();
+        AuditEvent event;
+        while ((event = auditQueue.poll()) != null) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Openings first, so a completion in the same batch finds its row
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> completions = new ArrayList<>();
+        for (AuditEvent e : batch) {
+            Session s = e.session();
+            if (e.completion()) {
+                completions.add(new Object[] { toTimestamp(e.atMillis()), s.getSessionId() });
+            } else {
+                inserts.add(new Object[] { s.getSessionId(), s.getUserId(), toTimestamp(s.getStartedAtMillis()),
+                        toTimestamp(s.getExpiresAtMillis()), s.getIpAddress(), s.getUserAgent() });
+            }
+        }
+
+        try {
+            auditTemplate.executeWithoutResult(status -> {
+                if (!inserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+                }
+                if (!completions.isEmpty()) {
+                    jdbcTemplate.batchUpdate(COMPLETE_SQL, completions);
+                }
+            });
+            pendingAudit.addAndGet(-batch.size());
+            auditWritten.addAndGet(batch.size());
+            lastAuditFlushAt = LocalDateTime.now();
+            auditBackoffMillis = 0;
+        } catch (DataIntegrityViolationException e) {
+            // Retrying cannot succeed, and keeping the batch would hold back every later change
+            logger.error("Vote session audit batch of {} changes rejected, dropping it: {}", batch.size(),
+                    e.getMessage());
+            pendingAudit.addAndGet(-batch.size());
+            auditDropped.addAndGet(batch.size());
+        } catch (Exception e) {
+            auditBackoffMillis = Math.min(Math.max(auditBackoffMillis * 2, auditFlushIntervalMillis),
+                    maxAuditBackoffMillis);
+            nextAuditAttemptAt = System.currentTimeMillis() + auditBackoffMillis;
+            logger.warn("Vote session audit flush of {} changes failed, retrying in {} ms: {}", batch.size(),
+                    auditBackoffMillis, e.getMessage());
+            // Still counted in pendingAudit, so new changes are dropped once max-pending is reached
+            unwrittenAudit = batch;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (this) {
+            nextAuditAttemptAt = 0;
+        }
+        flushAudit();
+        if (pendingAudit.get() > 0) {
+            logger.warn("{} vote session audit changes were not written before shutdown", pendingAudit.get());
+        }
+    }
+
+    /**
+     * Get session statistics for this node
+     */
+    public SessionStats getSessionStatistics() {
+        SessionStats stats = new SessionStats();
+        stats.setRequired(required);
+        stats.setTtlMinutes(ttlMinutes);
+        stats.setTrackedSessions(registry.size());
+        stats.setOpened(opened.get());
+        stats.setResumed(resumed.get());
+        stats.setCompleted(completed.get());
+        stats.setExpired(registry.getExpiredCount());
+        stats.setAuditPending(pendingAudit.get());
+        stats.setAuditWritten(auditWritten.get());
+        stats.setAuditDropped(auditDropped.get());
+        stats.setLastAuditFlushAt(lastAuditFlushAt);
+        return stats;
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static Timestamp toTimestamp(long millis) {
+        return Timestamp.valueOf(toDateTime(millis));
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record AuditEvent(Session session, boolean completion, long atMillis) {
+    }
+
+    /**
+     * Opened Session DTO
+     */
+    public static class OpenedSession {
+        private String voteSessionId;
+        private LocalDateTime expiresAt;
+
+        public OpenedSession(String voteSessionId, LocalDateTime expiresAt) {
+            this.voteSessionId = voteSessionId;
+            this.expiresAt = expiresAt;
+        }
+
+        // Getters
+        public String getVoteSessionId() {
+            return voteSessionId;
+        }
+
+        public LocalDateTime getExpiresAt() {
+            return expiresAt;
+        }
+    }
+
+    /**
+     * Session Statistics DTO
+     */
+    public static class SessionStats {
+        private boolean required;
+        private long ttlMinutes;
+        private int trackedSessions;
+        private long opened;
+        private long resumed;
+        private long completed;
+        private long expired;
+        private int auditPending;
+        private long auditWritten;
+        private long auditDropped;
+        private LocalDateTime lastAuditFlushAt;
+
+        // Getters and setters
+        public boolean isRequired() {
+            return required;
+        }
+
+        public void setRequired(boolean required) {
+            this.required = required;
+        }
+
+        public long getTtlMinutes() {
+            return ttlMinutes;
+        }
+
+        public void setTtlMinutes(long ttlMinutes) {
+            this.ttlMinutes = ttlMinutes;
+        }
+
+        public int getTrackedSessions() {
+            return trackedSessions;
+        }
+
+        public void setTrackedSessions(int trackedSessions) {
+            this.trackedSessions = trackedSessions;
+        }
+
+        public long getOpened() {
+            return opened;
+        }
+
+        public void setOpened(long opened) {
+            this.opened = opened;
+        }
+
+        public long getResumed() {
+            return resumed;
+        }
+
+        public void setResumed(long resumed) {
+            this.resumed = resumed;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public void setCompleted(long completed) {
+            this.completed = completed;
+        }
+
+        public long getExpired() {
+            return expired;
+        }
+
+        public void setExpired(long expired) {
+            this.expired = expired;
+        }
+
+        public int getAuditPending() {
+            return auditPending;
+        }
+
+        public void setAuditPending(int auditPending) {
+            this.auditPending = auditPending;
+        }
+
+        public long getAuditWritten() {
+            return auditWritten;
+        }
+
+        public void setAuditWritten(long auditWritten) {
+            this.auditWritten = auditWritten;
+        }
+
+        public long getAuditDropped() {
+            return auditDropped;
+        }
+
+        public void setAuditDropped(long auditDropped) {
+            this.auditDropped = auditDropped;
+        }
+
+        public LocalDateTime getLastAuditFlushAt() {
+            return lastAuditFlushAt;
+        }
+
+        public void setLastAuditFlushAt(LocalDateTime lastAuditFlushAt) {
+            this.lastAuditFlushAt = lastAuditFlushAt;
+        }
+    }
+}
@@ -0,0 +1,516 @@
+package com.voting.system.service;
+
+import com.voting.system.model.CacheVersion;
+import com.voting.system.model.Candidate;
+import com.voting.system.model.Party;
+import com.voting.system.model.Vote;
+import com.voting.system.model.VoteTally;
+import com.voting.system.repository.CandidateRepository;
+import com.voting.system.repository.VoteRepository;
+import com.voting.system.repository.VoteTallyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service class for per-node vote tallies
+ *
+ * Each node counts the ballots it accepts in memory, per constituency and
+ * candidate, and periodically writes the counts to its own rows in
+ * VOTING_VOTE_TALLIES. The rows form a grow-only counter per node: a row is
+ * only ever raised to a higher count, so the national figure is the sum over
+ * all nodes' rows, with this node's unflushed counts merged in, and needs no
+ * query on VOTING_VOTES. Withdrawn ballots (flagged votes) are counted on the
+ * row of the node that accepted them, directly in the database.
+ *
+ * Every vote records the node that accepted it, so a node's rows can be
+ * rebuilt from VOTING_VOTES: counts lost when a node dies before flushing are
+ * restored when another node starts, or on demand. Node IDs get a random
+ * suffix on every start, so a restarted node never shares rows with its
+ * previous run.
+ */
+@Service
+public class VoteTallyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteTallyService.class);
+
+    // Tally rows for votes recorded before nodes were tracked
+    static final String UNTRACKED_NODE = "untracked";
+
+    @Autowired
+    private VoteTallyRepository voteTallyRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.tally.enabled:true}")
+    private boolean enabled;
+
+    @Value("${voting.tally.node-name:}")
+    private String nodeName;
+
+    @Value("${voting.tally.flush-interval-millis:2000}")
+    private long flushIntervalMillis;
+
+    @Value("${voting.tally.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private final Map<BallotKey, LocalCount> counts = new ConcurrentHashMap<>();
+    // Candidate ID -> party name, dropped when candidates or parties change
+    private final Map<Long, String> partyNames = new ConcurrentHashMap<>();
+
+    private String nodeId;
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate rowCreationTemplate;
+    private Counter flushedRows;
+    private volatile boolean stopped;
+    private volatile LocalDateTime lastFlushedAt;
+    private volatile LocalDateTime lastRebuiltAt;
+
+    private record BallotKey(long constituencyId, long candidateId) {
+    }
+
+    private static final class LocalCount {
+        private final LongAdder cast = new LongAdder();
+        private volatile long flushed;
+    }
+
+    @PostConstruct
+    public void init() {
+        nodeId = (StringUtils.hasText(nodeName) ? nodeName : hostName()) + "-"
+                + UUID.randomUUID().toString().substring(0, 8);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        rowCreationTemplate = new TransactionTemplate(transactionManager);
+        rowCreationTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        flushedRows = Counter.builder("voting.tally.rows.flushed")
+                .description("Vote tally rows written by this node")
+                .register(meterRegistry);
+        Gauge.builder("voting.tally.pending", this, VoteTallyService::pendingBallots)
+                .description("Ballots counted on this node and not yet written to the tally table")
+                .register(meterRegistry);
+
+        cacheCoherenceService.onChange(CacheVersion.Domain.CANDIDATES, partyNames::clear);
+        cacheCoherenceService.onChange(CacheVersion.Domain.PARTIES, partyNames::clear);
+    }
+
+    private static String hostName() {
+        try {
+            String host = InetAddress.getLocalHost().getHostName();
+            return host.length() > 50 ? host.substring(0, 50) : host;
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+
+    /**
+     * ID recorded on votes accepted by this node
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Count a ballot once the caller's transaction commits
+     */
+    public void countAfterCommit(Long constituencyId, Long candidateId) {
+        if (!enabled) {
+            return;
+        }
+        BallotKey key = new BallotKey(constituencyId, candidateId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    count(key);
+                }
+            });
+        } else {
+            count(key);
+        }
+    }
+
+    private void count(BallotKey key) {
+        counts.computeIfAbsent(key, k -> new LocalCount()).cast.increment();
+    }
+
+    /**
+     * Take a counted ballot out of the tally, in the caller's transaction
+     */
+    @Transactional
+    public void withdraw(Vote vote) {
+        if (!enabled) {
+            return;
+        }
+        VoteTally.Key key = new VoteTally.Key(vote.getNodeId() != null ? vote.getNodeId() : UNTRACKED_NODE,
+                vote.getConstituency().getId(), vote.getCandidate().getId());
+        LocalDateTime now = LocalDateTime.now();
+        if (voteTallyRepository.incrementWithdrawn(key, now) == 0) {
+            // Not flushed yet; the accepting node raises CAST_COUNT on this row later
+            createRow(key);
+            voteTallyRepository.incrementWithdrawn(key, now);
+        }
+    }
+
+    /**
+     * Write counts that changed since the last flush to this node's rows
+     */
+    @Scheduled(fixedDelayString = "${voting.tally.flush-interval-millis:2000}")
+    public synchronized void flush() {
+        if (!enabled || stopped) {
+            return;
+        }
+
+        Map<BallotKey, Long> dirty = new HashMap<>();
+        Map<BallotKey, LocalCount> flushing = new HashMap<>();
+        counts.forEach((key, count) -> {
+            long cast = count.cast.sum();
+            if (cast > count.flushed) {
+                dirty.put(key, cast);
+                flushing.put(key, count);
+            }
+        });
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> dirty.forEach((key, cast) ->
+                    raise(new VoteTally.Key(nodeId, key.constituencyId(), key.candidateId()), cast, 0, now)));
+            dirty.forEach((key, cast) -> flushing.get(key).flushed = cast);
+            flushedRows.increment(dirty.size());
+            lastFlushedAt = now;
+        } catch (Exception e) {
+            // Counts stay pending and are written by the next flush
+            logger.warn("Vote tally flush failed: {}", e.getMessage());
+        }
+    }
+
+    private boolean raise(VoteTally.Key key, long castCount, long withdrawnCount, LocalDateTime now) {
+        if (voteTallyRepository.raiseCounts(key, castCount, withdrawnCount, now) > 0) {
+            return true;
+        }
+        if (voteTallyRepository.existsById(key)) {
+            return false;
+        }
+        createRow(key);
+        return voteTallyRepository.raiseCounts(key, castCount, withdrawnCount, now) > 0;
+    }
+
+    /**
+     * Insert an empty row in its own transaction, so writers racing to create
+     * it don't fail the caller; counts are then raised in the caller's transaction
+     */
+    private void createRow(VoteTally.Key key) {
+        try {
+            rowCreationTemplate.executeWithoutResult(status -> {
+                if (!voteTallyRepository.existsById(key)) {
+                    voteTallyRepository.save(new VoteTally(key, 0L, 0L, LocalDateTime.now()));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Created by another node or a rebuild in the meantime
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        stopped = true;
+    }
+
+    /**
+     * Stop flushing and drop unflushed counts, as if the node had died
+     * Package-private for the multi-node simulation
+     *
+     * @return ballots that were counted but not yet written
+     */
+    synchronized long simulateNodeLoss() {
+        stopped = true;
+        long lost = pendingBallots();
+        counts.clear();
+        return lost;
+    }
+
+    /**
+     * Restore counts lost with nodes that died, in the background once the application is up
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAfterStartup() {
+        if (enabled && rebuildOnStartup) {
+            try {
+                long start = System.currentTimeMillis();
+                int raised = rebuildFromVotes();
+                logger.info("Vote tallies rebuilt from votes in {} ms: {} rows raised",
+                        System.currentTimeMillis() - start, raised);
+            } catch (Exception e) {
+                logger.warn("Vote tally rebuild skipped: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Raise every node's rows to the counts recorded in VOTING_VOTES
+     *
+     * Restores counts a node lost by dying before a flush. Safe to run while
+     * nodes are voting: rows are only raised, and a running node's own counts
+     * are at least as high as what it has committed.
+     *
+     * @return number of rows raised or created
+     */
+    public int rebuildFromVotes() {
+        Integer raised = transactionTemplate.execute(status -> {
+            Map<VoteTally.Key, VoteTally> stored = new HashMap<>();
+            voteTallyRepository.findAll().forEach(tally -> stored.put(tally.getKey(), tally));
+
+            LocalDateTime now = LocalDateTime.now();
+            int rows = 0;
+            for (Object[] row : voteRepository.countVotesByNodeAndCandidate()) {
+                String node = row[0] != null ? (String) row[0] : UNTRACKED_NODE;
+                VoteTally.Key key = new VoteTally.Key(node, (Long) row[1], (Long) row[2]);
+                long castCount = ((Number) row[3]).longValue();
+                long withdrawnCount = ((Number) row[4]).longValue();
+                // Most rows are already up to date; only write those that are behind
+                VoteTally tally = stored.get(key);
+                if ((tally == null || tally.getCastCount() < castCount || tally.getWithdrawnCount() < withdrawnCount)
+                        && raise(key, castCount, withdrawnCount, now)) {
+                    rows++;
+                }
+            }
+            return rows;
+        });
+        lastRebuiltAt = LocalDateTime.now();
+        return raised != null ? raised : 0;
+    }
+
+    /**
+     * Get overall results (all constituencies by party) from the tallies
+     *
+     * Same figures as the CAST votes in VOTING_VOTES once every node has
+     * flushed; other nodes' latest ballots show up within a flush interval.
+     */
+    @Transactional(readOnly = true)
+    public List<PartyResult> getOverallResults() {
+        if (!enabled) {
+            return voteRepository.getOverallVoteResults().stream()
+                    .map(row -> new PartyResult((String) row[0], (Long) row[1]))
+                    .toList();
+        }
+
+        Map<Long, Long> votesByCandidate = new HashMap<>();
+        for (Object[] row : voteTallyRepository.sumOtherNodesByCandidate(nodeId)) {
+            votesByCandidate.merge((Long) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+
+        // This node's rows may be behind its memory, or ahead after a rebuild
+        Set<BallotKey> stored = new HashSet<>();
+        for (VoteTally tally : voteTallyRepository.findByKeyNodeId(nodeId)) {
+            BallotKey key = new BallotKey(tally.getKey().getConstituencyId(), tally.getKey().getCandidateId());
+            LocalCount local = counts.get(key);
+            long cast = Math.max(tally.getCastCount(), local != null ? local.cast.sum() : 0);
+            votesByCandidate.merge(key.candidateId(), cast - tally.getWithdrawnCount(), Long::sum);
+            stored.add(key);
+        }
+        counts.forEach((key, count) -> {
+            if (!stored.contains(key)) {
+                votesByCandidate.merge(key.candidateId(), count.cast.sum(), Long::sum);
+            }
+        });
+
+        Map<String, Long> votesByParty = new HashMap<>();
+        votesByCandidate.forEach((candidateId, votes) -> {
+            if (votes != 0) {
+                votesByParty.merge(partyName(candidateId), votes, Long::sum);
+            }
+        });
+
+        List<PartyResult> results = new ArrayList<>();
+        votesByParty.forEach((party, votes) -> results.add(new PartyResult(party, votes)));
+        results.sort(Comparator.comparing(PartyResult::getVoteCount).reversed()
+                .thenComparing(PartyResult::getPartyName));
+        return results;
+    }
+
+    private String partyName(Long candidateId) {
+        String name = partyNames.get(candidateId);
+        if (name == null) {
+            name = candidateRepository.findById(candidateId)
+                    .map(Candidate::getParty)
+                    .map(Party::getName)
+                    .orElse("Unknown");
+            partyNames.put(candidateId, name);
+        }
+        return name;
+    }
+
+    private long pendingBallots() {
+        long pending = 0;
+        for (LocalCount count : counts.values()) {
+            pending += count.cast.sum() - count.flushed;
+        }
+        return pending;
+    }
+
+    /**
+     * Get tally statistics for this node
+     */
+    public TallyStats getTallyStatistics() {
+        TallyStats stats = new TallyStats();
+        stats.setEnabled(enabled);
+        stats.setNodeId(nodeId);
+        stats.setFlushIntervalMillis(flushIntervalMillis);
+        stats.setCounters(counts.size());
+        stats.setPendingBallots(pendingBallots());
+        stats.setFlushedRows((long) flushedRows.count());
+        stats.setLastFlushedAt(lastFlushedAt);
+        stats.setLastRebuiltAt(lastRebuiltAt);
+        return stats;
+    }
+
+    /**
+     * Party Result DTO
+     */
+    public static class PartyResult {
+        private String partyName;
+        private Long voteCount;
+
+        public PartyResult(String partyName, Long voteCount) {
+            this.partyName = partyName;
+            this.voteCount = voteCount;
+        }
+
+        // Getters
+        public String getPartyName() {
+            return partyName;
+        }
+
+        public Long getVoteCount() {
+            return voteCount;
+        }
+    }
+
+    /**
+     * Tally Statistics DTO
+     */
+    public static class TallyStats {
+        private boolean enabled;
+        private String nodeId;
+        private long flushIntervalMillis;
+        private int counters;
+        private long pendingBallots;
+        private long flushedRows;
+        private LocalDateTime lastFlushedAt;
+        private LocalDateTime lastRebuiltAt;
+
+        // Getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getNodeId() {
+            return nodeId;
+        }
+
+        public void setNodeId(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        public long getFlushIntervalMillis() {
+            return flushIntervalMillis;
+        }
+
+        public void setFlushIntervalMillis(long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+        }
+
+        public int getCounters() {
+            return counters;
+        }
+
+        public void setCounters(int counters) {
+            this.counters = counters;
+        }
+
+        public long getPendingBallots() {
+            return pendingBallots;
+        }
+
+        public void setPendingBallots(long pendingBallots) {
+            this.pendingBallots = pendingBallots;
+        }
+
+        public long getFlushedRows() {
+            return flushedRows;
+        }
+
+        public void setFlushedRows(long flushedRows) {
+            this.flushedRows = flushedRows;
+        }
+
+        public LocalDateTime getLastFlushedAt() {
+            return lastFlushedAt;
+        }
+
+        public void setLastFlushedAt(LocalDateTime lastFlushedAt) {
+            this.lastFlushedAt = lastFlushedAt;
+        }
+
+        public LocalDateTime getLastRebuiltAt() {
+            return lastRebuiltAt;
+        }
+
+        public void setLastRebuiltAt(LocalDateTime lastRebuiltAt) {
+            this.lastRebuiltAt = lastRebuiltAt;
+        }
+    }
+}
@@ -0,0 +1,915 @@
+package com.voting.system.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.voting.system.model.ImportCheckpoint;
+import com.voting.system.model.User;
+import com.voting.system.repository.ImportCheckpointRepository;
+import com.voting.system.util.Hashing;
+import com.voting.system.util.LongHashSet;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+/**
+ * Service class for bulk voter roll imports
+ *
+ * Streams a CSV or JSON-lines file in chunks. Each chunk is validated in
+ * parallel, de-duplicated against everything earlier in the file by 64-bit
+ * email/phone fingerprints, and its passwords hashed on a fork/join pool
+ * while the previous chunk is being inserted. Inserts are JDBC batches with
+ * IDs taken from pre-allocated sequence blocks, and each batch commits
+ * together with its checkpoint so a failed import resumes after the last
+ * committed line. Rows without a password are imported pending activation
+ * through the password reset flow.
+ */
+@Service
+public class VoterRollImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoterRollImportService.class);
+
+    private static final String INSERT_USER_SQL = "INSERT INTO VOTING_USERS (ID, EMAIL, PASSWORD_HASH, " +
+            "FIRST_NAME, LAST_NAME, PHONE_NUMBER, IS_VERIFIED, IS_ACTIVE, FAILED_LOGIN_ATTEMPTS, " +
+            "CREATED_AT, UPDATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?, 1, 0, ?, ?)";
+
+    private static final String UPDATE_CHECKPOINT_SQL = "UPDATE VOTING_IMPORT_CHECKPOINTS SET LAST_LINE = ?, " +
+            "ROWS_IMPORTED = ?, ROWS_INVALID = ?, ROWS_DUPLICATE = ?, ROWS_EXISTING = ?, UPDATED_AT = ? " +
+            "WHERE FILE_KEY = ?";
+
+    // Must match the allocationSize of the User ID generator
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^[+]?[1-9]\\d{1,14}$");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ImportCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private RegistrationFilterService registrationFilterService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${voting.import.directory:imports}")
+    private String importDirectory;
+
+    @Value("${voting.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${voting.import.parallelism:0}")
+    private int parallelism;
+
+    @Value("${voting.import.mark-verified:true}")
+    private boolean markVerified;
+
+    @Value("${voting.import.error-sample-size:100}")
+    private int errorSampleSize;
+
+    @Value("${voting.security.password-min-length:8}")
+    private int passwordMinLength;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService jobRunner;
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate batchTransactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        jobRunner = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "voter-roll-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Batches are plain JDBC; a JDBC transaction manager gives them savepoints for row-by-row retries
+        batchTransactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobRunner.shutdownNow();
+    }
+
+    /**
+     * Start (or resume) importing a file from the import directory
+     *
+     * @param fileName file name relative to the import directory
+     * @param format   "csv" or "jsonl"; inferred from the extension when null
+     */
+    public synchronized ImportJobStatus startImport(String fileName, String format) {
+        Path file = resolveImportFile(fileName);
+        ImportFormat importFormat = ImportFormat.of(format, file);
+        String fileKey = fileKey(file);
+
+        ImportJob existing = jobs.get(fileKey);
+        if (existing != null && existing.status == ImportCheckpoint.ImportStatus.RUNNING) {
+            return existing.toStatus();
+        }
+        if (jobs.values().stream().anyMatch(j -> j.status == ImportCheckpoint.ImportStatus.RUNNING)) {
+            throw new RuntimeException("Another voter roll import is already running");
+        }
+
+        ImportCheckpoint checkpoint = checkpointRepository.findById(fileKey).orElse(null);
+        if (checkpoint != null && checkpoint.getStatus() == ImportCheckpoint.ImportStatus.COMPLETED) {
+            throw new RuntimeException("This file has already been imported");
+        }
+        if (checkpoint == null) {
+            checkpoint = checkpointRepository.save(new ImportCheckpoint(fileKey, fileName));
+        } else {
+            checkpoint.setStatus(ImportCheckpoint.ImportStatus.RUNNING);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpoint = checkpointRepository.save(checkpoint);
+            logger.info("Resuming voter roll import of {} after line {}", fileName, checkpoint.getLastLine());
+        }
+
+        ImportJob job = new ImportJob(fileKey, fileName, file, importFormat, checkpoint, errorSampleSize);
+        jobs.put(fileKey, job);
+        jobRunner.submit(() -> run(job));
+        return job.toStatus();
+    }
+
+    /**
+     * Get the status of an import by job id (the file key)
+     */
+    public Optional<ImportJobStatus> getImportStatus(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job != null) {
+            return Optional.of(job.toStatus());
+        }
+        // Imports started before a restart are only known by their checkpoint
+        return checkpointRepository.findById(jobId).map(ImportJob::fromCheckpoint);
+    }
+
+    private Path resolveImportFile(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            throw new RuntimeException("File name is required");
+        }
+        Path directory = Paths.get(importDirectory).toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory)) {
+            throw new RuntimeException("File must be inside the import directory");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new RuntimeException("Import file not found: " + fileName);
+        }
+        return file;
+    }
+
+    private String fileKey(Path file) {
+        try {
+            // A replaced file gets a new key, so its checkpoint never applies to different content
+            String identity = file + "|" + Files.size(file) + "|" + Files.getLastModifiedTime(file).toMillis();
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(identity.getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Could not read import file: " + e.getMessage());
+        }
+    }
+
+    private void run(ImportJob job) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        // Separate encoder so the import does not compete with logins for the hashing pool's queue
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(passwordHashingService.getStrength());
+
+        logger.info("Voter roll import of {} started with {} threads", job.fileName, threads);
+        try (BufferedReader reader = Files.newBufferedReader(job.file, StandardCharsets.UTF_8)) {
+            // Two fingerprints per row; assume ~64 bytes per row to size the set up front
+            long estimatedRows = Files.size(job.file) / 64;
+            LongHashSet seen = new LongHashSet((int) Math.min(1 << 22, estimatedRows * 2));
+            RowParser parser = job.format == ImportFormat.CSV ? new CsvRowParser(reader.readLine()) : new JsonRowParser();
+            long lineNumber = job.format == ImportFormat.CSV ? 1 : 0;
+
+            Future<Batch> inFlight = null;
+            while (true) {
+                List<RawRow> chunk = new ArrayList<>(batchSize);
+                String line;
+                while (chunk.size() < batchSize && (line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (!line.isBlank()) {
+                        chunk.add(new RawRow(lineNumber, line));
+                    }
+                }
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                List<ImportRow> validated = pool.submit(() -> chunk.parallelStream()
+                        .map(raw -> validate(parser, raw))
+                        .toList()).get();
+
+                Batch batch = deduplicate(validated, seen, job, lineNumber);
+                if (lineNumber <= job.resumeAfterLine) {
+                    // Already committed before the restart - replayed only to rebuild the fingerprints
+                    continue;
+                }
+
+                Future<Batch> hashed = pool.submit(() -> hash(batch, encoder));
+                if (inFlight != null) {
+                    insert(inFlight.get(), job);
+                }
+                inFlight = hashed;
+            }
+            if (inFlight != null) {
+                insert(inFlight.get(), job);
+            }
+
+            complete(job);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(job, "Import was interrupted");
+        } catch (ExecutionException e) {
+            fail(job, String.valueOf(e.getCause().getMessage()));
+        } catch (Exception e) {
+            fail(job, String.valueOf(e.getMessage()));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private ImportRow validate(RowParser parser, RawRow raw) {
+        ImportRow row;
+        try {
+            row = parser.parse(raw);
+        } catch (Exception e) {
+            return ImportRow.invalid(raw.lineNumber, "Malformed row");
+        }
+
+        if (row.email == null || row.email.isEmpty()) {
+            return row.reject("Email is required");
+        }
+        if (row.email.length() > 255 || !EMAIL_PATTERN.matcher(row.email).matches()) {
+            return row.reject("Invalid email address");
+        }
+        if (row.firstName == null || row.firstName.isEmpty() || row.firstName.length() > 100) {
+            return row.reject("First name is required and must not exceed 100 characters");
+        }
+        if (row.lastName == null || row.lastName.isEmpty() || row.lastName.length() > 100) {
+            return row.reject("Last name is required and must not exceed 100 characters");
+        }
+        if (row.phoneNumber != null && !PHONE_PATTERN.matcher(row.phoneNumber).matches()) {
+            return row.reject("Invalid phone number");
+        }
+        if (row.password != null && (row.password.length() < passwordMinLength || row.password.length() > 72)) {
+            return row.reject("Password must be between " + passwordMinLength + " and 72 characters");
+        }
+        return row;
+    }
+
+    /**
+     * Drop invalid rows and rows whose email or phone appeared earlier in the file
+     * Runs on the import thread in file order, so the first occurrence always wins.
+     */
+    private Batch deduplicate(List<ImportRow> rows, LongHashSet seen, ImportJob job, long lastLine) {
+        Batch batch = new Batch(lastLine);
+        boolean replay = lastLine <= job.resumeAfterLine;
+
+        for (ImportRow row : rows) {
+            if (row.error != null) {
+                batch.invalid++;
+                if (!replay) {
+                    job.sampleError(row.lineNumber, row.error);
+                }
+                continue;
+            }
+
+            long emailKey = Hashing.hash64("e:" + row.email);
+            long phoneKey = row.phoneNumber != null ? Hashing.hash64("p:" + row.phoneNumber) : 0;
+            if (seen.contains(emailKey) || (row.phoneNumber != null && seen.contains(phoneKey))) {
+                batch.duplicates++;
+                if (!replay) {
+                    job.sampleError(row.lineNumber, "Duplicate email or phone number in file");
+                }
+                continue;
+            }
+
+            seen.add(emailKey);
+            if (row.phoneNumber != null) {
+                seen.add(phoneKey);
+            }
+            batch.rows.add(row);
+        }
+        return batch;
+    }
+
+    private Batch hash(Batch batch, BCryptPasswordEncoder encoder) {
+        long start = System.nanoTime();
+        batch.rows.parallelStream().forEach(row -> {
+            if (row.password != null) {
+                row.passwordHash = encoder.encode(row.password);
+                row.password = null;
+            } else {
+                row.passwordHash = User.ACTIVATION_PENDING_HASH;
+            }
+        });
+        batch.hashNanos = System.nanoTime() - start;
+        return batch;
+    }
+
+    /**
+     * Insert a batch and advance the checkpoint in one transaction
+     * If the batch hits an existing account it is rolled back and replayed row by row.
+     */
+    private void insert(Batch batch, ImportJob job) {
+        long start = System.nanoTime();
+        assignIds(batch.rows, job);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try {
+            batchTransactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_USER_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, batch.rows.get(i), now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.rows.size();
+                    }
+                });
+                batch.imported = batch.rows.size();
+                saveProgress(batch, job);
+            });
+        } catch (DataIntegrityViolationException e) {
+            insertRowByRow(batch, job, now);
+        }
+
+        job.commit(batch, System.nanoTime() - start);
+        for (ImportRow row : batch.rows) {
+            registrationFilterService.recordAccount(row.email, row.phoneNumber);
+        }
+    }
+
+    private void insertRowByRow(Batch batch, ImportJob job, Timestamp now) {
+        batchTransactionTemplate.executeWithoutResult(status -> {
+            List<ImportRow> inserted = new ArrayList<>(batch.rows.size());
+            batch.existing = 0;
+            for (ImportRow row : batch.rows) {
+                // Savepoint per row so an existing account does not roll back the rest of the batch
+                Object savepoint = status.createSavepoint();
+                try {
+                    jdbcTemplate.update(INSERT_USER_SQL, ps -> bind(ps, row, now));
+                    status.releaseSavepoint(savepoint);
+                    inserted.add(row);
+                } catch (DataIntegrityViolationException e) {
+                    status.rollbackToSavepoint(savepoint);
+                    batch.existing++;
+                }
+            }
+            batch.rows.retainAll(inserted);
+            batch.imported = inserted.size();
+            saveProgress(batch, job);
+        });
+    }
+
+    private void bind(PreparedStatement ps, ImportRow row, Timestamp now) throws SQLException {
+        ps.setLong(1, row.id);
+        ps.setString(2, row.email);
+        ps.setString(3, row.passwordHash);
+        ps.setString(4, row.firstName);
+        ps.setString(5, row.lastName);
+        if (row.phoneNumber != null) {
+            ps.setString(6, row.phoneNumber);
+        } else {
+            ps.setNull(6, Types.VARCHAR);
+        }
+        ps.setBoolean(7, markVerified);
+        ps.setTimestamp(8, now);
+        ps.setTimestamp(9, now);
+    }
+
+    private void saveProgress(Batch batch, ImportJob job) {
+        jdbcTemplate.update(UPDATE_CHECKPOINT_SQL, batch.lastLine,
+                job.imported + batch.imported,
+                job.invalid + batch.invalid,
+                job.duplicates + batch.duplicates,
+                job.existing + batch.existing,
+                Timestamp.valueOf(LocalDateTime.now()),
+                job.fileKey);
+    }
+
+    /**
+     * Give every row an ID from blocks reserved on the shared user sequence
+     * One NEXTVAL reserves the same block Hibernate's pooled optimizer would use,
+     * so imported IDs never collide with IDs handed out to live registrations.
+     */
+    private void assignIds(List<ImportRow> rows, ImportJob job) {
+        for (ImportRow row : rows) {
+            if (row.id != null) {
+                continue;
+            }
+            if (job.nextId > job.lastId) {
+                Long value = jdbcTemplate.queryForObject("SELECT SEQ_VOTING_USERS.NEXTVAL FROM DUAL", Long.class);
+                job.lastId = value;
+                job.nextId = Math.max(1, value - ID_BLOCK_SIZE + 1);
+            }
+            row.id = job.nextId++;
+        }
+    }
+
+    private void complete(ImportJob job) {
+        transactionTemplate.executeWithoutResult(status -> checkpointRepository.findById(job.fileKey)
+                .ifPresent(checkpoint -> {
+                    checkpoint.setStatus(ImportCheckpoint.ImportStatus.COMPLETED);
+                    checkpoint.setCompletedAt(LocalDateTime.now());
+                    checkpoint.setUpdatedAt(LocalDateTime.now());
+                    checkpointRepository.save(checkpoint);
+                }));
+        job.finish(ImportCheckpoint.ImportStatus.COMPLETED, null);
+
+        ImportJobStatus status = job.toStatus();
+        logger.info("Voter roll import of {} completed: {} imported, {} invalid, {} duplicates, " +
+                "{} already registered, {} rows/s", job.fileName, status.getRowsImported(),
+                status.getRowsInvalid(), status.getRowsDuplicate(), status.getRowsAlreadyRegistered(),
+                status.getRowsPerSecond());
+    }
+
+    private void fail(ImportJob job, String message) {
+        logger.error("Voter roll import of {} failed after {} rows: {}", job.fileName, job.imported, message);
+        job.finish(ImportCheckpoint.ImportStatus.FAILED, message);
+        try {
+            transactionTemplate.executeWithoutResult(status -> checkpointRepository.findById(job.fileKey)
+                    .ifPresent(checkpoint -> {
+                        checkpoint.setStatus(ImportCheckpoint.ImportStatus.FAILED);
+                        checkpoint.setUpdatedAt(LocalDateTime.now());
+                        checkpointRepository.save(checkpoint);
+                    }));
+        } catch (Exception e) {
+            logger.warn("Could not mark import checkpoint as failed: {}", e.getMessage());
+        }
+    }
+
+    private enum ImportFormat {
+        CSV, JSONL;
+
+        static ImportFormat of(String format, Path file) {
+            String name = format != null && !format.isBlank() ? format : file.getFileName().toString();
+            name = name.toLowerCase(Locale.ROOT);
+            if (name.endsWith("csv")) {
+                return CSV;
+            }
+            if (name.endsWith("jsonl") || name.endsWith("ndjson") || name.endsWith("json")) {
+                return JSONL;
+            }
+            throw new RuntimeException("Unsupported import format - use csv or jsonl");
+        }
+    }
+
+    private interface RowParser {
+        ImportRow parse(RawRow raw) throws IOException;
+    }
+
+    /**
+     * CSV with a header row; columns are matched by name in any order
+     */
+    private static class CsvRowParser implements RowParser {
+        private final int email;
+        private final int firstName;
+        private final int lastName;
+        private final int phoneNumber;
+        private final int password;
+
+        CsvRowParser(String header) {
+            if (header == null) {
+                throw new RuntimeException("Import file is empty");
+            }
+            List<String> columns = split(header).stream()
+                    .map(c -> c.trim().replace("_", "").toLowerCase(Locale.ROOT))
+                    .toList();
+            email = columns.indexOf("email");
+            firstName = columns.indexOf("firstname");
+            lastName = columns.indexOf("lastname");
+            phoneNumber = columns.indexOf("phonenumber") >= 0 ? columns.indexOf("phonenumber") : columns.indexOf("phone");
+            password = columns.indexOf("password");
+            if (email < 0 || firstName < 0 || lastName < 0) {
+                throw new RuntimeException("CSV header must include email, first_name and last_name");
+            }
+        }
+
+        @Override
+        public ImportRow parse(RawRow raw) {
+            List<String> fields = split(raw.line);
+            return ImportRow.of(raw.lineNumber, field(fields, email), field(fields, firstName),
+                    field(fields, lastName), field(fields, phoneNumber), field(fields, password));
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index) : null;
+        }
+
+        private static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            fields.add(current.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * One JSON object per line with email, firstName, lastName, phoneNumber and password
+     */
+    private class JsonRowParser implements RowParser {
+        @Override
+        public ImportRow parse(RawRow raw) throws IOException {
+            JsonNode node = objectMapper.readTree(raw.line);
+            return ImportRow.of(raw.lineNumber, text(node, "email"), text(node, "firstName"),
+                    text(node, "lastName"), text(node, "phoneNumber"), text(node, "password"));
+        }
+
+        private String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+    }
+
+    private record RawRow(long lineNumber, String line) {
+    }
+
+    private static class ImportRow {
+        private final long lineNumber;
+        private String email;
+        private String firstName;
+        private String lastName;
+        private String phoneNumber;
+        private String password;
+        private String passwordHash;
+        private Long id;
+        private String error;
+
+        private ImportRow(long lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+
+        static ImportRow of(long lineNumber, String email, String firstName, String lastName,
+                String phoneNumber, String password) {
+            ImportRow row = new ImportRow(lineNumber);
+            row.email = User.normalizeEmail(email);
+            row.firstName = firstName != null ? firstName.trim() : null;
+            row.lastName = lastName != null ? lastName.trim() : null;
+            row.phoneNumber = phoneNumber == null || phoneNumber.isBlank() ? null : phoneNumber.trim();
+            row.password = password == null || password.isEmpty() ? null : password;
+            return row;
+        }
+
+        static ImportRow invalid(long lineNumber, String error) {
+            return new ImportRow(lineNumber).reject(error);
+        }
+
+        ImportRow reject(String error) {
+            this.error = error;
+            this.password = null;
+            return this;
+        }
+    }
+
+    private static class Batch {
+        private final long lastLine;
+        private final List<ImportRow> rows = new ArrayList<>();
+        private long invalid;
+        private long duplicates;
+        private long imported;
+        private long existing;
+        private long hashNanos;
+
+        private Batch(long lastLine) {
+            this.lastLine = lastLine;
+        }
+    }
+
+    /**
+     * Progress of one import; counters only include committed batches
+     */
+    private static class ImportJob {
+        private final String fileKey;
+        private final String fileName;
+        private final Path file;
+        private final ImportFormat format;
+        private final long resumeAfterLine;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final List<String> errorSample = new ArrayList<>();
+        private final int errorSampleSize;
+
+        private volatile ImportCheckpoint.ImportStatus status = ImportCheckpoint.ImportStatus.RUNNING;
+        private volatile String failureMessage;
+        private volatile long lastLine;
+        private volatile long imported;
+        private volatile long invalid;
+        private volatile long duplicates;
+        private volatile long existing;
+        private volatile long importedThisRun;
+        private volatile long hashNanos;
+        private volatile long insertNanos;
+        private volatile long elapsedNanos;
+
+        // Current ID block, touched only by the import thread
+        private long nextId = 1;
+        private long lastId = 0;
+
+        ImportJob(String fileKey, String fileName, Path file, ImportFormat format, ImportCheckpoint checkpoint,
+                int errorSampleSize) {
+            this.fileKey = fileKey;
+            this.errorSampleSize = errorSampleSize;
+            this.fileName = fileName;
+            this.file = file;
+            this.format = format;
+            this.resumeAfterLine = checkpoint.getLastLine();
+            this.lastLine = checkpoint.getLastLine();
+            this.imported = checkpoint.getRowsImported();
+            this.invalid = checkpoint.getRowsInvalid();
+            this.duplicates = checkpoint.getRowsDuplicate();
+            this.existing = checkpoint.getRowsExisting();
+        }
+
+        void commit(Batch batch, long batchInsertNanos) {
+            lastLine = batch.lastLine;
+            imported += batch.imported;
+            invalid += batch.invalid;
+            duplicates += batch.duplicates;
+            existing += batch.existing;
+            importedThisRun += batch.imported;
+            hashNanos += batch.hashNanos;
+            insertNanos += batchInsertNanos;
+        }
+
+        void finish(ImportCheckpoint.ImportStatus finalStatus, String message) {
+            elapsedNanos = System.nanoTime() - startNanos;
+            failureMessage = message;
+            status = finalStatus;
+        }
+
+        void sampleError(long lineNumber, String error) {
+            synchronized (errorSample) {
+                if (errorSample.size() < errorSampleSize) {
+                    errorSample.add("Line " + lineNumber + ": " + error);
+                }
+            }
+        }
+
+        ImportJobStatus toStatus() {
+            long elapsed = status == ImportCheckpoint.ImportStatus.RUNNING ? System.nanoTime() - startNanos : elapsedNanos;
+            ImportJobStatus result = new ImportJobStatus();
+            result.setJobId(fileKey);
+            result.setFileName(fileName);
+            result.setStatus(status.name());
+            result.setFailureMessage(failureMessage);
+            result.setResumedAfterLine(resumeAfterLine);
+            result.setLastCommittedLine(lastLine);
+            result.setRowsImported(imported);
+            result.setRowsInvalid(invalid);
+            result.setRowsDuplicate(duplicates);
+            result.setRowsAlreadyRegistered(existing);
+            result.setElapsedMillis(elapsed / 1_000_000);
+            result.setHashingMillis(hashNanos / 1_000_000);
+            result.setInsertMillis(insertNanos / 1_000_000);
+            result.setRowsPerSecond(elapsed > 0 ? (long) (importedThisRun * 1_000_000_000.0 / elapsed) : 0);
+            result.setStartedAt(startedAt);
+            synchronized (errorSample) {
+                result.setErrorSample(new ArrayList<>(errorSample));
+            }
+            return result;
+        }
+
+        static ImportJobStatus fromCheckpoint(ImportCheckpoint checkpoint) {
+            ImportJobStatus result = new ImportJobStatus();
+            result.setJobId(checkpoint.getFileKey());
+            result.setFileName(checkpoint.getFileName());
+            // A RUNNING checkpoint with no job on this node was interrupted by a restart
+            result.setStatus(checkpoint.getStatus() == ImportCheckpoint.ImportStatus.RUNNING
+                    ? ImportCheckpoint.ImportStatus.FAILED.name() : checkpoint.getStatus().name());
+            result.setLastCommittedLine(checkpoint.getLastLine());
+            result.setRowsImported(checkpoint.getRowsImported());
+            result.setRowsInvalid(checkpoint.getRowsInvalid());
+            result.setRowsDuplicate(checkpoint.getRowsDuplicate());
+            result.setRowsAlreadyRegistered(checkpoint.getRowsExisting());
+            result.setStartedAt(checkpoint.getStartedAt());
+            result.setErrorSample(List.of());
+            return result;
+        }
+    }
+
+    /**
+     * Import Job Status DTO
+     */
+    public static class ImportJobStatus {
+        private String jobId;
+        private String fileName;
+        private String status;
+        private String failureMessage;
+        private long resumedAfterLine;
+        private long lastCommittedLine;
+        private long rowsImported;
+        private long rowsInvalid;
+        private long rowsDuplicate;
+        private long rowsAlreadyRegistered;
+        private long elapsedMillis;
+        private long hashingMillis;
+        private long insertMillis;
+        private long rowsPerSecond;
+        private LocalDateTime startedAt;
+        private List<String> errorSample;
+
+        // Getters and setters
+        public String getJobId() {
+            return jobId;
+        }
+
+        public void setJobId(String jobId) {
+            this.jobId = jobId;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public void setFileName(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getFailureMessage() {
+            return failureMessage;
+        }
+
+        public void setFailureMessage(String failureMessage) {
+            this.failureMessage = failureMessage;
+        }
+
+        public long getResumedAfterLine() {
+            return resumedAfterLine;
+        }
+
+        public void setResumedAfterLine(long resumedAfterLine) {
+            this.resumedAfterLine = resumedAfterLine;
+        }
+
+        public long getLastCommittedLine() {
+            return lastCommittedLine;
+        }
+
+        public void setLastCommittedLine(long lastCommittedLine) {
+            this.lastCommittedLine = lastCommittedLine;
+        }
+
+        public long getRowsImported() {
+            return rowsImported;
+        }
+
+        public void setRowsImported(long rowsImported) {
+            this.rowsImported = rowsImported;
+        }
+
+        public long getRowsInvalid() {
+            return rowsInvalid;
+        }
+
+        public void setRowsInvalid(long rowsInvalid) {
+            this.rowsInvalid = rowsInvalid;
+        }
+
+        public long getRowsDuplicate() {
+            return rowsDuplicate;
+        }
+
+        public void setRowsDuplicate(long rowsDuplicate) {
+            this.rowsDuplicate = rowsDuplicate;
+        }
+
+        public long getRowsAlreadyRegistered() {
+            return rowsAlreadyRegistered;
+        }
+
+        public void setRowsAlreadyRegistered(long rowsAlreadyRegistered) {
+            this.rowsAlreadyRegistered = rowsAlreadyRegistered;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public void setElapsedMillis(long elapsedMillis) {
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public long getHashingMillis() {
+            return hashingMillis;
+        }
+
+        public void setHashingMillis(long hashingMillis) {
+            this.hashingMillis = hashingMillis;
+        }
+
+        public long getInsertMillis() {
+            return insertMillis;
+        }
+
+        public void setInsertMillis(long insertMillis) {
+            this.insertMillis = insertMillis;
+        }
+
+        public long getRowsPerSecond() {
+            return rowsPerSecond;
+        }
+
+        public void setRowsPerSecond(long rowsPerSecond) {
+            this.rowsPerSecond = rowsPerSecond;
+        }
+
+        public LocalDateTime getStartedAt() {
+            return startedAt;
+        }
+
+        public void setStartedAt(LocalDateTime startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        public List<String> getErrorSample() {
+            return errorSample;
+        }
+
+        public void setErrorSample(List<String> errorSample) {
+            this.errorSample = errorSample;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.voting.system.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.voting.system.model.CacheVersion;
+import com.voting.system.model.VoterStatus;
+import com.voting.system.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class for the per-voter status the voting page polls
+ *
+ * Statuses are read with the voter ledger in one statement and kept in a
+ * bounded cache. UserService and VotingService report the changes made on
+ * this node, after commit, so a voter sees their own change straight away.
+ * Admin changes on other nodes arrive through CacheCoherenceService. Anything
+ * else changed on another node (a verification, a lockout, a ballot) is seen
+ * once the entry expires; entries of voters who have not voted, and of
+ * unknown IDs, expire sooner.
+ */
+@Service
+public class VoterStatusService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.voter-status.cache.max-size:100000}")
+    private long cacheMaxSize;
+
+    @Value("${voting.voter-status.cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${voting.voter-status.cache.not-voted-ttl-seconds:5}")
+    private long notVotedTtlSeconds;
+
+    // User ID -> status, or empty for IDs with no account
+    private Cache<Long, Optional<VoterStatus>> statusCache;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void initCache() {
+        // Read-write so a miss goes to the primary and sees a ballot just committed
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        long notVotedTtlNanos = TimeUnit.SECONDS.toNanos(notVotedTtlSeconds);
+
+        statusCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<Long, Optional<VoterStatus>>() {
+                    @Override
+                    public long expireAfterCreate(Long key, Optional<VoterStatus> value, long currentTime) {
+                        // A ballot cast or an account created on another node is seen sooner
+                        return value.isPresent() && value.get().hasVoted() ? ttlNanos : notVotedTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, Optional<VoterStatus> value, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, Optional<VoterStatus> value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, statusCache, "voter-status");
+        // Status changed by an admin somewhere; the version does not say which user
+        cacheCoherenceService.onChange(CacheVersion.Domain.USERS, statusCache::invalidateAll);
+    }
+
+    /**
+     * Get a voter's status, reading it in one statement on a miss
+     *
+     * A hit opens no transaction
+     */
+    public Optional<VoterStatus> getStatus(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return statusCache.get(userId, id -> transactionTemplate.execute(status ->
+                userRepository.findVoterStatus(id)));
+    }
+
+    /**
+     * Drop a voter's status after their account changed
+     *
+     * Dropped again after commit, so a read of the old row in the meantime is not kept
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        statusCache.invalidate(userId);
+        afterCommit(() -> statusCache.invalidate(userId));
+    }
+
+    /**
+     * Mark a cached status as voted once the ballot commits
+     */
+    public void recordVote(Long userId, Long voteId) {
+        afterCommit(() -> statusCache.asMap().computeIfPresent(userId, (id, status) -> status.map(s -> s.withVote(voteId))));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
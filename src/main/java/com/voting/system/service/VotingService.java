@@ -1,15 +1,32 @@
 package com.voting.system.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.voting.system.model.*;
 import com.voting.system.repository.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Service class for Voting operations
@@ -23,6 +40,9 @@ public class VotingService {
     @Autowired
     private VoteRepository voteRepository;
 
+    @Autowired
+    private VoterLedgerRepository voterLedgerRepository;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -32,103 +52,322 @@ public class VotingService {
     @Autowired
     private CandidateRepository candidateRepository;
 
+    @Autowired
+    private VoteTallyService voteTallyService;
+
+    @Autowired
+    private VoteSessionService voteSessionService;
+
+    @Autowired
+    private VoterStatusService voterStatusService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.receipts.cache.max-size:100000}")
+    private long receiptCacheMaxSize;
+
+    @Value("${voting.receipts.cache.ttl-seconds:600}")
+    private long receiptTtlSeconds;
+
+    // User ID -> receipt of the user's latest vote; filled when a ballot commits on this node
+    private Cache<Long, VoteReceipt> receiptCache;
+
+    // Meters are registered once so the cast path does no meter lookups
+    private Timer voteAccepted;
+    private Timer voteRejected;
+    private Timer voteFailed;
+    private final Map<VoteRejectedException.Reason, Counter> rejectionCounters =
+            new EnumMap<>(VoteRejectedException.Reason.class);
+
+    @PostConstruct
+    public void initMetrics() {
+        voteAccepted = voteTimer("accepted");
+        voteRejected = voteTimer("rejected");
+        voteFailed = voteTimer("error");
+        for (VoteRejectedException.Reason reason : VoteRejectedException.Reason.values()) {
+            rejectionCounters.put(reason, Counter.builder("voting.votes.rejected")
+                    .description("Ballots rejected by validation, by reason")
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+
+        receiptCache = Caffeine.newBuilder()
+                .maximumSize(receiptCacheMaxSize)
+                .expireAfterWrite(receiptTtlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, receiptCache, "vote-receipts");
+    }
+
+    private Timer voteTimer(String outcome) {
+        return Timer.builder("voting.votes.cast")
+                .description("Time to validate and record a ballot")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Time a cast and count rejections by reason
+     */
+    private Vote timeCast(Supplier<Vote> cast) {
+        long start = System.nanoTime();
+        Timer timer = voteFailed;
+        try {
+            Vote vote = cast.get();
+            timer = voteAccepted;
+            return vote;
+        } catch (VoteRejectedException e) {
+            timer = voteRejected;
+            rejectionCounters.get(e.getReason()).increment();
+            throw e;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
     /**
      * Cast a vote
+     *
+     * @param voteSessionId session opened by a verified voting OTP; may be null unless sessions are required
      */
-    public Vote castVote(Long userId, Long constituencyId, Long partyId, Long candidateId, String ipAddress,
-            String userAgent) {
+    public Vote castVote(Long userId, Long constituencyId, Long partyId, Long candidateId, String voteSessionId,
+            String ipAddress, String userAgent) {
+        return timeCast(() -> castVoteForUser(userId, constituencyId, partyId, candidateId, voteSessionId, ipAddress,
+                userAgent));
+    }
+
+    private Vote castVoteForUser(Long userId, Long constituencyId, Long partyId, Long candidateId,
+            String voteSessionId, String ipAddress, String userAgent) {
         // Validate user
         User user = userRepository.findById(userId != null ? userId : 0L)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> new VoteRejectedException(VoteRejectedException.Reason.USER_NOT_FOUND,
+                        "User not found"));
 
         if (!user.getIsActive()) {
-            throw new RuntimeException("User account is not active");
+            throw new VoteRejectedException(VoteRejectedException.Reason.ACCOUNT_INACTIVE,
+                    "User account is not active");
         }
 
         if (!user.getIsVerified()) {
-            throw new RuntimeException("User account is not verified. Please verify your email first.");
+            throw new VoteRejectedException(VoteRejectedException.Reason.NOT_VERIFIED,
+                    "User account is not verified. Please verify your email first.");
         }
 
         if (user.isAccountLocked()) {
-            throw new RuntimeException("User account is locked");
+            throw new VoteRejectedException(VoteRejectedException.Reason.ACCOUNT_LOCKED,
+                    "User account is locked");
+        }
+
+        String sessionId = voteSessionService.claimForCast(voteSessionId, user.getId());
+        return recordVote(user, constituencyId, partyId, candidateId, sessionId, ipAddress, userAgent);
+    }
+
+    /**
+     * Cast a vote for a voter identified by a verified access token
+     *
+     * Token claims can be a whole token lifetime old, so account state is
+     * checked against the voter status cache instead; the user row is
+     * referenced rather than loaded
+     */
+    public Vote castVote(AuthenticatedVoter voter, Long constituencyId, Long partyId, Long candidateId,
+            String voteSessionId, String ipAddress, String userAgent) {
+        return timeCast(() -> castVoteForVoter(voter, constituencyId, partyId, candidateId, voteSessionId, false,
+                ipAddress, userAgent));
+    }
+
+    private Vote castVoteForVoter(AuthenticatedVoter voter, Long constituencyId, Long partyId, Long candidateId,
+            String voteSessionId, boolean rehearsal, String ipAddress, String userAgent) {
+        VoterStatus status = voterStatusService.getStatus(voter.getUserId())
+                .orElseThrow(() -> new VoteRejectedException(VoteRejectedException.Reason.USER_NOT_FOUND,
+                        "User not found"));
+
+        if (!status.active()) {
+            throw new VoteRejectedException(VoteRejectedException.Reason.ACCOUNT_INACTIVE,
+                    "User account is not active");
+        }
+
+        if (!status.verified()) {
+            throw new VoteRejectedException(VoteRejectedException.Reason.NOT_VERIFIED,
+                    "User account is not verified. Please verify your email first.");
         }
 
-        // Check if user has already voted in ANY constituency (prevent multiple votes)
-        if (voteRepository.existsByUser(user)) {
-            throw new RuntimeException("You have already voted. A user can only vote once in the election.");
+        if (status.isLocked()) {
+            throw new VoteRejectedException(VoteRejectedException.Reason.ACCOUNT_LOCKED,
+                    "User account is locked");
         }
 
+        // Saves the insert when the voter is known to have voted; the ledger still decides
+        if (status.hasVoted()) {
+            throw new VoteRejectedException(VoteRejectedException.Reason.ALREADY_VOTED,
+                    "You have already voted. A user can only vote once in the election.");
+        }
+
+        User user = userRepository.getReferenceById(voter.getUserId());
+
+        String sessionId = rehearsal ? UUID.randomUUID().toString()
+                : voteSessionService.claimForCast(voteSessionId, voter.getUserId());
+        return recordVote(user, constituencyId, partyId, candidateId, sessionId, ipAddress, userAgent);
+    }
+
+    /**
+     * Run the token-based cast path without recording metrics
+     *
+     * For start-up warm-up only; the caller must roll the transaction back.
+     */
+    public Vote rehearseVote(AuthenticatedVoter voter, Long constituencyId, Long partyId, Long candidateId) {
+        try {
+            return castVoteForVoter(voter, constituencyId, partyId, candidateId, null, true, "127.0.0.1",
+                    "warm-up");
+        } finally {
+            // The warm-up voter is rolled back with the transaction
+            voterStatusService.invalidate(voter.getUserId());
+        }
+    }
+
+    /**
+     * Validate the ballot against reference data and save the vote
+     */
+    private Vote recordVote(User user, Long constituencyId, Long partyId, Long candidateId, String sessionId,
+            String ipAddress, String userAgent) {
         // Validate constituency
         Constituency constituency = constituencyRepository.findById(constituencyId != null ? constituencyId : 0L)
-                .orElseThrow(() -> new RuntimeException("Constituency not found"));
+                .orElseThrow(() -> new VoteRejectedException(VoteRejectedException.Reason.CONSTITUENCY_NOT_FOUND,
+                        "Constituency not found"));
 
         if (!constituency.getIsActive()) {
-            throw new RuntimeException("Constituency is not active");
+            throw new VoteRejectedException(VoteRejectedException.Reason.CONSTITUENCY_INACTIVE,
+                    "Constituency is not active");
         }
 
         // Validate candidate
         Candidate candidate = candidateRepository.findById(candidateId != null ? candidateId : 0L)
-                .orElseThrow(() -> new RuntimeException("Candidate not found"));
+                .orElseThrow(() -> new VoteRejectedException(VoteRejectedException.Reason.CANDIDATE_NOT_FOUND,
+                        "Candidate not found"));
 
         if (!candidate.getIsActive()) {
-            throw new RuntimeException("Candidate is not active");
+            throw new VoteRejectedException(VoteRejectedException.Reason.CANDIDATE_INACTIVE,
+                    "Candidate is not active");
         }
 
         // Validate candidate belongs to constituency
         if (!candidate.getConstituency().getId().equals(constituencyId)) {
-            throw new RuntimeException("Candidate does not belong to the selected constituency");
+            throw new VoteRejectedException(VoteRejectedException.Reason.CANDIDATE_CONSTITUENCY_MISMATCH,
+                    "Candidate does not belong to the selected constituency");
         }
 
         // Validate party
         Party party = candidate.getParty();
         if (party == null || !party.getIsActive()) {
-            throw new RuntimeException("Candidate's party is not active");
+            throw new VoteRejectedException(VoteRejectedException.Reason.PARTY_INACTIVE,
+                    "Candidate's party is not active");
         }
 
         // Additional validation: ensure partyId matches if provided
         if (partyId != null && !party.getId().equals(partyId)) {
-            throw new RuntimeException("Party ID does not match candidate's party");
+            throw new VoteRejectedException(VoteRejectedException.Reason.PARTY_MISMATCH,
+                    "Party ID does not match candidate's party");
         }
 
         // Create and save vote
-        String sessionId = UUID.randomUUID().toString();
         Vote vote = new Vote(user, constituency, candidate, sessionId, ipAddress, userAgent);
         vote.setId(voteRepository.getNextId()); // Set ID manually for schemas without auto-increment
+        vote.setNodeId(voteTallyService.getNodeId());
 
+        // One vote per voter is enforced by the ledger's unique key, not a prior SELECT;
+        // flush inside the service so the INSERTs are part of the timed cast
         Vote savedVote = voteRepository.save(vote);
+        try {
+            voterLedgerRepository.saveAndFlush(new VoterLedger(savedVote));
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toUpperCase(Locale.ROOT);
+            if (cause.contains(VoterLedger.VOTER_CONSTRAINT) || cause.contains(Vote.USER_CONSTITUENCY_CONSTRAINT)) {
+                throw new VoteRejectedException(VoteRejectedException.Reason.ALREADY_VOTED,
+                        "You have already voted. A user can only vote once in the election.");
+            }
+            throw e;
+        }
+        voteTallyService.countAfterCommit(constituency.getId(), candidate.getId());
+        voterStatusService.recordVote(user.getId(), savedVote.getId());
+        cacheReceiptAfterCommit(user.getId(), new VoteReceipt(savedVote.getSessionId(), user.getId(),
+                constituency.getName(), party.getName(), candidate.getName(), savedVote.getVotedAt(), "CAST"));
 
         return savedVote;
     }
 
+    /**
+     * Cache the receipt the success page asks for right after casting
+     */
+    private void cacheReceiptAfterCommit(Long userId, VoteReceipt receipt) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    receiptCache.put(userId, receipt);
+                }
+            });
+        } else {
+            receiptCache.put(userId, receipt);
+        }
+    }
+
+    /**
+     * Get the receipt for a user's latest vote
+     *
+     * Served from the receipt cache when the vote was cast on this node,
+     * otherwise read in a single statement. Read-write, so the read goes to the
+     * primary and sees a ballot just committed on another node.
+     */
+    @Transactional
+    public Optional<VoteReceipt> getLatestReceipt(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        VoteReceipt cached = receiptCache.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        List<VoteReceipt> receipts = voteRepository.findReceiptsByUserId(userId, PageRequest.of(0, 1));
+        if (receipts.isEmpty()) {
+            return Optional.empty();
+        }
+        receiptCache.put(userId, receipts.get(0));
+        return Optional.of(receipts.get(0));
+    }
+
     /**
      * Check if user is eligible to vote
+     *
+     * Served from the voter status cache, so a miss costs one statement and
+     * a hit no transaction
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public VotingEligibility checkVotingEligibility(Long userId) {
-        User user = userRepository.findById(userId != null ? userId : 0L)
-                .orElse(null);
+        VoterStatus status = voterStatusService.getStatus(userId).orElse(null);
 
-        if (user == null) {
+        if (status == null) {
             return new VotingEligibility(false, "User not found", null);
         }
 
-        if (!user.getIsActive()) {
-            return new VotingEligibility(false, "User account is not active", user);
+        if (!status.active()) {
+            return new VotingEligibility(false, "User account is not active", status);
         }
 
-        if (!user.getIsVerified()) {
-            return new VotingEligibility(false, "User account is not verified", user);
+        if (!status.verified()) {
+            return new VotingEligibility(false, "User account is not verified", status);
         }
 
-        if (user.isAccountLocked()) {
-            return new VotingEligibility(false, "User account is locked", user);
+        if (status.isLocked()) {
+            return new VotingEligibility(false, "User account is locked", status);
         }
 
         // Check if user has already voted anywhere
-        if (voteRepository.existsByUser(user)) {
-            return new VotingEligibility(false, "User has already voted", user);
+        if (status.hasVoted()) {
+            return new VotingEligibility(false, "User has already voted", status);
         }
 
-        return new VotingEligibility(true, "User is eligible to vote", user);
+        return new VotingEligibility(true, "User is eligible to vote", status);
     }
 
     /**
@@ -150,8 +389,7 @@ public class VotingService {
      * Check if user has voted anywhere
      */
     public boolean hasUserVoted(Long userId) {
-        Optional<User> userOpt = userRepository.findById(userId != null ? userId : 0L);
-        return userOpt.isPresent() && voteRepository.existsByUser(userOpt.get());
+        return userId != null && voterLedgerRepository.existsByUserId(userId);
     }
 
     /**
@@ -167,6 +405,7 @@ public class VotingService {
     /**
      * Get vote results for a constituency
      */
+    @Transactional(readOnly = true)
     public List<VoteResult> getConstituencyResults(Long constituencyId) {
         List<Object[]> results = voteRepository.getVoteResultsByConstituencyId(constituencyId);
 
@@ -180,29 +419,30 @@ public class VotingService {
     /**
      * Get overall voting statistics
      */
+    @Transactional(readOnly = true)
     public VotingStatistics getVotingStatistics() {
-        VotingStatistics stats = new VotingStatistics();
-
-        stats.setTotalVotes(voteRepository.countTotalValidVotes());
-        stats.setUniqueVoters(voteRepository.countUniqueVoters());
-        stats.setConstituenciesWithVotes(voteRepository.countConstituenciesWithVotes());
-        stats.setPartiesWithVotes(voteRepository.countPartiesWithVotes());
+        long uniqueVoters = voteRepository.countUniqueVoters();
 
         // Calculate voter turnout percentage
+        double turnoutPercentage = 0;
         long totalEligibleVoters = userRepository.countActiveVerifiedUsers();
         if (totalEligibleVoters > 0) {
-            double turnoutPercentage = (double) stats.getUniqueVoters() / totalEligibleVoters * 100;
-            stats.setVoterTurnoutPercentage(turnoutPercentage);
+            turnoutPercentage = (double) uniqueVoters / totalEligibleVoters * 100;
         }
 
-        stats.setVotesToday(voteRepository.findVotesToday().size());
-
-        return stats;
+        return new VotingStatistics(
+                voteRepository.countTotalValidVotes(),
+                uniqueVoters,
+                voteRepository.countConstituenciesWithVotes(),
+                voteRepository.countPartiesWithVotes(),
+                turnoutPercentage,
+                voteRepository.findVotesToday().size());
     }
 
     /**
      * Get constituency-wise vote summary
      */
+    @Transactional(readOnly = true)
     public List<ConstituencyVoteSummary> getConstituencyVoteSummary() {
         List<Object[]> results = voteRepository.getConstituencyWiseVoteSummary();
 
@@ -214,9 +454,25 @@ public class VotingService {
                 .toList();
     }
 
+    /**
+     * Get state-wise vote summary
+     */
+    @Transactional(readOnly = true)
+    public List<StateVoteSummary> getStateVoteSummary() {
+        List<Object[]> results = voteRepository.getStateWiseVoteSummary();
+
+        return results.stream()
+                .map(row -> new StateVoteSummary(
+                        (String) row[0], // state
+                        (Long) row[1] // vote count
+                ))
+                .toList();
+    }
+
     /**
      * Get hourly vote distribution for today
      */
+    @Transactional(readOnly = true)
     public List<HourlyVoteDistribution> getHourlyVoteDistribution() {
         List<Object[]> results = voteRepository.getHourlyVoteDistribution();
 
@@ -235,6 +491,9 @@ public class VotingService {
         Vote vote = voteRepository.findById(voteId != null ? voteId : 0L)
                 .orElseThrow(() -> new RuntimeException("Vote not found"));
 
+        if (vote.getStatus() == Vote.VoteStatus.CAST) {
+            voteTallyService.withdraw(vote);
+        }
         vote.setStatus(Vote.VoteStatus.FLAGGED);
         voteRepository.save(vote);
     }
@@ -242,6 +501,7 @@ public class VotingService {
     /**
      * Get suspicious voting patterns
      */
+    @Transactional(readOnly = true)
     public List<SuspiciousVotingPattern> getSuspiciousVotingPatterns(int threshold) {
         List<Object[]> results = voteRepository.findSuspiciousVotingPatterns(threshold);
 
@@ -256,48 +516,86 @@ public class VotingService {
     /**
      * Get voting history for a specific user
      * Returns anonymized voting history without revealing which party was voted for
+     * Read-write, so it is served by the primary rather than a lagging replica
      */
+    @Transactional
     public List<VotingHistory> getVotingHistoryForUser(Long userId) {
-        List<Vote> votes = voteRepository.findByUserIdOrderByVotedAtDesc(userId);
-
-        return votes.stream().map(vote -> {
-            Constituency constituency = vote.getConstituency();
-
-            VotingHistory history = new VotingHistory();
-            history.setId(vote.getId());
-            history.setConstituencyName(constituency.getName());
-            history.setState(constituency.getState());
-            history.setVotedAt(vote.getVotedAt());
-            history.setSessionId(vote.getSessionId());
-            history.setStatus("CONFIRMED");
-            history.setTransactionId(generateTransactionId(vote));
+        return voteRepository.findHistoryByUserId(userId);
+    }
 
-            return history;
-        }).collect(Collectors.toList());
+    /**
+     * Map a vote to its anonymized history entry
+     * Package-private for the JMH benchmarks
+     */
+    static VotingHistory toVotingHistory(Vote vote) {
+        Constituency constituency = vote.getConstituency();
+
+        VotingHistory history = new VotingHistory();
+        history.setId(vote.getId());
+        history.setConstituencyName(constituency.getName());
+        history.setState(constituency.getState());
+        history.setVotedAt(vote.getVotedAt());
+        history.setSessionId(vote.getSessionId());
+        history.setStatus("CONFIRMED");
+        history.setTransactionId(generateTransactionId(vote));
+
+        return history;
     }
 
     /**
      * Generate transaction ID for voting history
      */
-    private String generateTransactionId(Vote vote) {
-        // Generate a unique transaction ID based on vote details
-        // This provides a reference without exposing sensitive information
-        return "VTX" + vote.getId() + "-" +
-                vote.getVotedAt().toLocalDate().toString().replace("-", "") +
-                "-" + String.format("%04d", vote.getId() % 10000);
+    static String generateTransactionId(Vote vote) {
+        return VotingHistory.transactionId(vote.getId(), vote.getVotedAt().toLocalDate());
     }
 
     // DTOs for service responses
 
+    /**
+     * Thrown when a ballot fails validation; the reason is reported as a metric tag
+     */
+    public static class VoteRejectedException extends RuntimeException {
+
+        public enum Reason {
+            USER_NOT_FOUND,
+            ACCOUNT_INACTIVE,
+            NOT_VERIFIED,
+            ACCOUNT_LOCKED,
+            ALREADY_VOTED,
+            CONSTITUENCY_NOT_FOUND,
+            CONSTITUENCY_INACTIVE,
+            CANDIDATE_NOT_FOUND,
+            CANDIDATE_INACTIVE,
+            CANDIDATE_CONSTITUENCY_MISMATCH,
+            PARTY_INACTIVE,
+            PARTY_MISMATCH,
+            SESSION_REQUIRED,
+            SESSION_NOT_FOUND,
+            SESSION_EXPIRED,
+            SESSION_USED
+        }
+
+        private final Reason reason;
+
+        public VoteRejectedException(Reason reason, String message) {
+            super(message);
+            this.reason = reason;
+        }
+
+        public Reason getReason() {
+            return reason;
+        }
+    }
+
     public static class VotingEligibility {
         private boolean eligible;
         private String message;
-        private User user;
+        private VoterStatus status;
 
-        public VotingEligibility(boolean eligible, String message, User user) {
+        public VotingEligibility(boolean eligible, String message, VoterStatus status) {
             this.eligible = eligible;
             this.message = message;
-            this.user = user;
+            this.status = status;
         }
 
         // Getters
@@ -309,8 +607,8 @@ public class VotingService {
             return message;
         }
 
-        public User getUser() {
-            return user;
+        public VoterStatus getStatus() {
+            return status;
         }
     }
 
@@ -333,76 +631,41 @@ public class VotingService {
         }
     }
 
-    public static class VotingStatistics {
-        private long totalVotes;
-        private long uniqueVoters;
-        private long constituenciesWithVotes;
-        private long partiesWithVotes;
-        private double voterTurnoutPercentage;
-        private long votesToday;
+    public record VotingStatistics(long totalVotes, long uniqueVoters, long constituenciesWithVotes,
+            long partiesWithVotes, double voterTurnoutPercentage, long votesToday) {
+    }
 
-        // Getters and setters
-        public long getTotalVotes() {
-            return totalVotes;
-        }
+    public static class ConstituencyVoteSummary {
+        private String constituencyName;
+        private Long totalVotes;
 
-        public void setTotalVotes(long totalVotes) {
+        public ConstituencyVoteSummary(String constituencyName, Long totalVotes) {
+            this.constituencyName = constituencyName;
             this.totalVotes = totalVotes;
         }
 
-        public long getUniqueVoters() {
-            return uniqueVoters;
-        }
-
-        public void setUniqueVoters(long uniqueVoters) {
-            this.uniqueVoters = uniqueVoters;
-        }
-
-        public long getConstituenciesWithVotes() {
-            return constituenciesWithVotes;
-        }
-
-        public void setConstituenciesWithVotes(long constituenciesWithVotes) {
-            this.constituenciesWithVotes = constituenciesWithVotes;
-        }
-
-        public long getPartiesWithVotes() {
-            return partiesWithVotes;
-        }
-
-        public void setPartiesWithVotes(long partiesWithVotes) {
-            this.partiesWithVotes = partiesWithVotes;
-        }
-
-        public double getVoterTurnoutPercentage() {
-            return voterTurnoutPercentage;
-        }
-
-        public void setVoterTurnoutPercentage(double voterTurnoutPercentage) {
-            this.voterTurnoutPercentage = voterTurnoutPercentage;
-        }
-
-        public long getVotesToday() {
-            return votesToday;
+        // Getters
+        public String getConstituencyName() {
+            return constituencyName;
         }
 
-        public void setVotesToday(long votesToday) {
-            this.votesToday = votesToday;
+        public Long getTotalVotes() {
+            return totalVotes;
         }
     }
 
-    public static class ConstituencyVoteSummary {
-        private String constituencyName;
+    public static class StateVoteSummary {
+        private String state;
         private Long totalVotes;
 
-        public ConstituencyVoteSummary(String constituencyName, Long totalVotes) {
-            this.constituencyName = constituencyName;
+        public StateVoteSummary(String state, Long totalVotes) {
+            this.state = state;
             this.totalVotes = totalVotes;
         }
 
         // Getters
-        public String getConstituencyName() {
-            return constituencyName;
+        public String getState() {
+            return state;
         }
 
         public Long getTotalVotes() {
@@ -0,0 +1,565 @@
+package com.voting.system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.voting.system.model.ApiResponse;
+import com.voting.system.model.AuthenticatedVoter;
+import com.voting.system.model.Candidate;
+import com.voting.system.model.Constituency;
+import com.voting.system.model.OTP;
+import com.voting.system.model.User;
+import com.voting.system.model.Vote;
+import com.voting.system.model.VoteConfirmation;
+import com.voting.system.model.VoteReceipt;
+import com.voting.system.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Service class for the start-up warm-up gate
+ *
+ * Runs once the application is up and before Spring Boot reports the
+ * readiness state ACCEPTING_TRAFFIC, which happens only after every
+ * ApplicationReadyEvent listener has returned. The warm-up fills the
+ * connection pool, loads the reference data caches, waits for the
+ * registration filters, rehearses the cast-vote and OTP paths in
+ * transactions that are rolled back, and sends read-only requests through
+ * the web stack so the hot code is compiled before live traffic arrives.
+ * Failing steps are logged and skipped - a node is never held unready.
+ *
+ * The latency of the first real requests after readiness is recorded to
+ * show whether the warm-up removed the post-scale-out latency cliff.
+ */
+@Service
+public class WarmupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupService.class);
+
+    private static final String[] WARMUP_PATHS = {
+            "/api/voting/status", "/api/voting/states", "/api/voting/constituencies" };
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ConstituencyService constituencyService;
+
+    @Autowired
+    private CandidateService candidateService;
+
+    @Autowired
+    private VotingService votingService;
+
+    @Autowired
+    private OTPService otpService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RegistrationFilterService registrationFilterService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${voting.warmup.connections:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int connections;
+
+    @Value("${voting.warmup.rehearsals:20}")
+    private int rehearsals;
+
+    @Value("${voting.warmup.serialization-iterations:2000}")
+    private int serializationIterations;
+
+    @Value("${voting.warmup.http-iterations:20}")
+    private int httpIterations;
+
+    @Value("${voting.warmup.eligibility-timeout-millis:30000}")
+    private long eligibilityTimeoutMillis;
+
+    @Value("${voting.warmup.max-duration-millis:60000}")
+    private long maxDurationMillis;
+
+    @Value("${voting.warmup.first-requests:1000}")
+    private int firstRequests;
+
+    private Timer firstRequestTimer;
+    private AtomicLongArray firstRequestNanos;
+    private final AtomicInteger nextFirstRequest = new AtomicInteger();
+    private final AtomicInteger recordedFirstRequests = new AtomicInteger();
+    private volatile boolean recordingFirstRequests;
+
+    private final Map<String, Long> stepMillis = new LinkedHashMap<>();
+    private volatile boolean completed;
+    private volatile LocalDateTime completedAt;
+    private volatile long durationMillis = -1;
+    private volatile int rehearsalsRun;
+    private volatile int httpRequestsSent;
+    private volatile FirstRequestStats firstRequestStats;
+
+    @PostConstruct
+    public void init() {
+        firstRequestNanos = new AtomicLongArray(Math.max(firstRequests, 1));
+        firstRequestTimer = Timer.builder("voting.warmup.first.requests")
+                .description("Latency of the first real requests after the node became ready")
+                .register(meterRegistry);
+        Gauge.builder("voting.warmup.duration", this, s -> s.durationMillis)
+                .description("Time spent warming up before reporting readiness (-1 until finished)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Warm the node up before it reports itself ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp() {
+        if (!enabled) {
+            completed = true;
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxDurationMillis);
+        logger.info("Warming up before accepting traffic (budget {} ms)", maxDurationMillis);
+
+        runStep("pool", this::fillPool);
+        // Constituency, party and candidate id of one valid ballot, once the catalog is loaded
+        long[] ballot = new long[3];
+        runStep("catalog", () -> loadCatalog(ballot));
+        runStep("eligibility", this::awaitEligibility);
+        runStep("rehearsal", () -> rehearse(ballot, deadline));
+        runStep("serialization", () -> exerciseSerialization(deadline));
+        runStep("http", () -> exerciseHttp(ballot, deadline));
+
+        durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        completedAt = LocalDateTime.now();
+        completed = true;
+        logger.info("Warm-up finished in {} ms {}", durationMillis, stepMillis);
+    }
+
+    private void runStep(String name, Runnable step) {
+        long start = System.nanoTime();
+        try {
+            step.run();
+        } catch (Exception e) {
+            logger.warn("Warm-up step '{}' failed: {}", name, e.getMessage());
+        } finally {
+            stepMillis.put(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Open connections up to the pool size at once so the first requests don't pay for connects
+     */
+    private void fillPool() {
+        DataSource pool = dataSource;
+        try {
+            // Bypass lazy and routing proxies, which would not open a physical connection
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                pool = dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            logger.debug("Using the application DataSource for pool warm-up: {}", e.getMessage());
+        }
+
+        List<Connection> opened = new ArrayList<>();
+        try {
+            for (int i = 0; i < connections; i++) {
+                Connection connection = pool.getConnection();
+                opened.add(connection);
+                connection.isValid(2);
+            }
+        } catch (SQLException e) {
+            logger.warn("Connection pool warmed with {} of {} connections: {}", opened.size(), connections,
+                    e.getMessage());
+        } finally {
+            for (Connection connection : opened) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    logger.debug("Failed to return warm-up connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Load constituencies, parties and candidates into the second-level and query caches
+     */
+    private void loadCatalog(long[] ballot) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            constituencyService.getAllStates();
+            for (Constituency constituency : constituencyService.getAllActiveConstituencies()) {
+                for (Candidate candidate : candidateService.getCandidatesByConstituencyId(constituency.getId())) {
+                    // Initializes the party so it is cached too
+                    if (ballot[2] == 0 && candidate.getParty().getIsActive()) {
+                        ballot[0] = constituency.getId();
+                        ballot[1] = candidate.getParty().getId();
+                        ballot[2] = candidate.getId();
+                    }
+                }
+            }
+        });
+    }
+
+    private void awaitEligibility() {
+        try {
+            if (!registrationFilterService.awaitWarmUp(eligibilityTimeoutMillis)) {
+                logger.warn("Registration filters not ready - signup checks fall through to the database");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Cast votes and issue OTPs for synthetic voters in transactions that are always rolled back
+     */
+    private void rehearse(long[] ballot, long deadline) {
+        if (ballot[2] == 0) {
+            logger.info("No active candidates - vote rehearsal skipped");
+            return;
+        }
+
+        TransactionTemplate rollback = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < rehearsals && System.nanoTime() < deadline; i++) {
+            rollback.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+
+                String email = "warmup-" + UUID.randomUUID() + "@warmup.invalid";
+                User user = new User(email, "{warmup}", "Warm", "Up", null);
+                user.setIsVerified(true);
+                userRepository.saveAndFlush(user);
+
+                AuthenticatedVoter voter = new AuthenticatedVoter(user.getId(), email, true, true, true,
+                        UUID.randomUUID().toString(), Instant.now().plusSeconds(60));
+                otpService.rehearseOTP(email, OTP.OTPPurpose.VOTING_VERIFICATION);
+                votingService.rehearseVote(voter, ballot[0], ballot[1], ballot[2]);
+            });
+            rehearsalsRun++;
+        }
+    }
+
+    /**
+     * Serialize the response shapes of the hot endpoints with the application's ObjectMapper
+     */
+    private void exerciseSerialization(long deadline) {
+        Vote vote = new Vote();
+        vote.setId(1L);
+        vote.setVotedAt(LocalDateTime.now());
+        vote.setSessionId(UUID.randomUUID().toString());
+
+        VoteReceipt receipt = new VoteReceipt(vote.getSessionId(), 1L, "Constituency", "Party", "Candidate",
+                vote.getVotedAt(), "CAST");
+
+        for (int i = 0; i < serializationIterations && System.nanoTime() < deadline; i++) {
+            try {
+                objectMapper.writeValueAsBytes(new ApiResponse(true, "Vote cast successfully", VoteConfirmation.from(vote)));
+                objectMapper.writeValueAsBytes(new ApiResponse(true, "Receipt retrieved", receipt));
+                objectMapper.writeValueAsBytes(new ApiResponse(false, "User has already voted", (String) null));
+            } catch (Exception e) {
+                throw new IllegalStateException("Response serialization failed", e);
+            }
+        }
+    }
+
+    /**
+     * Send read-only requests through the security filters, MVC and message converters
+     */
+    private void exerciseHttp(long[] ballot, long deadline) {
+        String port = environment.getProperty("local.server.port");
+        if (port == null) {
+            return;
+        }
+        String base = "http://localhost:" + port + environment.getProperty("server.servlet.context-path", "");
+
+        List<String> paths = new ArrayList<>(Arrays.asList(WARMUP_PATHS));
+        if (ballot[0] != 0) {
+            paths.add("/api/voting/constituencies/" + ballot[0] + "/parties");
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        for (int i = 0; i < httpIterations && System.nanoTime() < deadline; i++) {
+            for (String path : paths) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(base + path))
+                        .timeout(Duration.ofSeconds(10))
+                        .header("User-Agent", "voting-warmup")
+                        .GET()
+                        .build();
+                try {
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                    httpRequestsSent++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    throw new IllegalStateException("Warm-up request to " + path + " failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Start measuring real requests once the node reports itself ready
+     */
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && firstRequests > 0) {
+            recordingFirstRequests = true;
+        }
+    }
+
+    /**
+     * Record the latency of a request served after readiness; only the first
+     * voting.warmup.first-requests are kept
+     */
+    public void recordRequest(long nanos) {
+        if (!recordingFirstRequests) {
+            return;
+        }
+        int index = nextFirstRequest.getAndIncrement();
+        if (index >= firstRequests) {
+            recordingFirstRequests = false;
+            return;
+        }
+        firstRequestNanos.set(index, nanos);
+        firstRequestTimer.record(nanos, TimeUnit.NANOSECONDS);
+        if (recordedFirstRequests.incrementAndGet() == firstRequests) {
+            summarizeFirstRequests();
+        }
+    }
+
+    private void summarizeFirstRequests() {
+        long[] sorted = new long[firstRequests];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = firstRequestNanos.get(i);
+        }
+        Arrays.sort(sorted);
+
+        FirstRequestStats stats = new FirstRequestStats();
+        stats.setRequests(sorted.length);
+        stats.setP50Millis(percentileMillis(sorted, 0.50));
+        stats.setP90Millis(percentileMillis(sorted, 0.90));
+        stats.setP99Millis(percentileMillis(sorted, 0.99));
+        stats.setMaxMillis(sorted[sorted.length - 1] / 1_000_000.0);
+        firstRequestStats = stats;
+
+        logger.info("First {} requests after readiness (warm-up {}): p50 {} ms, p90 {} ms, p99 {} ms, max {} ms",
+                stats.getRequests(), enabled ? "enabled" : "disabled", stats.getP50Millis(), stats.getP90Millis(), stats.getP99Millis(),
+                stats.getMaxMillis());
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    /**
+     * Get warm-up and first-request statistics
+     */
+    public WarmupStats getWarmupStatistics() {
+        WarmupStats stats = new WarmupStats();
+        stats.setEnabled(enabled);
+        stats.setCompleted(completed);
+        stats.setCompletedAt(completedAt);
+        stats.setDurationMillis(durationMillis);
+        stats.setStepMillis(new LinkedHashMap<>(stepMillis));
+        stats.setRehearsals(rehearsalsRun);
+        stats.setHttpRequests(httpRequestsSent);
+        stats.setFirstRequestsRecorded(Math.min(recordedFirstRequests.get(), firstRequests));
+        stats.setFirstRequests(firstRequestStats);
+        return stats;
+    }
+
+    /**
+     * First Request Statistics DTO
+     */
+    public static class FirstRequestStats {
+        private int requests;
+        private double p50Millis;
+        private double p90Millis;
+        private double p99Millis;
+        private double maxMillis;
+
+        // Getters and setters
+        public int getRequests() {
+            return requests;
+        }
+
+        public void setRequests(int requests) {
+            this.requests = requests;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public void setP50Millis(double p50Millis) {
+            this.p50Millis = p50Millis;
+        }
+
+        public double getP90Millis() {
+            return p90Millis;
+        }
+
+        public void setP90Millis(double p90Millis) {
+            this.p90Millis = p90Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public void setP99Millis(double p99Millis) {
+            this.p99Millis = p99Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+
+        public void setMaxMillis(double maxMillis) {
+            this.maxMillis = maxMillis;
+        }
+    }
+
+    /**
+     * Warm-up Statistics DTO
+     */
+    public static class WarmupStats {
+        private boolean enabled;
+        private boolean completed;
+        private LocalDateTime completedAt;
+        private long durationMillis;
+        private Map<String, Long> stepMillis;
+        private int rehearsals;
+        private int httpRequests;
+        private int firstRequestsRecorded;
+        private FirstRequestStats firstRequests;
+
+        // Getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        public void setCompleted(boolean completed) {
+            this.completed = completed;
+        }
+
+        public LocalDateTime getCompletedAt() {
+            return completedAt;
+        }
+
+        public void setCompletedAt(LocalDateTime completedAt) {
+            this.completedAt = completedAt;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public void setDurationMillis(long durationMillis) {
+            this.durationMillis = durationMillis;
+        }
+
+        public Map<String, Long> getStepMillis() {
+            return stepMillis;
+        }
+
+        public void setStepMillis(Map<String, Long> stepMillis) {
+            this.stepMillis = stepMillis;
+        }
+
+        public int getRehearsals() {
+            return rehearsals;
+        }
+
+        public void setRehearsals(int rehearsals) {
+            this.rehearsals = rehearsals;
+        }
+
+        public int getHttpRequests() {
+            return httpRequests;
+        }
+
+        public void setHttpRequests(int httpRequests) {
+            this.httpRequests = httpRequests;
+        }
+
+        public int getFirstRequestsRecorded() {
+            return firstRequestsRecorded;
+        }
+
+        public void setFirstRequestsRecorded(int firstRequestsRecorded) {
+            this.firstRequestsRecorded = firstRequestsRecorded;
+        }
+
+        public FirstRequestStats getFirstRequests() {
+            return firstRequests;
+        }
+
+        public void setFirstRequests(FirstRequestStats firstRequests) {
+            this.firstRequests = firstRequests;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.voting.system.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Non-cryptographic hashing helpers
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * 64-bit FNV-1a over UTF-8 bytes, finished with a murmur-style mix
+     */
+    public static long hash64(String value) {
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        long h = 0xcbf29ce484222325L;
+        for (byte b : data) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe1a85ec3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,218 @@
+package com.voting.system.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel for large numbers of deadlines
+ *
+ * Time is divided into ticks. The lowest wheel has one slot per tick; each
+ * higher wheel has one slot per full turn of the wheel below it. A deadline
+ * goes into the lowest wheel whose span covers it, and is moved down a level
+ * whenever the wheel below comes round to its slot. Scheduling and cancelling
+ * are O(1), and advancing costs one slot per elapsed tick plus the entries that
+ * are due, however many deadlines are pending. Deadlines fire at tick
+ * precision, never early.
+ *
+ * All operations lock the wheel; advance() returns the due values so callers
+ * handle them outside the lock.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final long originMillis;
+    private final int wheelBits;
+    private final int mask;
+    private final int levels;
+    private final long maxTicks;
+    private final Timeout<T>[][] slots;
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * Create a wheel of 64-slot levels covering at least the given span
+     *
+     * @param tickMillis  precision of the deadlines
+     * @param spanMillis  longest delay that is placed directly; longer ones are re-placed as time passes
+     * @param startMillis the current time
+     */
+    public HierarchicalTimingWheel(long tickMillis, long spanMillis, long startMillis) {
+        this(tickMillis, 6, levelsFor(tickMillis, spanMillis, 6), startMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelBits, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelBits < 1 || levels < 1 || (long) wheelBits * levels > 62) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.originMillis = startMillis;
+        this.wheelBits = wheelBits;
+        this.mask = (1 << wheelBits) - 1;
+        this.levels = levels;
+        this.maxTicks = 1L << (wheelBits * levels);
+        this.slots = new Timeout[levels][1 << wheelBits];
+    }
+
+    private static int levelsFor(long tickMillis, long spanMillis, int wheelBits) {
+        long ticks = Math.max(1, spanMillis / Math.max(1, tickMillis) + 1);
+        int levels = 1;
+        while (levels * wheelBits < 62 && (1L << (levels * wheelBits)) <= ticks) {
+            levels++;
+        }
+        return levels;
+    }
+
+    /**
+     * Schedule a value; a deadline already passed fires on the next tick
+     */
+    public synchronized Timeout<T> schedule(T value, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(this, value, deadlineMillis,
+                Math.max(currentTick + 1, ceilTick(deadlineMillis)));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Move time forward, returning every value whose deadline has passed
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis - originMillis, tickMillis);
+        List<T> due = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Higher wheels first, so entries cascaded down a level are cascaded again this tick
+            for (int level = levels - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (wheelBits * level)) - 1)) == 0) {
+                    cascade(level, (int) (currentTick >>> (wheelBits * level)) & mask);
+                }
+            }
+            int index = (int) currentTick & mask;
+            Timeout<T> timeout = slots[0][index];
+            slots[0][index] = null;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.unlink();
+                if (timeout.deadlineTick > currentTick) {
+                    // Parked beyond a single-level wheel's span
+                    place(timeout);
+                } else {
+                    size--;
+                    due.add(timeout.value);
+                }
+                timeout = next;
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Number of scheduled, not yet fired or cancelled values
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    private synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.level < 0) {
+            return false;
+        }
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[timeout.level][timeout.index] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.unlink();
+        size--;
+        return true;
+    }
+
+    private void cascade(int level, int index) {
+        Timeout<T> timeout = slots[level][index];
+        slots[level][index] = null;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.unlink();
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        // Beyond the last wheel: park in its farthest slot and re-place on the way down
+        long tick = Math.max(currentTick, Math.min(timeout.deadlineTick, currentTick + maxTicks - 1));
+        long delta = tick - currentTick;
+        int level = 0;
+        while (level < levels - 1 && delta >= 1L << (wheelBits * (level + 1))) {
+            level++;
+        }
+        int index = (int) (tick >>> (wheelBits * level)) & mask;
+
+        timeout.level = level;
+        timeout.index = index;
+        timeout.prev = null;
+        timeout.next = slots[level][index];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        slots[level][index] = timeout;
+    }
+
+    private long ceilTick(long millis) {
+        return -Math.floorDiv(originMillis - millis, tickMillis);
+    }
+
+    /**
+     * Handle to a scheduled value
+     */
+    public static final class Timeout<T> {
+
+        private final HierarchicalTimingWheel<T> wheel;
+        private final T value;
+        private final long deadlineMillis;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private int level = -1;
+        private int index;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, T value, long deadlineMillis, long deadlineTick) {
+            this.wheel = wheel;
+            this.value = value;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Remove the value from the wheel
+         *
+         * @return false if it had already fired or been cancelled
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        private void unlink() {
+            prev = null;
+            next = null;
+            level = -1;
+        }
+    }
+}
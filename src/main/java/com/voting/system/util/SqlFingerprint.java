@@ -0,0 +1,80 @@
+package com.voting.system.util;
+
+/**
+ * Reduces a SQL statement to a fingerprint shared by every execution of the same query shape
+ *
+ * Literals become ?, IN lists collapse to (?+), whitespace is collapsed and
+ * everything outside quoted identifiers is upper-cased. Statements generated
+ * by Hibernate are already parameterized, so this mostly matters for
+ * hand-written SQL and for IN lists of varying length.
+ */
+public final class SqlFingerprint {
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = sql.charAt(i);
+
+            if (c == '\'') {
+                // String literal, with '' as an escaped quote
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+                out.append('?');
+            } else if (c == '"') {
+                // Quoted identifier - kept as written
+                int end = sql.indexOf('"', i + 1);
+                end = end < 0 ? length - 1 : end;
+                out.append(sql, i, end + 1);
+                i = end + 1;
+            } else if (Character.isDigit(c) && !isIdentifierPart(out)) {
+                while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (Character.isWhitespace(c)) {
+                while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (out.length() > 0) {
+                    out.append(' ');
+                }
+            } else {
+                out.append(Character.toUpperCase(c));
+                i++;
+            }
+        }
+
+        return collapseInLists(out.toString().trim());
+    }
+
+    private static boolean isIdentifierPart(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char previous = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$';
+    }
+
+    private static String collapseInLists(String sql) {
+        if (!sql.contains("?,") && !sql.contains("?, ")) {
+            return sql;
+        }
+        return sql.replaceAll("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)", "(?+)");
+    }
+}
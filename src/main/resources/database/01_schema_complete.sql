@@ -7,6 +7,9 @@
 -- =====================================================
 
 -- Drop existing tables if needed (uncomment to use)
+-- DROP TABLE VOTING_REPLICA_HEARTBEAT;
+-- DROP TABLE VOTING_IMPORT_CHECKPOINTS;
+-- DROP TABLE VOTING_REVOKED_TOKENS;
 -- DROP TABLE VOTING_VOTES;
 -- DROP TABLE VOTING_VOTE_SESSIONS;
 -- DROP TABLE VOTING_CANDIDATES;
@@ -20,7 +23,7 @@
 -- =====================================================
 CREATE TABLE VOTING_USERS (
     ID NUMBER(19) PRIMARY KEY,
-    EMAIL VARCHAR2(255) NOT NULL UNIQUE,
+    EMAIL VARCHAR2(255) NOT NULL,
     PASSWORD_HASH VARCHAR2(255) NOT NULL,
     FIRST_NAME VARCHAR2(100) NOT NULL,
     LAST_NAME VARCHAR2(100) NOT NULL,
@@ -30,13 +33,21 @@ CREATE TABLE VOTING_USERS (
     FAILED_LOGIN_ATTEMPTS NUMBER(2) DEFAULT 0,
     ACCOUNT_LOCKED_UNTIL TIMESTAMP,
     CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    -- Emails are stored normalized so lookups can use plain equality on the index
+    CONSTRAINT CHK_VOTING_USERS_EMAIL_LOWER CHECK (EMAIL = LOWER(TRIM(EMAIL))),
+
+    -- Registration is a single INSERT that relies on these for duplicates
+    CONSTRAINT UK_VOTING_USERS_EMAIL UNIQUE (EMAIL),
+    CONSTRAINT UK_VOTING_USERS_PHONE UNIQUE (PHONE_NUMBER)
 );
 
 -- Create sequence for VOTING_USERS table
+-- Increment matches the allocation size of the User ID generator (blocks of 50)
 CREATE SEQUENCE SEQ_VOTING_USERS
     START WITH 1
-    INCREMENT BY 1
+    INCREMENT BY 50
     NOCACHE
     NOCYCLE;
 
@@ -240,6 +251,7 @@ CREATE TABLE VOTING_VOTES (
     VOTED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     IP_ADDRESS VARCHAR2(45), -- IPv4 or IPv6
     USER_AGENT CLOB, -- Browser information
+    NODE_ID VARCHAR2(64), -- Application node that accepted the vote (VOTING_VOTE_TALLIES)
     
     -- Foreign key constraints
     CONSTRAINT FK_VOTING_VOTES_USER_ID FOREIGN KEY (USER_ID) REFERENCES VOTING_USERS(ID),
@@ -304,12 +316,106 @@ BEGIN
 END;
 /
 
+-- =====================================================
+-- 8. VOTING_REVOKED_TOKENS TABLE
+-- =====================================================
+-- Access tokens revoked by logout. Rows are only needed until the token
+-- would have expired anyway; nodes poll this table by REVOKED_AT.
+CREATE TABLE VOTING_REVOKED_TOKENS (
+    TOKEN_ID VARCHAR2(64) PRIMARY KEY,
+    USER_ID NUMBER(19),
+    EXPIRES_AT TIMESTAMP NOT NULL,
+    REVOKED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- =====================================================
+-- 9. VOTING_IMPORT_CHECKPOINTS TABLE
+-- =====================================================
+-- Progress of bulk voter roll imports, keyed by a hash of the file's
+-- path, size and modification time. Updated in the same transaction as
+-- each imported batch so an interrupted import can resume.
+CREATE TABLE VOTING_IMPORT_CHECKPOINTS (
+    FILE_KEY VARCHAR2(64) PRIMARY KEY,
+    FILE_NAME VARCHAR2(500) NOT NULL,
+    LAST_LINE NUMBER(19) DEFAULT 0 NOT NULL,
+    ROWS_IMPORTED NUMBER(19) DEFAULT 0 NOT NULL,
+    ROWS_INVALID NUMBER(19) DEFAULT 0 NOT NULL,
+    ROWS_DUPLICATE NUMBER(19) DEFAULT 0 NOT NULL,
+    ROWS_EXISTING NUMBER(19) DEFAULT 0 NOT NULL,
+    STATUS VARCHAR2(20) NOT NULL CHECK (STATUS IN ('RUNNING', 'FAILED', 'COMPLETED')),
+    STARTED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    COMPLETED_AT TIMESTAMP
+);
+
+-- =====================================================
+-- 10. VOTING_REPLICA_HEARTBEAT TABLE
+-- =====================================================
+-- Single row written on the primary and read back from the read replica
+-- to measure replication lag (voting.datasource.replica.*).
+CREATE TABLE VOTING_REPLICA_HEARTBEAT (
+    ID NUMBER(19) PRIMARY KEY,
+    BEAT_MILLIS NUMBER(19) NOT NULL
+);
+
+-- =====================================================
+-- 11. VOTING_VOTER_LEDGER TABLE
+-- =====================================================
+-- One row per voter who has voted, inserted in the same transaction as the
+-- vote. UK_VOTING_VOTER_LEDGER_USER enforces one vote per voter in the
+-- election; a second ballot fails on this key instead of a prior lookup.
+CREATE TABLE VOTING_VOTER_LEDGER (
+    VOTE_ID NUMBER(19) PRIMARY KEY,
+    USER_ID NUMBER(19) NOT NULL,
+    VOTED_AT TIMESTAMP NOT NULL,
+
+    CONSTRAINT UK_VOTING_VOTER_LEDGER_USER UNIQUE (USER_ID),
+    CONSTRAINT FK_VOTING_VOTER_LEDGER_VOTE_ID FOREIGN KEY (VOTE_ID) REFERENCES VOTING_VOTES(ID),
+    CONSTRAINT FK_VOTING_VOTER_LEDGER_USER_ID FOREIGN KEY (USER_ID) REFERENCES VOTING_USERS(ID)
+);
+
+-- =====================================================
+-- 12. VOTING_CACHE_VERSIONS TABLE
+-- =====================================================
+-- One row per domain cached on each node (voting.cache-coherence.*).
+-- Admin changes increment VERSION in the same transaction; nodes poll
+-- the table and drop their cached copies of a domain when it moves.
+CREATE TABLE VOTING_CACHE_VERSIONS (
+    DOMAIN_NAME VARCHAR2(30) PRIMARY KEY CHECK (DOMAIN_NAME IN ('CONSTITUENCIES', 'PARTIES', 'CANDIDATES', 'USERS')),
+    VERSION NUMBER(19) DEFAULT 0 NOT NULL,
+    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+INSERT INTO VOTING_CACHE_VERSIONS (DOMAIN_NAME) VALUES ('CONSTITUENCIES');
+INSERT INTO VOTING_CACHE_VERSIONS (DOMAIN_NAME) VALUES ('PARTIES');
+INSERT INTO VOTING_CACHE_VERSIONS (DOMAIN_NAME) VALUES ('CANDIDATES');
+INSERT INTO VOTING_CACHE_VERSIONS (DOMAIN_NAME) VALUES ('USERS');
+
+-- =====================================================
+-- 13. VOTING_VOTE_TALLIES TABLE
+-- =====================================================
+-- Each node's count of the ballots it accepted, per constituency and
+-- candidate (voting.tally.*). A node only raises its own rows; results
+-- sum CAST_COUNT - WITHDRAWN_COUNT over all nodes. Rows can be rebuilt
+-- from VOTING_VOTES.NODE_ID, so no foreign keys are needed.
+CREATE TABLE VOTING_VOTE_TALLIES (
+    NODE_ID VARCHAR2(64) NOT NULL,
+    CONSTITUENCY_ID NUMBER(19) NOT NULL,
+    CANDIDATE_ID NUMBER(19) NOT NULL,
+    CAST_COUNT NUMBER(19) DEFAULT 0 NOT NULL,
+    WITHDRAWN_COUNT NUMBER(19) DEFAULT 0 NOT NULL,
+    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+    CONSTRAINT PK_VOTING_VOTE_TALLIES PRIMARY KEY (NODE_ID, CONSTITUENCY_ID, CANDIDATE_ID)
+);
+
 -- =====================================================
 -- INDEXES FOR PERFORMANCE
 -- =====================================================
 
 -- Users table indexes
-CREATE INDEX IDX_VOTING_USERS_EMAIL ON VOTING_USERS(EMAIL);
+-- Email lookups compare the stored normalized value (EMAIL = :email), never LOWER(EMAIL),
+-- and are served by the UK_VOTING_USERS_EMAIL unique index (likewise PHONE_NUMBER)
 CREATE INDEX IDX_VOTING_USERS_VERIFIED ON VOTING_USERS(IS_VERIFIED);
 CREATE INDEX IDX_VOTING_USERS_ACTIVE ON VOTING_USERS(IS_ACTIVE);
 
@@ -332,12 +438,17 @@ CREATE INDEX IDX_VOTING_VOTES_CANDIDATE_ID ON VOTING_VOTES(CANDIDATE_ID);
 CREATE INDEX IDX_VOTING_VOTES_SESSION_ID ON VOTING_VOTES(SESSION_ID);
 CREATE INDEX IDX_VOTING_VOTES_STATUS ON VOTING_VOTES(STATUS);
 CREATE INDEX IDX_VOTING_VOTES_VOTED_AT ON VOTING_VOTES(VOTED_AT);
+CREATE INDEX IDX_VOTING_VOTES_NODE_ID ON VOTING_VOTES(NODE_ID);
 
 -- Vote sessions indexes
 CREATE INDEX IDX_VOTING_VOTE_SESSIONS_SESSION_ID ON VOTING_VOTE_SESSIONS(SESSION_ID);
 CREATE INDEX IDX_VOTING_VOTE_SESSIONS_USER_ID ON VOTING_VOTE_SESSIONS(USER_ID);
 CREATE INDEX IDX_VOTING_VOTE_SESSIONS_EXPIRES_AT ON VOTING_VOTE_SESSIONS(EXPIRES_AT);
 
+-- Revoked tokens indexes
+CREATE INDEX IDX_VOTING_REVOKED_TOKENS_REVOKED_AT ON VOTING_REVOKED_TOKENS(REVOKED_AT);
+CREATE INDEX IDX_VOTING_REVOKED_TOKENS_EXPIRES_AT ON VOTING_REVOKED_TOKENS(EXPIRES_AT);
+
 -- =====================================================
 -- STORED PROCEDURES
 -- =====================================================
@@ -373,5 +484,6 @@ ORDER BY sequence_name;
 SELECT index_name, table_name, uniqueness 
 FROM user_indexes 
 WHERE table_name IN ('VOTING_USERS', 'VOTING_OTP_VERIFICATION', 'VOTING_CONSTITUENCIES', 
-                     'VOTING_PARTIES', 'VOTING_VOTES', 'VOTING_VOTE_SESSIONS')
+                     'VOTING_PARTIES', 'VOTING_VOTES', 'VOTING_VOTE_SESSIONS',
+                     'VOTING_REVOKED_TOKENS', 'VOTING_IMPORT_CHECKPOINTS')
 ORDER BY table_name, index_name;
@@ -0,0 +1,25 @@
+-- =====================================================
+-- ONLINE VOTING SYSTEM - NORMALIZE USER EMAILS
+-- =====================================================
+-- Upgrade script for databases created before emails were
+-- looked up by plain equality on the indexed EMAIL column.
+-- New installations get the constraint from 01_schema_complete.sql.
+-- Version: 1.0.0
+-- =====================================================
+
+-- 1. Find accounts that would collide once normalized (resolve manually first)
+SELECT LOWER(TRIM(EMAIL)) AS NORMALIZED_EMAIL, COUNT(*) AS ACCOUNTS
+FROM VOTING_USERS
+GROUP BY LOWER(TRIM(EMAIL))
+HAVING COUNT(*) > 1;
+
+-- 2. Normalize stored emails
+UPDATE VOTING_USERS
+SET EMAIL = LOWER(TRIM(EMAIL))
+WHERE EMAIL <> LOWER(TRIM(EMAIL));
+
+-- 3. Keep them normalized
+ALTER TABLE VOTING_USERS
+    ADD CONSTRAINT CHK_VOTING_USERS_EMAIL_LOWER CHECK (EMAIL = LOWER(TRIM(EMAIL)));
+
+COMMIT;
@@ -0,0 +1,59 @@
+-- =====================================================
+-- ONLINE VOTING SYSTEM - USER REGISTRATION CONSTRAINTS
+-- =====================================================
+-- Upgrade script for databases created before registration
+-- became a single INSERT. New installations get these from
+-- 01_schema_complete.sql. Run after 03_normalize_user_emails.sql.
+-- Version: 1.0.0
+-- =====================================================
+
+-- 1. Find phone numbers shared by several accounts (resolve manually first)
+SELECT PHONE_NUMBER, COUNT(*) AS ACCOUNTS
+FROM VOTING_USERS
+WHERE PHONE_NUMBER IS NOT NULL
+GROUP BY PHONE_NUMBER
+HAVING COUNT(*) > 1;
+
+-- 2. Phone numbers must be unique; duplicates are detected by the INSERT itself
+ALTER TABLE VOTING_USERS
+    ADD CONSTRAINT UK_VOTING_USERS_PHONE UNIQUE (PHONE_NUMBER);
+
+-- 3. Name the email constraint; the application recognizes a duplicate email
+--    by the constraint name in the violation (UK_VOTING_USERS_EMAIL). Older
+--    schemas declared EMAIL ... UNIQUE, which Oracle named SYS_Cnnnnnn.
+DECLARE
+    v_constraint USER_CONSTRAINTS.CONSTRAINT_NAME%TYPE;
+    v_index USER_CONSTRAINTS.INDEX_NAME%TYPE;
+BEGIN
+    SELECT c.CONSTRAINT_NAME, c.INDEX_NAME INTO v_constraint, v_index
+    FROM USER_CONSTRAINTS c
+    WHERE c.TABLE_NAME = 'VOTING_USERS'
+      AND c.CONSTRAINT_TYPE = 'U'
+      AND (SELECT COUNT(*) FROM USER_CONS_COLUMNS cc
+           WHERE cc.CONSTRAINT_NAME = c.CONSTRAINT_NAME) = 1
+      AND EXISTS (SELECT 1 FROM USER_CONS_COLUMNS cc
+                  WHERE cc.CONSTRAINT_NAME = c.CONSTRAINT_NAME AND cc.COLUMN_NAME = 'EMAIL');
+
+    IF v_constraint <> 'UK_VOTING_USERS_EMAIL' THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE VOTING_USERS RENAME CONSTRAINT "' || v_constraint
+            || '" TO UK_VOTING_USERS_EMAIL';
+        IF v_index = v_constraint THEN
+            EXECUTE IMMEDIATE 'ALTER INDEX "' || v_index || '" RENAME TO UK_VOTING_USERS_EMAIL';
+        END IF;
+    END IF;
+EXCEPTION
+    WHEN NO_DATA_FOUND THEN
+        -- No unique constraint on EMAIL at all: add the named one
+        EXECUTE IMMEDIATE 'ALTER TABLE VOTING_USERS ADD CONSTRAINT UK_VOTING_USERS_EMAIL UNIQUE (EMAIL)';
+END;
+/
+
+-- 4. User IDs are allocated by the application in blocks of 50
+ALTER SEQUENCE SEQ_VOTING_USERS INCREMENT BY 50;
+
+-- Note: both unique constraints must carry these names. Registration reports
+-- "User with this email already exists" or "...phone number already exists"
+-- only when the violation names UK_VOTING_USERS_EMAIL or UK_VOTING_USERS_PHONE;
+-- any other violation reaches the client as a database error.
+
+COMMIT;
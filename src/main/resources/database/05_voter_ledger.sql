@@ -0,0 +1,39 @@
+-- =====================================================
+-- ONLINE VOTING SYSTEM - VOTER LEDGER
+-- =====================================================
+-- Upgrade script for databases created before one vote per
+-- voter was enforced by the VOTING_VOTER_LEDGER unique key.
+-- New installations get the table from 01_schema_complete.sql.
+-- Run after 04_user_registration_constraints.sql, with voting closed.
+-- Version: 1.0.0
+-- =====================================================
+
+-- 1. Find voters with more than one vote (resolve manually first; only
+--    their earliest vote is copied to the ledger below)
+SELECT USER_ID, COUNT(*) AS VOTES
+FROM VOTING_VOTES
+GROUP BY USER_ID
+HAVING COUNT(*) > 1;
+
+-- 2. Ledger table
+CREATE TABLE VOTING_VOTER_LEDGER (
+    VOTE_ID NUMBER(19) PRIMARY KEY,
+    USER_ID NUMBER(19) NOT NULL,
+    VOTED_AT TIMESTAMP NOT NULL,
+
+    CONSTRAINT UK_VOTING_VOTER_LEDGER_USER UNIQUE (USER_ID),
+    CONSTRAINT FK_VOTING_VOTER_LEDGER_VOTE_ID FOREIGN KEY (VOTE_ID) REFERENCES VOTING_VOTES(ID),
+    CONSTRAINT FK_VOTING_VOTER_LEDGER_USER_ID FOREIGN KEY (USER_ID) REFERENCES VOTING_USERS(ID)
+);
+
+-- 3. One ledger row per voter from the existing votes
+INSERT INTO VOTING_VOTER_LEDGER (VOTE_ID, USER_ID, VOTED_AT)
+SELECT ID, USER_ID, NVL(VOTED_AT, CURRENT_TIMESTAMP)
+FROM (
+    SELECT V.ID, V.USER_ID, V.VOTED_AT,
+           ROW_NUMBER() OVER (PARTITION BY V.USER_ID ORDER BY V.VOTED_AT, V.ID) AS RN
+    FROM VOTING_VOTES V
+)
+WHERE RN = 1;
+
+COMMIT;
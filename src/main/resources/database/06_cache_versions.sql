@@ -0,0 +1,23 @@
+-- =====================================================
+-- ONLINE VOTING SYSTEM - CACHE VERSIONS
+-- =====================================================
+-- Upgrade script for databases created before node-local caches
+-- were kept coherent through VOTING_CACHE_VERSIONS. New
+-- installations get the table from 01_schema_complete.sql.
+-- Run after 05_voter_ledger.sql, before deploying the release
+-- (admin updates fail while the table is missing).
+-- Version: 1.0.0
+-- =====================================================
+
+CREATE TABLE VOTING_CACHE_VERSIONS (
+    DOMAIN_NAME VARCHAR2(30) PRIMARY KEY CHECK (DOMAIN_NAME IN ('CONSTITUENCIES', 'PARTIES', 'CANDIDATES', 'USERS')),
+    VERSION NUMBER(19) DEFAULT 0 NOT NULL,
+    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+INSERT INTO VOTING_CACHE_VERSIONS (DOMAIN_NAME) VALUES ('CONSTITUENCIES');
+INSERT INTO VOTING_CACHE_VERSIONS (DOMAIN_NAME) VALUES ('PARTIES');
+INSERT INTO VOTING_CACHE_VERSIONS (DOMAIN_NAME) VALUES ('CANDIDATES');
+INSERT INTO VOTING_CACHE_VERSIONS (DOMAIN_NAME) VALUES ('USERS');
+
+COMMIT;
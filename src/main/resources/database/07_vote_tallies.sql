@@ -0,0 +1,28 @@
+-- =====================================================
+-- ONLINE VOTING SYSTEM - VOTE TALLIES
+-- =====================================================
+-- Upgrade script for databases created before overall results were
+-- served from per-node tallies. New installations get the column and
+-- table from 01_schema_complete.sql.
+-- Run after 06_cache_versions.sql, before deploying the release.
+-- Existing votes keep NODE_ID NULL; the first node to start counts
+-- them into the 'untracked' tally rows (voting.tally.rebuild-on-startup).
+-- Version: 1.0.0
+-- =====================================================
+
+ALTER TABLE VOTING_VOTES ADD (NODE_ID VARCHAR2(64));
+
+CREATE INDEX IDX_VOTING_VOTES_NODE_ID ON VOTING_VOTES(NODE_ID);
+
+CREATE TABLE VOTING_VOTE_TALLIES (
+    NODE_ID VARCHAR2(64) NOT NULL,
+    CONSTITUENCY_ID NUMBER(19) NOT NULL,
+    CANDIDATE_ID NUMBER(19) NOT NULL,
+    CAST_COUNT NUMBER(19) DEFAULT 0 NOT NULL,
+    WITHDRAWN_COUNT NUMBER(19) DEFAULT 0 NOT NULL,
+    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+    CONSTRAINT PK_VOTING_VOTE_TALLIES PRIMARY KEY (NODE_ID, CONSTITUENCY_ID, CANDIDATE_ID)
+);
+
+COMMIT;
@@ -0,0 +1,23 @@
+-- =====================================================
+-- ONLINE VOTING SYSTEM - REVOKED TOKENS
+-- =====================================================
+-- Upgrade script for databases created before access tokens could be
+-- revoked on logout. New installations get the table from
+-- 01_schema_complete.sql.
+-- Run after 07_vote_tallies.sql, before deploying the release.
+-- Rows are only needed until the token would have expired anyway;
+-- nodes poll the table by REVOKED_AT.
+-- Version: 1.0.0
+-- =====================================================
+
+CREATE TABLE VOTING_REVOKED_TOKENS (
+    TOKEN_ID VARCHAR2(64) PRIMARY KEY,
+    USER_ID NUMBER(19),
+    EXPIRES_AT TIMESTAMP NOT NULL,
+    REVOKED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_VOTING_REVOKED_TOKENS_REVOKED_AT ON VOTING_REVOKED_TOKENS(REVOKED_AT);
+CREATE INDEX IDX_VOTING_REVOKED_TOKENS_EXPIRES_AT ON VOTING_REVOKED_TOKENS(EXPIRES_AT);
+
+COMMIT;
@@ -0,0 +1,27 @@
+-- =====================================================
+-- ONLINE VOTING SYSTEM - IMPORT CHECKPOINTS
+-- =====================================================
+-- Upgrade script for databases created before the bulk voter roll
+-- importer. New installations get the table from 01_schema_complete.sql.
+-- Run after 08_revoked_tokens.sql, before deploying the release.
+-- Rows are keyed by a hash of the file's path, size and modification
+-- time and updated with each imported batch, so an interrupted import
+-- can resume.
+-- Version: 1.0.0
+-- =====================================================
+
+CREATE TABLE VOTING_IMPORT_CHECKPOINTS (
+    FILE_KEY VARCHAR2(64) PRIMARY KEY,
+    FILE_NAME VARCHAR2(500) NOT NULL,
+    LAST_LINE NUMBER(19) DEFAULT 0 NOT NULL,
+    ROWS_IMPORTED NUMBER(19) DEFAULT 0 NOT NULL,
+    ROWS_INVALID NUMBER(19) DEFAULT 0 NOT NULL,
+    ROWS_DUPLICATE NUMBER(19) DEFAULT 0 NOT NULL,
+    ROWS_EXISTING NUMBER(19) DEFAULT 0 NOT NULL,
+    STATUS VARCHAR2(20) NOT NULL CHECK (STATUS IN ('RUNNING', 'FAILED', 'COMPLETED')),
+    STARTED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    COMPLETED_AT TIMESTAMP
+);
+
+COMMIT;
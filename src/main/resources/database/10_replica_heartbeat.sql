@@ -0,0 +1,19 @@
+-- =====================================================
+-- ONLINE VOTING SYSTEM - REPLICA HEARTBEAT
+-- =====================================================
+-- Upgrade script for databases created before read-only transactions
+-- could be routed to a read replica. New installations get the table
+-- from 01_schema_complete.sql.
+-- Run on the primary after 09_import_checkpoints.sql, before deploying
+-- the release; the replica receives it through replication.
+-- Nodes with voting.datasource.replica.enabled insert the single row
+-- themselves and read it back from the replica to measure lag.
+-- Version: 1.0.0
+-- =====================================================
+
+CREATE TABLE VOTING_REPLICA_HEARTBEAT (
+    ID NUMBER(19) PRIMARY KEY,
+    BEAT_MILLIS NUMBER(19) NOT NULL
+);
+
+COMMIT;
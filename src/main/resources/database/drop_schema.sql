@@ -14,6 +14,84 @@
 -- =====================================================
 
 -- Drop tables that have foreign key dependencies first
+BEGIN
+    EXECUTE IMMEDIATE 'DROP TABLE VOTING_VOTE_TALLIES CASCADE CONSTRAINTS';
+    DBMS_OUTPUT.PUT_LINE('Table VOTING_VOTE_TALLIES dropped successfully.');
+EXCEPTION
+    WHEN OTHERS THEN
+        IF SQLCODE != -942 THEN
+            DBMS_OUTPUT.PUT_LINE('Error dropping VOTING_VOTE_TALLIES: ' || SQLERRM);
+        ELSE
+            DBMS_OUTPUT.PUT_LINE('Table VOTING_VOTE_TALLIES does not exist.');
+        END IF;
+END;
+/
+
+BEGIN
+    EXECUTE IMMEDIATE 'DROP TABLE VOTING_CACHE_VERSIONS CASCADE CONSTRAINTS';
+    DBMS_OUTPUT.PUT_LINE('Table VOTING_CACHE_VERSIONS dropped successfully.');
+EXCEPTION
+    WHEN OTHERS THEN
+        IF SQLCODE != -942 THEN
+            DBMS_OUTPUT.PUT_LINE('Error dropping VOTING_CACHE_VERSIONS: ' || SQLERRM);
+        ELSE
+            DBMS_OUTPUT.PUT_LINE('Table VOTING_CACHE_VERSIONS does not exist.');
+        END IF;
+END;
+/
+
+BEGIN
+    EXECUTE IMMEDIATE 'DROP TABLE VOTING_VOTER_LEDGER CASCADE CONSTRAINTS';
+    DBMS_OUTPUT.PUT_LINE('Table VOTING_VOTER_LEDGER dropped successfully.');
+EXCEPTION
+    WHEN OTHERS THEN
+        IF SQLCODE != -942 THEN
+            DBMS_OUTPUT.PUT_LINE('Error dropping VOTING_VOTER_LEDGER: ' || SQLERRM);
+        ELSE
+            DBMS_OUTPUT.PUT_LINE('Table VOTING_VOTER_LEDGER does not exist.');
+        END IF;
+END;
+/
+
+BEGIN
+    EXECUTE IMMEDIATE 'DROP TABLE VOTING_REPLICA_HEARTBEAT CASCADE CONSTRAINTS';
+    DBMS_OUTPUT.PUT_LINE('Table VOTING_REPLICA_HEARTBEAT dropped successfully.');
+EXCEPTION
+    WHEN OTHERS THEN
+        IF SQLCODE != -942 THEN
+            DBMS_OUTPUT.PUT_LINE('Error dropping VOTING_REPLICA_HEARTBEAT: ' || SQLERRM);
+        ELSE
+            DBMS_OUTPUT.PUT_LINE('Table VOTING_REPLICA_HEARTBEAT does not exist.');
+        END IF;
+END;
+/
+
+BEGIN
+    EXECUTE IMMEDIATE 'DROP TABLE VOTING_IMPORT_CHECKPOINTS CASCADE CONSTRAINTS';
+    DBMS_OUTPUT.PUT_LINE('Table VOTING_IMPORT_CHECKPOINTS dropped successfully.');
+EXCEPTION
+    WHEN OTHERS THEN
+        IF SQLCODE != -942 THEN
+            DBMS_OUTPUT.PUT_LINE('Error dropping VOTING_IMPORT_CHECKPOINTS: ' || SQLERRM);
+        ELSE
+            DBMS_OUTPUT.PUT_LINE('Table VOTING_IMPORT_CHECKPOINTS does not exist.');
+        END IF;
+END;
+/
+
+BEGIN
+    EXECUTE IMMEDIATE 'DROP TABLE VOTING_REVOKED_TOKENS CASCADE CONSTRAINTS';
+    DBMS_OUTPUT.PUT_LINE('Table VOTING_REVOKED_TOKENS dropped successfully.');
+EXCEPTION
+    WHEN OTHERS THEN
+        IF SQLCODE != -942 THEN
+            DBMS_OUTPUT.PUT_LINE('Error dropping VOTING_REVOKED_TOKENS: ' || SQLERRM);
+        ELSE
+            DBMS_OUTPUT.PUT_LINE('Table VOTING_REVOKED_TOKENS does not exist.');
+        END IF;
+END;
+/
+
 BEGIN
     EXECUTE IMMEDIATE 'DROP TABLE VOTING_VOTE_SESSIONS CASCADE CONSTRAINTS';
     DBMS_OUTPUT.PUT_LINE('Table VOTING_VOTE_SESSIONS dropped successfully.');
@@ -352,6 +430,21 @@ BEGIN
     EXCEPTION WHEN index_not_found THEN
         DBMS_OUTPUT.PUT_LINE('Index IDX_VOTING_VOTE_SESSIONS_EXPIRES_AT does not exist.');
     END;
+    
+    -- Revoked tokens indexes
+    BEGIN
+        EXECUTE IMMEDIATE 'DROP INDEX IDX_VOTING_REVOKED_TOKENS_REVOKED_AT';
+        DBMS_OUTPUT.PUT_LINE('Index IDX_VOTING_REVOKED_TOKENS_REVOKED_AT dropped successfully.');
+    EXCEPTION WHEN index_not_found THEN
+        DBMS_OUTPUT.PUT_LINE('Index IDX_VOTING_REVOKED_TOKENS_REVOKED_AT does not exist.');
+    END;
+    
+    BEGIN
+        EXECUTE IMMEDIATE 'DROP INDEX IDX_VOTING_REVOKED_TOKENS_EXPIRES_AT';
+        DBMS_OUTPUT.PUT_LINE('Index IDX_VOTING_REVOKED_TOKENS_EXPIRES_AT dropped successfully.');
+    EXCEPTION WHEN index_not_found THEN
+        DBMS_OUTPUT.PUT_LINE('Index IDX_VOTING_REVOKED_TOKENS_EXPIRES_AT does not exist.');
+    END;
 END;
 /
 
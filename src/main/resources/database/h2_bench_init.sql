@@ -0,0 +1,14 @@
+-- =====================================================
+-- H2 BENCHMARK PROFILE - SUPPLEMENTARY OBJECTS
+-- =====================================================
+-- Run by the h2-bench profile after Hibernate creates the tables.
+-- Adds what 01_schema_complete.sql provides on Oracle but Hibernate
+-- does not generate: sequences used only by native queries, and the
+-- Oracle DATE() function used by the reporting queries.
+-- =====================================================
+
+CREATE SEQUENCE IF NOT EXISTS SEQ_VOTING_VOTES START WITH 1 INCREMENT BY 1;
+
+CREATE SEQUENCE IF NOT EXISTS SEQ_VOTING_VOTE_SESSIONS START WITH 1 INCREMENT BY 1;
+
+CREATE ALIAS IF NOT EXISTS "DATE" FOR 'java.sql.Date.valueOf(java.time.LocalDate)';
@@ -71,6 +71,13 @@ async function apiRequest(url, options = {}) {
     console.log("Response ok:", response.ok);
     console.log("Response status:", response.status);
 
+    // A stored token that expired or was revoked is refused outright; drop it and
+    // retry once without it, so public endpoints and logging in again still work
+    if (response.status === 401 && token && !options.tokenDropped) {
+      removeAuthToken();
+      return apiRequest(url, { ...options, tokenDropped: true });
+    }
+
     if (!response.ok) {
       throw new Error(data.message || `HTTP error! status: ${response.status}`);
     }
@@ -76,6 +76,9 @@ async function handleOTPVerification(event) {
         sessionStorage.setItem("user_authenticated", "true");
         if (response.data && response.data.data) {
           setUserData(response.data.data, false);
+          if (response.data.data.token) {
+            setAuthToken(response.data.data.token, false);
+          }
         }
         clearOTPSession();
         showSuccessModal("Login verified successfully!", "voting.html");
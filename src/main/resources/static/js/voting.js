@@ -427,6 +427,7 @@ function toggleSubmitButton() {
 
 /**
  * Submit vote
+ * A ballot needs a voting session, opened by verifying a voting OTP
  */
 async function submitVote() {
   if (!selectedConstituency || !selectedCandidate) {
@@ -440,6 +441,67 @@ async function submitVote() {
     return;
   }
 
+  const voteSessionId = sessionStorage.getItem("vote_session_id");
+  if (voteSessionId) {
+    await castVote(voteSessionId);
+  } else {
+    await requestVotingOtp();
+  }
+}
+
+/**
+ * Send a voting OTP to the voter's email and ask for it
+ */
+async function requestVotingOtp() {
+  const userData = getUserData();
+  if (!userData || !userData.email) {
+    showToast("User session not found. Please log in again.", "error");
+    return;
+  }
+
+  showLoading("Sending your voting code...");
+
+  const response = await apiPost("/auth/request-voting-otp", { email: userData.email });
+  hideLoading();
+
+  if (response.success && response.data.success) {
+    document.getElementById("votingOtpCode").value = "";
+    showModal("votingOtpModal");
+  } else {
+    showToast(response.error || "Could not send the voting code. Please try again.", "error");
+  }
+}
+
+/**
+ * Verify the voting OTP, which opens a voting session, then cast the vote
+ */
+async function verifyVotingOtp() {
+  const userData = getUserData();
+  const otpCode = document.getElementById("votingOtpCode").value.trim();
+  if (!/^\d{6}$/.test(otpCode)) {
+    showToast("Please enter the 6-digit voting code", "warning");
+    return;
+  }
+
+  showLoading("Verifying your voting code...");
+
+  const response = await apiPost("/auth/verify-voting-otp", { email: userData.email, otpCode: otpCode });
+  hideLoading();
+
+  if (response.success && response.data.success) {
+    const voteSessionId = response.data.data.voteSessionId;
+    sessionStorage.setItem("vote_session_id", voteSessionId);
+    closeModal("votingOtpModal");
+    await castVote(voteSessionId);
+  } else {
+    showToast(response.error || "Invalid or expired voting code", "error");
+  }
+}
+
+/**
+ * Cast the selected vote in a verified voting session
+ */
+async function castVote(voteSessionId) {
   showLoading("Submitting your vote...");
 
   try {
@@ -453,10 +515,12 @@ async function submitVote() {
       constituencyId: selectedConstituency.id,
       candidateId: selectedCandidate.candidateId,
       partyId: selectedCandidate.partyId,
+      voteSessionId: voteSessionId,
     });
 
     if (response.success && response.data.success) {
       hideLoading();
+      sessionStorage.removeItem("vote_session_id");
 
       // Update success modal with vote details
       const transactionId = response.data.data.transactionId;
@@ -475,6 +539,11 @@ async function submitVote() {
     console.error("Error submitting vote:", error);
     hideLoading();
 
+    // An expired or used session cannot be retried - the next attempt asks for a new code
+    if (/voting session/i.test(error.message)) {
+      sessionStorage.removeItem("vote_session_id");
+    }
+
     if (error.message.includes("already voted")) {
       showModal("alreadyVotedModal");
     } else if (error.message.includes("voting closed")) {